@@ -0,0 +1,67 @@
+package com.classes;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Legacy id to UUID derivation: one {@code nameUUIDFromBytes} per call, as
+ * the loaders used to do, against {@link LegacyIds} one at a time and in
+ * bulk. Every invocation derives the same ids again, like repeated game
+ * loads do. {@link LegacyIds} is package-private, so this benchmark lives in
+ * {@code com.classes} rather than with the others.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LegacyIdsBenchmark {
+    private static final int IDS = 100_000;
+
+    private long[] ids;
+
+    @Setup
+    public void fillIds() {
+        ids = new long[IDS];
+        for (int i = 0; i < IDS; i++) {
+            ids[i] = i + 1;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IDS)
+    public void uncached(Blackhole blackhole) {
+        for (long id : ids) {
+            blackhole.consume(UUID.nameUUIDFromBytes(("player-" + id).getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IDS)
+    public void cached(Blackhole blackhole) {
+        for (long id : ids) {
+            blackhole.consume(LegacyIds.PLAYER.derive(id));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(IDS)
+    public UUID[] cachedBulk() {
+        return LegacyIds.PUZZLE.deriveAll(ids, IDS);
+    }
+}
@@ -0,0 +1,74 @@
+package com.lockedin.benchmarks;
+
+import com.classes.Puzzle;
+import com.classes.PuzzleType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Puzzle#isCorrectAnswer(String)} for each puzzle type, with the
+ * correct answer, a differently cased and padded copy of it, and a wrong
+ * answer of the same length. Only some types accept the padded copy today;
+ * it is measured either way because players type answers like that.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnswerCheckBenchmark {
+
+    @Param({"WRITE_IN", "RIDDLE", "MULTIPLE_CHOICE", "SEQUENCE", "CODE_LOCK"})
+    public PuzzleType type;
+
+    private Puzzle puzzle;
+    private String exact;
+    private String sloppy;
+    private String wrong;
+
+    @Setup
+    public void pickPuzzle() {
+        // The remainder of the puzzle number picks the type in SyntheticData.puzzle.
+        long number = switch (type) {
+            case WRITE_IN -> 10;
+            case RIDDLE -> 11;
+            case MULTIPLE_CHOICE -> 12;
+            case SEQUENCE -> 13;
+            case CODE_LOCK -> 14;
+        };
+        puzzle = SyntheticData.puzzle(number);
+        if (puzzle.getType() != type) {
+            throw new IllegalStateException("Expected a " + type + " puzzle but built " + puzzle.getType());
+        }
+        exact = SyntheticData.answerFor(number);
+        sloppy = "  " + exact.toUpperCase().replace(" ", "   ") + " ";
+        wrong = "x".repeat(exact.length());
+    }
+
+    @Benchmark
+    public boolean exactAnswer() {
+        return puzzle.isCorrectAnswer(exact);
+    }
+
+    @Benchmark
+    public boolean sloppyAnswer() {
+        return puzzle.isCorrectAnswer(sloppy);
+    }
+
+    @Benchmark
+    public boolean wrongAnswer() {
+        return puzzle.isCorrectAnswer(wrong);
+    }
+}
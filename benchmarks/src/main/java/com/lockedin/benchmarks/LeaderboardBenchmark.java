@@ -0,0 +1,68 @@
+package com.lockedin.benchmarks;
+
+import com.classes.Leaderboard;
+import com.classes.Player;
+import com.classes.ScoreEntry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Score updates and top-of-board reads on {@link Leaderboard}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+    @Param({"100", "10000", "100000"})
+    public int entries;
+
+    private Leaderboard leaderboard;
+    private Player[] players;
+    private int[] scores;
+    private SplittableRandom random;
+
+    @Setup(Level.Iteration)
+    public void fillBoard() {
+        leaderboard = new Leaderboard();
+        players = new Player[entries];
+        scores = new int[entries];
+        for (int i = 0; i < entries; i++) {
+            players[i] = SyntheticData.player(i + 1);
+            scores[i] = i % 1_000;
+            leaderboard.updateLeaderboard(players[i], scores[i]);
+        }
+        random = new SplittableRandom(7);
+    }
+
+    @Benchmark
+    public int updateLeaderboard() {
+        // Always an improvement, so every call moves an entry.
+        int index = random.nextInt(entries);
+        scores[index] += 1 + random.nextInt(20);
+        leaderboard.updateLeaderboard(players[index], scores[index]);
+        return scores[index];
+    }
+
+    @Benchmark
+    public List<ScoreEntry> topTen() {
+        return leaderboard.getTop(10);
+    }
+}
@@ -0,0 +1,93 @@
+package com.lockedin.benchmarks;
+
+import com.classes.DataLoader;
+import com.classes.DataWriter;
+import com.classes.GameSection;
+import com.classes.GameSystem;
+import com.classes.SnapshotCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full load and save of the data directory at several sizes, from JSON and
+ * from the binary snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public SyntheticData.Size size;
+
+    private Path directory;
+    private Path snapshotDirectory;
+    private DataLoader loader;
+    private DataLoader snapshotLoader;
+    private DataWriter writer;
+    private GameSystem system;
+
+    @Setup(Level.Trial)
+    public void writeData() throws IOException {
+        directory = SyntheticData.writeTo(size);
+        loader = new DataLoader(directory);
+        writer = new DataWriter(directory);
+        system = loader.loadGame().orElseThrow(() -> new IllegalStateException("Synthetic data did not load"));
+
+        snapshotDirectory = SyntheticData.writeTo(size);
+        SnapshotCodec.write(system, snapshotDirectory);
+        snapshotLoader = new DataLoader(snapshotDirectory);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteData() {
+        SyntheticData.delete(directory);
+        SyntheticData.delete(snapshotDirectory);
+    }
+
+    @Benchmark
+    public GameSystem loadGame() {
+        return loader.loadGame().orElseThrow();
+    }
+
+    @Benchmark
+    public GameSystem loadGameFromSnapshot() {
+        return snapshotLoader.loadGame().orElseThrow();
+    }
+
+    @Benchmark
+    public boolean saveEverything() {
+        system.markAllDirty();
+        return writer.saveGame(system);
+    }
+
+    @Benchmark
+    public boolean savePlayersOnly() {
+        system.markDirty(GameSection.PLAYERS);
+        return writer.saveGame(system);
+    }
+
+    @Benchmark
+    public boolean saveProgressOnly() {
+        system.markDirty(GameSection.ROOMS);
+        return writer.saveGame(system);
+    }
+}
@@ -0,0 +1,81 @@
+package com.lockedin.benchmarks;
+
+import com.classes.Player;
+import com.classes.PlayerList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login, signup and id lookups on {@link PlayerList}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerLookupBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    public int players;
+
+    private PlayerList list;
+    private UUID[] ids;
+    private SplittableRandom random;
+    private int signups;
+
+    @Setup(Level.Iteration)
+    public void fillList() {
+        list = new PlayerList();
+        ids = new UUID[players];
+        for (int i = 1; i <= players; i++) {
+            Player player = SyntheticData.player(i);
+            list.add(player);
+            ids[i - 1] = player.getId();
+        }
+        random = new SplittableRandom(42);
+        signups = 0;
+    }
+
+    @Benchmark
+    public Optional<Player> findByIdHit() {
+        return list.findById(ids[random.nextInt(players)]);
+    }
+
+    @Benchmark
+    public Optional<Player> findByEmailHit() {
+        // Upper case and padding so normalization is part of the cost.
+        return list.findByEmail(" " + SyntheticData.email(1 + random.nextInt(players)).toUpperCase());
+    }
+
+    @Benchmark
+    public Optional<Player> findByEmailMiss() {
+        return list.findByEmail("nobody" + random.nextInt(players) + "@example.com");
+    }
+
+    @Benchmark
+    public boolean nameExistsHit() {
+        return list.nameExists("Player " + (1 + random.nextInt(players)));
+    }
+
+    @Benchmark
+    public Player createPlayer() {
+        signups++;
+        return list.createPlayer("Signup " + signups, "signup" + signups + "@example.com", null);
+    }
+}
@@ -0,0 +1,80 @@
+package com.lockedin.benchmarks;
+
+import com.classes.GameFacade;
+import com.classes.Puzzle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link GameFacade#submitAnswer(UUID, String)} for a logged-in
+ * player. Saves are pushed far into the future so the measurement covers the
+ * in-memory update path, not the background writer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SubmitAnswerBenchmark {
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public SyntheticData.Size size;
+
+    private Path directory;
+    private GameFacade facade;
+    private UUID[] puzzleIds;
+    private String[] answers;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void startGame() {
+        directory = SyntheticData.writeTo(size);
+        facade = new GameFacade(directory.toString(), Duration.ofDays(1));
+        if (!facade.loadGame() || !facade.login(SyntheticData.email(1))) {
+            throw new IllegalStateException("Synthetic game did not start");
+        }
+        List<Puzzle> puzzles = facade.getGameSystem().getPuzzles().asList();
+        puzzleIds = new UUID[puzzles.size()];
+        answers = new String[puzzles.size()];
+        for (int i = 0; i < puzzles.size(); i++) {
+            puzzleIds[i] = puzzles.get(i).getId();
+            answers[i] = SyntheticData.answerFor(puzzles.get(i).getLegacyId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopGame() {
+        facade.getPersistenceQueue().close();
+        SyntheticData.delete(directory);
+    }
+
+    @Benchmark
+    public boolean correctAnswer() {
+        int index = next++ % puzzleIds.length;
+        return facade.submitAnswer(puzzleIds[index], answers[index]);
+    }
+
+    @Benchmark
+    public boolean wrongAnswer() {
+        int index = next++ % puzzleIds.length;
+        return facade.submitAnswer(puzzleIds[index], "definitely wrong");
+    }
+}
@@ -0,0 +1,193 @@
+package com.lockedin.benchmarks;
+
+import com.classes.CodeLockPuzzle;
+import com.classes.DataWriter;
+import com.classes.GameSystem;
+import com.classes.ItemList;
+import com.classes.MultipleChoicePuzzle;
+import com.classes.Player;
+import com.classes.Puzzle;
+import com.classes.RiddlePuzzle;
+import com.classes.Room;
+import com.classes.SequencePuzzle;
+import com.classes.Statistics;
+import com.classes.WriteInPuzzle;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Builds deterministic game data for the benchmarks. The same size always
+ * yields the same rooms, puzzles, players and answers, so numbers from
+ * different runs measure the code and not the data.
+ * <p>
+ * Files are produced by building a {@link GameSystem} in memory and saving it
+ * with {@link DataWriter}, which keeps the generated {@code rooms.json} and
+ * {@code users.json} in exactly the format the game reads.
+ * </p>
+ */
+public final class SyntheticData {
+
+    /**
+     * Preset data sizes used as JMH parameters.
+     */
+    public enum Size {
+        SMALL(3, 2, 100),
+        MEDIUM(30, 4, 10_000),
+        LARGE(300, 4, 100_000);
+
+        private final int rooms;
+        private final int puzzlesPerRoom;
+        private final int players;
+
+        Size(int rooms, int puzzlesPerRoom, int players) {
+            this.rooms = rooms;
+            this.puzzlesPerRoom = puzzlesPerRoom;
+            this.players = players;
+        }
+
+        public int rooms() {
+            return rooms;
+        }
+
+        public int puzzlesPerRoom() {
+            return puzzlesPerRoom;
+        }
+
+        public int players() {
+            return players;
+        }
+    }
+
+    private SyntheticData() {
+    }
+
+    /**
+     * Builds an in-memory game system of the given size.
+     *
+     * @param size data size preset
+     * @return game system with rooms, puzzles, hints, players and leaderboard entries
+     */
+    public static GameSystem build(Size size) {
+        GameSystem system = new GameSystem(uuid("system", 1));
+        long puzzleNumber = 1;
+        for (int r = 1; r <= size.rooms(); r++) {
+            Room room = new Room(uuid("room", r), r);
+            for (int p = 0; p < size.puzzlesPerRoom(); p++) {
+                Puzzle puzzle = puzzle(puzzleNumber++);
+                room.addPuzzle(puzzle);
+                system.getPuzzles().add(puzzle);
+            }
+            system.getRooms().add(room);
+        }
+        for (int h = 1; h <= 10; h++) {
+            system.getHints().addHint(uuid("hint", h), (long) h, "Look closer at clue " + h + ".");
+        }
+        for (int i = 1; i <= size.players(); i++) {
+            Player player = player(i);
+            system.getPlayers().add(player);
+            if (i % 10 == 0) {
+                system.getLeaderboard().updateLeaderboard(player, player.getCurrentScore(),
+                        Duration.ofSeconds(300 + i % 600));
+            }
+        }
+        return system;
+    }
+
+    /**
+     * Writes a game of the given size into a new temporary directory.
+     *
+     * @param size data size preset
+     * @return directory holding {@code rooms.json} and {@code users.json}
+     */
+    public static Path writeTo(Size size) {
+        try {
+            Path directory = Files.createTempDirectory("locked-in-bench-" + size.name().toLowerCase());
+            if (!new DataWriter(directory).saveGame(build(size))) {
+                throw new IllegalStateException("Could not write synthetic data to " + directory);
+            }
+            return directory;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Deletes a directory created by {@link #writeTo(Size)}.
+     *
+     * @param directory directory to remove
+     */
+    public static void delete(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (var files = Files.walk(directory)) {
+            files.sorted((a, b) -> b.getNameCount() - a.getNameCount()).forEach(file -> file.toFile().delete());
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * One puzzle of every type, rotating by number, each with a known answer.
+     *
+     * @param number 1-based puzzle number
+     * @return puzzle whose correct answer is {@link #answerFor(long)}
+     */
+    public static Puzzle puzzle(long number) {
+        UUID id = uuid("puzzle", number);
+        String name = "Puzzle " + number;
+        return switch ((int) (number % 5)) {
+            case 0 -> new WriteInPuzzle(id, number, name, "Write the word.", "", answerFor(number));
+            case 1 -> new RiddlePuzzle(id, number, name, "Answer the riddle.", "",
+                    "What has keys but opens no locks?", answerFor(number));
+            case 2 -> new MultipleChoicePuzzle(id, number, name, "Pick one.", "",
+                    List.of("A", "B", "C", "D"), answerFor(number));
+            case 3 -> new SequencePuzzle(id, number, name, "Order the symbols.", "",
+                    List.of(answerFor(number).split(" ")));
+            default -> new CodeLockPuzzle(id, number, name, "Enter the code.", "", answerFor(number));
+        };
+    }
+
+    /**
+     * @param number 1-based puzzle number
+     * @return correct answer for {@link #puzzle(long)} with the same number
+     */
+    public static String answerFor(long number) {
+        return switch ((int) (number % 5)) {
+            case 0 -> "lantern" + number;
+            case 1 -> "piano";
+            case 2 -> "C";
+            case 3 -> "moon star sun " + number;
+            default -> String.format("%04d", number % 10_000);
+        };
+    }
+
+    /**
+     * @param number 1-based player number
+     * @return player with a predictable email of the form {@code player<number>@example.com}
+     */
+    public static Player player(int number) {
+        return new Player(uuid("player", number), number, "Player " + number, email(number), null,
+                new ItemList(), new Statistics(), number % 97, Set.of());
+    }
+
+    /**
+     * @param number 1-based player number
+     * @return email used by {@link #player(int)}
+     */
+    public static String email(int number) {
+        return "player" + number + "@example.com";
+    }
+
+    private static UUID uuid(String prefix, long id) {
+        return UUID.nameUUIDFromBytes((prefix + "-" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
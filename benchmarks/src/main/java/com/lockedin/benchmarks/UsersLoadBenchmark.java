@@ -0,0 +1,59 @@
+package com.lockedin.benchmarks;
+
+import com.classes.DataLoader;
+import com.classes.GameSystem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads users.json with the streaming reader and with the whole-document
+ * parse. Run with {@code -prof gc} to compare the bytes allocated per load
+ * as well as the time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class UsersLoadBenchmark {
+
+    @Param({"MEDIUM", "LARGE"})
+    public SyntheticData.Size size;
+
+    @Param({"true", "false"})
+    public boolean streaming;
+
+    private Path directory;
+    private DataLoader loader;
+
+    @Setup(Level.Trial)
+    public void writeData() {
+        directory = SyntheticData.writeTo(size);
+        loader = new DataLoader(directory, streaming);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteData() {
+        SyntheticData.delete(directory);
+    }
+
+    @Benchmark
+    public GameSystem loadGame() {
+        return loader.loadGame().orElseThrow();
+    }
+}
@@ -0,0 +1,342 @@
+package com.classes;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compares player answers with a puzzle's solutions. The accepted answers are
+ * folded to their canonical form once, when the puzzle is built, and stored
+ * together in a trie, so a puzzle with many aliases costs about as much to
+ * check as one with a single answer. An attempt is first walked down the trie
+ * in one pass that folds code points as it goes, without building any
+ * intermediate strings.
+ * <p>
+ * Case is folded the way {@link String#equalsIgnoreCase(String)} compares
+ * characters, and both sides are compared in Unicode NFC, so a composed and a
+ * decomposed "é" match. Input with no character at or above U+0300 is already
+ * in NFC and never gets normalized; only other input pays for
+ * {@link Normalizer}.
+ * </p>
+ * <p>
+ * A matcher can also allow a few typos. When the exact walk fails, the trie is
+ * searched again while keeping one row of the Damerau-Levenshtein table per
+ * trie level; a branch is dropped as soon as every cell in its row is over
+ * the limit, so only prefixes that are still close to the input get visited.
+ * Swapping two neighbouring characters counts as one typo. The rows live in a
+ * per-thread scratch array, so even this path normally allocates nothing.
+ * </p>
+ */
+final class AnswerMatcher {
+    // First code point that can be part of a composition; below it every string is already NFC.
+    private static final int FIRST_COMBINING = 0x300;
+    private static final int NONE = -1;
+
+    private static final ThreadLocal<int[]> SCRATCH = ThreadLocal.withInitial(() -> new int[256]);
+
+    // Trie over folded code points; node 0 is the root. Children form a linked list.
+    private final int[] labels;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final boolean[] terminal;
+    private final int longest;
+    private final boolean collapseWhitespace;
+    private final int maxEdits;
+
+    private AnswerMatcher(Collection<String> answers, boolean collapseWhitespace, int maxEdits) {
+        this.collapseWhitespace = collapseWhitespace;
+        this.maxEdits = Math.max(0, maxEdits);
+        TrieBuilder builder = new TrieBuilder();
+        for (String answer : answers) {
+            if (answer != null) {
+                String normalized = Normalizer.normalize(answer, Normalizer.Form.NFC);
+                int[] folded = new int[normalized.codePointCount(0, normalized.length())];
+                builder.add(folded, fold(normalized, folded, collapseWhitespace));
+            }
+        }
+        this.labels = Arrays.copyOf(builder.labels, builder.size);
+        this.firstChild = Arrays.copyOf(builder.firstChild, builder.size);
+        this.nextSibling = Arrays.copyOf(builder.nextSibling, builder.size);
+        this.terminal = Arrays.copyOf(builder.terminal, builder.size);
+        this.longest = builder.longest;
+    }
+
+    /**
+     * Matches answers equal to {@code expected} ignoring case. A null answer
+     * counts as the empty string.
+     *
+     * @param expected solution; null is treated as empty
+     * @return matcher for that solution
+     */
+    static AnswerMatcher ignoringCase(String expected) {
+        return ignoringCase(expected, List.of(), 0);
+    }
+
+    /**
+     * Matches answers equal to {@code expected} or one of its aliases, ignoring
+     * case and allowing up to {@code maxEdits} typos. A null answer counts as
+     * the empty string.
+     *
+     * @param expected main solution; null is treated as empty
+     * @param aliases other accepted answers; may be null
+     * @param maxEdits most insertions, deletions, substitutions or swaps allowed; 0 for exact
+     * @return matcher for those answers
+     */
+    static AnswerMatcher ignoringCase(String expected, Collection<String> aliases, int maxEdits) {
+        List<String> answers = new ArrayList<>();
+        answers.add(Objects.requireNonNullElse(expected, ""));
+        if (aliases != null) {
+            answers.addAll(aliases);
+        }
+        return new AnswerMatcher(answers, false, maxEdits);
+    }
+
+    /**
+     * Matches answers equal to {@code expected} ignoring case, leading and
+     * trailing whitespace, and how much whitespace separates the words. A
+     * null answer never matches.
+     *
+     * @param expected solution; null is treated as empty
+     * @return matcher for that solution
+     */
+    static AnswerMatcher collapsingWhitespace(String expected) {
+        return new AnswerMatcher(List.of(Objects.requireNonNullElse(expected, "")), true, 0);
+    }
+
+    /**
+     * @param answer player input
+     * @return {@code true} when the answer matches one of the solutions
+     */
+    boolean matches(String answer) {
+        if (answer == null) {
+            if (collapseWhitespace) {
+                return false;
+            }
+            answer = "";
+        }
+        int result = walk(answer);
+        if (result < 0) {
+            // Saw a character that may combine; compare the NFC form instead.
+            answer = Normalizer.normalize(answer, Normalizer.Form.NFC);
+            result = walk(answer);
+        }
+        if (result == 1) {
+            return true;
+        }
+        return maxEdits > 0 && withinEdits(answer);
+    }
+
+    /**
+     * Follows the input down the trie.
+     *
+     * @return 1 on a match, 0 on a mismatch, -1 when the input has to be
+     *         normalized before a verdict is possible
+     */
+    private int walk(String answer) {
+        int length = answer.length();
+        int node = 0;
+        boolean pendingSpace = false;
+        boolean mayNeedNormalizing = false;
+        for (int i = 0; i < length; ) {
+            int cp = answer.codePointAt(i);
+            i += Character.charCount(cp);
+            if (cp >= FIRST_COMBINING) {
+                mayNeedNormalizing = true;
+            }
+            if (collapseWhitespace && isWhitespace(cp)) {
+                pendingSpace = node != 0;
+                continue;
+            }
+            if (pendingSpace) {
+                node = child(node, ' ');
+                pendingSpace = false;
+            }
+            if (node != NONE) {
+                node = child(node, fold(cp));
+            }
+            if (node == NONE) {
+                return mayNeedNormalizing || hasCombining(answer, i) ? -1 : 0;
+            }
+        }
+        if (terminal[node]) {
+            return 1;
+        }
+        return mayNeedNormalizing ? -1 : 0;
+    }
+
+    private int child(int node, int label) {
+        for (int c = firstChild[node]; c != NONE; c = nextSibling[c]) {
+            if (labels[c] == label) {
+                return c;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Bounded Damerau-Levenshtein search of the trie. Row {@code d} of the
+     * table, for trie depth {@code d}, sits at {@code n + d * (n + 1)} in the
+     * scratch array, after the {@code n} folded input code points.
+     */
+    private boolean withinEdits(String answer) {
+        int[] scratch = SCRATCH.get();
+        if (scratch.length < answer.length()) {
+            scratch = new int[Math.max(answer.length(), scratch.length * 2)];
+            SCRATCH.set(scratch);
+        }
+        int n = fold(answer, scratch, collapseWhitespace);
+        if (n > longest + maxEdits) {
+            return false;
+        }
+        int width = n + 1;
+        int needed = n + (longest + 1) * width;
+        if (scratch.length < needed) {
+            scratch = Arrays.copyOf(scratch, Math.max(needed, scratch.length * 2));
+            SCRATCH.set(scratch);
+        }
+        for (int i = 0; i <= n; i++) {
+            scratch[n + i] = i;
+        }
+        if (terminal[0] && n <= maxEdits) {
+            return true;
+        }
+        for (int c = firstChild[0]; c != NONE; c = nextSibling[c]) {
+            if (search(c, 1, NONE, scratch, n, width)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean search(int node, int depth, int parentLabel, int[] scratch, int n, int width) {
+        int label = labels[node];
+        int prev = n + (depth - 1) * width;
+        int cur = prev + width;
+        int before = prev - width;
+        scratch[cur] = depth;
+        int best = depth;
+        for (int i = 1; i <= n; i++) {
+            int input = scratch[i - 1];
+            int cost = scratch[prev + i - 1] + (input == label ? 0 : 1);
+            cost = Math.min(cost, scratch[prev + i] + 1);
+            cost = Math.min(cost, scratch[cur + i - 1] + 1);
+            if (depth > 1 && i > 1 && input == parentLabel && scratch[i - 2] == label) {
+                cost = Math.min(cost, scratch[before + i - 2] + 1);
+            }
+            scratch[cur + i] = cost;
+            best = Math.min(best, cost);
+        }
+        if (terminal[node] && scratch[cur + n] <= maxEdits) {
+            return true;
+        }
+        if (best > maxEdits) {
+            return false;
+        }
+        for (int c = firstChild[node]; c != NONE; c = nextSibling[c]) {
+            if (search(c, depth + 1, label, scratch, n, width)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasCombining(String answer, int from) {
+        for (int i = from; i < answer.length(); i++) {
+            if (answer.charAt(i) >= FIRST_COMBINING) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Writes the folded code points of {@code text} to the start of
+     * {@code into}, collapsing whitespace runs to one space when asked.
+     *
+     * @return how many code points were written
+     */
+    private static int fold(String text, int[] into, boolean collapseWhitespace) {
+        int count = 0;
+        boolean pendingSpace = false;
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+            if (collapseWhitespace && isWhitespace(cp)) {
+                pendingSpace = count > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                into[count++] = ' ';
+                pendingSpace = false;
+            }
+            into[count++] = fold(cp);
+        }
+        return count;
+    }
+
+    /**
+     * Same per-character folding {@link String#equalsIgnoreCase(String)} uses:
+     * two characters are equal ignoring case exactly when their folds are equal.
+     */
+    private static int fold(int cp) {
+        return Character.toLowerCase(Character.toUpperCase(cp));
+    }
+
+    private static boolean isWhitespace(int cp) {
+        return cp <= ' ' || Character.isWhitespace(cp);
+    }
+
+    /**
+     * Growable arrays used while the trie is built.
+     */
+    private static final class TrieBuilder {
+        int[] labels = new int[16];
+        int[] firstChild = new int[16];
+        int[] nextSibling = new int[16];
+        boolean[] terminal = new boolean[16];
+        int size;
+        int longest;
+
+        TrieBuilder() {
+            newNode(NONE);
+        }
+
+        void add(int[] word, int length) {
+            int node = 0;
+            for (int i = 0; i < length; i++) {
+                int next = NONE;
+                for (int c = firstChild[node]; c != NONE; c = nextSibling[c]) {
+                    if (labels[c] == word[i]) {
+                        next = c;
+                        break;
+                    }
+                }
+                if (next == NONE) {
+                    next = newNode(word[i]);
+                    nextSibling[next] = firstChild[node];
+                    firstChild[node] = next;
+                }
+                node = next;
+            }
+            terminal[node] = true;
+            longest = Math.max(longest, length);
+        }
+
+        private int newNode(int label) {
+            if (size == labels.length) {
+                int capacity = size * 2;
+                labels = Arrays.copyOf(labels, capacity);
+                firstChild = Arrays.copyOf(firstChild, capacity);
+                nextSibling = Arrays.copyOf(nextSibling, capacity);
+                terminal = Arrays.copyOf(terminal, capacity);
+            }
+            labels[size] = label;
+            firstChild[size] = NONE;
+            nextSibling[size] = NONE;
+            return size++;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.classes;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -8,6 +9,9 @@ import java.util.UUID;
  */
 public class CodeLockPuzzle extends Puzzle {
     private final String code;
+    private final List<String> acceptedAnswers;
+    private final int maxTypos;
+    private final AnswerMatcher matcher;
 
     /**
      * Creates a code lock puzzle with the expected code answer.
@@ -18,12 +22,33 @@ public class CodeLockPuzzle extends Puzzle {
      * @param description a human-readable description of the puzzle
      * @param reward the reward text earned upon solving
      * @param code the correct code players must submit
-     * @param solved whether the puzzle starts in a solved state
      */
     public CodeLockPuzzle(UUID id, Long legacyId, String name, String description, String reward,
-                          String code, boolean solved) {
-        super(id, legacyId, name, description, reward, PuzzleType.CODE_LOCK, solved);
+                          String code) {
+        this(id, legacyId, name, description, reward, code, List.of(), 0);
+    }
+
+    /**
+     * Creates a code lock puzzle with the expected code answer, also accepting
+     * aliases and, optionally, answers with a few typos.
+     *
+     * @param id the unique identifier for the puzzle
+     * @param legacyId the legacy identifier if one exists
+     * @param name the display name for the puzzle
+     * @param description a human-readable description of the puzzle
+     * @param reward the reward text earned upon solving
+     * @param code the correct code players must submit
+     * @param acceptedAnswers other answers that also count as correct; may be null
+     * @param maxTypos how many typos an answer may contain and still count; 0 for exact matches
+     */
+    public CodeLockPuzzle(UUID id, Long legacyId, String name, String description, String reward,
+                          String code, List<String> acceptedAnswers,
+                          int maxTypos) {
+        super(id, legacyId, name, description, reward, PuzzleType.CODE_LOCK);
         this.code = Objects.requireNonNullElse(code, "");
+        this.acceptedAnswers = acceptedAnswers == null ? List.of() : List.copyOf(acceptedAnswers);
+        this.maxTypos = Math.max(0, maxTypos);
+        this.matcher = AnswerMatcher.ignoringCase(this.code, this.acceptedAnswers, this.maxTypos);
     }
 
     /**
@@ -33,14 +58,29 @@ public class CodeLockPuzzle extends Puzzle {
         return code;
     }
 
+    /**
+     * @return answers accepted besides the main one
+     */
+    public List<String> getAcceptedAnswers() {
+        return acceptedAnswers;
+    }
+
+    /**
+     * @return how many typos an answer may contain and still count
+     */
+    public int getMaxTypos() {
+        return maxTypos;
+    }
+
     /**
      * Checks whether the supplied answer matches the configured code ignoring case.
      *
      * @param answer the player-submitted answer to validate
-     * @return {@code true} when the answer equals the code, ignoring case
+     * @return {@code true} when the answer or an accepted alias matches, ignoring case
+     *         and up to {@link #getMaxTypos()} typos
      */
     @Override
     public boolean isCorrectAnswer(String answer) {
-        return code.equalsIgnoreCase(Objects.requireNonNullElse(answer, ""));
+        return matcher.matches(answer);
     }
 }
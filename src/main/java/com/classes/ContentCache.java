@@ -0,0 +1,327 @@
+package com.classes;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.json.simple.JSONArray;
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * The static content of one data directory: puzzle definitions and the hint
+ * attached to each puzzle, both keyed by the legacy puzzle id. There is one
+ * cache per directory, shared by the UI lookups and by {@link DataWriter},
+ * so {@code rooms.json} is read once instead of once per user.
+ * <p>
+ * The content is an immutable value behind a volatile reference. Readers
+ * never lock: they take whatever content is current. At most once per
+ * {@link #CHECK_INTERVAL_MILLIS} a reader also compares the size and
+ * modification time of {@code rooms.json} with the ones the content was
+ * built from. When they differ, the file is loaded again on a background
+ * thread and the new content replaces the old in one write, so a hand edit
+ * shows up without a restart and without stalling the FX thread. Only the
+ * very first load of a directory happens on the caller's thread. The
+ * replaced content's {@link PuzzleCatalog} is closed once the new one is in
+ * place, so reloads do not leak the rooms file handle.
+ * </p>
+ */
+public final class ContentCache {
+    /** Shortest time between two checks of {@code rooms.json} for changes. */
+    static final long CHECK_INTERVAL_MILLIS = 1_000;
+    /** Size recorded for content that must be reloaded on the next check. */
+    private static final long UNKNOWN_SIZE = -2;
+
+    private static final Map<Path, ContentCache> DIRECTORIES = new ConcurrentHashMap<>();
+    private static final ExecutorService RELOADER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "content-reload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path directory;
+    private final AtomicBoolean reloading = new AtomicBoolean();
+    private volatile Content content;
+    private volatile long nextCheck;
+
+    /**
+     * Hint text for one puzzle, with the id of the global hint it came from
+     * when there is one.
+     */
+    public record PuzzleHint(Long hintId, String text) {
+    }
+
+    /**
+     * One consistent version of the content. Never changed after it is built.
+     */
+    private record Content(long size, long modified, PuzzleCatalog catalog, Map<Long, PuzzleHint> hints) {
+        static final Content EMPTY = new Content(-1, -1, null, Collections.emptyMap());
+    }
+
+    private ContentCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @param directory data directory holding {@code rooms.json}
+     * @return the cache shared by everyone reading that directory
+     */
+    public static ContentCache forDirectory(Path directory) {
+        return DIRECTORIES.computeIfAbsent(directory.toAbsolutePath().normalize(), ContentCache::new);
+    }
+
+    /**
+     * @param legacyId the {@code puzzleName} number from rooms.json
+     * @return the puzzle definition, or empty when there is none
+     */
+    public Optional<Puzzle> findPuzzle(long legacyId) {
+        PuzzleCatalog catalog = current().catalog();
+        return catalog == null ? Optional.empty() : catalog.findByLegacyId(legacyId);
+    }
+
+    /**
+     * @param puzzleLegacyId the {@code puzzleName} number from rooms.json
+     * @return hint text for that puzzle, or empty when it has none
+     */
+    public Optional<String> findHint(long puzzleLegacyId) {
+        PuzzleHint hint = current().hints().get(puzzleLegacyId);
+        return hint == null ? Optional.empty() : Optional.of(hint.text());
+    }
+
+    /**
+     * @return every puzzle hint by legacy puzzle id; the map never changes
+     */
+    Map<Long, PuzzleHint> puzzleHints() {
+        return current().hints();
+    }
+
+    /**
+     * @return catalog of the current content, or {@code null} when there is no rooms file
+     */
+    PuzzleCatalog catalog() {
+        return current().catalog();
+    }
+
+    /**
+     * Called by {@link DataWriter} after it replaced {@code rooms.json} with
+     * the given game. A save normally writes back the definitions and hints
+     * it started from, so when every puzzle of the game is already in the
+     * catalog the current content stays and only learns the new file's
+     * fingerprint; the catalog keeps reading the file it was built from.
+     * After any other save the next reader starts a background reload and,
+     * like every reader until it lands, keeps the current content.
+     *
+     * @param saved game system that was just written
+     */
+    void carryForward(GameSystem saved) {
+        Content previous = content;
+        if (previous == null) {
+            return;
+        }
+        if (!coversAllPuzzles(previous.catalog(), saved.getPuzzles())) {
+            // A fingerprint no file has makes the next check reload, however close the timestamps are.
+            replaceIfCurrent(previous, new Content(UNKNOWN_SIZE, UNKNOWN_SIZE, previous.catalog(), previous.hints()));
+            nextCheck = 0;
+            return;
+        }
+        Path roomsFile = directory.resolve(DataLoader.ROOMS_FILE);
+        try {
+            replaceIfCurrent(previous, new Content(Files.size(roomsFile),
+                    Files.getLastModifiedTime(roomsFile).toMillis(), previous.catalog(), previous.hints()));
+        } catch (IOException e) {
+            // Leave the old fingerprint; the next check reloads from disk.
+        }
+    }
+
+    private synchronized void replaceIfCurrent(Content expected, Content next) {
+        // A reload that landed meanwhile has already closed the expected content's catalog.
+        if (content == expected) {
+            content = next;
+        }
+    }
+
+    private static boolean coversAllPuzzles(PuzzleCatalog catalog, PuzzleList puzzles) {
+        if (catalog == null || puzzles == null) {
+            return false;
+        }
+        for (Puzzle puzzle : puzzles.asList()) {
+            if (puzzle.getLegacyId() != null && !catalog.contains(puzzle.getLegacyId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Loads the directory again on the caller's thread and swaps it in.
+     */
+    void reloadNow() {
+        swap(load());
+        nextCheck = System.currentTimeMillis() + CHECK_INTERVAL_MILLIS;
+    }
+
+    private Content current() {
+        Content current = content;
+        if (current == null) {
+            synchronized (this) {
+                if (content == null) {
+                    reloadNow();
+                }
+                return content;
+            }
+        }
+        long now = System.currentTimeMillis();
+        if (now >= nextCheck) {
+            nextCheck = now + CHECK_INTERVAL_MILLIS;
+            if (isStale(current)) {
+                scheduleReload();
+            }
+        }
+        return current;
+    }
+
+    private void scheduleReload() {
+        if (reloading.compareAndSet(false, true)) {
+            RELOADER.execute(() -> {
+                try {
+                    swap(load());
+                } finally {
+                    reloading.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Publishes new content and closes the catalog it replaces. A reader that
+     * took the old content just before the swap can still use every puzzle
+     * it already built.
+     */
+    private void swap(Content next) {
+        Content previous;
+        synchronized (this) {
+            previous = content;
+            content = next;
+        }
+        if (previous != null && previous.catalog() != null && previous.catalog() != next.catalog()) {
+            previous.catalog().close();
+        }
+    }
+
+    private boolean isStale(Content current) {
+        Path roomsFile = directory.resolve(DataLoader.ROOMS_FILE);
+        try {
+            if (!Files.exists(roomsFile)) {
+                return current.size() != -1;
+            }
+            return current.size() != Files.size(roomsFile)
+                    || current.modified() != Files.getLastModifiedTime(roomsFile).toMillis();
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Opens the puzzle catalog and reads the hints from the same file the
+     * catalog indexed, so both halves always describe one version.
+     */
+    private Content load() {
+        Optional<PuzzleCatalog> opened = PuzzleCatalog.open(directory);
+        if (opened.isEmpty()) {
+            return Content.EMPTY;
+        }
+        PuzzleCatalog catalog = opened.get();
+        Map<Long, PuzzleHint> hints = Collections.emptyMap();
+        try {
+            Object parsed = new JSONParser().parse(catalog.readRoomsFile());
+            if (parsed instanceof JSONObject root) {
+                hints = extractPuzzleHints((JSONArray) root.get("rooms"), extractHintTexts((JSONArray) root.get("hints")));
+            }
+        } catch (IOException | ParseException | ClassCastException e) {
+            System.err.println("Could not read hints from " + directory.resolve(DataLoader.ROOMS_FILE) + ": " + e);
+        }
+        return new Content(catalog.roomsSize(), catalog.roomsModified(), catalog, hints);
+    }
+
+    private static Map<Long, String> extractHintTexts(JSONArray hintsArray) {
+        if (hintsArray == null) {
+            return Collections.emptyMap();
+        }
+        Map<Long, String> hints = new HashMap<>();
+        for (Object entry : hintsArray) {
+            if (entry instanceof JSONObject hintObj) {
+                Long id = DataLoader.asNullableLong(hintObj.get("hintID"));
+                if (id != null) {
+                    Object text = hintObj.get("hintText");
+                    hints.put(id, text == null ? "" : text.toString());
+                }
+            }
+        }
+        return hints;
+    }
+
+    private static Map<Long, PuzzleHint> extractPuzzleHints(JSONArray roomsArray, Map<Long, String> fallbackById) {
+        if (roomsArray == null) {
+            return Collections.emptyMap();
+        }
+        Map<Long, PuzzleHint> puzzleHints = new HashMap<>();
+        for (Object roomObj : roomsArray) {
+            if (!(roomObj instanceof JSONObject room)) {
+                continue;
+            }
+            JSONArray puzzles = (JSONArray) room.get("puzzles");
+            if (puzzles == null) {
+                continue;
+            }
+            for (Object puzzleObj : puzzles) {
+                if (!(puzzleObj instanceof JSONObject puzzle)) {
+                    continue;
+                }
+                Long puzzleId = DataLoader.asNullableLong(puzzle.get("puzzleName"));
+                if (puzzleId == null) {
+                    continue;
+                }
+                PuzzleHint hint = resolvePuzzleHint(puzzle, fallbackById);
+                if (hint != null) {
+                    puzzleHints.put(puzzleId, hint);
+                }
+            }
+        }
+        return Collections.unmodifiableMap(puzzleHints);
+    }
+
+    /**
+     * The puzzle's own first hint wins, then its {@code hintText} field, then
+     * the global hint named by its {@code hintID}.
+     */
+    private static PuzzleHint resolvePuzzleHint(JSONObject puzzle, Map<Long, String> fallbackById) {
+        JSONArray hintsArray = puzzle.get("hints") instanceof JSONArray array ? array : null;
+        JSONObject firstHint = hintsArray != null && !hintsArray.isEmpty()
+                && hintsArray.get(0) instanceof JSONObject hintObj ? hintObj : null;
+        String text = firstHint == null || firstHint.get("hintText") == null
+                ? null : firstHint.get("hintText").toString();
+        if (text == null && puzzle.get("hintText") != null) {
+            text = puzzle.get("hintText").toString();
+        }
+        Long hintId = DataLoader.asNullableLong(puzzle.get("hintID"));
+        if ((text == null || text.isBlank()) && hintId != null) {
+            text = fallbackById.get(hintId);
+        }
+        if (hintId == null && firstHint != null) {
+            hintId = DataLoader.asNullableLong(firstHint.get("hintID"));
+        }
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        return new PuzzleHint(hintId, text);
+    }
+}
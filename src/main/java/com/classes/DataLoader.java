@@ -7,6 +7,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -23,34 +24,65 @@ import org.json.simple.parser.ParseException;
  * I wrote these notes to remind future students what each piece does.
  */
 public class DataLoader {
-    private static final String ROOMS_FILE = "rooms.json";
-    private static final String USERS_FILE = "users.json";
+    static final String ROOMS_FILE = "rooms.json";
+    static final String USERS_FILE = "users.json";
 
     private final Path sourceDirectory;
+    private final boolean streamUsers;
     private final JSONParser parser = new JSONParser();
 
     /**
      * Builds a loader that looks inside the given folder for JSON files.
+     * Players are read with the streaming users parser.
      *
      * @param sourceDirectory folder that should contain rooms.json and users.json
      */
     public DataLoader(Path sourceDirectory) {
+        this(sourceDirectory, true);
+    }
+
+    /**
+     * Builds a loader and picks how users.json is read. Streaming builds each
+     * player straight from the tokens, one record at a time; the tree mode
+     * parses the whole file into JSON objects first (the old behaviour).
+     *
+     * @param sourceDirectory folder that should contain rooms.json and users.json
+     * @param streamUsers     {@code true} to stream users.json, {@code false} to parse it as one document
+     */
+    public DataLoader(Path sourceDirectory, boolean streamUsers) {
         this.sourceDirectory = sourceDirectory;
+        this.streamUsers = streamUsers;
     }
 
     /**
      * Tries to read the JSON files and return a full game system.
      * If anything goes wrong we just return an empty Optional.
+     * <p>
+     * When the folder also has a binary snapshot that still matches the JSON
+     * (see {@link SnapshotCodec}), that is read instead because it is much
+     * faster. Otherwise the JSON is parsed as usual.
+     * </p>
      *
      * @return game system from disk when everything worked, otherwise empty
      */
     public Optional<GameSystem> loadGame() {
+        // Read the generation first: a save racing with this load can only make it look older, never newer.
+        long generation = readGeneration();
+        Optional<GameSystem> snapshot = SnapshotCodec.readIfFresh(sourceDirectory);
+        if (snapshot.isPresent()) {
+            snapshot.get().markClean();
+            snapshot.get().setSnapshotGeneration(generation);
+            return snapshot;
+        }
         try {
             JSONObject roomsData = readObject(sourceDirectory.resolve(ROOMS_FILE));
             GameSystem system = parseGameSystem(roomsData);
 
-            JSONArray usersData = readArray(sourceDirectory.resolve(USERS_FILE));
-            system.setPlayers(parsePlayers(usersData));
+            Path usersFile = sourceDirectory.resolve(USERS_FILE);
+            system.setPlayers(streamUsers ? streamPlayers(usersFile) : parsePlayers(readArray(usersFile)));
+            // Everything in memory now matches the files, so nothing needs rewriting yet.
+            system.markClean();
+            system.setSnapshotGeneration(generation);
 
             return Optional.of(system);
         } catch (IOException | ParseException e) {
@@ -59,6 +91,19 @@ public class DataLoader {
         }
     }
 
+    /**
+     * Generation of the files about to be read, or {@link GameSystem#NO_GENERATION}
+     * when the counter cannot be read, which turns off the stale-save check.
+     */
+    private long readGeneration() {
+        try {
+            return SnapshotGeneration.forDirectory(sourceDirectory).current();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return GameSystem.NO_GENERATION;
+        }
+    }
+
     /**
      * Reads one JSON object file, or gives back an empty object if the file is missing.
      */
@@ -88,12 +133,24 @@ public class DataLoader {
         }
     }
 
+    /**
+     * Streams users.json into a player list without building the JSON tree.
+     */
+    private PlayerList streamPlayers(Path file) throws IOException, ParseException {
+        if (!Files.exists(file)) {
+            return new PlayerList();
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return UsersStreamReader.read(reader);
+        }
+    }
+
     /**
      * Turns the top-level rooms JSON into our GameSystem object.
      */
     private GameSystem parseGameSystem(JSONObject root) {
         Long legacyId = asNullableLong(root.get("gameSystemID"));
-        UUID gameId = deriveUuid("game", legacyId);
+        UUID gameId = LegacyIds.GAME.derive(legacyId);
         GameSystem system = new GameSystem(gameId);
         system.setLegacyId(legacyId);
 
@@ -109,7 +166,7 @@ public class DataLoader {
         if (roomsArray != null) {
             for (Object entry : roomsArray) {
                 if (entry instanceof JSONObject roomObj) {
-                    Room room = parseRoom(roomObj, puzzles);
+                    Room room = parseRoom(roomObj, puzzles, system.getProgress());
                     rooms.add(room);
                 }
             }
@@ -147,7 +204,7 @@ public class DataLoader {
             for (Object obj : hintsArray) {
                 if (obj instanceof JSONObject hintObj) {
                     Long legacyId = asNullableLong(hintObj.get("hintID"));
-                    UUID id = deriveUuid("hint", legacyId);
+                    UUID id = LegacyIds.HINT.derive(legacyId);
                     String text = (String) hintObj.getOrDefault("hintText", "");
                     hints.addHint(id, legacyId, text);
                 }
@@ -167,7 +224,7 @@ public class DataLoader {
                 for (Object entry : scores) {
                     if (entry instanceof JSONObject scoreObj) {
                         Long legacyId = asNullableLong(scoreObj.get("scoreEntryID"));
-                        UUID id = deriveUuid("score", legacyId);
+                        UUID id = LegacyIds.SCORE.derive(legacyId);
                         String playerName = (String) scoreObj.getOrDefault("playerName", "Unknown");
                         int score = asNumber(scoreObj.get("score")).intValue();
                         Duration completionTime = parseDuration((String) scoreObj.get("completionTime"));
@@ -180,11 +237,12 @@ public class DataLoader {
     }
 
     /**
-     * Reads one room and also adds its puzzles to the shared puzzle list.
+     * Reads one room and also adds its puzzles to the shared puzzle list. A
+     * puzzle's saved solved flag goes to the progress, not the puzzle.
      */
-    private Room parseRoom(JSONObject roomObj, PuzzleList puzzleList) {
+    private Room parseRoom(JSONObject roomObj, PuzzleList puzzleList, Progress progress) {
         Long legacyId = asNullableLong(roomObj.get("roomID"));
-        Room room = new Room(deriveUuid("room", legacyId), legacyId == null ? null : legacyId.intValue());
+        Room room = new Room(LegacyIds.ROOM.derive(legacyId), legacyId == null ? null : legacyId.intValue());
 
         JSONArray itemsArray = (JSONArray) roomObj.get("items");
         if (itemsArray != null) {
@@ -202,6 +260,9 @@ public class DataLoader {
                     Puzzle puzzle = parsePuzzle(puzzleObj);
                     room.addPuzzle(puzzle);
                     puzzleList.add(puzzle);
+                    if (Boolean.TRUE.equals(puzzleObj.get("solved"))) {
+                        progress.markPuzzleSolved(puzzle.getId());
+                    }
                 }
             }
         }
@@ -213,7 +274,7 @@ public class DataLoader {
      */
     private Item parseItem(JSONObject itemObj) {
         Long legacyId = asNullableLong(itemObj.get("itemID"));
-        UUID id = deriveUuid("item", legacyId);
+        UUID id = LegacyIds.ITEM.derive(legacyId);
         String name = (String) itemObj.getOrDefault("itemName", "Item");
         boolean reusable = Boolean.TRUE.equals(itemObj.get("isReusable"));
         return new Item(id, legacyId, name, reusable);
@@ -222,42 +283,49 @@ public class DataLoader {
     /**
      * Figures out which puzzle type we are dealing with and builds it.
      */
-    private Puzzle parsePuzzle(JSONObject puzzleObj) {
+    static Puzzle parsePuzzle(JSONObject puzzleObj) {
         Long legacyId = asNullableLong(puzzleObj.get("puzzleName"));
-        UUID id = deriveUuid("puzzle", legacyId);
+        UUID id = LegacyIds.PUZZLE.derive(legacyId);
         String name = (String) puzzleObj.getOrDefault("name", legacyId == null ? "Puzzle" : "Puzzle " + legacyId);
         String description = (String) puzzleObj.getOrDefault("description", "");
         String reward = (String) puzzleObj.getOrDefault("reward", "");
-        boolean solved = Boolean.TRUE.equals(puzzleObj.get("solved"));
         PuzzleType type = PuzzleType.fromString((String) puzzleObj.get("type"));
 
         return switch (type) {
             case MULTIPLE_CHOICE -> {
                 List<String> options = readStringList((JSONArray) puzzleObj.get("options"));
                 String correctOption = (String) puzzleObj.getOrDefault("correctOption", "");
-                yield new MultipleChoicePuzzle(id, legacyId, name, description, reward, options, correctOption, solved);
+                yield new MultipleChoicePuzzle(id, legacyId, name, description, reward, options, correctOption);
             }
             case SEQUENCE -> {
                 List<String> sequence = readStringList((JSONArray) puzzleObj.get("sequence"));
-                yield new SequencePuzzle(id, legacyId, name, description, reward, sequence, solved);
+                yield new SequencePuzzle(id, legacyId, name, description, reward, sequence);
             }
             case RIDDLE -> {
                 String riddle = (String) puzzleObj.getOrDefault("riddle", description);
                 String answer = (String) puzzleObj.getOrDefault("answer", "");
-                yield new RiddlePuzzle(id, legacyId, name, description, reward, riddle, answer, solved);
+                yield new RiddlePuzzle(id, legacyId, name, description, reward, riddle, answer,
+                        readStringList((JSONArray) puzzleObj.get("acceptedAnswers")), readMaxTypos(puzzleObj));
             }
             case CODE_LOCK -> {
                 String code = (String) puzzleObj.getOrDefault("code", puzzleObj.getOrDefault("solution", ""));
-                yield new CodeLockPuzzle(id, legacyId, name, description, reward, code, solved);
+                yield new CodeLockPuzzle(id, legacyId, name, description, reward, code,
+                        readStringList((JSONArray) puzzleObj.get("acceptedAnswers")), readMaxTypos(puzzleObj));
             }
             case WRITE_IN -> {
                 String answer = (String) puzzleObj.getOrDefault("correctAnswer", puzzleObj.getOrDefault("solution", ""));
-                yield new WriteInPuzzle(id, legacyId, name, description, reward, answer, solved);
+                yield new WriteInPuzzle(id, legacyId, name, description, reward, answer,
+                        readStringList((JSONArray) puzzleObj.get("acceptedAnswers")), readMaxTypos(puzzleObj));
             }
         };
     }
 
-    private List<String> readStringList(JSONArray array) {
+    private static int readMaxTypos(JSONObject puzzleObj) {
+        Long maxTypos = asNullableLong(puzzleObj.get("maxTypos"));
+        return maxTypos == null ? 0 : (int) Math.max(0, Math.min(maxTypos, Integer.MAX_VALUE));
+    }
+
+    private static List<String> readStringList(JSONArray array) {
         List<String> values = new ArrayList<>();
         if (array != null) {
             for (Object element : array) {
@@ -274,21 +342,41 @@ public class DataLoader {
         if (array == null) {
             return values;
         }
+        long[] legacyIds = new long[array.size()];
+        int legacyCount = 0;
         for (Object element : array) {
-            if (element instanceof String str && !str.isBlank()) {
-                try {
-                    values.add(UUID.fromString(str.trim()));
-                    continue;
-                } catch (IllegalArgumentException ignored) {
-                }
-            }
             if (element instanceof Number number) {
-                values.add(deriveUuid("puzzle", number));
+                legacyIds[legacyCount++] = number.longValue();
+                continue;
+            }
+            UUID puzzleId = asPuzzleUuid(element);
+            if (puzzleId != null) {
+                values.add(puzzleId);
             }
         }
+        if (legacyCount > 0) {
+            Collections.addAll(values, LegacyIds.PUZZLE.deriveAll(legacyIds, legacyCount));
+        }
         return values;
     }
 
+    /**
+     * Reads one solvedPuzzles entry: either a UUID string or a legacy puzzle number.
+     * Anything else gives back null.
+     */
+    static UUID asPuzzleUuid(Object element) {
+        if (element instanceof String str && !str.isBlank()) {
+            try {
+                return UUID.fromString(str.trim());
+            } catch (IllegalArgumentException ignored) {
+            }
+        }
+        if (element instanceof Number number) {
+            return LegacyIds.PUZZLE.derive(number);
+        }
+        return null;
+    }
+
     private PlayerList parsePlayers(JSONArray playersArray) {
         PlayerList players = new PlayerList();
         if (playersArray != null) {
@@ -303,7 +391,7 @@ public class DataLoader {
 
     private Player parsePlayer(JSONObject playerObj) {
         Long legacyId = asNullableLong(playerObj.get("playerID"));
-        UUID id = deriveUuid("player", legacyId);
+        UUID id = LegacyIds.PLAYER.derive(legacyId);
         String name = (String) playerObj.getOrDefault("name", "Unknown");
         String email = (String) playerObj.getOrDefault("email", "");
         String avatar = (String) playerObj.get("avatar");
@@ -338,7 +426,7 @@ public class DataLoader {
         return stats;
     }
 
-    private Number asNumber(Object value) {
+    static Number asNumber(Object value) {
         if (value instanceof Number number) {
             return number;
         }
@@ -351,7 +439,7 @@ public class DataLoader {
         return 0;
     }
 
-    private Long asNullableLong(Object value) {
+    static Long asNullableLong(Object value) {
         if (value instanceof Number number) {
             return number.longValue();
         }
@@ -364,7 +452,7 @@ public class DataLoader {
         return null;
     }
 
-    private Duration parseDuration(String input) {
+    static Duration parseDuration(String input) {
         if (input == null || input.isBlank()) {
             return Duration.ZERO;
         }
@@ -386,12 +474,4 @@ public class DataLoader {
         }
         return Duration.ZERO;
     }
-
-    private UUID deriveUuid(String prefix, Number id) {
-        if (id == null) {
-            return UUID.randomUUID();
-        }
-        String seed = prefix + "-" + id.longValue();
-        return UUID.nameUUIDFromBytes(seed.getBytes(StandardCharsets.UTF_8));
-    }
 }
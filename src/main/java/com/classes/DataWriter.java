@@ -1,22 +1,26 @@
 package com.classes;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.io.Reader;
 import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.Duration;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
 
 /**
  * Persists the current escape-room state back into the JSON files used by the
@@ -24,9 +28,18 @@ import org.json.simple.parser.ParseException;
  * {@code users.json}) whose shape mirrors the structure that
  * {@link DataLoader} expects when rebuilding a {@link GameSystem}.
  * <p>
- * Instances are mutable only in that they remember the destination directory;
- * call {@link #saveGame(GameSystem)} whenever the in-memory state should be
- * flushed to disk.
+ * Saves are incremental: only the {@link GameSection sections} the game
+ * system reports as dirty are serialized again, the JSON for clean sections
+ * is reused from the previous save, and a file none of whose sections changed
+ * is not rewritten at all. The per-puzzle hint metadata carried in
+ * {@code rooms.json} comes from the directory's shared {@link ContentCache}.
+ * </p>
+ * <p>
+ * A writer can also refresh the binary {@link SnapshotCodec snapshot} next
+ * to the JSON, so the next start can skip parsing it. Encoding the snapshot
+ * costs a write of the whole game, so it only happens when a caller asks for
+ * it through {@link #save(GameSystem, boolean)}, such as when the journal is
+ * compacted or the game shuts down, never on ordinary saves.
  * </p>
  */
 public class DataWriter {
@@ -34,6 +47,8 @@ public class DataWriter {
     private static final String USERS_FILE = "users.json";
 
     private final Path destinationDirectory;
+    private final Map<GameSection, Object> roomsFileFragments = new EnumMap<>(GameSection.class);
+    private GameSystem fragmentSource;
 
     /**
      * Creates a writer that emits JSON files into the supplied directory. The
@@ -46,39 +61,165 @@ public class DataWriter {
     }
 
     /**
-     * Serializes the provided game system to disk. The existing game state is
-     * broken into its rooms, leaderboard, hints, players, and timer sections
-     * and written to {@code rooms.json} and {@code users.json}.
+     * Outcome of {@link #save(GameSystem)}.
+     */
+    public enum SaveResult {
+        /** The dirty sections are on disk, or nothing needed writing. */
+        SAVED,
+        /** Writing failed; the sections stay dirty and the save can be retried. */
+        FAILED,
+        /**
+         * Someone else saved the directory after this game system was loaded.
+         * Retrying cannot help: reload the files and apply the changes again
+         * (see {@link GameSystemRepository}).
+         */
+        STALE
+    }
+
+    /**
+     * Serializes the provided game system to disk. Same as
+     * {@link #save(GameSystem)}, for callers that only need to know whether
+     * the data is on disk.
      *
      * @param gameSystem current in-memory game state; must not be {@code null}
      * @return {@code true} when the save completed successfully, {@code false}
-     *         when an {@link IOException} occurred
+     *         when an {@link IOException} occurred or the game system is stale
      */
     public boolean saveGame(GameSystem gameSystem) {
+        return save(gameSystem) == SaveResult.SAVED;
+    }
+
+    /**
+     * Serializes the provided game system to disk. The game state is broken
+     * into its rooms, leaderboard, hints, players, and timer sections; the
+     * sections marked dirty are written to {@code rooms.json} and
+     * {@code users.json}, and a missing file is always written in full.
+     * <p>
+     * Each file is written to a temporary sibling, forced to disk and then
+     * moved over the original, so a reader sees either the old or the new
+     * file, never a partial one. Saves to the same directory are serialized,
+     * across processes as well, and a game system loaded before another
+     * writer's save (see {@link GameSystem#getSnapshotGeneration()}) is
+     * reported {@link SaveResult#STALE stale} rather than allowed to
+     * overwrite newer data. Its sections stay dirty either way.
+     * </p>
+     *
+     * @param gameSystem current in-memory game state; must not be {@code null}
+     * @return what happened to the save
+     */
+    public SaveResult save(GameSystem gameSystem) {
+        return save(gameSystem, false);
+    }
+
+    /**
+     * Same as {@link #save(GameSystem)}, and optionally brings the binary
+     * snapshot up to date afterwards. The snapshot is only encoded when the
+     * one on disk no longer matches the JSON, and a failed snapshot write
+     * does not fail the save.
+     *
+     * @param gameSystem      current in-memory game state; must not be {@code null}
+     * @param refreshSnapshot {@code true} to rewrite {@link SnapshotCodec#FILE_NAME} when it is out of date
+     * @return what happened to the save
+     */
+    public synchronized SaveResult save(GameSystem gameSystem, boolean refreshSnapshot) {
         Objects.requireNonNull(gameSystem, "gameSystem");
-        try {
-            Files.createDirectories(destinationDirectory);
-            writeRooms(gameSystem);
-            writeUsers(gameSystem.getPlayers());
-            return true;
+        Set<GameSection> dirty = gameSystem.drainDirtySections();
+        // A running timer changes without anyone marking it, so always refresh it.
+        if (gameSystem.getTimer() != null && gameSystem.getTimer().isRunning()) {
+            dirty.add(GameSection.TIMER);
+        }
+        Path roomsPath = destinationDirectory.resolve(ROOMS_FILE);
+        Path usersPath = destinationDirectory.resolve(USERS_FILE);
+        boolean rewriteRooms = touchesRoomsFile(dirty) || !Files.exists(roomsPath);
+        boolean rewriteUsers = dirty.contains(GameSection.PLAYERS) || !Files.exists(usersPath);
+        if (!rewriteRooms && !rewriteUsers && !refreshSnapshot) {
+            return SaveResult.SAVED;
+        }
+
+        SnapshotGeneration generation = SnapshotGeneration.forDirectory(destinationDirectory);
+        try (SnapshotGeneration.Lock ignored = generation.lock()) {
+            long base = gameSystem.getSnapshotGeneration();
+            long onDisk = generation.current();
+            if (base != GameSystem.NO_GENERATION && base != onDisk) {
+                gameSystem.markDirty(dirty.toArray(new GameSection[0]));
+                return SaveResult.STALE;
+            }
+            if (rewriteRooms) {
+                writeRooms(gameSystem, dirty);
+            }
+            if (rewriteUsers) {
+                writeUsers(gameSystem.getPlayers());
+            }
+            if (rewriteRooms || rewriteUsers) {
+                gameSystem.setSnapshotGeneration(generation.advance());
+            }
+            // A game system that was never loaded from here only matches files it wrote itself.
+            boolean matchesFiles = base != GameSystem.NO_GENERATION || (rewriteRooms && rewriteUsers);
+            if (refreshSnapshot && matchesFiles && !SnapshotCodec.isFresh(destinationDirectory)) {
+                writeBinarySnapshot(gameSystem);
+            }
+            return SaveResult.SAVED;
         } catch (IOException e) {
+            // Treat the save as not having happened, so keep the sections pending.
+            fragmentSource = null;
+            gameSystem.markDirty(dirty.toArray(new GameSection[0]));
+            e.printStackTrace();
+            return SaveResult.FAILED;
+        }
+    }
+
+    /**
+     * The JSON is already saved, so a failed snapshot only costs startup time:
+     * the old snapshot no longer matches the JSON and is ignored by the loader.
+     */
+    private void writeBinarySnapshot(GameSystem gameSystem) {
+        try {
+            SnapshotCodec.write(gameSystem, destinationDirectory);
+        } catch (IOException | RuntimeException e) {
             e.printStackTrace();
-            return false;
         }
     }
 
-    private void writeRooms(GameSystem gameSystem) throws IOException {
+    private boolean touchesRoomsFile(Set<GameSection> dirty) {
+        for (GameSection section : dirty) {
+            if (section.isStoredInRoomsFile()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeRooms(GameSystem gameSystem, Set<GameSection> dirty) throws IOException {
+        if (fragmentSource != gameSystem) {
+            // Fragments cached for another game system cannot be reused.
+            roomsFileFragments.clear();
+            fragmentSource = gameSystem;
+        }
         JSONObject root = new JSONObject();
         root.put("gameSystemID", valueOrFallback(gameSystem.getLegacyId(), gameSystem.getId()));
         root.put("currentDifficulty", gameSystem.getDifficulty().name());
-        root.put("timer", writeTimer(gameSystem.getTimer()));
-        root.put("hints", writeHints(gameSystem.getHints()));
-        root.put("leaderboard", writeLeaderboard(gameSystem.getLeaderboard()));
-
-        Map<Long, PuzzleHint> puzzleHints = loadExistingPuzzleHints();
-        root.put("rooms", writeRoomsArray(gameSystem.getRooms(), puzzleHints));
+        root.put("timer", fragment(GameSection.TIMER, dirty, () -> writeTimer(gameSystem.getTimer())));
+        root.put("hints", fragment(GameSection.HINTS, dirty, () -> writeHints(gameSystem.getHints())));
+        root.put("leaderboard", fragment(GameSection.LEADERBOARD, dirty,
+                () -> writeLeaderboard(gameSystem.getLeaderboard())));
+        root.put("rooms", fragment(GameSection.ROOMS, dirty,
+                () -> writeRoomsArray(gameSystem.getRooms(), gameSystem.getProgress(), cachedPuzzleHints())));
 
         writeJson(destinationDirectory.resolve(ROOMS_FILE), root);
+        ContentCache.forDirectory(destinationDirectory).carryForward(gameSystem);
+    }
+
+    private Object fragment(GameSection section, Set<GameSection> dirty, Supplier<Object> serializer) {
+        Object cached = roomsFileFragments.get(section);
+        if (cached == null || dirty.contains(section)) {
+            cached = serializer.get();
+            roomsFileFragments.put(section, cached);
+        }
+        return cached;
+    }
+
+    private Map<Long, ContentCache.PuzzleHint> cachedPuzzleHints() {
+        return ContentCache.forDirectory(destinationDirectory).puzzleHints();
     }
 
     private void writeUsers(PlayerList players) throws IOException {
@@ -138,13 +279,13 @@ public class DataWriter {
         return obj;
     }
 
-    private JSONArray writeRoomsArray(RoomList rooms, Map<Long, PuzzleHint> puzzleHints) {
+    private JSONArray writeRoomsArray(RoomList rooms, Progress progress, Map<Long, ContentCache.PuzzleHint> puzzleHints) {
         JSONArray array = new JSONArray();
         for (Room room : rooms.asList()) {
             JSONObject roomObj = new JSONObject();
             roomObj.put("roomID", valueOrFallback(room.getLegacyId(), room.getId()));
             roomObj.put("items", writeItems(room.getItems()));
-            roomObj.put("puzzles", writePuzzles(room.getPuzzles(), puzzleHints));
+            roomObj.put("puzzles", writePuzzles(room.getPuzzles(), progress, puzzleHints));
             array.add(roomObj);
         }
         return array;
@@ -162,7 +303,7 @@ public class DataWriter {
         return array;
     }
 
-    private JSONArray writePuzzles(List<Puzzle> puzzles, Map<Long, PuzzleHint> puzzleHints) {
+    private JSONArray writePuzzles(List<Puzzle> puzzles, Progress progress, Map<Long, ContentCache.PuzzleHint> puzzleHints) {
         JSONArray array = new JSONArray();
         for (Puzzle puzzle : puzzles) {
             JSONObject puzzleObj = new JSONObject();
@@ -172,7 +313,7 @@ public class DataWriter {
             puzzleObj.put("description", puzzle.getDescription());
             puzzleObj.put("reward", puzzle.getReward());
             puzzleObj.put("type", puzzle.getType().name());
-            puzzleObj.put("solved", puzzle.isSolved());
+            puzzleObj.put("solved", progress.isPuzzleSolved(puzzle));
             enrichPuzzleByType(puzzle, puzzleObj);
             includePuzzleHintMetadata(puzzleObj, legacyId, puzzleHints);
             array.add(puzzleObj);
@@ -188,6 +329,7 @@ public class DataWriter {
             target.put("correctOption", mc.getCorrectOption());
         } else if (puzzle instanceof WriteInPuzzle writeIn) {
             target.put("correctAnswer", writeIn.getCorrectAnswer());
+            putAnswerTolerance(target, writeIn.getAcceptedAnswers(), writeIn.getMaxTypos());
         } else if (puzzle instanceof SequencePuzzle sequence) {
             JSONArray expected = new JSONArray();
             expected.addAll(sequence.getExpectedSequence());
@@ -195,29 +337,47 @@ public class DataWriter {
         } else if (puzzle instanceof RiddlePuzzle riddle) {
             target.put("riddle", riddle.getRiddle());
             target.put("answer", riddle.getAnswer());
+            putAnswerTolerance(target, riddle.getAcceptedAnswers(), riddle.getMaxTypos());
         } else if (puzzle instanceof CodeLockPuzzle codeLock) {
             target.put("code", codeLock.getCode());
+            putAnswerTolerance(target, codeLock.getAcceptedAnswers(), codeLock.getMaxTypos());
+        }
+    }
+
+    /**
+     * Writes aliases and the typo allowance only when a puzzle has them, so
+     * puzzles without either keep their old shape in rooms.json.
+     */
+    @SuppressWarnings("unchecked")
+    private void putAnswerTolerance(JSONObject target, List<String> acceptedAnswers, int maxTypos) {
+        if (!acceptedAnswers.isEmpty()) {
+            JSONArray aliases = new JSONArray();
+            aliases.addAll(acceptedAnswers);
+            target.put("acceptedAnswers", aliases);
+        }
+        if (maxTypos > 0) {
+            target.put("maxTypos", maxTypos);
         }
     }
 
     private void includePuzzleHintMetadata(JSONObject target,
                                            Long puzzleLegacyId,
-                                           Map<Long, PuzzleHint> puzzleHints) {
+                                           Map<Long, ContentCache.PuzzleHint> puzzleHints) {
         if (puzzleLegacyId == null || puzzleHints.isEmpty()) {
             return;
         }
-        PuzzleHint hint = puzzleHints.get(puzzleLegacyId);
-        if (hint == null || hint.hintText == null || hint.hintText.isBlank()) {
+        ContentCache.PuzzleHint hint = puzzleHints.get(puzzleLegacyId);
+        if (hint == null || hint.text() == null || hint.text().isBlank()) {
             return;
         }
-        if (hint.hintId != null) {
-            target.put("hintID", hint.hintId);
+        if (hint.hintId() != null) {
+            target.put("hintID", hint.hintId());
         }
         JSONObject hintObj = new JSONObject();
-        if (hint.hintId != null) {
-            hintObj.put("hintID", hint.hintId);
+        if (hint.hintId() != null) {
+            hintObj.put("hintID", hint.hintId());
         }
-        hintObj.put("hintText", hint.hintText);
+        hintObj.put("hintText", hint.text());
         JSONArray hintsArray = new JSONArray();
         hintsArray.add(hintObj);
         target.put("hints", hintsArray);
@@ -244,114 +404,40 @@ public class DataWriter {
         return array;
     }
 
-    private Map<Long, PuzzleHint> loadExistingPuzzleHints() {
-        Path roomsPath = destinationDirectory.resolve(ROOMS_FILE);
-        if (!Files.exists(roomsPath)) {
-            return Collections.emptyMap();
-        }
-        JSONParser parser = new JSONParser();
-        try (Reader reader = Files.newBufferedReader(roomsPath, StandardCharsets.UTF_8)) {
-            Object parsed = parser.parse(reader);
-            if (!(parsed instanceof JSONObject root)) {
-                return Collections.emptyMap();
-            }
-            Map<Long, String> hintTexts = extractHintTextMap((JSONArray) root.get("hints"));
-            return extractPuzzleHints((JSONArray) root.get("rooms"), hintTexts);
-        } catch (IOException | ParseException e) {
-            return Collections.emptyMap();
-        }
-    }
-
-    private Map<Long, String> extractHintTextMap(JSONArray hintsArray) {
-        if (hintsArray == null) {
-            return Collections.emptyMap();
-        }
-        Map<Long, String> hints = new HashMap<>();
-        for (Object entry : hintsArray) {
-            if (entry instanceof JSONObject hintObj) {
-                Long id = asLong(hintObj.get("hintID"));
-                if (id != null) {
-                    Object text = hintObj.get("hintText");
-                    hints.put(id, text == null ? "" : text.toString());
-                }
-            }
-        }
-        return hints;
+    private void writeJson(Path path, JSONObject content) throws IOException {
+        writeAtomically(path, content::writeJSONString);
     }
 
-    private Map<Long, PuzzleHint> extractPuzzleHints(JSONArray roomsArray, Map<Long, String> fallbackById) {
-        if (roomsArray == null) {
-            return Collections.emptyMap();
-        }
-        Map<Long, PuzzleHint> puzzleHints = new HashMap<>();
-        for (Object roomObj : roomsArray) {
-            if (!(roomObj instanceof JSONObject room)) {
-                continue;
-            }
-            JSONArray puzzles = (JSONArray) room.get("puzzles");
-            if (puzzles == null) {
-                continue;
-            }
-            for (Object puzzleObj : puzzles) {
-                if (!(puzzleObj instanceof JSONObject puzzle)) {
-                    continue;
-                }
-                Long puzzleId = asLong(puzzle.get("puzzleName"));
-                if (puzzleId == null) {
-                    continue;
-                }
-                PuzzleHint hint = resolvePuzzleHint(puzzle, fallbackById);
-                if (hint != null) {
-                    puzzleHints.put(puzzleId, hint);
-                }
-            }
-        }
-        return puzzleHints;
+    private void writeJson(Path path, JSONArray content) throws IOException {
+        writeAtomically(path, content::writeJSONString);
     }
 
-    private PuzzleHint resolvePuzzleHint(JSONObject puzzle, Map<Long, String> fallbackById) {
-        JSONArray hintsArray = (JSONArray) puzzle.get("hints");
-        String text = firstHintText(hintsArray);
-        Long hintId = asLong(puzzle.get("hintID"));
-        if ((text == null || text.isBlank()) && hintId != null) {
-            text = fallbackById.get(hintId);
-        }
-        if (hintId == null && hintsArray != null && !hintsArray.isEmpty()) {
-            Object first = hintsArray.get(0);
-            if (first instanceof JSONObject hintObj) {
-                hintId = asLong(hintObj.get("hintID"));
+    /**
+     * Writes to a temporary file next to the target, forces it to disk and
+     * renames it over the target in one step.
+     */
+    private void writeAtomically(Path path, JsonBody body) throws IOException {
+        Path temp = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName() + ".", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+                 Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8))) {
+                body.writeTo(writer);
+                writer.flush();
+                channel.force(true);
             }
-        }
-        if (text == null || text.isBlank()) {
-            return null;
-        }
-        return new PuzzleHint(hintId, text);
-    }
-
-    private String firstHintText(JSONArray hintsArray) {
-        if (hintsArray == null || hintsArray.isEmpty()) {
-            return null;
-        }
-        Object first = hintsArray.get(0);
-        if (first instanceof JSONObject hintObj) {
-            Object text = hintObj.get("hintText");
-            if (text != null) {
-                return text.toString();
+            try {
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
             }
+        } finally {
+            Files.deleteIfExists(temp);
         }
-        return null;
     }
 
-    private void writeJson(Path path, JSONObject content) throws IOException {
-        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
-            content.writeJSONString(writer);
-        }
-    }
-
-    private void writeJson(Path path, JSONArray content) throws IOException {
-        try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
-            content.writeJSONString(writer);
-        }
+    @FunctionalInterface
+    private interface JsonBody {
+        void writeTo(Writer writer) throws IOException;
     }
 
     private long valueOrFallback(Long legacyId, UUID id) {
@@ -386,27 +472,4 @@ public class DataWriter {
         long secs = seconds % 60;
         return String.format("%02d:%02d:%02d", hours, minutes, secs);
     }
-
-    private Long asLong(Object value) {
-        if (value instanceof Number number) {
-            return number.longValue();
-        }
-        if (value instanceof String str && !str.isBlank()) {
-            try {
-                return Long.parseLong(str.trim());
-            } catch (NumberFormatException ignored) {
-            }
-        }
-        return null;
-    }
-
-    private static final class PuzzleHint {
-        private final Long hintId;
-        private final String hintText;
-
-        private PuzzleHint(Long hintId, String hintText) {
-            this.hintId = hintId;
-            this.hintText = hintText;
-        }
-    }
 }
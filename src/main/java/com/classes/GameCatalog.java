@@ -0,0 +1,110 @@
+package com.classes;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * The rooms and puzzles in play, frozen once so any number of
+ * {@link GameSession sessions} can read them from any thread. Only the first
+ * {@value #SEQUENTIAL_ROOM_LIMIT} rooms are kept, the same ones
+ * {@link GameFacade} offers.
+ * <p>
+ * The catalog copies each room's puzzle list when it is built, so adding
+ * puzzles to a room later does not change it. Puzzles are immutable and
+ * solved state lives in each session's {@link Progress}, so reading the
+ * shared puzzles and checking answers against them is safe from any thread.
+ * </p>
+ */
+public final class GameCatalog {
+    /** Number of rooms played in order; later rooms in the data are not offered. */
+    public static final int SEQUENTIAL_ROOM_LIMIT = 3;
+
+    private final List<Room> rooms;
+    private final List<List<Puzzle>> puzzlesByRoom;
+    private final Map<UUID, Puzzle> puzzlesById;
+    private final Map<UUID, Integer> roomIndexByPuzzle;
+    private final int puzzleCount;
+
+    private GameCatalog(RoomList source) {
+        List<Room> all = source.asList();
+        int size = Math.min(SEQUENTIAL_ROOM_LIMIT, all.size());
+        List<Room> keptRooms = new ArrayList<>(size);
+        List<List<Puzzle>> keptPuzzles = new ArrayList<>(size);
+        Map<UUID, Puzzle> byId = new HashMap<>();
+        Map<UUID, Integer> roomIndex = new HashMap<>();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            Room room = all.get(i);
+            List<Puzzle> puzzles = List.copyOf(room.getPuzzles());
+            keptRooms.add(room);
+            keptPuzzles.add(puzzles);
+            for (Puzzle puzzle : puzzles) {
+                // Like RoomList, the earlier room wins when a puzzle id shows up twice.
+                if (byId.putIfAbsent(puzzle.getId(), puzzle) == null) {
+                    roomIndex.put(puzzle.getId(), i);
+                }
+            }
+            count += puzzles.size();
+        }
+        this.rooms = List.copyOf(keptRooms);
+        this.puzzlesByRoom = List.copyOf(keptPuzzles);
+        this.puzzlesById = Map.copyOf(byId);
+        this.roomIndexByPuzzle = Map.copyOf(roomIndex);
+        this.puzzleCount = count;
+    }
+
+    /**
+     * Freezes the sequential rooms of a game system.
+     *
+     * @param system game system to take the rooms from; must not be {@code null}
+     * @return catalog over those rooms
+     */
+    public static GameCatalog of(GameSystem system) {
+        Objects.requireNonNull(system, "system");
+        return new GameCatalog(system.getRooms());
+    }
+
+    /**
+     * @return rooms in play order
+     */
+    public List<Room> getRooms() {
+        return rooms;
+    }
+
+    /**
+     * @param roomIndex position of the room in {@link #getRooms()}
+     * @return puzzles of that room in play order
+     */
+    public List<Puzzle> getPuzzles(int roomIndex) {
+        return puzzlesByRoom.get(roomIndex);
+    }
+
+    /**
+     * @param puzzleId puzzle to look up; {@code null} gives an empty optional
+     * @return the puzzle when it belongs to one of the catalog's rooms
+     */
+    public Optional<Puzzle> findPuzzle(UUID puzzleId) {
+        return puzzleId == null ? Optional.empty() : Optional.ofNullable(puzzlesById.get(puzzleId));
+    }
+
+    /**
+     * @param puzzleId puzzle to look up
+     * @return position of the room holding the puzzle, or -1 when it is not in the catalog
+     */
+    public int roomIndexOf(UUID puzzleId) {
+        Integer index = puzzleId == null ? null : roomIndexByPuzzle.get(puzzleId);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @return number of puzzles across all rooms
+     */
+    public int getPuzzleCount() {
+        return puzzleCount;
+    }
+}
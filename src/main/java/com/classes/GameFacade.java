@@ -2,29 +2,37 @@ package com.classes;
 
 import java.nio.file.Path;
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 
 /**
  * Coordinates the escape-room gameplay loop. This facade hides the underlying
  * persistence and domain objects by loading/saving state, managing player
  * sessions, tracking progress, pacing rooms sequentially, and mediating score,
  * hint, and timer updates exposed to the UI layer.
+ * <p>
+ * Solved state lives in the game system's {@link Progress}, never in the
+ * puzzles, so logging a player in or out swaps one solved set instead of
+ * walking every puzzle.
+ * </p>
+ * <p>
+ * The game system is held by a {@link GameSystemRepository} of the facade's
+ * own, and every change goes through it as a mutation that looks the active
+ * player up by id. When another process saves the data directory first, the
+ * repository reloads the files and applies those mutations again instead of
+ * refusing the save, so progress made here is not lost.
+ * </p>
  */
 public class GameFacade {
     private static final int POINTS_PER_PUZZLE = 5;
     private static final int HINT_PENALTY = 1;
-    private static final int SEQUENTIAL_ROOM_LIMIT = 3;
+    private static final int SEQUENTIAL_ROOM_LIMIT = GameCatalog.SEQUENTIAL_ROOM_LIMIT;
     private static final Duration DEFAULT_TIMER_DURATION = Duration.ofMinutes(15);
-    private GameSystem gameSystem;
-    private final DataLoader dataLoader;
-    private final DataWriter dataWriter;
-    private Player activePlayer;
+    private final GameSystemRepository repository;
+    private UUID activePlayerId;
     private boolean timerStarted;
 
     /**
@@ -34,11 +42,21 @@ public class GameFacade {
      * @param dataDirectory base path containing {@code rooms.json} and {@code users.json}; must not be {@code null}
      */
     public GameFacade(String dataDirectory) {
+        this(dataDirectory, PersistenceQueue.DEFAULT_WINDOW);
+    }
+
+    /**
+     * Creates a facade whose background saves coalesce changes made within
+     * the given window.
+     *
+     * @param dataDirectory base path containing {@code rooms.json} and {@code users.json}; must not be {@code null}
+     * @param saveWindow    how long changes may accumulate before they are written; must not be negative
+     */
+    public GameFacade(String dataDirectory, Duration saveWindow) {
         Objects.requireNonNull(dataDirectory, "dataDirectory");
         Path basePath = Path.of(dataDirectory);
-        this.dataLoader = new DataLoader(basePath);
-        this.dataWriter = new DataWriter(basePath);
-        this.gameSystem = new GameSystem();
+        this.repository = new GameSystemRepository(new DataLoader(basePath), new DataWriter(basePath), saveWindow, null);
+        this.repository.replace(new GameSystem());
         this.timerStarted = false;
     }
 
@@ -47,13 +65,13 @@ public class GameFacade {
      * resetting the timer, and discarding any active player session.
      */
     public void startNewGame() {
-        this.gameSystem = new GameSystem();
-        this.activePlayer = null;
-        this.gameSystem.getProgress().clearSolved();
-        clearAllPuzzleSolvedFlags();
-        ensureCurrentRoom();
+        GameSystem fresh = new GameSystem();
+        fresh.getProgress().clearSolved();
+        configureSessionTimer(fresh, false);
+        repository.replace(fresh);
+        this.activePlayerId = null;
         timerStarted = false;
-        configureSessionTimer();
+        ensureCurrentRoom();
     }
 
     /**
@@ -62,27 +80,63 @@ public class GameFacade {
      * @return {@code true} when the data was loaded successfully; {@code false} otherwise
      */
     public boolean loadGame() {
-        return dataLoader.loadGame().map(loaded -> {
-            this.gameSystem = loaded;
-            this.activePlayer = null;
-            this.gameSystem.getProgress().clearSolved();
-            clearAllPuzzleSolvedFlags();
-            ensureCurrentRoom();
-            timerStarted = false;
-            configureSessionTimer();
-            return true;
-        }).orElse(false);
+        GameSystem previous = getGameSystem();
+        // Lets queued saves land first so the files reflect the latest changes.
+        repository.reload();
+        if (!repository.load()) {
+            repository.replace(previous);
+            return false;
+        }
+        this.activePlayerId = null;
+        timerStarted = false;
+        repository.update(system -> {
+            system.getProgress().clearSolved();
+            system.markDirty(GameSection.ROOMS);
+            configureSessionTimer(system, false);
+        });
+        ensureCurrentRoom();
+        return true;
     }
 
     /**
      * Saves the in-memory game system (including the active player's progress)
-     * back to disk.
+     * back to disk and waits for the write to finish. Unlike the background
+     * saves queued by gameplay actions, this rewrites every section.
      *
      * @return {@code true} when the game state was written successfully; {@code false} on failure
      */
     public boolean saveGame() {
-        persistActiveProgress();
-        return dataWriter.saveGame(gameSystem);
+        mutate(system -> {
+            system.markAllDirty();
+            return Boolean.TRUE;
+        });
+        return repository.flush();
+    }
+
+    /**
+     * Blocks until every change queued for saving has been written.
+     *
+     * @return {@code true} when the most recent write succeeded
+     */
+    public boolean flush() {
+        return repository.flush();
+    }
+
+    /**
+     * Waits for queued saves to reach disk without shortening the coalescing window.
+     *
+     * @param timeout longest time to wait
+     * @return {@code true} when every earlier change was written successfully in time
+     */
+    public boolean awaitDurable(Duration timeout) {
+        return repository.awaitDurable(timeout);
+    }
+
+    /**
+     * @return queue feeding the background writer, for depth and latency diagnostics
+     */
+    public PersistenceQueue getPersistenceQueue() {
+        return repository.getPersistenceQueue();
     }
 
     /**
@@ -92,7 +146,7 @@ public class GameFacade {
      * @return {@code true} if the player exists and is now active; {@code false} otherwise
      */
     public boolean loginPlayer(UUID playerId) {
-        Optional<Player> player = gameSystem.getPlayers().findById(playerId);
+        Optional<Player> player = getGameSystem().getPlayers().findById(playerId);
         player.ifPresent(this::setActivePlayer);
         return player.isPresent();
     }
@@ -104,13 +158,13 @@ public class GameFacade {
      * @return {@code true} if the player exists and is now active; {@code false} otherwise
      */
     public boolean login(String email) {
-        Optional<Player> player = gameSystem.getPlayers().findByEmail(email);
+        Optional<Player> player = getGameSystem().getPlayers().findByEmail(email);
         player.ifPresent(this::setActivePlayer);
         return player.isPresent();
     }
 
     /**
-     * Creates a new player record and persists the updated roster.
+     * Creates a new player record and queues the updated roster for saving.
      *
      * @param name   display name for the player
      * @param email  login email for the player
@@ -119,14 +173,16 @@ public class GameFacade {
      * @throws IllegalArgumentException when the email is missing or already registered to another player
      */
     public Player createAccount(String name, String email, String avatar) {
-        Optional<Player> existing = gameSystem.getPlayers().findByEmail(email);
-        if (existing.isPresent()) {
-            String ownerName = existing.get().getName();
-            throw new IllegalArgumentException(ownerName + " has already made an account in the system. Please use a different email.");
-        }
-        Player player = gameSystem.getPlayers().createPlayer(name, email, avatar);
-        saveGame();
-        return player;
+        return mutate(system -> {
+            Optional<Player> existing = system.getPlayers().findByEmail(email);
+            if (existing.isPresent()) {
+                String ownerName = existing.get().getName();
+                throw new IllegalArgumentException(ownerName + " has already made an account in the system. Please use a different email.");
+            }
+            Player player = system.getPlayers().createPlayer(name, email, avatar);
+            system.markDirty(GameSection.PLAYERS);
+            return player;
+        }).orElseThrow(() -> new IllegalStateException("Game data is not available"));
     }
 
     /**
@@ -136,36 +192,41 @@ public class GameFacade {
      * @return {@code true} when the email is already in use
      */
     public boolean isDuplicateUser(String email) {
-        return gameSystem.getPlayers().emailExists(email);
+        return repository.read(system -> system.getPlayers().emailExists(email)).orElse(false);
     }
 
     /**
      * @return {@code true} if the player list contains duplicate email entries
      */
     public boolean hasDuplicateUsers() {
-        return gameSystem.getPlayers().hasDuplicateUsers();
+        return repository.read(system -> system.getPlayers().hasDuplicateUsers()).orElse(false);
     }
 
     /**
      * @return players that share duplicate email addresses
      */
     public List<Player> getDuplicateUsers() {
-        return gameSystem.getPlayers().findDuplicateUsers();
+        return repository.read(system -> system.getPlayers().findDuplicateUsers()).orElse(List.of());
     }
 
     /**
      * Logs out the active player, syncing their progress and resetting
-     * session-specific state such as the timer and puzzle flags.
+     * session-specific state such as the timer and puzzle flags. The player's
+     * progress is queued for saving; call {@link #flush()} to wait for it.
      */
     public void logoutPlayer() {
-        persistActiveProgress();
-        activePlayer = null;
-        gameSystem.getProgress().setActivePlayerId(null);
-        gameSystem.getProgress().setCurrentRoomId(null);
-        gameSystem.getProgress().clearSolved();
-        clearAllPuzzleSolvedFlags();
+        UUID playerId = activePlayerId;
+        repository.update(system -> {
+            persistActiveProgress(system, playerId);
+            system.getProgress().setActivePlayerId(null);
+            system.getProgress().setCurrentRoomId(null);
+            system.getProgress().clearSolved();
+            // The rooms file records the solved flags of whoever is playing.
+            system.markDirty(GameSection.ROOMS);
+            pauseTimer(system);
+        });
+        activePlayerId = null;
         timerStarted = false;
-        pauseTimerCountdown();
     }
 
     /**
@@ -179,17 +240,21 @@ public class GameFacade {
         if (puzzleId == null || answer == null) {
             return false;
         }
-        Optional<Puzzle> puzzle = gameSystem.getPuzzles().findById(puzzleId);
+        Optional<Puzzle> puzzle = getGameSystem().getPuzzles().findById(puzzleId);
         if (puzzle.isPresent() && puzzle.get().isCorrectAnswer(answer)) {
-            gameSystem.getProgress().markPuzzleSolved(puzzleId);
-            if (activePlayer != null) {
-                activePlayer.addScore(POINTS_PER_PUZZLE);
-                activePlayer.markPuzzleSolved(puzzleId);
-                gameSystem.getLeaderboard().updateLeaderboard(activePlayer, activePlayer.getCurrentScore());
-            }
-            applyProgressToPuzzles();
-            advanceToNextRoom(puzzleId);
-            saveGame();
+            UUID playerId = activePlayerId;
+            mutate(system -> {
+                system.getProgress().markPuzzleSolved(puzzleId);
+                system.getPlayers().findById(playerId).ifPresent(player -> {
+                    player.addScore(POINTS_PER_PUZZLE);
+                    player.markPuzzleSolved(puzzleId);
+                    system.getLeaderboard().updateLeaderboard(player, player.getCurrentScore());
+                    system.markDirty(GameSection.PLAYERS, GameSection.LEADERBOARD);
+                });
+                system.markDirty(GameSection.ROOMS);
+                advanceToNextRoom(system, puzzleId);
+                return Boolean.TRUE;
+            });
             return true;
         }
         return false;
@@ -217,50 +282,85 @@ public class GameFacade {
      * @return optional hint that was dispensed; empty when no hints remain
      */
     public Optional<Hint> useHint() {
-        Hint hint = gameSystem.getHints().consumeNextHint();
-        if (hint == null) {
+        if (getGameSystem().getHints().peekNextHint() == null) {
             return Optional.empty();
         }
-        if (activePlayer != null) {
-            activePlayer.addScore(-HINT_PENALTY);
-            gameSystem.getLeaderboard().updateLeaderboard(activePlayer, activePlayer.getCurrentScore());
+        UUID playerId = activePlayerId;
+        return mutate(system -> {
+            Hint hint = system.getHints().consumeNextHint();
+            system.markDirty(GameSection.HINTS);
+            if (hint == null) {
+                return null;
+            }
+            system.getPlayers().findById(playerId).ifPresent(player -> {
+                player.addScore(-HINT_PENALTY);
+                system.getLeaderboard().updateLeaderboard(player, player.getCurrentScore());
+                system.markDirty(GameSection.PLAYERS, GameSection.LEADERBOARD);
+            });
+            return hint;
+        });
+    }
+
+    /**
+     * Adds an item the active player picked up to their inventory, unless
+     * they already own one with the same id.
+     *
+     * @param item item to add
+     * @return {@code true} when a player is active and the item was not owned yet
+     */
+    public boolean collectItem(Item item) {
+        if (item == null || activePlayerId == null) {
+            return false;
         }
-        return Optional.of(hint);
+        UUID playerId = activePlayerId;
+        return mutate(system -> system.getPlayers().findById(playerId)
+                .filter(player -> player.getInventory().asList().stream()
+                        .noneMatch(existing -> existing.getId().equals(item.getId())))
+                .map(player -> {
+                    player.getInventory().add(item);
+                    system.markDirty(GameSection.PLAYERS);
+                    return Boolean.TRUE;
+                })
+                .orElse(Boolean.FALSE)).orElse(false);
     }
 
     /**
      * @return the leaderboard maintained by the current game system
      */
     public Leaderboard getLeaderboard() {
-        return gameSystem.getLeaderboard();
+        return getGameSystem().getLeaderboard();
     }
 
     /**
      * @return the backing {@link GameSystem} instance
      */
     public GameSystem getGameSystem() {
-        return gameSystem;
+        return repository.read(system -> system)
+                .orElseThrow(() -> new IllegalStateException("Game data is not available"));
     }
 
     /**
      * @return optional active player for the session
      */
     public Optional<Player> getActivePlayer() {
-        return Optional.ofNullable(activePlayer);
+        if (activePlayerId == null) {
+            return Optional.empty();
+        }
+        return getGameSystem().getPlayers().findById(activePlayerId);
     }
 
     /**
      * @return the player list registered with this game
      */
     public PlayerList getPlayerList() {
-        return gameSystem.getPlayers();
+        return getGameSystem().getPlayers();
     }
 
     /**
      * @return unmodifiable list of the rooms currently in play
      */
     public List<Room> getRooms() {
-        return Collections.unmodifiableList(getSequentialRooms());
+        return getSequentialRooms(getGameSystem());
     }
 
     /**
@@ -270,9 +370,7 @@ public class GameFacade {
      * @return optional matching room; empty when not available
      */
     public Optional<Room> getRoom(UUID roomId) {
-        return getSequentialRooms().stream()
-                .filter(room -> room.getId().equals(roomId))
-                .findFirst();
+        return findRoom(getGameSystem(), roomId);
     }
 
     /**
@@ -293,9 +391,10 @@ public class GameFacade {
             return current;
         }
 
-        Optional<Room> firstAvailable = findFirstAvailableRoom();
+        GameSystem system = getGameSystem();
+        Optional<Room> firstAvailable = findFirstAvailableRoom(system);
         if (firstAvailable.isPresent() && firstAvailable.get().getId().equals(roomId)) {
-            gameSystem.getProgress().setCurrentRoomId(roomId);
+            system.getProgress().setCurrentRoomId(roomId);
             return firstAvailable;
         }
         return Optional.empty();
@@ -306,132 +405,159 @@ public class GameFacade {
      */
     public Optional<Room> getCurrentRoom() {
         ensureCurrentRoom();
-        UUID roomId = gameSystem.getProgress().getCurrentRoomId();
+        UUID roomId = getGameSystem().getProgress().getCurrentRoomId();
         if (roomId == null) {
             return Optional.empty();
         }
         return getRoom(roomId);
     }
 
+    /**
+     * @param puzzle puzzle to check
+     * @return {@code true} when the active run has solved the puzzle
+     */
+    public boolean isPuzzleSolved(Puzzle puzzle) {
+        return getGameSystem().getProgress().isPuzzleSolved(puzzle);
+    }
+
     /**
      * @return the next unsolved puzzle from the current room sequence, if present
      */
     public Optional<Puzzle> getNextUnsolvedPuzzle() {
+        Progress progress = getGameSystem().getProgress();
         Optional<Room> room = getCurrentRoom();
         if (room.isPresent()) {
-            return room.get().getFirstUnsolvedPuzzle();
+            return progress.getFirstUnsolvedPuzzle(room.get());
         }
         // If no room selected yet, use the first room with work remaining.
         return getRooms().stream()
-                .map(Room::getFirstUnsolvedPuzzle)
+                .map(progress::getFirstUnsolvedPuzzle)
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .findFirst();
     }
 
     private void setActivePlayer(Player player) {
-        persistActiveProgress();
-        this.activePlayer = player;
-        gameSystem.getProgress().reset(player.getId());
-        gameSystem.getProgress().loadSolvedPuzzles(player.getSolvedPuzzleIds());
-        applyProgressToPuzzles();
-        ensureCurrentRoom();
+        UUID previousId = activePlayerId;
+        UUID playerId = player.getId();
+        repository.update(system -> {
+            persistActiveProgress(system, previousId);
+            Progress progress = system.getProgress();
+            progress.reset(playerId);
+            system.getPlayers().findById(playerId)
+                    .ifPresent(active -> progress.loadSolvedPuzzles(active.getSolvedPuzzleIds()));
+            system.markDirty(GameSection.ROOMS);
+            configureSessionTimer(system, false);
+        });
+        this.activePlayerId = playerId;
         timerStarted = false;
-        configureSessionTimer();
+        ensureCurrentRoom();
+    }
+
+    /**
+     * Applies a change through the repository and copies the run's solved
+     * puzzles onto the active player, the way every gameplay save does. The
+     * mutation may run again on a reloaded game system, so it must only use
+     * the system it is given.
+     */
+    private <T> Optional<T> mutate(Function<GameSystem, ? extends T> mutation) {
+        UUID playerId = activePlayerId;
+        return repository.updateAndGet(system -> {
+            T result = mutation.apply(system);
+            persistActiveProgress(system, playerId);
+            return result;
+        });
+    }
+
+    private static List<Room> getSequentialRooms(GameSystem system) {
+        List<Room> allRooms = system.getRooms().asList();
+        return allRooms.subList(0, Math.min(SEQUENTIAL_ROOM_LIMIT, allRooms.size()));
     }
 
-    private List<Room> getSequentialRooms() {
-        List<Room> allRooms = gameSystem.getRooms().asList();
-        List<Room> rooms = new ArrayList<>(Math.min(SEQUENTIAL_ROOM_LIMIT, allRooms.size()));
-        for (int i = 0; i < allRooms.size() && i < SEQUENTIAL_ROOM_LIMIT; i++) {
-            rooms.add(allRooms.get(i));
+    private static Optional<Room> findRoom(GameSystem system, UUID roomId) {
+        if (roomId == null) {
+            return Optional.empty();
         }
-        return rooms;
+        RoomList rooms = system.getRooms();
+        return rooms.findById(roomId)
+                .filter(room -> rooms.indexOf(room) < SEQUENTIAL_ROOM_LIMIT);
     }
 
-    private Optional<Room> findFirstAvailableRoom() {
-        return getSequentialRooms().stream()
-                .filter(room -> room.getFirstUnsolvedPuzzle().isPresent())
-                .findFirst();
+    private static Optional<Room> findFirstAvailableRoom(GameSystem system) {
+        List<Room> rooms = getSequentialRooms(system);
+        for (int i = 0; i < rooms.size(); i++) {
+            if (!system.getProgress().isRoomComplete(rooms.get(i))) {
+                return Optional.of(rooms.get(i));
+            }
+        }
+        return Optional.empty();
     }
 
-    private Optional<Room> findNextAvailableRoomAfter(Room currentRoom) {
-        List<Room> rooms = getSequentialRooms();
-        int index = rooms.indexOf(currentRoom);
+    private static Optional<Room> findNextAvailableRoomAfter(GameSystem system, Room currentRoom) {
+        List<Room> rooms = getSequentialRooms(system);
+        int index = system.getRooms().indexOf(currentRoom);
         if (index < 0) {
             return Optional.empty();
         }
         for (int i = index + 1; i < rooms.size(); i++) {
             Room candidate = rooms.get(i);
-            if (candidate.getFirstUnsolvedPuzzle().isPresent()) {
+            if (!system.getProgress().isRoomComplete(candidate)) {
                 return Optional.of(candidate);
             }
         }
         return Optional.empty();
     }
 
-    private Optional<Room> findRoomByPuzzle(UUID puzzleId) {
-        if (puzzleId == null) {
-            return Optional.empty();
-        }
-        List<Room> rooms = getSequentialRooms();
-        return gameSystem.getRooms().findByPuzzleId(puzzleId)
-                .filter(rooms::contains);
+    private static Optional<Room> findRoomByPuzzle(GameSystem system, UUID puzzleId) {
+        RoomList rooms = system.getRooms();
+        return rooms.findByPuzzleId(puzzleId)
+                .filter(room -> rooms.indexOf(room) < SEQUENTIAL_ROOM_LIMIT);
     }
 
     private void ensureCurrentRoom() {
-        List<Room> rooms = getSequentialRooms();
+        GameSystem system = getGameSystem();
+        List<Room> rooms = getSequentialRooms(system);
         if (rooms.isEmpty()) {
-            gameSystem.getProgress().setCurrentRoomId(null);
+            system.getProgress().setCurrentRoomId(null);
             return;
         }
 
-        UUID currentId = gameSystem.getProgress().getCurrentRoomId();
-        Optional<Room> currentRoom = rooms.stream()
-                .filter(room -> room.getId().equals(currentId))
-                .findFirst();
+        UUID currentId = system.getProgress().getCurrentRoomId();
+        Optional<Room> currentRoom = findRoom(system, currentId);
 
         if (currentRoom.isPresent()) {
-            if (currentRoom.get().getFirstUnsolvedPuzzle().isEmpty()) {
-                Optional<Room> nextRoom = findNextAvailableRoomAfter(currentRoom.get());
-                gameSystem.getProgress().setCurrentRoomId(nextRoom.map(Room::getId).orElse(null));
+            if (system.getProgress().isRoomComplete(currentRoom.get())) {
+                Optional<Room> nextRoom = findNextAvailableRoomAfter(system, currentRoom.get());
+                system.getProgress().setCurrentRoomId(nextRoom.map(Room::getId).orElse(null));
             }
             return;
         }
 
-        Optional<Room> firstAvailable = findFirstAvailableRoom();
-        gameSystem.getProgress().setCurrentRoomId(firstAvailable.map(Room::getId).orElse(null));
+        Optional<Room> firstAvailable = findFirstAvailableRoom(system);
+        system.getProgress().setCurrentRoomId(firstAvailable.map(Room::getId).orElse(null));
     }
 
-    private void advanceToNextRoom(UUID puzzleId) {
-        Optional<Room> currentRoom = findRoomByPuzzle(puzzleId);
+    private static void advanceToNextRoom(GameSystem system, UUID puzzleId) {
+        Optional<Room> currentRoom = findRoomByPuzzle(system, puzzleId);
         if (currentRoom.isEmpty()) {
             return;
         }
-        if (currentRoom.get().getFirstUnsolvedPuzzle().isPresent()) {
-            gameSystem.getProgress().setCurrentRoomId(currentRoom.get().getId());
+        if (!system.getProgress().isRoomComplete(currentRoom.get())) {
+            system.getProgress().setCurrentRoomId(currentRoom.get().getId());
             return;
         }
-        Optional<Room> nextRoom = findNextAvailableRoomAfter(currentRoom.get());
-        gameSystem.getProgress().setCurrentRoomId(nextRoom.map(Room::getId).orElse(null));
+        Optional<Room> nextRoom = findNextAvailableRoomAfter(system, currentRoom.get());
+        system.getProgress().setCurrentRoomId(nextRoom.map(Room::getId).orElse(null));
     }
 
-    private void persistActiveProgress() {
-        if (activePlayer == null) {
+    private static void persistActiveProgress(GameSystem system, UUID playerId) {
+        if (playerId == null) {
             return;
         }
-        activePlayer.setSolvedPuzzleIds(gameSystem.getProgress().getSolvedPuzzleIds());
-    }
-
-    private void applyProgressToPuzzles() {
-        Set<UUID> solved = gameSystem.getProgress().getSolvedPuzzleIds();
-        for (Puzzle puzzle : gameSystem.getPuzzles().asList()) {
-            if (solved.contains(puzzle.getId())) {
-                puzzle.markSolved();
-            } else {
-                puzzle.reset();
-            }
-        }
+        system.getPlayers().findById(playerId).ifPresent(player -> {
+            player.setSolvedPuzzleIds(system.getProgress().getSolvedPuzzleIds());
+            system.markDirty(GameSection.PLAYERS);
+        });
     }
 
     /**
@@ -439,19 +565,20 @@ public class GameFacade {
      * The timer begins at the default duration on the first start.
      */
     public void startTimerCountdown() {
-        configureSessionTimer();
-        Timer timer = gameSystem.getTimer();
-        if (timer == null) {
-            return;
-        }
-        if (!timerStarted) {
-            timer.setTotalTime(DEFAULT_TIMER_DURATION);
-            timer.reset();
-            timerStarted = true;
-        }
-        if (!timer.isRunning() && !timer.getRemaining().isZero()) {
-            timer.start();
-        }
+        boolean started = timerStarted;
+        repository.update(system -> {
+            configureSessionTimer(system, started);
+            Timer timer = system.getTimer();
+            if (!started) {
+                timer.setTotalTime(DEFAULT_TIMER_DURATION);
+                timer.reset();
+            }
+            if (!timer.isRunning() && !timer.getRemaining().isZero()) {
+                timer.start();
+            }
+            system.markDirty(GameSection.TIMER);
+        });
+        timerStarted = true;
     }
 
     /**
@@ -459,35 +586,39 @@ public class GameFacade {
      * has finished.
      */
     public void pauseTimerCountdown() {
-        Timer timer = gameSystem.getTimer();
+        Timer timer = getGameSystem().getTimer();
         if (timer == null) {
             return;
         }
         if (timer.isRunning()) {
-            timer.pause();
+            repository.update(GameFacade::pauseTimer);
         }
-        if (timer.getRemaining().isZero()) {
+        if (getGameSystem().getTimer().getRemaining().isZero()) {
             timerStarted = false;
         }
     }
 
-    private void configureSessionTimer() {
-        Timer timer = gameSystem.getTimer();
+    private static void pauseTimer(GameSystem system) {
+        Timer timer = system.getTimer();
+        if (timer != null && timer.isRunning()) {
+            timer.pause();
+            system.markDirty(GameSection.TIMER);
+        }
+    }
+
+    private static void configureSessionTimer(GameSystem system, boolean started) {
+        Timer timer = system.getTimer();
         if (timer == null) {
             timer = new Timer();
-            gameSystem.setTimer(timer);
+            system.setTimer(timer);
         }
-        if (!timerStarted && !DEFAULT_TIMER_DURATION.equals(timer.getTotalTime())) {
+        if (!started && !DEFAULT_TIMER_DURATION.equals(timer.getTotalTime())) {
             timer.setTotalTime(DEFAULT_TIMER_DURATION);
+            system.markDirty(GameSection.TIMER);
         }
-        if (!timerStarted && timer.getRemaining().isZero()) {
+        if (!started && timer.getRemaining().isZero()) {
             timer.reset();
-        }
-    }
-
-    private void clearAllPuzzleSolvedFlags() {
-        for (Puzzle puzzle : gameSystem.getPuzzles().asList()) {
-            puzzle.reset();
+            system.markDirty(GameSection.TIMER);
         }
     }
 }
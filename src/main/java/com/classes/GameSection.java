@@ -0,0 +1,26 @@
+package com.classes;
+
+/**
+ * Independently persisted parts of a {@link GameSystem}. {@link DataWriter}
+ * only re-serializes the sections marked dirty since the last save, and skips
+ * a file entirely when none of its sections changed.
+ */
+public enum GameSection {
+    /** Rooms, their items and puzzles (including solved flags), plus the game header. Stored in {@code rooms.json}. */
+    ROOMS,
+    /** Remaining hint queue. Stored in {@code rooms.json}. */
+    HINTS,
+    /** Leaderboard scores. Stored in {@code rooms.json}. */
+    LEADERBOARD,
+    /** Session timer. Stored in {@code rooms.json}. */
+    TIMER,
+    /** Player roster with inventories, statistics and solved puzzles. Stored in {@code users.json}. */
+    PLAYERS;
+
+    /**
+     * @return {@code true} when this section lives in {@code rooms.json}; {@code false} for {@code users.json}
+     */
+    public boolean isStoredInRoomsFile() {
+        return this != PLAYERS;
+    }
+}
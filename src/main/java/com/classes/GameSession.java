@@ -0,0 +1,196 @@
+package com.classes;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One player's run through a shared {@link GameCatalog}. The session keeps
+ * everything that differs between players (a {@link Progress} with the
+ * solved puzzles, current room, score and countdown), so thousands of
+ * sessions can share one copy of the rooms.
+ * <p>
+ * The countdown starts when the session opens and is only read when
+ * somebody asks, so an idle session costs no work. Every method locks the
+ * session, so requests for the same player are applied one at a time.
+ * Sessions are created and persisted by {@link SessionRegistry}.
+ * </p>
+ */
+public final class GameSession {
+    /** Countdown length of a new session, the same as a local game. */
+    public static final Duration DEFAULT_DURATION = Duration.ofMinutes(15);
+
+    /**
+     * Result of {@link #submitAnswer(UUID, String)}.
+     */
+    public enum AnswerOutcome {
+        CORRECT,
+        INCORRECT,
+        ALREADY_SOLVED,
+        UNKNOWN_PUZZLE,
+        /** The puzzle is not the session's next unsolved one; rooms and puzzles are played in order. */
+        OUT_OF_ORDER,
+        TIME_UP
+    }
+
+    /**
+     * Consistent copy of a session's state.
+     *
+     * @param sessionId     session identifier
+     * @param playerId      player the session belongs to
+     * @param score         player's score
+     * @param solvedPuzzles puzzles solved in the catalog
+     * @param totalPuzzles  puzzles in the catalog
+     * @param currentRoom   room the player is in, or {@code null} once every room is done
+     * @param nextPuzzle    first unsolved puzzle of that room, or {@code null}
+     * @param remaining     time left on the countdown
+     */
+    public record Snapshot(UUID sessionId, UUID playerId, int score, int solvedPuzzles, int totalPuzzles,
+                           Room currentRoom, Puzzle nextPuzzle, Duration remaining) {
+    }
+
+    private final UUID id;
+    private final UUID playerId;
+    private final GameCatalog catalog;
+    private final Progress progress;
+    private final Timer timer;
+    private final Timer.Clock clock;
+    private int score;
+    // Solved puzzles that are part of the catalog; the progress may hold ids of other content.
+    private int solvedInCatalog;
+    // Index into the catalog's rooms; rooms.size() once every room is complete.
+    private int currentRoom;
+    private long lastAccessNanos;
+
+    GameSession(UUID playerId, int score, Collection<UUID> solvedPuzzleIds, GameCatalog catalog, Timer.Clock clock) {
+        this.id = UUID.randomUUID();
+        this.playerId = Objects.requireNonNull(playerId, "playerId");
+        this.catalog = Objects.requireNonNull(catalog, "catalog");
+        this.clock = Objects.requireNonNull(clock, "clock");
+        this.score = score;
+        this.progress = new Progress();
+        this.progress.reset(playerId);
+        this.progress.loadSolvedPuzzles(solvedPuzzleIds);
+        this.timer = new Timer(clock);
+        this.timer.setTotalTime(DEFAULT_DURATION);
+        this.timer.reset();
+        this.timer.start();
+        for (int i = 0; i < catalog.getRooms().size(); i++) {
+            for (Puzzle puzzle : catalog.getPuzzles(i)) {
+                if (progress.isPuzzleSolved(puzzle)) {
+                    solvedInCatalog++;
+                }
+            }
+        }
+        this.currentRoom = firstIncompleteRoomFrom(0);
+        this.lastAccessNanos = clock.nanoTime();
+    }
+
+    /**
+     * @return identifier clients use to address this session
+     */
+    public UUID getId() {
+        return id;
+    }
+
+    /**
+     * @return player the session belongs to
+     */
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * @return current state of the session
+     */
+    public synchronized Snapshot snapshot() {
+        touch();
+        Room room = null;
+        Puzzle next = null;
+        if (currentRoom < catalog.getRooms().size()) {
+            room = catalog.getRooms().get(currentRoom);
+            next = firstUnsolved(currentRoom);
+        }
+        return new Snapshot(id, playerId, score, solvedInCatalog, catalog.getPuzzleCount(), room, next,
+                timer.getRemaining());
+    }
+
+    /**
+     * Checks an answer and, when it is right, marks the puzzle solved, adds
+     * the reward to the score and moves on to the next room once the
+     * puzzle's room is complete. Only the next unsolved puzzle of the current
+     * room can be answered, the same order the desktop client enforces.
+     *
+     * @param puzzleId puzzle being answered, or {@code null} for the next unsolved one
+     * @param answer   proposed solution; {@code null} never matches
+     * @return what happened to the answer
+     */
+    public synchronized AnswerOutcome submitAnswer(UUID puzzleId, String answer) {
+        touch();
+        if (timer.getRemainingNanos() == 0) {
+            return AnswerOutcome.TIME_UP;
+        }
+        Puzzle next = currentRoom < catalog.getRooms().size() ? firstUnsolved(currentRoom) : null;
+        Puzzle puzzle = puzzleId == null ? next : catalog.findPuzzle(puzzleId).orElse(null);
+        if (puzzle == null) {
+            return AnswerOutcome.UNKNOWN_PUZZLE;
+        }
+        if (progress.isPuzzleSolved(puzzle)) {
+            return AnswerOutcome.ALREADY_SOLVED;
+        }
+        if (puzzle != next) {
+            return AnswerOutcome.OUT_OF_ORDER;
+        }
+        if (answer == null || !puzzle.isCorrectAnswer(answer)) {
+            return AnswerOutcome.INCORRECT;
+        }
+        progress.markPuzzleSolved(puzzle.getId());
+        solvedInCatalog++;
+        score += SessionRegistry.POINTS_PER_PUZZLE;
+        currentRoom = firstIncompleteRoomFrom(currentRoom);
+        if (currentRoom == catalog.getRooms().size()) {
+            timer.pause();
+        }
+        return AnswerOutcome.CORRECT;
+    }
+
+    /**
+     * @return player's score as tracked by this session
+     */
+    public synchronized int getScore() {
+        return score;
+    }
+
+    /**
+     * @param now reading of the session clock
+     * @return how long ago the session was last used
+     */
+    synchronized Duration idleTime(long now) {
+        return Duration.ofNanos(Math.max(0, now - lastAccessNanos));
+    }
+
+    private void touch() {
+        lastAccessNanos = clock.nanoTime();
+    }
+
+    private int firstIncompleteRoomFrom(int start) {
+        List<Room> rooms = catalog.getRooms();
+        for (int i = Math.max(start, 0); i < rooms.size(); i++) {
+            if (firstUnsolved(i) != null) {
+                return i;
+            }
+        }
+        return rooms.size();
+    }
+
+    private Puzzle firstUnsolved(int roomIndex) {
+        for (Puzzle puzzle : catalog.getPuzzles(roomIndex)) {
+            if (!progress.isPuzzleSolved(puzzle)) {
+                return puzzle;
+            }
+        }
+        return null;
+    }
+}
@@ -1,6 +1,9 @@
 package com.classes;
 
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -8,8 +11,19 @@ import java.util.UUID;
  * instance owns the rooms, puzzles, players, leaderboard, hints, timer,
  * difficulty, and progress objects so other layers can load, persist, and
  * present a cohesive game session.
+ * <p>
+ * The game system also remembers which {@link GameSection sections} changed
+ * since they were last written so {@link DataWriter} can skip untouched data.
+ * Replacing a section through a setter marks it dirty automatically; code that
+ * mutates a section in place (for example adding score to a player) must call
+ * {@link #markDirty(GameSection...)}. A new game system starts with every
+ * section dirty.
+ * </p>
  */
 public class GameSystem {
+    /** Generation of a game system that was never loaded from or saved to disk. */
+    public static final long NO_GENERATION = -1L;
+
     private final UUID id;
     private Long legacyId;
     private RoomList rooms;
@@ -20,6 +34,9 @@ public class GameSystem {
     private Timer timer;
     private DifficultyLevel difficulty;
     private Progress progress;
+    private final EnumSet<GameSection> dirtySections = EnumSet.allOf(GameSection.class);
+    private long modificationCount;
+    private volatile long snapshotGeneration = NO_GENERATION;
 
     /**
      * Creates a fresh game system with a randomly generated identifier and
@@ -69,6 +86,7 @@ public class GameSystem {
      */
     public void setLegacyId(Long legacyId) {
         this.legacyId = legacyId;
+        markDirty(GameSection.ROOMS);
     }
 
     /**
@@ -85,6 +103,7 @@ public class GameSystem {
      */
     public void setRooms(RoomList rooms) {
         this.rooms = Objects.requireNonNullElse(rooms, new RoomList());
+        markDirty(GameSection.ROOMS);
     }
 
     /**
@@ -101,6 +120,7 @@ public class GameSystem {
      */
     public void setPuzzles(PuzzleList puzzles) {
         this.puzzles = Objects.requireNonNullElse(puzzles, new PuzzleList());
+        markDirty(GameSection.ROOMS);
     }
 
     /**
@@ -117,6 +137,7 @@ public class GameSystem {
      */
     public void setPlayers(PlayerList players) {
         this.players = Objects.requireNonNullElse(players, new PlayerList());
+        markDirty(GameSection.PLAYERS);
     }
 
     /**
@@ -133,6 +154,7 @@ public class GameSystem {
      */
     public void setLeaderboard(Leaderboard leaderboard) {
         this.leaderboard = Objects.requireNonNullElse(leaderboard, new Leaderboard());
+        markDirty(GameSection.LEADERBOARD);
     }
 
     /**
@@ -149,6 +171,7 @@ public class GameSystem {
      */
     public void setHints(Hints hints) {
         this.hints = Objects.requireNonNullElse(hints, new Hints());
+        markDirty(GameSection.HINTS);
     }
 
     /**
@@ -165,6 +188,7 @@ public class GameSystem {
      */
     public void setTimer(Timer timer) {
         this.timer = Objects.requireNonNullElse(timer, new Timer());
+        markDirty(GameSection.TIMER);
     }
 
     /**
@@ -181,6 +205,7 @@ public class GameSystem {
      */
     public void setDifficulty(DifficultyLevel difficulty) {
         this.difficulty = Objects.requireNonNullElse(difficulty, DifficultyLevel.MEDIUM);
+        markDirty(GameSection.ROOMS);
     }
 
     /**
@@ -198,4 +223,86 @@ public class GameSystem {
     public void setProgress(Progress progress) {
         this.progress = Objects.requireNonNullElse(progress, new Progress());
     }
+
+    /**
+     * Records that the given sections changed and need to be written on the next save.
+     *
+     * @param sections sections that were modified
+     */
+    public void markDirty(GameSection... sections) {
+        synchronized (dirtySections) {
+            Collections.addAll(dirtySections, sections);
+            modificationCount++;
+        }
+    }
+
+    /**
+     * Marks every section dirty so the next save rewrites both files.
+     */
+    public void markAllDirty() {
+        markDirty(GameSection.values());
+    }
+
+    /**
+     * @param section section to test
+     * @return {@code true} when the section changed since it was last written
+     */
+    public boolean isDirty(GameSection section) {
+        synchronized (dirtySections) {
+            return dirtySections.contains(section);
+        }
+    }
+
+    /**
+     * @return snapshot of the sections waiting to be written
+     */
+    public Set<GameSection> getDirtySections() {
+        synchronized (dirtySections) {
+            return dirtySections.isEmpty() ? EnumSet.noneOf(GameSection.class) : EnumSet.copyOf(dirtySections);
+        }
+    }
+
+    /**
+     * @return counter that increases every time a section is marked dirty
+     */
+    public long getModificationCount() {
+        synchronized (dirtySections) {
+            return modificationCount;
+        }
+    }
+
+    /**
+     * @return save generation of the files this game system was loaded from or
+     *         last written to, or {@link #NO_GENERATION} for a brand-new game system
+     */
+    public long getSnapshotGeneration() {
+        return snapshotGeneration;
+    }
+
+    void setSnapshotGeneration(long snapshotGeneration) {
+        this.snapshotGeneration = snapshotGeneration;
+    }
+
+    /**
+     * Clears every dirty flag, used once freshly loaded data matches the files.
+     */
+    void markClean() {
+        synchronized (dirtySections) {
+            dirtySections.clear();
+        }
+    }
+
+    /**
+     * Returns the dirty sections and clears them in one step. A writer that
+     * fails should hand the sections back through {@link #markDirty(GameSection...)}.
+     *
+     * @return sections that were dirty
+     */
+    Set<GameSection> drainDirtySections() {
+        synchronized (dirtySections) {
+            Set<GameSection> drained = getDirtySections();
+            dirtySections.clear();
+            return drained;
+        }
+    }
 }
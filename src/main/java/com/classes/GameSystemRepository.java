@@ -0,0 +1,548 @@
+package com.classes;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Process-wide home for the {@link GameSystem} stored in one data directory.
+ * The first access loads {@code rooms.json} and {@code users.json} through
+ * {@link DataLoader}; every later read is served from memory and every
+ * mutation is applied in place, then handed to a {@link PersistenceQueue}
+ * so callers never wait on a full serialization and bursts of changes are
+ * coalesced into one write.
+ * <p>
+ * The shared game system is only reachable through the callbacks passed to
+ * {@link #read(Function)}, {@link #update(Consumer)} and
+ * {@link #updateAndGet(Function)}, which run under a read/write lock. The
+ * persistence queue takes the read lock while serializing, so a save never
+ * observes a half-applied mutation.
+ * </p>
+ * <p>
+ * Repositories created by {@link #forDirectory(Path)} also keep a
+ * {@link ProgressJournal}. Progress changes submitted through
+ * {@link #record(JournalRecord...)} are appended to the journal instead of
+ * triggering a snapshot, so a solve or hint penalty costs one small append.
+ * Every save of the in-memory copy truncates the journal, a background
+ * compactor makes sure one happens periodically, and loading replays
+ * whatever the last save did not cover.
+ * </p>
+ * <p>
+ * Ordinary saves only write the JSON. The binary {@link SnapshotCodec
+ * snapshot} that speeds up the next start is refreshed when the journal is
+ * compacted and by {@link #checkpoint()}, which the game calls on shutdown.
+ * </p>
+ * <p>
+ * When a save finds that another writer, possibly in another process, saved
+ * the directory after this copy was loaded ({@link DataWriter.SaveResult#STALE}),
+ * the repository reloads the files, applies the journal and every mutation
+ * made since the last successful save on top, and saves the result.
+ * Mutations may therefore run a second time against a fresh game system, so
+ * they should only change the game system they are given.
+ * </p>
+ */
+public final class GameSystemRepository {
+    private static final Map<Path, GameSystemRepository> REPOSITORIES = new ConcurrentHashMap<>();
+    private static final Duration COMPACT_INTERVAL = Duration.ofSeconds(30);
+    private static final int COMPACT_THRESHOLD = 500;
+
+    private final DataLoader loader;
+    private final DataWriter writer;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final PersistenceQueue persistenceQueue;
+    private final ProgressJournal journal;
+    private final ScheduledExecutorService compactor;
+    private final AtomicBoolean compactionPending = new AtomicBoolean();
+    // Mutations applied since the last successful save, re-run when a save turns out to be stale.
+    private final List<Function<GameSystem, ?>> unsavedMutations = new ArrayList<>();
+    private GameSystem gameSystem;
+
+    /**
+     * Returns the repository shared by every caller that works with the given
+     * data directory, creating it on first use.
+     *
+     * @param directory folder containing {@code rooms.json} and {@code users.json}; must not be {@code null}
+     * @return repository bound to that directory
+     */
+    public static GameSystemRepository forDirectory(Path directory) {
+        Objects.requireNonNull(directory, "directory");
+        Path key = directory.toAbsolutePath().normalize();
+        return REPOSITORIES.computeIfAbsent(key,
+                dir -> new GameSystemRepository(new DataLoader(dir), new DataWriter(dir),
+                        PersistenceQueue.DEFAULT_WINDOW, ProgressJournal.inDirectory(dir)));
+    }
+
+    /**
+     * Creates a repository over an explicit loader/writer pair. Most callers
+     * should use {@link #forDirectory(Path)} so the whole process shares one
+     * in-memory copy.
+     *
+     * @param loader loader used for the initial read; must not be {@code null}
+     * @param writer writer used by the background persistence path; must not be {@code null}
+     */
+    GameSystemRepository(DataLoader loader, DataWriter writer) {
+        this(loader, writer, PersistenceQueue.DEFAULT_WINDOW, null);
+    }
+
+    /**
+     * Creates a repository with an explicit coalescing window and, optionally, a journal.
+     *
+     * @param loader     loader used for the initial read; must not be {@code null}
+     * @param writer     writer used by the background persistence path; must not be {@code null}
+     * @param saveWindow how long changes may accumulate before they are written; must not be negative
+     * @param journal    journal for {@link #record(JournalRecord...)}, or {@code null} to save snapshots instead
+     */
+    GameSystemRepository(DataLoader loader, DataWriter writer, Duration saveWindow, ProgressJournal journal) {
+        this.loader = Objects.requireNonNull(loader, "loader");
+        this.writer = Objects.requireNonNull(writer, "writer");
+        this.persistenceQueue = new PersistenceQueue(this::saveSnapshot, saveWindow);
+        this.journal = journal;
+        if (journal == null) {
+            this.compactor = null;
+        } else {
+            this.compactor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "game-system-compactor");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = COMPACT_INTERVAL.toMillis();
+            compactor.scheduleWithFixedDelay(this::compactQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Makes sure the game system has been read from disk.
+     *
+     * @return {@code true} when an in-memory copy is available
+     */
+    public boolean load() {
+        return ensureLoaded() != null;
+    }
+
+    /**
+     * Runs a read-only query against the shared game system.
+     *
+     * @param reader query to run; must not mutate the game system
+     * @param <T>    result type
+     * @return query result, or empty when the data could not be loaded or the query returned {@code null}
+     */
+    public <T> Optional<T> read(Function<GameSystem, ? extends T> reader) {
+        Objects.requireNonNull(reader, "reader");
+        if (ensureLoaded() == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            if (gameSystem == null) {
+                return Optional.empty();
+            }
+            return Optional.ofNullable(reader.apply(gameSystem));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies a mutation to the shared game system and schedules a background save.
+     *
+     * @param mutation change to apply in place
+     * @return {@code true} when the mutation ran; {@code false} when the data could not be loaded
+     */
+    public boolean update(Consumer<GameSystem> mutation) {
+        Objects.requireNonNull(mutation, "mutation");
+        return updateAndGet(system -> {
+            mutation.accept(system);
+            return Boolean.TRUE;
+        }).isPresent();
+    }
+
+    /**
+     * Applies a mutation that produces a value and schedules a background save.
+     * Mutations should mark the {@link GameSection sections} they touch; one
+     * that marks nothing is assumed to have changed everything. Exceptions
+     * thrown by the mutation propagate to the caller and skip the save.
+     *
+     * @param mutation change to apply in place
+     * @param <T>      result type
+     * @return mutation result, or empty when the data could not be loaded or the mutation returned {@code null}
+     */
+    public <T> Optional<T> updateAndGet(Function<GameSystem, ? extends T> mutation) {
+        Objects.requireNonNull(mutation, "mutation");
+        if (ensureLoaded() == null) {
+            return Optional.empty();
+        }
+        T result;
+        lock.writeLock().lock();
+        try {
+            if (gameSystem == null) {
+                return Optional.empty();
+            }
+            long modificationsBefore = gameSystem.getModificationCount();
+            result = mutation.apply(gameSystem);
+            if (gameSystem.getModificationCount() == modificationsBefore) {
+                gameSystem.markAllDirty();
+            }
+            synchronized (unsavedMutations) {
+                unsavedMutations.add(mutation);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        scheduleSave();
+        return Optional.ofNullable(result);
+    }
+
+    /**
+     * Applies progress records to the shared game system and persists them:
+     * appended to the journal when this repository has one, otherwise through
+     * a background snapshot save.
+     *
+     * @param records changes to apply, in order
+     * @return {@code true} when the records were applied; {@code false} when the data could not be loaded
+     */
+    public boolean record(JournalRecord... records) {
+        return record(List.of(records));
+    }
+
+    /**
+     * List form of {@link #record(JournalRecord...)}.
+     *
+     * @param records changes to apply, in order
+     * @return {@code true} when the records were applied; {@code false} when the data could not be loaded
+     */
+    public boolean record(List<JournalRecord> records) {
+        Objects.requireNonNull(records, "records");
+        return records.isEmpty() ? load() : recordFrom(system -> records);
+    }
+
+    /**
+     * Builds progress records from the shared game system and applies them in
+     * one step under the write lock. Use this when a record carries a value
+     * derived from current state, such as the score after a delta, so no
+     * other change can land between reading the state and recording it.
+     *
+     * @param builder creates the records to apply from the current state; may return an empty list
+     * @return {@code true} when at least one record was applied; {@code false} when the builder
+     *         produced none or the data could not be loaded
+     */
+    public boolean recordFrom(Function<GameSystem, List<JournalRecord>> builder) {
+        Objects.requireNonNull(builder, "builder");
+        if (ensureLoaded() == null) {
+            return false;
+        }
+        lock.writeLock().lock();
+        try {
+            if (gameSystem == null) {
+                return false;
+            }
+            List<JournalRecord> records = builder.apply(gameSystem);
+            if (records == null || records.isEmpty()) {
+                return false;
+            }
+            for (JournalRecord record : records) {
+                record.applyTo(gameSystem);
+                if (journal != null) {
+                    journal.append(record);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (journal == null) {
+            scheduleSave();
+        } else if (journal.getRecordCount() >= COMPACT_THRESHOLD) {
+            scheduleCompaction();
+        }
+        return true;
+    }
+
+    /**
+     * Folds the journal into the snapshot files: writes every dirty section
+     * and then truncates the journal. Without a journal this is the same as
+     * {@link #flush()}.
+     *
+     * @return {@code true} when the snapshot was written (or nothing needed writing)
+     */
+    public boolean compact() {
+        if (journal == null) {
+            return flush();
+        }
+        return fold(false);
+    }
+
+    /**
+     * Makes everything durable in the form the next start reads fastest:
+     * flushes pending saves, folds the journal into the JSON and refreshes
+     * the binary snapshot if it no longer matches. Meant for shutdown, since
+     * the snapshot is a write of the whole game.
+     *
+     * @return {@code true} when the JSON and the journal are up to date on disk
+     */
+    public boolean checkpoint() {
+        boolean flushed = flush();
+        return fold(true) && flushed;
+    }
+
+    /**
+     * Writes every dirty section together with a fresh snapshot, which
+     * truncates the journal. Unless {@code always} is set, nothing happens
+     * while the journal is empty.
+     */
+    private boolean fold(boolean always) {
+        GameSystem stale = null;
+        for (int attempt = 0; attempt < 2; attempt++) {
+            if (stale != null && rebase(stale) == null) {
+                return false;
+            }
+            // Holding the read lock keeps record() from appending between the snapshot and the truncate.
+            lock.readLock().lock();
+            try {
+                boolean journaled = journal != null && journal.getRecordCount() > 0;
+                if (gameSystem == null || !(journaled || always)) {
+                    return true;
+                }
+                DataWriter.SaveResult result = saveLocked(gameSystem, true);
+                if (result != DataWriter.SaveResult.STALE) {
+                    return result == DataWriter.SaveResult.SAVED;
+                }
+                stale = gameSystem;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Blocks until every change made before this call is durable, either in
+     * the snapshot files or in the journal.
+     *
+     * @return {@code true} when the most recent save (and journal sync) succeeded
+     */
+    public boolean flush() {
+        boolean journalSynced = journal == null || journal.sync();
+        return persistenceQueue.flush() && journalSynced;
+    }
+
+    /**
+     * Waits for pending saves to reach disk without shortening the coalescing window.
+     *
+     * @param timeout longest time to wait
+     * @return {@code true} when every earlier change was written successfully in time
+     */
+    public boolean awaitDurable(Duration timeout) {
+        return persistenceQueue.awaitDurable(timeout);
+    }
+
+    /**
+     * @return queue feeding the background writer, for depth and latency diagnostics
+     */
+    public PersistenceQueue getPersistenceQueue() {
+        return persistenceQueue;
+    }
+
+    /**
+     * Drops the in-memory copy after flushing pending saves (and compacting
+     * the journal) so the next access reads the files again.
+     */
+    public void reload() {
+        flush();
+        compact();
+        lock.writeLock().lock();
+        try {
+            gameSystem = null;
+            synchronized (unsavedMutations) {
+                unsavedMutations.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Swaps in a game system that did not come from the loader, such as a
+     * brand-new game, and forgets the mutations made to the previous one.
+     * Saves already queued for the previous copy still run.
+     *
+     * @param system game system to serve from now on; must not be {@code null}
+     */
+    void replace(GameSystem system) {
+        Objects.requireNonNull(system, "system");
+        lock.writeLock().lock();
+        try {
+            gameSystem = system;
+            synchronized (unsavedMutations) {
+                unsavedMutations.clear();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private GameSystem ensureLoaded() {
+        lock.readLock().lock();
+        try {
+            if (gameSystem != null) {
+                return gameSystem;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        lock.writeLock().lock();
+        try {
+            if (gameSystem == null) {
+                gameSystem = loader.loadGame().orElse(null);
+                replayJournal();
+            }
+            return gameSystem;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean saveSnapshot(GameSystem snapshot) {
+        GameSystem current = snapshot;
+        // Retry once: the rebased copy is read from the newest files, so only a save racing with it goes stale again.
+        for (int attempt = 0; attempt < 2; attempt++) {
+            DataWriter.SaveResult result;
+            lock.readLock().lock();
+            try {
+                result = saveLocked(current, false);
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (result != DataWriter.SaveResult.STALE) {
+                return result == DataWriter.SaveResult.SAVED;
+            }
+            current = rebase(current);
+            if (current == null) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private DataWriter.SaveResult saveLocked(GameSystem system, boolean refreshSnapshot) {
+        // Caller holds the read lock, so no mutation or record can slip in between the save and the clear.
+        DataWriter.SaveResult result = writer.save(system, refreshSnapshot);
+        if (result == DataWriter.SaveResult.SAVED && system == gameSystem) {
+            synchronized (unsavedMutations) {
+                unsavedMutations.clear();
+            }
+            resetJournal(system.getSnapshotGeneration());
+        }
+        return result;
+    }
+
+    /**
+     * Empties the journal once a save has written the state its records
+     * describe. Left alone, a later replay would put back the resulting
+     * values they carry over newer changes saved without the journal.
+     */
+    private void resetJournal(long generation) {
+        if (journal == null || (journal.getRecordCount() == 0 && journal.getBaseGeneration() == generation)) {
+            return;
+        }
+        try {
+            journal.reset(generation);
+        } catch (IOException e) {
+            // The header still names the older generation, so replay skips the leftover records.
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Replaces a stale in-memory copy with the newest files plus this
+     * process's unsaved changes: the journal and the mutations since the last
+     * successful save. Sections that were waiting to be saved stay dirty, so
+     * the next save writes the merged state.
+     *
+     * @return the game system to save now, or {@code null} when the files could not be reloaded
+     */
+    private GameSystem rebase(GameSystem stale) {
+        lock.writeLock().lock();
+        try {
+            if (gameSystem != stale) {
+                // Someone else already rebased (or reloaded) it.
+                return gameSystem;
+            }
+            GameSystem merged = loader.loadGame().orElse(null);
+            if (merged == null) {
+                return null;
+            }
+            if (journal != null) {
+                // The newer files do not hold this process's records yet, so they build on them now.
+                journal.sync();
+                journal.rebase(merged.getSnapshotGeneration());
+                journal.replay(merged);
+            }
+            synchronized (unsavedMutations) {
+                for (Function<GameSystem, ?> mutation : unsavedMutations) {
+                    try {
+                        mutation.apply(merged);
+                    } catch (RuntimeException e) {
+                        // The newer files may already contradict it, such as a player created twice.
+                        e.printStackTrace();
+                    }
+                }
+            }
+            merged.markDirty(stale.getDirtySections().toArray(new GameSection[0]));
+            gameSystem = merged;
+            return merged;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void replayJournal() {
+        // Caller holds the write lock.
+        if (gameSystem == null || journal == null) {
+            return;
+        }
+        try {
+            if (journal.replay(gameSystem) > 0) {
+                scheduleCompaction();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void scheduleCompaction() {
+        if (compactionPending.compareAndSet(false, true)) {
+            compactor.execute(this::compactQuietly);
+        }
+    }
+
+    private void compactQuietly() {
+        compactionPending.set(false);
+        compact();
+    }
+
+    private void scheduleSave() {
+        lock.readLock().lock();
+        try {
+            if (gameSystem != null) {
+                persistenceQueue.submit(gameSystem);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
@@ -2,21 +2,26 @@ package com.classes;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
- * Maintains the set of items owned by a player.
+ * Maintains the set of items owned by a player. Lookups by id go through a
+ * hash index that follows every add and remove.
  */
 public class ItemList {
     private final List<Item> items;
+    private final Map<UUID, Item> byId;
 
     /**
      * Creates an empty list ready to hold item instances.
      */
     public ItemList() {
         this.items = new ArrayList<>();
+        this.byId = new HashMap<>();
     }
 
     /**
@@ -27,6 +32,7 @@ public class ItemList {
     public void add(Item item) {
         if (item != null) {
             items.add(item);
+            byId.putIfAbsent(item.getId(), item);
         }
     }
 
@@ -37,7 +43,21 @@ public class ItemList {
      * @return {@code true} if the list contained the item
      */
     public boolean remove(Item item) {
-        return items.remove(item);
+        if (!items.remove(item)) {
+            return false;
+        }
+        UUID id = item.getId();
+        if (byId.get(id) == item) {
+            // Hand the id to the next item that still has it, if any.
+            byId.remove(id);
+            for (Item other : items) {
+                if (other.getId().equals(id)) {
+                    byId.put(id, other);
+                    break;
+                }
+            }
+        }
+        return true;
     }
 
     /**
@@ -47,7 +67,7 @@ public class ItemList {
      * @return matching item wrapped in {@link Optional}
      */
     public Optional<Item> findById(UUID id) {
-        return items.stream().filter(it -> it.getId().equals(id)).findFirst();
+        return Optional.ofNullable(byId.get(id));
     }
 
     /**
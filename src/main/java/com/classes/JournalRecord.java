@@ -0,0 +1,210 @@
+package com.classes;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * One progress mutation as stored in the {@link ProgressJournal}. Each record
+ * knows how to apply itself to a {@link GameSystem}, so the same object is
+ * used for the live change and for replay after a restart.
+ * <p>
+ * Records carry resulting values (the score after a delta, the timer's
+ * remaining time) rather than only the change, which makes applying a record
+ * twice harmless. Replay still skips records a newer snapshot already
+ * covers, since putting an old resulting value back would undo later changes.
+ * </p>
+ */
+public sealed interface JournalRecord {
+
+    /**
+     * Applies the change to the given game system and marks the touched sections dirty.
+     *
+     * @param system game system to update
+     */
+    void applyTo(GameSystem system);
+
+    /**
+     * A puzzle was solved, optionally by a specific player.
+     *
+     * @param playerId player credited with the solve, or {@code null} for a guest session
+     * @param puzzleId solved puzzle
+     */
+    record Solve(UUID playerId, UUID puzzleId) implements JournalRecord {
+        public Solve {
+            Objects.requireNonNull(puzzleId, "puzzleId");
+        }
+
+        @Override
+        public void applyTo(GameSystem system) {
+            system.getProgress().markPuzzleSolved(puzzleId);
+            system.markDirty(GameSection.ROOMS);
+            if (playerId != null) {
+                system.getPlayers().findById(playerId).ifPresent(player -> {
+                    player.markPuzzleSolved(puzzleId);
+                    system.markDirty(GameSection.PLAYERS);
+                });
+            }
+        }
+    }
+
+    /**
+     * A puzzle was solved in a player's own session, such as one hosted by
+     * {@link SessionRegistry}. Unlike {@link Solve}, only the player's solved
+     * puzzles change; the shared progress and the rooms' solved flags belong
+     * to whoever plays locally and are left alone.
+     *
+     * @param playerId player credited with the solve
+     * @param puzzleId solved puzzle
+     */
+    record PlayerSolve(UUID playerId, UUID puzzleId) implements JournalRecord {
+        public PlayerSolve {
+            Objects.requireNonNull(playerId, "playerId");
+            Objects.requireNonNull(puzzleId, "puzzleId");
+        }
+
+        @Override
+        public void applyTo(GameSystem system) {
+            system.getPlayers().findById(playerId).ifPresent(player -> {
+                player.markPuzzleSolved(puzzleId);
+                system.markDirty(GameSection.PLAYERS);
+            });
+        }
+    }
+
+    /**
+     * A hint was used and the player paid the penalty.
+     *
+     * @param playerId       penalized player
+     * @param penalty        points removed
+     * @param resultingScore player's score after the penalty
+     */
+    record HintPenalty(UUID playerId, int penalty, int resultingScore) implements JournalRecord {
+        public HintPenalty {
+            Objects.requireNonNull(playerId, "playerId");
+        }
+
+        @Override
+        public void applyTo(GameSystem system) {
+            setScore(system, playerId, resultingScore);
+        }
+    }
+
+    /**
+     * A player's score changed for any other reason, such as a solve reward.
+     *
+     * @param playerId       player whose score changed
+     * @param delta          points added (negative to subtract)
+     * @param resultingScore player's score after the change
+     */
+    record ScoreDelta(UUID playerId, int delta, int resultingScore) implements JournalRecord {
+        public ScoreDelta {
+            Objects.requireNonNull(playerId, "playerId");
+        }
+
+        @Override
+        public void applyTo(GameSystem system) {
+            setScore(system, playerId, resultingScore);
+        }
+    }
+
+    /**
+     * The leaderboard entry for a player was updated.
+     *
+     * @param playerId player whose entry changed
+     * @param score    score now shown on the leaderboard
+     */
+    record LeaderboardUpdate(UUID playerId, int score) implements JournalRecord {
+        public LeaderboardUpdate {
+            Objects.requireNonNull(playerId, "playerId");
+        }
+
+        @Override
+        public void applyTo(GameSystem system) {
+            system.getPlayers().findById(playerId).ifPresent(player -> {
+                system.getLeaderboard().updateLeaderboard(player, score);
+                system.markDirty(GameSection.LEADERBOARD);
+            });
+        }
+    }
+
+    /**
+     * The session timer's state at a point in time.
+     *
+     * @param totalTime configured countdown length
+     * @param remaining time left when the checkpoint was taken
+     */
+    record TimerCheckpoint(Duration totalTime, Duration remaining) implements JournalRecord {
+        public TimerCheckpoint {
+            Objects.requireNonNull(totalTime, "totalTime");
+            Objects.requireNonNull(remaining, "remaining");
+        }
+
+        @Override
+        public void applyTo(GameSystem system) {
+            Timer timer = system.getTimer();
+            timer.setTotalTime(totalTime);
+            timer.setRemaining(remaining);
+            system.markDirty(GameSection.TIMER);
+        }
+    }
+
+    /**
+     * A player's statistics after a change such as a finished game.
+     *
+     * @param playerId              player whose statistics changed
+     * @param gamesPlayed           games played
+     * @param puzzlesSolved         puzzles solved across all games
+     * @param averageCompletionTime average completion time
+     * @param gamesWon              games won
+     */
+    record StatisticsUpdate(UUID playerId, int gamesPlayed, int puzzlesSolved,
+                            Duration averageCompletionTime, int gamesWon) implements JournalRecord {
+        public StatisticsUpdate {
+            Objects.requireNonNull(playerId, "playerId");
+            Objects.requireNonNull(averageCompletionTime, "averageCompletionTime");
+        }
+
+        /**
+         * Captures the current statistics of a player.
+         *
+         * @param player player to capture
+         * @return record holding the player's statistics
+         */
+        public static StatisticsUpdate of(Player player) {
+            Statistics stats = player.getStatistics();
+            return new StatisticsUpdate(player.getId(), stats.getGamesPlayed(), stats.getPuzzlesSolved(),
+                    stats.getAverageCompletionTime(), stats.getGamesWon());
+        }
+
+        /**
+         * @param time new average completion time; must not be {@code null}
+         * @return copy of this record with the given average completion time
+         */
+        public StatisticsUpdate withAverageCompletionTime(Duration time) {
+            return new StatisticsUpdate(playerId, gamesPlayed, puzzlesSolved, time, gamesWon);
+        }
+
+        @Override
+        public void applyTo(GameSystem system) {
+            system.getPlayers().findById(playerId).ifPresent(player -> {
+                Statistics stats = player.getStatistics();
+                stats.setGamesPlayed(gamesPlayed);
+                stats.setPuzzlesSolved(puzzlesSolved);
+                stats.setAverageCompletionTime(averageCompletionTime);
+                stats.setGamesWon(gamesWon);
+                system.markDirty(GameSection.PLAYERS);
+            });
+        }
+    }
+
+    private static void setScore(GameSystem system, UUID playerId, int resultingScore) {
+        system.getPlayers().findById(playerId).ifPresent(player -> {
+            int change = resultingScore - player.getCurrentScore();
+            if (change != 0) {
+                player.addScore(change);
+            }
+            system.markDirty(GameSection.PLAYERS);
+        });
+    }
+}
@@ -1,24 +1,36 @@
 package com.classes;
 
 import java.time.Duration;
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.UUID;
 
 /**
  * Small helper that keeps track of top scores for the escape room.
  * I wrote the comments the way I would explain it to a classmate so it stays simple.
+ * <p>
+ * The scores live in a {@link RankedTree}, which keeps them in order as they
+ * come in, so nothing gets re-sorted on each insert. There is also a map from
+ * lower-cased player name to that player's best entry, so we never have to
+ * scan the whole board to find someone.
+ * </p>
  */
 public class Leaderboard {
-    private final List<ScoreEntry> scores;
+    private final RankedTree<ScoreEntry> scores;
+    private final Map<String, RankedTree.Node<ScoreEntry>> bestByName;
 
     /**
      * Makes a new leaderboard with nothing in it yet.
      */
     public Leaderboard() {
-        this.scores = new ArrayList<>();
+        this.scores = new RankedTree<>(Comparator.naturalOrder());
+        this.bestByName = new HashMap<>();
     }
 
     /**
@@ -28,8 +40,9 @@ public class Leaderboard {
      */
     public void addScoreEntry(ScoreEntry entry) {
         if (entry != null) {
-            scores.add(entry);
-            scores.sort(null);
+            RankedTree.Node<ScoreEntry> node = scores.insert(entry);
+            bestByName.merge(nameKey(entry.getPlayerName()), node,
+                    (current, added) -> added.entry.compareTo(current.entry) < 0 ? added : current);
         }
     }
 
@@ -64,7 +77,37 @@ public class Leaderboard {
      * @return read-only view of every score we are storing
      */
     public List<ScoreEntry> getScores() {
-        return Collections.unmodifiableList(scores);
+        return scores.asList();
+    }
+
+    /**
+     * Grabs the first few scores without touching the rest of the board.
+     *
+     * @param k how many scores we want; zero or less gives an empty list
+     * @return read-only list with at most {@code k} scores, best first
+     */
+    public List<ScoreEntry> getTop(int k) {
+        return Collections.unmodifiableList(scores.first(k));
+    }
+
+    /**
+     * Finds where a player sits on the board.
+     *
+     * @param player player to look up
+     * @return 1-based rank of the player's best entry, or empty when they are not on the board
+     */
+    public OptionalInt getRank(Player player) {
+        RankedTree.Node<ScoreEntry> node = player == null ? null : bestByName.get(nameKey(player.getName()));
+        return node == null ? OptionalInt.empty() : OptionalInt.of(scores.rank(node) + 1);
+    }
+
+    /**
+     * Tells how many scores are on the board.
+     *
+     * @return number of entries
+     */
+    public int size() {
+        return scores.size();
     }
 
     /**
@@ -73,7 +116,7 @@ public class Leaderboard {
      * @return optional with the best score or empty when nobody played yet
      */
     public Optional<ScoreEntry> getTopScore() {
-        return scores.isEmpty() ? Optional.empty() : Optional.of(scores.get(0));
+        return scores.size() == 0 ? Optional.empty() : Optional.of(scores.get(0));
     }
 
     /**
@@ -99,21 +142,28 @@ public class Leaderboard {
         }
         String name = player.getName();
         Duration safeDuration = completionTime == null ? Duration.ZERO : completionTime;
-        Optional<ScoreEntry> existing = scores.stream()
-                .filter(entry -> entry.getPlayerName().equalsIgnoreCase(name))
-                .findFirst();
-        UUID entryId = UUID.nameUUIDFromBytes(("score-" + player.getId()).getBytes());
-
-        if (existing.isPresent()) {
-            if (score > existing.get().getScore()) {
-                scores.remove(existing.get());
-                addScoreEntry(new ScoreEntry(entryId, null, name, score, safeDuration));
+        String key = nameKey(name);
+        RankedTree.Node<ScoreEntry> existing = bestByName.get(key);
+
+        if (existing != null) {
+            if (score > existing.entry.getScore()) {
+                scores.remove(existing);
+                bestByName.remove(key);
+                addScoreEntry(new ScoreEntry(entryIdFor(player), null, name, score, safeDuration));
             }
         } else {
-            addScoreEntry(new ScoreEntry(entryId, null, name, score, safeDuration));
+            addScoreEntry(new ScoreEntry(entryIdFor(player), null, name, score, safeDuration));
         }
     }
 
+    /**
+     * Entry ids are derived from the player id, so a player's entry keeps its
+     * id across runs. Only computed when an entry is actually posted.
+     */
+    private static UUID entryIdFor(Player player) {
+        return LegacyIds.nameUuid("score-" + player.getId());
+    }
+
     /**
      * Prints the highest scoring player or a friendly reminder if nothing is recorded.
      */
@@ -134,12 +184,18 @@ public class Leaderboard {
             System.out.println("No player selected.");
             return;
         }
-        scores.stream()
-                .filter(entry -> entry.getPlayerName().equalsIgnoreCase(player.getName()))
-                .findFirst()
+        Optional.ofNullable(bestByName.get(nameKey(player.getName())))
+                .map(node -> node.entry)
                 .ifPresentOrElse(
                         entry -> System.out.println(player.getName() + "'s score: " + entry.getScore()),
                         () -> System.out.println(player.getName() + " has no score on the leaderboard.")
                 );
     }
+
+    /**
+     * Names match without caring about case, same as the old equalsIgnoreCase check.
+     */
+    private static String nameKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,209 @@
+package com.classes;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+
+/**
+ * Turns the numeric ids of the old JSON format into stable UUIDs. Each kind of
+ * record has its own prefix, and the UUID is the name-based (version 3) UUID of
+ * {@code "<prefix>-<id>"}, byte for byte what
+ * {@link UUID#nameUUIDFromBytes(byte[])} gives for that string.
+ * <p>
+ * The game is reloaded many times per session and every load derives the same
+ * ids again, so each prefix remembers what it has already derived in a small
+ * long-keyed table. A repeat lookup costs one probe instead of an MD5 digest
+ * and a few string allocations. The table stops growing at
+ * {@link #MAX_CACHED} entries; ids past that are still derived, just not kept.
+ * </p>
+ */
+final class LegacyIds {
+    static final LegacyIds GAME = new LegacyIds("game");
+    static final LegacyIds HINT = new LegacyIds("hint");
+    static final LegacyIds SCORE = new LegacyIds("score");
+    static final LegacyIds ROOM = new LegacyIds("room");
+    static final LegacyIds ITEM = new LegacyIds("item");
+    static final LegacyIds PUZZLE = new LegacyIds("puzzle");
+    static final LegacyIds PLAYER = new LegacyIds("player");
+
+    /** Most ids one prefix keeps, which bounds the table at a few megabytes. */
+    static final int MAX_CACHED = 1 << 18;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private static final ThreadLocal<MessageDigest> MD5 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new InternalError("MD5 not supported", e);
+        }
+    });
+
+    private final byte[] prefix;
+    // Open addressing with linear probing; a null value marks a free slot.
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private UUID[] values = new UUID[INITIAL_CAPACITY];
+    private int size;
+
+    private LegacyIds(String prefix) {
+        this.prefix = (prefix + "-").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param id legacy id, or null when the record has none
+     * @return the derived UUID, or a random one when {@code id} is null
+     */
+    UUID derive(Number id) {
+        return id == null ? UUID.randomUUID() : derive(id.longValue());
+    }
+
+    /**
+     * @param id legacy id
+     * @return the UUID for {@code "<prefix>-<id>"}
+     */
+    UUID derive(long id) {
+        synchronized (this) {
+            UUID cached = lookup(id);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        UUID derived = digest(id);
+        synchronized (this) {
+            return remember(id, derived);
+        }
+    }
+
+    /**
+     * Derives a batch of ids, taking the lock twice for the whole batch
+     * instead of once per id. The digests for ids not seen before are
+     * computed outside the lock.
+     *
+     * @param ids legacy ids
+     * @param count number of leading entries of {@code ids} to derive
+     * @return one UUID per id, in the same order
+     */
+    UUID[] deriveAll(long[] ids, int count) {
+        UUID[] result = new UUID[count];
+        int missing = 0;
+        synchronized (this) {
+            for (int i = 0; i < count; i++) {
+                result[i] = lookup(ids[i]);
+                if (result[i] == null) {
+                    missing++;
+                }
+            }
+        }
+        if (missing == 0) {
+            return result;
+        }
+        for (int i = 0; i < count; i++) {
+            if (result[i] == null) {
+                result[i] = digest(ids[i]);
+            }
+        }
+        synchronized (this) {
+            for (int i = 0; i < count; i++) {
+                result[i] = remember(ids[i], result[i]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Same as {@code UUID.nameUUIDFromBytes(seed.getBytes(UTF_8))} without
+     * looking up a new digest instance on every call. Used for ids derived
+     * from something other than a legacy number, so nothing is cached.
+     *
+     * @param seed name to hash
+     * @return name-based UUID for the seed
+     */
+    static UUID nameUuid(String seed) {
+        return fromDigest(MD5.get().digest(seed.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private UUID digest(long id) {
+        MessageDigest md5 = MD5.get();
+        md5.update(prefix);
+        String digits = Long.toString(id);
+        for (int i = 0; i < digits.length(); i++) {
+            md5.update((byte) digits.charAt(i));
+        }
+        return fromDigest(md5.digest());
+    }
+
+    private static UUID fromDigest(byte[] md5) {
+        md5[6] &= 0x0f;
+        md5[6] |= 0x30;
+        md5[8] &= 0x3f;
+        md5[8] |= (byte) 0x80;
+        long msb = 0;
+        long lsb = 0;
+        for (int i = 0; i < 8; i++) {
+            msb = (msb << 8) | (md5[i] & 0xff);
+        }
+        for (int i = 8; i < 16; i++) {
+            lsb = (lsb << 8) | (md5[i] & 0xff);
+        }
+        return new UUID(msb, lsb);
+    }
+
+    private UUID lookup(long id) {
+        int mask = keys.length - 1;
+        for (int slot = slot(id, mask); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == id) {
+                return values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Stores a derived id unless another thread got there first.
+     *
+     * @return the UUID now associated with the id
+     */
+    private UUID remember(long id, UUID derived) {
+        UUID existing = lookup(id);
+        if (existing != null) {
+            return existing;
+        }
+        if (size >= MAX_CACHED) {
+            return derived;
+        }
+        if ((size + 1) * 2 > keys.length) {
+            grow();
+        }
+        insert(id, derived);
+        size++;
+        return derived;
+    }
+
+    private void insert(long id, UUID value) {
+        int mask = keys.length - 1;
+        int slot = slot(id, mask);
+        while (values[slot] != null) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = id;
+        values[slot] = value;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        UUID[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new UUID[oldValues.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != null) {
+                insert(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private static int slot(long id, int mask) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
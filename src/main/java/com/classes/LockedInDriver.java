@@ -137,19 +137,19 @@ public class LockedInDriver {
                 if (!activeRoom.getId().equals(lastRoomId)) {
                     System.out.println();
                     System.out.println("You enter room " + formatRoomId(activeRoom) + ".");
-                    String narration = RoomNarration.createStory(activeRoom);
+                    String narration = RoomNarration.createStory(activeRoom, game::isPuzzleSolved);
                     if (!narration.isBlank()) {
                         System.out.println(narration);
                     }
-                    RoomNarration.narrateAsync(activeRoom);
+                    RoomNarration.narrateAsync(activeRoom, game::isPuzzleSolved);
                     lastRoomId = activeRoom.getId();
                 }
 
-                printRoomSummary(activeRoom);
-                collectRoomItems(activeRoom, sessionState, game.getActivePlayer(), scanner);
+                printRoomSummary(game, activeRoom);
+                collectRoomItems(game, activeRoom, sessionState, scanner);
                 printInventory(sessionState);
 
-                Optional<Puzzle> selection = promptPuzzleSelection(activeRoom, scanner);
+                Optional<Puzzle> selection = promptPuzzleSelection(game, activeRoom, scanner);
                 if (selection.isEmpty()) {
                     break;
                 }
@@ -176,14 +176,15 @@ public class LockedInDriver {
     /**
      * Asks the player to select an unsolved puzzle within the active room.
      *
+     * @param game    facade holding the player's progress
      * @param room    current room containing puzzles
      * @param scanner console input source for puzzle selection
      * @return selected puzzle wrapped in {@link Optional}, or empty if the player declines
      */
-    private static Optional<Puzzle> promptPuzzleSelection(Room room, Scanner scanner) {
+    private static Optional<Puzzle> promptPuzzleSelection(GameFacade game, Room room, Scanner scanner) {
         while (true) {
             List<Puzzle> unsolved = room.getPuzzles().stream()
-                    .filter(puzzle -> !puzzle.isSolved())
+                    .filter(puzzle -> !game.isPuzzleSolved(puzzle))
                     .toList();
 
             if (unsolved.isEmpty()) {
@@ -324,9 +325,10 @@ public class LockedInDriver {
     /**
      * Displays an overview of the room, including items and puzzle completion status.
      *
+     * @param game facade holding the player's progress
      * @param room room currently explored by the player
      */
-    private static void printRoomSummary(Room room) {
+    private static void printRoomSummary(GameFacade game, Room room) {
         System.out.println("Room details:");
         if (room.getItems().isEmpty()) {
             System.out.println("Items: none");
@@ -349,7 +351,7 @@ public class LockedInDriver {
                     i + 1,
                     puzzle.getName(),
                     puzzle.getType(),
-                    puzzle.isSolved() ? "Solved" : "Unsolved");
+                    game.isPuzzleSolved(puzzle) ? "Solved" : "Unsolved");
         }
     }
 
@@ -446,7 +448,7 @@ public class LockedInDriver {
                         () -> System.out.println("Player: Guest session"));
 
         int totalPuzzles = game.getRooms().stream()
-                .mapToInt(room -> room.getPuzzles().size())
+                .mapToInt(Room::getPuzzleCount)
                 .sum();
         int solvedPuzzles = game.getGameSystem().getProgress().getSolvedPuzzleIds().size();
         System.out.printf("Puzzles solved: %d/%d%n", solvedPuzzles, totalPuzzles);
@@ -548,7 +550,7 @@ public class LockedInDriver {
      * Lets players take the available items from the current room so they can satisfy
      * the haunted-mansion scenario requirements.
      */
-    private static void collectRoomItems(Room room, SessionState sessionState, Optional<Player> activePlayer, Scanner scanner) {
+    private static void collectRoomItems(GameFacade game, Room room, SessionState sessionState, Scanner scanner) {
         List<Item> items = room.getItems();
         List<Item> newItems = items.stream()
                 .filter(item -> !sessionState.hasItem(item))
@@ -565,7 +567,7 @@ public class LockedInDriver {
                 continue;
             }
             sessionState.addItem(item);
-            activePlayer.ifPresent(player -> addItemToPlayer(player, item));
+            game.collectItem(item);
             System.out.println("You stash the " + item.getName() + " in your bag." + (item.isReusable() ? " It feels sturdy enough to reuse." : " It might crumble after one use."));
         }
         System.out.println();
@@ -702,14 +704,6 @@ public class LockedInDriver {
         return true;
     }
 
-    private static void addItemToPlayer(Player player, Item item) {
-        boolean alreadyOwned = player.getInventory().asList().stream()
-                .anyMatch(existing -> existing.getId().equals(item.getId()));
-        if (!alreadyOwned) {
-            player.getInventory().add(item);
-        }
-    }
-
     /**
      * Prints the leaderboard in order so players can compare high scores.
      *
@@ -11,6 +11,7 @@ import java.util.UUID;
 public class MultipleChoicePuzzle extends Puzzle {
     private final List<String> options;
     private final String correctOption;
+    private final AnswerMatcher matcher;
 
     /**
      * Creates a multiple-choice puzzle with the available options and the correct answer.
@@ -22,13 +23,13 @@ public class MultipleChoicePuzzle extends Puzzle {
      * @param reward the reward text earned upon solving
      * @param options the list of presented answer options
      * @param correctOption the option that constitutes the correct answer
-     * @param solved whether the puzzle starts in a solved state
      */
     public MultipleChoicePuzzle(UUID id, Long legacyId, String name, String description, String reward,
-                                List<String> options, String correctOption, boolean solved) {
-        super(id, legacyId, name, description, reward, PuzzleType.MULTIPLE_CHOICE, solved);
+                                List<String> options, String correctOption) {
+        super(id, legacyId, name, description, reward, PuzzleType.MULTIPLE_CHOICE);
         this.options = options == null ? new ArrayList<>() : new ArrayList<>(options);
         this.correctOption = Objects.requireNonNullElse(correctOption, "");
+        this.matcher = AnswerMatcher.ignoringCase(this.correctOption);
     }
 
     /**
@@ -53,6 +54,6 @@ public class MultipleChoicePuzzle extends Puzzle {
      */
     @Override
     public boolean isCorrectAnswer(String answer) {
-        return correctOption.equalsIgnoreCase(Objects.requireNonNullElse(answer, ""));
+        return matcher.matches(answer);
     }
 }
@@ -0,0 +1,109 @@
+package com.classes;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking work, such as disk writes, on a small fixed pool of daemon
+ * threads. Tasks submitted under the same key run one after another in
+ * submission order; tasks under different keys may run at the same time.
+ * Every submission returns a {@link CompletableFuture}, so a caller on the UI
+ * thread can hand off the work and react once it is done.
+ * <p>
+ * A task that fails does not hold up the ones queued behind it under the same
+ * key; its future just completes exceptionally.
+ * </p>
+ */
+public final class OrderedExecutor implements AutoCloseable {
+    private static final CompletableFuture<Object> DONE = CompletableFuture.completedFuture(null);
+
+    private final ThreadPoolExecutor pool;
+    // Last future submitted per key; removed again once it completes. Guarded by itself.
+    private final Map<Object, CompletableFuture<?>> tails = new HashMap<>();
+
+    /**
+     * @param threadName prefix for the worker thread names
+     * @param threads number of worker threads; at least one
+     */
+    public OrderedExecutor(String threadName, int threads) {
+        Objects.requireNonNull(threadName, "threadName");
+        if (threads < 1) {
+            throw new IllegalArgumentException("Need at least one thread.");
+        }
+        AtomicInteger counter = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, threadName + "-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    /**
+     * Queues a task behind everything already submitted under the same key.
+     *
+     * @param key  ordering key, for example a player id; must not be {@code null}
+     * @param task work to run on a worker thread
+     * @param <T>  result type
+     * @return future completed with the task's result, or exceptionally when it throws
+     */
+    public <T> CompletableFuture<T> submit(Object key, Supplier<? extends T> task) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(task, "task");
+        synchronized (tails) {
+            CompletableFuture<?> previous = tails.getOrDefault(key, DONE);
+            CompletableFuture<T> next = previous.handle((result, error) -> null)
+                    .thenApplyAsync(ignored -> task.get(), pool);
+            tails.put(key, next);
+            next.whenComplete((result, error) -> {
+                synchronized (tails) {
+                    tails.remove(key, next);
+                }
+            });
+            return next;
+        }
+    }
+
+    /**
+     * Waits until every task submitted so far has finished.
+     *
+     * @param timeout longest time to wait
+     * @return {@code true} when all of them finished in time
+     */
+    public boolean awaitIdle(Duration timeout) {
+        CompletableFuture<?>[] pending;
+        synchronized (tails) {
+            pending = tails.values().toArray(new CompletableFuture<?>[0]);
+        }
+        try {
+            CompletableFuture.allOf(pending).get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+            return true;
+        } catch (ExecutionException e) {
+            // allOf only completes once every task has; a failed task still counts as finished.
+            return true;
+        } catch (TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Stops accepting work. Tasks already queued still run.
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,335 @@
+package com.classes;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Write-behind stage in front of {@link DataWriter#saveGame(GameSystem)}.
+ * Callers {@link #submit(GameSystem) submit} the game system after changing
+ * it and return immediately; a single background writer waits until the
+ * configured window has passed since the first unsaved submission and then
+ * writes the latest state once, so a burst of solves, hint penalties and
+ * timer pauses costs one rewrite instead of one per change.
+ * <p>
+ * {@link #flush()} skips the remaining window and blocks until everything
+ * submitted so far is on disk; {@link #awaitDurable(Duration)} waits for the
+ * same point without hurrying the writer. Both are meant for logout and
+ * shutdown paths. Queue depth and write latency are exposed for diagnostics.
+ * </p>
+ * <p>
+ * A failed write is queued again unless a newer submission has replaced it.
+ * The background writer retries it after {@link #RETRY_DELAY} at the
+ * earliest, and {@link #flush()} retries it right away.
+ * </p>
+ * <p>
+ * When a snapshot lock is supplied the writer holds it while serializing,
+ * which lets owners that mutate under the matching write lock guarantee a
+ * save never observes a half-applied change.
+ * </p>
+ */
+public final class PersistenceQueue implements AutoCloseable {
+    /** Coalescing window used when none is configured. */
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(250);
+    /** Shortest wait before the background writer retries a failed write. */
+    public static final Duration RETRY_DELAY = Duration.ofSeconds(1);
+
+    /**
+     * Performs one write for the queue. Owners that need more than a plain
+     * {@link DataWriter#saveGame(GameSystem)}, such as
+     * {@link GameSystemRepository} reloading stale data, supply their own.
+     */
+    @FunctionalInterface
+    interface Saver {
+        /**
+         * @param gameSystem latest submitted game system
+         * @return {@code true} when its changes are on disk
+         */
+        boolean save(GameSystem gameSystem);
+    }
+
+    private final Saver saver;
+    private final long windowNanos;
+    private final Thread writerThread;
+    private final Object monitor = new Object();
+
+    private GameSystem pending;
+    private long pendingSince;
+    private int queueDepth;
+    private long submittedGeneration;
+    private long durableGeneration;
+    private long flushGeneration;
+    private boolean lastWriteSucceeded = true;
+    private boolean closed;
+
+    private long writeCount;
+    private long lastWriteNanos;
+    private long maxWriteNanos;
+    private long totalWriteNanos;
+
+    /**
+     * Creates a queue with the {@link #DEFAULT_WINDOW default window} and no snapshot lock.
+     *
+     * @param writer writer that performs the actual save; must not be {@code null}
+     */
+    public PersistenceQueue(DataWriter writer) {
+        this(writer, DEFAULT_WINDOW, null);
+    }
+
+    /**
+     * Creates a queue and starts its background writer.
+     *
+     * @param writer       writer that performs the actual save; must not be {@code null}
+     * @param window       minimum delay between the first unsaved submission and its write; must not be negative
+     * @param snapshotLock lock held while serializing, or {@code null} when callers need no exclusion
+     */
+    public PersistenceQueue(DataWriter writer, Duration window, Lock snapshotLock) {
+        this(lockedSaver(Objects.requireNonNull(writer, "writer"), snapshotLock), window);
+    }
+
+    /**
+     * Creates a queue around a custom write and starts its background writer.
+     *
+     * @param saver  performs each write; must not be {@code null}
+     * @param window minimum delay between the first unsaved submission and its write; must not be negative
+     */
+    PersistenceQueue(Saver saver, Duration window) {
+        this.saver = Objects.requireNonNull(saver, "saver");
+        Objects.requireNonNull(window, "window");
+        if (window.isNegative()) {
+            throw new IllegalArgumentException("Window must not be negative.");
+        }
+        this.windowNanos = window.toNanos();
+        this.writerThread = new Thread(this::runWriter, "game-system-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    /**
+     * Marks the given game system dirty. If an earlier submission is still
+     * waiting, it is replaced so only the latest state is written.
+     *
+     * @param gameSystem state to persist; must not be {@code null}
+     * @throws IllegalStateException when the queue has been closed
+     */
+    public void submit(GameSystem gameSystem) {
+        Objects.requireNonNull(gameSystem, "gameSystem");
+        synchronized (monitor) {
+            if (closed) {
+                throw new IllegalStateException("Persistence queue is closed.");
+            }
+            if (pending == null) {
+                pendingSince = System.nanoTime();
+            }
+            pending = gameSystem;
+            queueDepth++;
+            submittedGeneration++;
+            monitor.notifyAll();
+        }
+    }
+
+    /**
+     * Writes any pending submission immediately and waits for it to finish.
+     * A write that failed earlier and is waiting to be retried is attempted
+     * again.
+     *
+     * @return {@code true} when the most recent write succeeded (or nothing was ever pending)
+     */
+    public boolean flush() {
+        synchronized (monitor) {
+            long target = submittedGeneration;
+            flushGeneration = Math.max(flushGeneration, target);
+            monitor.notifyAll();
+            if (!waitForGeneration(target, Long.MAX_VALUE)) {
+                return false;
+            }
+            return lastWriteSucceeded;
+        }
+    }
+
+    /**
+     * Waits until everything submitted before this call has been written,
+     * without shortening the coalescing window.
+     *
+     * @param timeout longest time to wait; must not be {@code null}
+     * @return {@code true} when the writes completed successfully within the timeout
+     */
+    public boolean awaitDurable(Duration timeout) {
+        Objects.requireNonNull(timeout, "timeout");
+        synchronized (monitor) {
+            long target = submittedGeneration;
+            long deadline = System.nanoTime() + Math.max(0L, timeout.toNanos());
+            if (!waitForGeneration(target, deadline)) {
+                return false;
+            }
+            return lastWriteSucceeded;
+        }
+    }
+
+    /**
+     * @return number of submissions coalesced into the write that has not started yet
+     */
+    public int getQueueDepth() {
+        synchronized (monitor) {
+            return queueDepth;
+        }
+    }
+
+    /**
+     * @return number of writes performed so far
+     */
+    public long getWriteCount() {
+        synchronized (monitor) {
+            return writeCount;
+        }
+    }
+
+    /**
+     * @return duration of the most recent write, or {@link Duration#ZERO} before the first one
+     */
+    public Duration getLastWriteLatency() {
+        synchronized (monitor) {
+            return Duration.ofNanos(lastWriteNanos);
+        }
+    }
+
+    /**
+     * @return longest write observed so far
+     */
+    public Duration getMaxWriteLatency() {
+        synchronized (monitor) {
+            return Duration.ofNanos(maxWriteNanos);
+        }
+    }
+
+    /**
+     * @return mean write duration, or {@link Duration#ZERO} before the first write
+     */
+    public Duration getAverageWriteLatency() {
+        synchronized (monitor) {
+            return writeCount == 0 ? Duration.ZERO : Duration.ofNanos(totalWriteNanos / writeCount);
+        }
+    }
+
+    /**
+     * Writes any pending submission and stops the background writer. Further
+     * submissions are rejected.
+     */
+    @Override
+    public void close() {
+        synchronized (monitor) {
+            closed = true;
+            monitor.notifyAll();
+        }
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean waitForGeneration(long target, long deadline) {
+        // Caller holds the monitor.
+        while (durableGeneration < target && writerThread.isAlive()) {
+            try {
+                if (deadline == Long.MAX_VALUE) {
+                    monitor.wait();
+                } else {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(monitor, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return durableGeneration >= target;
+    }
+
+    private void runWriter() {
+        while (true) {
+            GameSystem snapshot;
+            long generation;
+            synchronized (monitor) {
+                try {
+                    while (pending == null && !closed) {
+                        monitor.wait();
+                    }
+                    if (pending == null) {
+                        return;
+                    }
+                    long deadline = pendingSince + windowNanos;
+                    long remaining;
+                    while (!closed && flushGeneration < submittedGeneration
+                            && (remaining = deadline - System.nanoTime()) > 0) {
+                        TimeUnit.NANOSECONDS.timedWait(monitor, remaining);
+                    }
+                } catch (InterruptedException e) {
+                    // Treat an interrupt as a close request: drain what is pending and stop.
+                    closed = true;
+                    if (pending == null) {
+                        return;
+                    }
+                }
+                snapshot = pending;
+                generation = submittedGeneration;
+                pending = null;
+                queueDepth = 0;
+            }
+
+            long start = System.nanoTime();
+            boolean succeeded = write(snapshot);
+            long elapsed = System.nanoTime() - start;
+
+            synchronized (monitor) {
+                durableGeneration = generation;
+                lastWriteSucceeded = succeeded;
+                if (!succeeded && !closed && pending == null) {
+                    requeue(snapshot);
+                }
+                writeCount++;
+                lastWriteNanos = elapsed;
+                maxWriteNanos = Math.max(maxWriteNanos, elapsed);
+                totalWriteNanos += elapsed;
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    private void requeue(GameSystem snapshot) {
+        // Caller holds the monitor. The retry counts as a new submission so flush() waits for it.
+        pending = snapshot;
+        pendingSince = System.nanoTime() + Math.max(0L, RETRY_DELAY.toNanos() - windowNanos);
+        queueDepth = 1;
+        submittedGeneration++;
+    }
+
+    private boolean write(GameSystem snapshot) {
+        try {
+            return saver.save(snapshot);
+        } catch (RuntimeException e) {
+            // Keep the writer alive; the failure is reported through flush()/awaitDurable().
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private static Saver lockedSaver(DataWriter writer, Lock snapshotLock) {
+        return snapshot -> {
+            if (snapshotLock != null) {
+                snapshotLock.lock();
+            }
+            try {
+                return writer.saveGame(snapshot);
+            } finally {
+                if (snapshotLock != null) {
+                    snapshotLock.unlock();
+                }
+            }
+        };
+    }
+}
@@ -1,8 +1,8 @@
 package com.classes;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.UUID;
@@ -19,7 +19,9 @@ public class Player {
     private final ItemList inventory;
     private final Statistics statistics;
     private int currentScore;
-    private final Set<UUID> solvedPuzzleIds;
+    private final SolvedSet solvedPuzzleIds;
+    // Lists that index this player by name, email and score; told about changes. Allocated on first add.
+    private List<PlayerList> memberships;
 
     /**
      * Creates a player profile with the supplied metadata, inventory, and prior progress.
@@ -45,9 +47,7 @@ public class Player {
         this.inventory = inventory == null ? new ItemList() : inventory;
         this.statistics = statistics == null ? new Statistics() : statistics;
         this.currentScore = Math.max(0, currentScore);
-        this.solvedPuzzleIds = solvedPuzzleIds == null
-                ? new HashSet<>()
-                : new HashSet<>(solvedPuzzleIds);
+        this.solvedPuzzleIds = new SolvedSet(solvedPuzzleIds);
     }
 
     /**
@@ -83,7 +83,13 @@ public class Player {
      * @param name new player name
      */
     public void setName(String name) {
+        String previous = this.name;
         this.name = Objects.requireNonNullElse(name, this.name);
+        if (memberships != null && !previous.equals(this.name)) {
+            for (PlayerList list : memberships) {
+                list.onNameChanged(this, previous);
+            }
+        }
     }
 
     /**
@@ -101,7 +107,13 @@ public class Player {
      * @param email new email address
      */
     public void setEmail(String email) {
+        String previous = this.email;
         this.email = Objects.requireNonNullElse(email, this.email);
+        if (memberships != null && !previous.equals(this.email)) {
+            for (PlayerList list : memberships) {
+                list.onEmailChanged(this, previous);
+            }
+        }
     }
 
     /**
@@ -155,7 +167,13 @@ public class Player {
      * @param delta score change to apply
      */
     public void addScore(int delta) {
+        int previous = currentScore;
         currentScore = Math.max(0, currentScore + delta);
+        if (memberships != null && previous != currentScore) {
+            for (PlayerList list : memberships) {
+                list.onScoreChanged(this);
+            }
+        }
     }
 
     /**
@@ -164,7 +182,7 @@ public class Player {
      * @return unmodifiable set of puzzle ids
      */
     public Set<UUID> getSolvedPuzzleIds() {
-        return Collections.unmodifiableSet(solvedPuzzleIds);
+        return solvedPuzzleIds.readOnlyView();
     }
 
     /**
@@ -173,10 +191,7 @@ public class Player {
      * @param puzzleIds new collection of solved puzzle ids
      */
     public void setSolvedPuzzleIds(Collection<UUID> puzzleIds) {
-        solvedPuzzleIds.clear();
-        if (puzzleIds != null) {
-            solvedPuzzleIds.addAll(puzzleIds);
-        }
+        solvedPuzzleIds.copyFrom(puzzleIds);
     }
 
     /**
@@ -196,4 +211,17 @@ public class Player {
     public void clearSolvedPuzzles() {
         solvedPuzzleIds.clear();
     }
+
+    void joinList(PlayerList list) {
+        if (memberships == null) {
+            memberships = new ArrayList<>(1);
+        }
+        memberships.add(list);
+    }
+
+    void leaveList(PlayerList list) {
+        if (memberships != null) {
+            memberships.remove(list);
+        }
+    }
 }
@@ -1,28 +1,67 @@
 package com.classes;
 
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
+import java.util.OptionalInt;
 import java.util.UUID;
-import java.util.HashSet;
 
 /**
  * Manages the collection of players available to the game.
+ * <p>
+ * Besides the ordered list, the players are indexed by id, normalized email
+ * and normalized name so lookups do not scan the list. Players report renames
+ * back to every list they belong to, which keeps the indexes current when
+ * {@link Player#setName(String)} or {@link Player#setEmail(String)} is called
+ * on a player that is already stored. When several players share a key, the
+ * indexes answer with the one that was indexed first.
+ * </p>
+ * <p>
+ * The list also keeps every player ranked by current score (highest first,
+ * then by name ignoring case). {@link Player#addScore(int)} re-ranks the
+ * player as it happens, so reading the top of the ranking or a page of it
+ * never sorts the whole list. The ranking is built on the first query, so
+ * loading a large roster does not pay for it up front.
+ * </p>
  */
 public class PlayerList {
+    private static final Comparator<Standing> BY_SCORE = Comparator.comparingInt(Standing::score).reversed()
+            .thenComparing(Standing::name, String.CASE_INSENSITIVE_ORDER);
+
     private final List<Player> players;
+    private final Index<UUID> byId;
+    private final Index<String> byEmail;
+    private final Index<String> byName;
+    private final RankedTree<Standing> ranking = new RankedTree<>(BY_SCORE);
+    private final Map<Player, RankedTree.Node<Standing>> standings = new IdentityHashMap<>();
+    private boolean ranked;
+    private int maxLegacyId;
+    private boolean maxLegacyIdStale;
 
     /**
      * Creates an empty, mutable list of players.
      */
     public PlayerList() {
-        this.players = new ArrayList<>();
+        this(0);
+    }
+
+    /**
+     * Creates an empty list sized for a known number of players, so a bulk
+     * load does not keep growing the list and its indexes.
+     *
+     * @param expectedPlayers number of players about to be added
+     */
+    PlayerList(int expectedPlayers) {
+        this.players = new ArrayList<>(expectedPlayers);
+        this.byId = new Index<>(expectedPlayers);
+        this.byEmail = new Index<>(expectedPlayers);
+        this.byName = new Index<>(expectedPlayers);
     }
 
     /**
@@ -33,6 +72,7 @@ public class PlayerList {
     public void add(Player player) {
         if (player != null) {
             players.add(player);
+            index(player);
         }
     }
 
@@ -43,7 +83,21 @@ public class PlayerList {
      * @return {@code true} if the list contained the player
      */
     public boolean remove(Player player) {
-        return players.remove(player);
+        if (!players.remove(player)) {
+            return false;
+        }
+        byId.remove(player.getId(), player);
+        byEmail.remove(normalizeEmail(player.getEmail()), player);
+        byName.remove(normalizeName(player.getName()), player);
+        Integer legacyId = player.getLegacyId();
+        if (legacyId != null && legacyId == maxLegacyId) {
+            maxLegacyIdStale = true;
+        }
+        player.leaveList(this);
+        if (ranked && !players.contains(player)) {
+            ranking.remove(standings.remove(player));
+        }
+        return true;
     }
 
     /**
@@ -53,7 +107,7 @@ public class PlayerList {
      * @return matching player, if present
      */
     public Optional<Player> findById(UUID id) {
-        return players.stream().filter(p -> p.getId().equals(id)).findFirst();
+        return Optional.ofNullable(byId.first(id));
     }
 
     /**
@@ -67,12 +121,7 @@ public class PlayerList {
         if (normalized == null) {
             return Optional.empty();
         }
-        return players.stream()
-                .filter(p -> {
-                    String candidate = normalizeEmail(p.getEmail());
-                    return normalized.equals(candidate);
-                })
-                .findFirst();
+        return Optional.ofNullable(byEmail.first(normalized));
     }
 
     /**
@@ -102,15 +151,11 @@ public class PlayerList {
             throw new IllegalArgumentException("A player with that email already exists.");
         }
         String safeName = (name == null || name.isBlank()) ? "New Player" : name.trim();
-        int nextLegacy = players.stream()
-                .map(Player::getLegacyId)
-                .filter(java.util.Objects::nonNull)
-                .max(Comparator.naturalOrder())
-                .orElse(0) + 1;
-        UUID playerId = deriveUuid("player", nextLegacy);
+        int nextLegacy = maxLegacyId() + 1;
+        UUID playerId = LegacyIds.PLAYER.derive(nextLegacy);
         Player player = new Player(playerId, nextLegacy, safeName, email.trim(), avatar,
                 new ItemList(), new Statistics(), 0, Collections.emptySet());
-        players.add(player);
+        add(player);
         return player;
     }
 
@@ -120,17 +165,7 @@ public class PlayerList {
      * @return {@code true} if duplicate emails are discovered
      */
     public boolean hasDuplicateUsers() {
-        Set<String> emails = new HashSet<>();
-        for (Player player : players) {
-            String normalized = normalizeEmail(player.getEmail());
-            if (normalized == null) {
-                continue;
-            }
-            if (!emails.add(normalized)) {
-                return true;
-            }
-        }
-        return false;
+        return byEmail.hasCollisions();
     }
 
     /**
@@ -185,10 +220,137 @@ public class PlayerList {
         if (normalized == null) {
             return false;
         }
-        return players.stream()
-                .map(Player::getName)
-                .map(this::normalizeName)
-                .anyMatch(normalized::equals);
+        return byName.first(normalized) != null;
+    }
+
+    /**
+     * Returns the highest scoring players, best first.
+     *
+     * @param count maximum number of players to return
+     * @return unmodifiable list of at most {@code count} players
+     */
+    public List<Player> getTopByScore(int count) {
+        return getScorePage(0, count);
+    }
+
+    /**
+     * Returns one page of the score ranking, for boards too long to show at once.
+     *
+     * @param page     zero-based page number
+     * @param pageSize players per page; must be positive
+     * @return unmodifiable list of the players on that page, empty past the end
+     * @throws IllegalArgumentException when the page number is negative or the page size is not positive
+     */
+    public List<Player> getScorePage(int page, int pageSize) {
+        if (page < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Page must be non-negative and page size positive.");
+        }
+        long from = (long) page * pageSize;
+        ensureRanked();
+        if (from >= ranking.size()) {
+            return Collections.emptyList();
+        }
+        return ranking.range((int) from, pageSize).stream()
+                .map(Standing::player)
+                .toList();
+    }
+
+    /**
+     * Reports where a player sits in the score ranking.
+     *
+     * @param player player to look up
+     * @return 1-based rank, or empty when the player is not in this list
+     */
+    public OptionalInt getScoreRank(Player player) {
+        ensureRanked();
+        RankedTree.Node<Standing> node = standings.get(player);
+        return node == null ? OptionalInt.empty() : OptionalInt.of(ranking.rank(node) + 1);
+    }
+
+    /**
+     * Re-indexes a stored player whose name just changed.
+     *
+     * @param player       renamed player
+     * @param previousName name the player was indexed under
+     */
+    void onNameChanged(Player player, String previousName) {
+        byName.remove(normalizeName(previousName), player);
+        byName.put(normalizeName(player.getName()), player);
+        if (ranked) {
+            rank(player);
+        }
+    }
+
+    /**
+     * Moves a stored player to their new place in the score ranking.
+     *
+     * @param player player whose score just changed
+     */
+    void onScoreChanged(Player player) {
+        if (ranked) {
+            rank(player);
+        }
+    }
+
+    /**
+     * Re-indexes a stored player whose email just changed.
+     *
+     * @param player        player with the new email
+     * @param previousEmail email the player was indexed under
+     */
+    void onEmailChanged(Player player, String previousEmail) {
+        byEmail.remove(normalizeEmail(previousEmail), player);
+        byEmail.put(normalizeEmail(player.getEmail()), player);
+    }
+
+    private void index(Player player) {
+        byId.put(player.getId(), player);
+        byEmail.put(normalizeEmail(player.getEmail()), player);
+        byName.put(normalizeName(player.getName()), player);
+        Integer legacyId = player.getLegacyId();
+        if (legacyId != null && legacyId > maxLegacyId) {
+            maxLegacyId = legacyId;
+        }
+        player.joinList(this);
+        if (ranked) {
+            rank(player);
+        }
+    }
+
+    private void ensureRanked() {
+        if (!ranked) {
+            for (Player player : players) {
+                rank(player);
+            }
+            ranked = true;
+        }
+    }
+
+    private void rank(Player player) {
+        RankedTree.Node<Standing> previous = standings.get(player);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+        standings.put(player, ranking.insert(new Standing(player, player.getName(), player.getCurrentScore())));
+    }
+
+    /**
+     * Returns the highest legacy id in the list, or {@code 0} when none is set.
+     * Removing the player that held the maximum forces one rescan on the next call.
+     */
+    private int maxLegacyId() {
+        if (maxLegacyIdStale) {
+            int max = 0;
+            for (Player player : players) {
+                Integer legacyId = player.getLegacyId();
+                if (legacyId != null && legacyId > max) {
+                    max = legacyId;
+                }
+            }
+            maxLegacyId = max;
+            maxLegacyIdStale = false;
+        }
+        return maxLegacyId;
     }
 
     /**
@@ -219,11 +381,77 @@ public class PlayerList {
         return normalized.isEmpty() ? null : normalized;
     }
 
-    private UUID deriveUuid(String prefix, Number id) {
-        if (id == null) {
-            return UUID.randomUUID();
+    /**
+     * Score and name captured when the player was ranked. The ranking compares
+     * these copies, never the live player, so a change cannot corrupt the tree
+     * before the player is re-ranked.
+     */
+    private record Standing(Player player, String name, int score) {
+    }
+
+    /**
+     * Hash index that tolerates duplicate keys. A key maps straight to its
+     * player in the common unique case and to a list only once a second
+     * player shares it, so a million unique emails cost one map entry each.
+     */
+    private static final class Index<K> {
+        private final Map<K, Object> entries;
+        private int collisions;
+
+        Index(int expectedKeys) {
+            entries = new HashMap<>(Math.max(16, (int) (expectedKeys / 0.75f) + 1));
+        }
+
+        void put(K key, Player player) {
+            if (key == null) {
+                return;
+            }
+            Object existing = entries.putIfAbsent(key, player);
+            if (existing == null) {
+                return;
+            }
+            if (existing instanceof Player single) {
+                List<Player> group = new ArrayList<>(2);
+                group.add(single);
+                group.add(player);
+                entries.put(key, group);
+            } else {
+                asGroup(existing).add(player);
+            }
+            collisions++;
+        }
+
+        void remove(K key, Player player) {
+            if (key == null) {
+                return;
+            }
+            Object existing = entries.get(key);
+            if (existing == player) {
+                entries.remove(key);
+            } else if (existing instanceof List<?> && asGroup(existing).remove(player)) {
+                List<Player> group = asGroup(existing);
+                if (group.size() == 1) {
+                    entries.put(key, group.get(0));
+                }
+                collisions--;
+            }
+        }
+
+        Player first(K key) {
+            Object existing = key == null ? null : entries.get(key);
+            if (existing instanceof Player single) {
+                return single;
+            }
+            return existing == null ? null : asGroup(existing).get(0);
+        }
+
+        boolean hasCollisions() {
+            return collisions > 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static List<Player> asGroup(Object entry) {
+            return (List<Player>) entry;
         }
-        String seed = prefix + "-" + id.longValue();
-        return UUID.nameUUIDFromBytes(seed.getBytes(StandardCharsets.UTF_8));
     }
 }
@@ -1,9 +1,11 @@
 package com.classes;
 
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -11,15 +13,31 @@ import java.util.UUID;
  * Captures the player's current run through the escape room. In addition to
  * remembering which player is active and which room they occupy, the progress
  * object holds the set of puzzles that have already been solved so the UI can
- * restore state after a reload.
+ * restore state after a reload. The solved puzzles are kept in a
+ * {@link SolvedSet}, so copying them to and from a {@link Player} copies
+ * bit words rather than individual ids.
+ * <p>
+ * Puzzles and rooms carry no solved state of their own; this object is the
+ * session's view of it. Switching to another player therefore only swaps the
+ * set here and never touches the shared puzzles.
+ * </p>
+ * <p>
+ * The room queries are answered from a per-room tally of the solved count
+ * and the first unsolved puzzle. A room's tally is built with one pass the
+ * first time the room is asked about, then kept current by
+ * {@link #markPuzzleSolved(UUID)}; replacing or clearing the solved set
+ * drops every tally.
+ * </p>
  */
 public class Progress {
     private UUID activePlayerId;
     private UUID currentRoomId;
-    private final Set<UUID> solvedPuzzleIds;
+    private final SolvedSet solvedPuzzleIds;
+    private final Map<UUID, RoomTally> talliesByRoom = new HashMap<>();
+    private final Map<UUID, RoomTally> talliesByPuzzle = new HashMap<>();
 
     public Progress() {
-        this.solvedPuzzleIds = new HashSet<>();
+        this.solvedPuzzleIds = new SolvedSet();
     }
 
     /**
@@ -60,8 +78,12 @@ public class Progress {
      * @param puzzleId puzzle identifier to record; ignored when {@code null}
      */
     public void markPuzzleSolved(UUID puzzleId) {
-        if (puzzleId != null) {
-            solvedPuzzleIds.add(puzzleId);
+        if (puzzleId != null && solvedPuzzleIds.add(puzzleId)) {
+            RoomTally tally = talliesByPuzzle.get(puzzleId);
+            if (tally != null) {
+                tally.solved++;
+                tally.skipSolved();
+            }
         }
     }
 
@@ -75,11 +97,52 @@ public class Progress {
         return puzzleId != null && solvedPuzzleIds.contains(puzzleId);
     }
 
+    /**
+     * Same as {@link #isPuzzleSolved(UUID)} for a puzzle object, without
+     * looking its id up.
+     *
+     * @param puzzle puzzle to query
+     * @return {@code true} when the puzzle has been solved
+     */
+    public boolean isPuzzleSolved(Puzzle puzzle) {
+        return puzzle != null && solvedPuzzleIds.containsPuzzle(puzzle);
+    }
+
+    /**
+     * @param room room to check
+     * @return {@code true} once every puzzle in the room is solved (also for a room without puzzles)
+     */
+    public boolean isRoomComplete(Room room) {
+        RoomTally tally = tally(room);
+        return tally.firstUnsolved >= tally.counted;
+    }
+
+    /**
+     * Finds the first puzzle of a room that is not solved yet.
+     *
+     * @param room room to search
+     * @return optional puzzle that still needs work
+     */
+    public Optional<Puzzle> getFirstUnsolvedPuzzle(Room room) {
+        RoomTally tally = tally(room);
+        return tally.firstUnsolved < tally.counted
+                ? Optional.of(tally.puzzles.get(tally.firstUnsolved))
+                : Optional.empty();
+    }
+
+    /**
+     * @param room room to count
+     * @return how many of the room's puzzles are solved
+     */
+    public int getSolvedPuzzleCount(Room room) {
+        return tally(room).solved;
+    }
+
     /**
      * @return unmodifiable view of all puzzle identifiers marked as solved
      */
     public Set<UUID> getSolvedPuzzleIds() {
-        return Collections.unmodifiableSet(solvedPuzzleIds);
+        return solvedPuzzleIds.readOnlyView();
     }
 
     /**
@@ -90,7 +153,7 @@ public class Progress {
     public void reset(UUID playerId) {
         this.activePlayerId = Objects.requireNonNull(playerId, "playerId");
         this.currentRoomId = null;
-        this.solvedPuzzleIds.clear();
+        clearSolved();
     }
 
     /**
@@ -99,10 +162,8 @@ public class Progress {
      * @param puzzleIds collection of solved puzzle identifiers; {@code null} clears the set
      */
     public void loadSolvedPuzzles(Collection<UUID> puzzleIds) {
-        this.solvedPuzzleIds.clear();
-        if (puzzleIds != null) {
-            this.solvedPuzzleIds.addAll(puzzleIds);
-        }
+        this.solvedPuzzleIds.copyFrom(puzzleIds);
+        dropTallies();
     }
 
     /**
@@ -110,5 +171,59 @@ public class Progress {
      */
     public void clearSolved() {
         this.solvedPuzzleIds.clear();
+        dropTallies();
+    }
+
+    private void dropTallies() {
+        talliesByRoom.clear();
+        talliesByPuzzle.clear();
+    }
+
+    /**
+     * Returns the room's tally, counting it again when the room is new to
+     * this progress, is a different copy of a known room, or gained puzzles
+     * since it was counted. Rooms only ever gain puzzles, so the size is
+     * enough to notice a change.
+     */
+    private RoomTally tally(Room room) {
+        RoomTally tally = talliesByRoom.get(room.getId());
+        if (tally != null && tally.room == room && tally.counted == room.getPuzzleCount()) {
+            return tally;
+        }
+        tally = new RoomTally(room);
+        for (Puzzle puzzle : tally.puzzles) {
+            if (solvedPuzzleIds.containsPuzzle(puzzle)) {
+                tally.solved++;
+            }
+            talliesByPuzzle.put(puzzle.getId(), tally);
+        }
+        tally.skipSolved();
+        talliesByRoom.put(room.getId(), tally);
+        return tally;
+    }
+
+    /**
+     * Solved count and first-unsolved cursor for one room. The cursor only
+     * moves forward while the solved set grows, so keeping it current costs
+     * one step per puzzle over the whole run.
+     */
+    private final class RoomTally {
+        private final Room room;
+        private final List<Puzzle> puzzles;
+        private final int counted;
+        private int solved;
+        private int firstUnsolved;
+
+        private RoomTally(Room room) {
+            this.room = room;
+            this.puzzles = room.getPuzzles();
+            this.counted = puzzles.size();
+        }
+
+        private void skipSolved() {
+            while (firstUnsolved < counted && solvedPuzzleIds.containsPuzzle(puzzles.get(firstUnsolved))) {
+                firstUnsolved++;
+            }
+        }
     }
 }
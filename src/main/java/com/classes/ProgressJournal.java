@@ -0,0 +1,493 @@
+package com.classes;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only log of {@link JournalRecord progress records} stored next to
+ * {@code rooms.json} and {@code users.json}. Appending a record costs a few
+ * dozen bytes no matter how many players exist, unlike a snapshot which
+ * rewrites the whole roster.
+ * <p>
+ * {@link #append(JournalRecord)} only stages the encoded record in memory. A
+ * background task writes the staged bytes and calls {@code fsync} once per
+ * sync interval, so a burst of records shares one disk flush;
+ * {@link #sync()} does the same immediately. Every record ends with a CRC32,
+ * and a torn record at the tail (for example after a crash mid-write) ends
+ * replay and is cut off before new records are appended.
+ * </p>
+ * <p>
+ * The file header records the {@link GameSystem#getSnapshotGeneration()
+ * generation} of the JSON snapshot the records build on. Every save of the
+ * full game state by {@link GameSystemRepository} resets the journal to the
+ * new generation, and replay skips the records when the game system was
+ * loaded from a newer snapshot, because that snapshot already holds them and
+ * possibly later changes the records would undo.
+ * </p>
+ */
+public final class ProgressJournal implements AutoCloseable {
+    /** File name used inside the data directory. */
+    public static final String FILE_NAME = "progress.journal";
+    /** Default delay between background syncs. */
+    public static final Duration DEFAULT_SYNC_INTERVAL = Duration.ofMillis(50);
+
+    private static final int MAGIC = 0x4C494A32; // "LIJ2"
+    private static final int HEADER_BYTES = Integer.BYTES + Long.BYTES;
+
+    private static final byte SOLVE = 1;
+    private static final byte HINT_PENALTY = 2;
+    private static final byte SCORE_DELTA = 3;
+    private static final byte LEADERBOARD_UPDATE = 4;
+    private static final byte TIMER_CHECKPOINT = 5;
+    private static final byte STATISTICS_UPDATE = 6;
+    private static final byte PLAYER_SOLVE = 7;
+
+    private final Path file;
+    private final Duration syncInterval;
+    private final Object stagingLock = new Object();
+    private final Object channelLock = new Object();
+    private ByteArrayOutputStream staging = new ByteArrayOutputStream();
+    private int recordCount;
+    private FileChannel channel;
+    // Guarded by channelLock.
+    private long baseGeneration = GameSystem.NO_GENERATION;
+    private ScheduledExecutorService syncExecutor;
+    private volatile boolean lastSyncSucceeded = true;
+
+    /**
+     * Creates a journal backed by the given file. Nothing is opened until the
+     * first replay or append.
+     *
+     * @param file         journal file; must not be {@code null}
+     * @param syncInterval delay between background syncs; must be positive
+     */
+    public ProgressJournal(Path file, Duration syncInterval) {
+        this.file = Objects.requireNonNull(file, "file");
+        this.syncInterval = Objects.requireNonNull(syncInterval, "syncInterval");
+        if (syncInterval.isZero() || syncInterval.isNegative()) {
+            throw new IllegalArgumentException("Sync interval must be positive.");
+        }
+    }
+
+    /**
+     * Creates a journal named {@value #FILE_NAME} in the given data directory.
+     *
+     * @param directory data directory
+     * @return journal using the {@link #DEFAULT_SYNC_INTERVAL default sync interval}
+     */
+    public static ProgressJournal inDirectory(Path directory) {
+        return new ProgressJournal(directory.resolve(FILE_NAME), DEFAULT_SYNC_INTERVAL);
+    }
+
+    /**
+     * Applies every intact record in the journal file to the game system, in
+     * order. A damaged tail is ignored and removed from the file. When the
+     * game system comes from a newer snapshot than the one the records build
+     * on, nothing is applied and the journal is reset to that snapshot.
+     * Records appended afterwards build on the game system's generation.
+     *
+     * @param system game system to update
+     * @return number of records applied
+     * @throws IOException when the file cannot be read or repaired
+     */
+    public int replay(GameSystem system) throws IOException {
+        Objects.requireNonNull(system, "system");
+        long generation = system.getSnapshotGeneration();
+        synchronized (channelLock) {
+            if (!Files.exists(file)) {
+                baseGeneration = generation;
+                return 0;
+            }
+            int applied = 0;
+            long validLength = HEADER_BYTES;
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (Files.size(file) < HEADER_BYTES || in.readInt() != MAGIC) {
+                    validLength = 0;
+                    baseGeneration = generation;
+                } else if (in.readLong() < generation) {
+                    // The snapshot was saved after these records, so it already contains them.
+                    validLength = -1;
+                } else {
+                    baseGeneration = generation;
+                    CountingCrcInput record = new CountingCrcInput(in);
+                    while (true) {
+                        JournalRecord decoded = readRecord(record);
+                        if (decoded == null) {
+                            break;
+                        }
+                        decoded.applyTo(system);
+                        applied++;
+                        validLength += record.consumed;
+                    }
+                }
+            }
+            if (validLength < 0) {
+                resetLocked(generation);
+                return 0;
+            }
+            synchronized (stagingLock) {
+                recordCount = applied;
+            }
+            if (Files.size(file) > validLength) {
+                try (FileChannel repair = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                    repair.truncate(validLength);
+                    repair.force(true);
+                }
+            }
+            return applied;
+        }
+    }
+
+    /**
+     * Stages a record for the next sync. Never blocks on disk.
+     *
+     * @param record record to append; must not be {@code null}
+     */
+    public void append(JournalRecord record) {
+        Objects.requireNonNull(record, "record");
+        byte[] encoded = encode(record);
+        synchronized (stagingLock) {
+            staging.write(encoded, 0, encoded.length);
+            recordCount++;
+            if (syncExecutor == null) {
+                startSyncTask();
+            }
+        }
+    }
+
+    /**
+     * Writes staged records and forces them to disk.
+     *
+     * @return {@code true} when everything appended so far is durable
+     */
+    public boolean sync() {
+        synchronized (channelLock) {
+            byte[] pending;
+            synchronized (stagingLock) {
+                if (staging.size() == 0) {
+                    return lastSyncSucceeded;
+                }
+                pending = staging.toByteArray();
+                staging = new ByteArrayOutputStream();
+            }
+            try {
+                FileChannel target = openChannel();
+                ByteBuffer buffer = ByteBuffer.wrap(pending);
+                while (buffer.hasRemaining()) {
+                    target.write(buffer);
+                }
+                target.force(false);
+                lastSyncSucceeded = true;
+            } catch (IOException e) {
+                // Put the bytes back in front of anything staged meanwhile so order is kept.
+                synchronized (stagingLock) {
+                    ByteArrayOutputStream restored = new ByteArrayOutputStream(pending.length + staging.size());
+                    restored.write(pending, 0, pending.length);
+                    restored.write(staging.toByteArray(), 0, staging.size());
+                    staging = restored;
+                }
+                lastSyncSucceeded = false;
+                e.printStackTrace();
+            }
+            return lastSyncSucceeded;
+        }
+    }
+
+    /**
+     * Discards every record, staged or on disk. Call only once the state they
+     * describe has been written to the snapshot files.
+     *
+     * @throws IOException when the file cannot be truncated
+     */
+    public void reset() throws IOException {
+        synchronized (channelLock) {
+            resetLocked(baseGeneration);
+        }
+    }
+
+    /**
+     * Discards every record and stamps the journal with the generation of
+     * the snapshot that now holds them.
+     *
+     * @param generation generation of the snapshot just written
+     * @throws IOException when the file cannot be truncated
+     */
+    void reset(long generation) throws IOException {
+        synchronized (channelLock) {
+            resetLocked(generation);
+        }
+    }
+
+    /**
+     * Keeps the records but declares that they now build on the given
+     * snapshot, such as after they were applied to a copy reloaded from
+     * newer files that do not contain them yet.
+     *
+     * @param generation generation of the snapshot the records apply to
+     * @throws IOException when the header cannot be rewritten
+     */
+    void rebase(long generation) throws IOException {
+        synchronized (channelLock) {
+            baseGeneration = generation;
+            if (channel != null || Files.exists(file)) {
+                writeHeader(openChannel());
+            }
+        }
+    }
+
+    /**
+     * @return generation of the snapshot the current records build on
+     */
+    long getBaseGeneration() {
+        synchronized (channelLock) {
+            return baseGeneration;
+        }
+    }
+
+    /**
+     * @return records replayed or appended since the last {@link #reset()}
+     */
+    public int getRecordCount() {
+        synchronized (stagingLock) {
+            return recordCount;
+        }
+    }
+
+    /**
+     * @return location of the journal file
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Syncs pending records, stops the background task and closes the file.
+     */
+    @Override
+    public void close() {
+        sync();
+        synchronized (stagingLock) {
+            if (syncExecutor != null) {
+                syncExecutor.shutdownNow();
+                syncExecutor = null;
+            }
+        }
+        synchronized (channelLock) {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                }
+                channel = null;
+            }
+        }
+    }
+
+    private void resetLocked(long generation) throws IOException {
+        // Caller holds channelLock.
+        synchronized (stagingLock) {
+            staging = new ByteArrayOutputStream();
+            recordCount = 0;
+        }
+        baseGeneration = generation;
+        if (channel != null || Files.exists(file)) {
+            FileChannel target = openChannel();
+            target.truncate(HEADER_BYTES);
+            writeHeader(target);
+        }
+    }
+
+    private void writeHeader(FileChannel target) throws IOException {
+        // Caller holds channelLock.
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putLong(baseGeneration).flip();
+        while (header.hasRemaining()) {
+            target.write(header, header.position());
+        }
+        target.force(true);
+    }
+
+    private void startSyncTask() {
+        // Caller holds stagingLock.
+        syncExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "progress-journal-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long nanos = syncInterval.toNanos();
+        syncExecutor.scheduleWithFixedDelay(this::sync, nanos, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private FileChannel openChannel() throws IOException {
+        // Caller holds channelLock.
+        if (channel == null) {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            FileChannel opened = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            if (opened.size() < HEADER_BYTES) {
+                opened.truncate(0);
+                opened.write(ByteBuffer.allocate(HEADER_BYTES).putInt(MAGIC).putLong(baseGeneration).flip(), 0);
+            }
+            opened.position(opened.size());
+            channel = opened;
+        }
+        return channel;
+    }
+
+    private static byte[] encode(JournalRecord record) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(48);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            if (record instanceof JournalRecord.Solve solve) {
+                out.writeByte(SOLVE);
+                writeUuid(out, solve.playerId());
+                writeUuid(out, solve.puzzleId());
+            } else if (record instanceof JournalRecord.PlayerSolve solve) {
+                out.writeByte(PLAYER_SOLVE);
+                writeUuid(out, solve.playerId());
+                writeUuid(out, solve.puzzleId());
+            } else if (record instanceof JournalRecord.HintPenalty penalty) {
+                out.writeByte(HINT_PENALTY);
+                writeUuid(out, penalty.playerId());
+                out.writeInt(penalty.penalty());
+                out.writeInt(penalty.resultingScore());
+            } else if (record instanceof JournalRecord.ScoreDelta delta) {
+                out.writeByte(SCORE_DELTA);
+                writeUuid(out, delta.playerId());
+                out.writeInt(delta.delta());
+                out.writeInt(delta.resultingScore());
+            } else if (record instanceof JournalRecord.LeaderboardUpdate update) {
+                out.writeByte(LEADERBOARD_UPDATE);
+                writeUuid(out, update.playerId());
+                out.writeInt(update.score());
+            } else if (record instanceof JournalRecord.TimerCheckpoint checkpoint) {
+                out.writeByte(TIMER_CHECKPOINT);
+                out.writeLong(checkpoint.totalTime().toMillis());
+                out.writeLong(checkpoint.remaining().toMillis());
+            } else if (record instanceof JournalRecord.StatisticsUpdate stats) {
+                out.writeByte(STATISTICS_UPDATE);
+                writeUuid(out, stats.playerId());
+                out.writeInt(stats.gamesPlayed());
+                out.writeInt(stats.puzzlesSolved());
+                out.writeLong(stats.averageCompletionTime().toMillis());
+                out.writeInt(stats.gamesWon());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory encoding failed", e);
+        }
+        byte[] body = bytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return ByteBuffer.allocate(body.length + Integer.BYTES)
+                .put(body)
+                .putInt((int) crc.getValue())
+                .array();
+    }
+
+    /**
+     * @return the next record, or {@code null} at end of file or at the first damaged record
+     */
+    private static JournalRecord readRecord(CountingCrcInput in) throws IOException {
+        in.begin();
+        try {
+            byte type = in.readByte();
+            JournalRecord record = switch (type) {
+                case SOLVE -> new JournalRecord.Solve(readUuid(in), requireUuid(readUuid(in)));
+                case PLAYER_SOLVE -> new JournalRecord.PlayerSolve(requireUuid(readUuid(in)), requireUuid(readUuid(in)));
+                case HINT_PENALTY -> new JournalRecord.HintPenalty(requireUuid(readUuid(in)), in.readInt(), in.readInt());
+                case SCORE_DELTA -> new JournalRecord.ScoreDelta(requireUuid(readUuid(in)), in.readInt(), in.readInt());
+                case LEADERBOARD_UPDATE -> new JournalRecord.LeaderboardUpdate(requireUuid(readUuid(in)), in.readInt());
+                case TIMER_CHECKPOINT -> new JournalRecord.TimerCheckpoint(
+                        Duration.ofMillis(in.readLong()), Duration.ofMillis(in.readLong()));
+                case STATISTICS_UPDATE -> new JournalRecord.StatisticsUpdate(requireUuid(readUuid(in)),
+                        in.readInt(), in.readInt(), Duration.ofMillis(in.readLong()), in.readInt());
+                default -> null;
+            };
+            if (record == null) {
+                return null;
+            }
+            int expected = (int) in.crc.getValue();
+            int stored = in.readTrailer();
+            return stored == expected ? record : null;
+        } catch (EOFException | IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id == null ? 0L : id.getMostSignificantBits());
+        out.writeLong(id == null ? 0L : id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(CountingCrcInput in) throws IOException {
+        long most = in.readLong();
+        long least = in.readLong();
+        return most == 0L && least == 0L ? null : new UUID(most, least);
+    }
+
+    private static UUID requireUuid(UUID id) {
+        return Objects.requireNonNull(id, "id");
+    }
+
+    /**
+     * Reads primitives while feeding a CRC and counting the bytes of the current record.
+     */
+    private static final class CountingCrcInput {
+        private final DataInputStream in;
+        private final CRC32 crc = new CRC32();
+        private final byte[] scratch = new byte[Long.BYTES];
+        private long consumed;
+
+        private CountingCrcInput(InputStream in) {
+            this.in = in instanceof DataInputStream data ? data : new DataInputStream(in);
+        }
+
+        private void begin() {
+            crc.reset();
+            consumed = 0;
+        }
+
+        private byte readByte() throws IOException {
+            return ByteBuffer.wrap(read(Byte.BYTES)).get();
+        }
+
+        private int readInt() throws IOException {
+            return ByteBuffer.wrap(read(Integer.BYTES)).getInt();
+        }
+
+        private long readLong() throws IOException {
+            return ByteBuffer.wrap(read(Long.BYTES)).getLong();
+        }
+
+        private int readTrailer() throws IOException {
+            int value = in.readInt();
+            consumed += Integer.BYTES;
+            return value;
+        }
+
+        private byte[] read(int length) throws IOException {
+            in.readFully(scratch, 0, length);
+            crc.update(scratch, 0, length);
+            consumed += length;
+            return scratch;
+        }
+    }
+}
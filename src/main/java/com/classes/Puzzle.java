@@ -5,7 +5,12 @@ import java.util.UUID;
 
 /**
  * Base abstraction for all puzzle implementations, encapsulating common metadata
- * (identity, description, reward, type) and solved state handling.
+ * (identity, description, reward, type) and answer checking.
+ * <p>
+ * A puzzle is an immutable definition: whether somebody has solved it is
+ * session state and lives in a {@link Progress}, so one puzzle object can be
+ * shared by every session and thread that plays it.
+ * </p>
  */
 public abstract class Puzzle {
     private final UUID id;
@@ -14,10 +19,11 @@ public abstract class Puzzle {
     private final String description;
     private final String reward;
     private final PuzzleType type;
-    private boolean solved;
+    // Number used by solved-puzzle bit sets; -1 when PuzzleIndex is full.
+    private final int denseIndex;
 
     /**
-     * Constructs a puzzle with its identifying metadata and solved state.
+     * Constructs a puzzle with its identifying metadata.
      *
      * @param id the immutable identifier for the puzzle; must not be {@code null}
      * @param legacyId an optional legacy identifier used by older systems
@@ -25,16 +31,15 @@ public abstract class Puzzle {
      * @param description a human-readable description of the puzzle; defaults to empty when {@code null}
      * @param reward the reward text earned by solving; defaults to empty when {@code null}
      * @param type the puzzle type classification; must not be {@code null}
-     * @param solved {@code true} when the puzzle starts in the solved state
      */
-    protected Puzzle(UUID id, Long legacyId, String name, String description, String reward, PuzzleType type, boolean solved) {
+    protected Puzzle(UUID id, Long legacyId, String name, String description, String reward, PuzzleType type) {
         this.id = Objects.requireNonNull(id, "id");
         this.legacyId = legacyId;
         this.name = Objects.requireNonNullElse(name, "Puzzle");
         this.description = Objects.requireNonNullElse(description, "");
         this.reward = Objects.requireNonNullElse(reward, "");
         this.type = Objects.requireNonNull(type, "type");
-        this.solved = solved;
+        this.denseIndex = PuzzleIndex.register(this.id);
     }
 
     /**
@@ -44,6 +49,13 @@ public abstract class Puzzle {
         return id;
     }
 
+    /**
+     * @return this puzzle's {@link PuzzleIndex} number, or -1 when it has none
+     */
+    int denseIndex() {
+        return denseIndex;
+    }
+
     /**
      * @return the legacy identifier used by older systems, or {@code null} when none exists
      */
@@ -79,27 +91,6 @@ public abstract class Puzzle {
         return type;
     }
 
-    /**
-     * @return {@code true} when the puzzle has been marked solved
-     */
-    public boolean isSolved() {
-        return solved;
-    }
-
-    /**
-     * Marks the puzzle as solved. Subsequent calls to {@link #isSolved()} return {@code true}.
-     */
-    public void markSolved() {
-        this.solved = true;
-    }
-
-    /**
-     * Resets the solved state so that {@link #isSolved()} returns {@code false}.
-     */
-    public void reset() {
-        this.solved = false;
-    }
-
     /**
      * Evaluates whether the supplied answer satisfies the puzzle-specific criteria.
      *
@@ -0,0 +1,594 @@
+package com.classes;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.json.simple.JSONObject;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Read-only view of the puzzles in {@code rooms.json} that only builds a
+ * {@link Puzzle} when somebody asks for it. Opening the catalog reads a small
+ * binary index instead of the rooms file, so a content pack with hundreds of
+ * rooms costs next to nothing until a player reaches one of them.
+ * <p>
+ * The index lives next to the rooms file as {@value #INDEX_FILE} and is
+ * memory-mapped. It records the size and modification time of
+ * {@code rooms.json}, and one fixed-size entry per puzzle: legacy id, UUID,
+ * the room it belongs to and the byte range of its JSON object inside the
+ * rooms file. Entries are sorted by legacy id, followed by a second table of
+ * entry numbers sorted by UUID, so both kinds of lookup are binary searches.
+ * When the index is missing or the rooms file has changed since it was
+ * written, opening the catalog scans the rooms file once and writes a new
+ * one. If the directory is not writable the index is kept in memory.
+ * </p>
+ * <p>
+ * Looking up a puzzle parses just its byte range of {@code rooms.json} with
+ * the same rules {@link DataLoader} uses. Each puzzle is built at most once
+ * per catalog, so later lookups return the same instance. Puzzles without a
+ * legacy id have no stable UUID and are left out.
+ * </p>
+ * <p>
+ * The catalog keeps the rooms file it indexed open. Saves replace
+ * {@code rooms.json} by renaming a new file over it, so an older catalog goes
+ * on reading the content it was built from; {@link #isFresh()} tells whether
+ * a newer file has appeared. {@link #close()} releases the channel; puzzles
+ * built before that stay usable, but nothing new can be built.
+ * </p>
+ */
+public final class PuzzleCatalog implements AutoCloseable {
+    /** File name of the index inside the data directory. */
+    public static final String INDEX_FILE = "rooms.index";
+
+    private static final int MAGIC = 0x4C495058; // "LIPX"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 4;
+    private static final int ENTRY_BYTES = 8 + 8 + 8 + 8 + 8 + 4;
+    /** Room id stored for puzzles whose room has no usable {@code roomID}. */
+    private static final long NO_ROOM = Long.MIN_VALUE;
+
+    private final Path roomsFile;
+    private final FileChannel rooms;
+    private final long roomsSize;
+    private final long roomsModified;
+    private final ByteBuffer index;
+    private final int count;
+    private final int uuidTable;
+    private final AtomicReferenceArray<Puzzle> materialized;
+
+    private PuzzleCatalog(Path roomsFile, FileChannel rooms, ByteBuffer index) {
+        this.roomsFile = roomsFile;
+        this.rooms = rooms;
+        this.index = index;
+        this.roomsSize = index.getLong(8);
+        this.roomsModified = index.getLong(16);
+        this.count = index.getInt(24);
+        this.uuidTable = HEADER_BYTES + count * ENTRY_BYTES;
+        this.materialized = new AtomicReferenceArray<>(count);
+        // Number the puzzles in legacy id order before any of them is built.
+        for (int i = 0; i < count; i++) {
+            int at = entryOffset(i);
+            PuzzleIndex.register(new UUID(index.getLong(at + 8), index.getLong(at + 16)));
+        }
+    }
+
+    /**
+     * Opens the catalog for a data directory, reusing the index on disk when
+     * it still matches {@code rooms.json} and rebuilding it otherwise.
+     *
+     * @param directory data directory holding {@code rooms.json}
+     * @return the catalog, or empty when the rooms file is missing or unreadable
+     */
+    public static Optional<PuzzleCatalog> open(Path directory) {
+        Path roomsFile = directory.resolve(DataLoader.ROOMS_FILE);
+        Path indexFile = directory.resolve(INDEX_FILE);
+        FileChannel rooms = null;
+        try {
+            rooms = FileChannel.open(roomsFile, StandardOpenOption.READ);
+            long size = rooms.size();
+            long modified = Files.getLastModifiedTime(roomsFile).toMillis();
+            ByteBuffer index = mapIfFresh(indexFile, size, modified);
+            if (index == null) {
+                index = buildIndex(read(rooms, 0, (int) size), size, modified);
+                try {
+                    writeIndex(index, directory);
+                } catch (IOException e) {
+                    System.err.println("Could not write " + indexFile + ", keeping the index in memory: " + e);
+                }
+            }
+            return Optional.of(new PuzzleCatalog(roomsFile, rooms, index));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (IOException | ParseException | IllegalArgumentException e) {
+            closeQuietly(rooms);
+            e.printStackTrace();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return the whole rooms file this catalog was built from
+     * @throws IOException when it cannot be read
+     */
+    String readRoomsFile() throws IOException {
+        return new String(read(rooms, 0, (int) roomsSize), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return size of the rooms file this catalog was built from
+     */
+    long roomsSize() {
+        return roomsSize;
+    }
+
+    /**
+     * @return modification time in millis of the rooms file this catalog was built from
+     */
+    long roomsModified() {
+        return roomsModified;
+    }
+
+    /**
+     * @return number of puzzles in the catalog
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * @return {@code true} while {@code rooms.json} still has the size and
+     * modification time the index was built from
+     */
+    public boolean isFresh() {
+        try {
+            return Files.exists(roomsFile) && Files.size(roomsFile) == roomsSize
+                    && Files.getLastModifiedTime(roomsFile).toMillis() == roomsModified;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @param legacyId the {@code puzzleName} number from rooms.json
+     * @return the puzzle, built on first access; the first one wins if the id repeats
+     */
+    public Optional<Puzzle> findByLegacyId(long legacyId) {
+        int entry = indexOf(legacyId);
+        return entry < 0 ? Optional.empty() : Optional.ofNullable(materialize(entry));
+    }
+
+    /**
+     * @param legacyId the {@code puzzleName} number from rooms.json
+     * @return whether the catalog has that puzzle, without building it
+     */
+    boolean contains(long legacyId) {
+        return indexOf(legacyId) >= 0;
+    }
+
+    /**
+     * @param id puzzle UUID
+     * @return the puzzle, built on first access
+     */
+    public Optional<Puzzle> findById(UUID id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        long msb = id.getMostSignificantBits();
+        long lsb = id.getLeastSignificantBits();
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            int entry = index.getInt(uuidTable + mid * 4);
+            int order = compareUuid(entryOffset(entry), msb, lsb);
+            if (order < 0) {
+                low = mid + 1;
+            } else if (order > 0) {
+                high = mid;
+            } else {
+                return Optional.ofNullable(materialize(entry));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @param roomLegacyId the {@code roomID} number from rooms.json
+     * @return that room's puzzles in file order, built on first access
+     */
+    public List<Puzzle> puzzlesInRoom(long roomLegacyId) {
+        List<Integer> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (index.getLong(entryOffset(i) + 36) == roomLegacyId) {
+                entries.add(i);
+            }
+        }
+        entries.sort(Comparator.comparingLong(i -> index.getLong(entryOffset(i) + 24)));
+        List<Puzzle> puzzles = new ArrayList<>(entries.size());
+        for (int entry : entries) {
+            Puzzle puzzle = materialize(entry);
+            if (puzzle != null) {
+                puzzles.add(puzzle);
+            }
+        }
+        return puzzles;
+    }
+
+    /**
+     * Closes the rooms file. Lookups of puzzles that were never built find
+     * nothing from then on.
+     */
+    @Override
+    public void close() {
+        closeQuietly(rooms);
+    }
+
+    /**
+     * @return {@code true} until {@link #close()} has been called
+     */
+    boolean isOpen() {
+        return rooms.isOpen();
+    }
+
+    /**
+     * @return how many puzzles have been built so far
+     */
+    int materializedCount() {
+        int built = 0;
+        for (int i = 0; i < count; i++) {
+            if (materialized.get(i) != null) {
+                built++;
+            }
+        }
+        return built;
+    }
+
+    private Puzzle materialize(int entry) {
+        Puzzle puzzle = materialized.get(entry);
+        if (puzzle != null) {
+            return puzzle;
+        }
+        int at = entryOffset(entry);
+        try {
+            byte[] bytes = read(rooms, index.getLong(at + 24), index.getInt(at + 32));
+            Object parsed = new JSONParser().parse(new String(bytes, StandardCharsets.UTF_8));
+            Puzzle built = parsed instanceof JSONObject puzzleObj ? DataLoader.parsePuzzle(puzzleObj) : null;
+            // The file was edited in place under the index, so these bytes are some other value.
+            if (built == null || built.getLegacyId() == null || built.getLegacyId() != legacyIdAt(entry)) {
+                System.err.println(roomsFile + " changed since " + INDEX_FILE + " was built; reopen the catalog.");
+                return null;
+            }
+            return materialized.compareAndSet(entry, null, built) ? built : materialized.get(entry);
+        } catch (ClosedChannelException e) {
+            // Replaced by a newer catalog while this lookup was running.
+            return null;
+        } catch (IOException | ParseException e) {
+            System.err.println("Could not read puzzle " + legacyIdAt(entry) + " from " + roomsFile + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * @return the first entry with that legacy id, or -1
+     */
+    private int indexOf(long legacyId) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (legacyIdAt(mid) < legacyId) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low < count && legacyIdAt(low) == legacyId ? low : -1;
+    }
+
+    private long legacyIdAt(int entry) {
+        return index.getLong(entryOffset(entry));
+    }
+
+    private static int entryOffset(int entry) {
+        return HEADER_BYTES + entry * ENTRY_BYTES;
+    }
+
+    private int compareUuid(int at, long msb, long lsb) {
+        int order = Long.compare(index.getLong(at + 8), msb);
+        return order != 0 ? order : Long.compare(index.getLong(at + 16), lsb);
+    }
+
+    private static byte[] read(FileChannel channel, long offset, int length) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(length);
+        while (bytes.hasRemaining()) {
+            if (channel.read(bytes, offset + bytes.position()) < 0) {
+                throw new IOException("Unexpected end of file after " + bytes.position() + " of " + length + " bytes");
+            }
+        }
+        return bytes.array();
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private static ByteBuffer mapIfFresh(Path indexFile, long roomsSize, long roomsModified) throws IOException {
+        try (FileChannel channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_BYTES) {
+                return null;
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || buffer.getLong(8) != roomsSize || buffer.getLong(16) != roomsModified) {
+                return null;
+            }
+            int entries = buffer.getInt(24);
+            if (entries < 0 || size != HEADER_BYTES + (long) entries * (ENTRY_BYTES + 4)) {
+                return null;
+            }
+            return buffer;
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private static void writeIndex(ByteBuffer index, Path directory) throws IOException {
+        Path temp = Files.createTempFile(directory, INDEX_FILE + ".", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer source = index.duplicate().clear();
+                while (source.hasRemaining()) {
+                    channel.write(source);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, directory.resolve(INDEX_FILE),
+                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, directory.resolve(INDEX_FILE), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Scans the rooms file once and lays out the index in memory.
+     */
+    private static ByteBuffer buildIndex(byte[] bytes, long size, long modified) throws ParseException {
+        List<long[]> spans = new ArrayList<>();
+        try {
+            new RoomsScanner(bytes, spans).scan();
+        } catch (IndexOutOfBoundsException e) {
+            throw new ParseException(ParseException.ERROR_UNEXPECTED_TOKEN);
+        }
+
+        JSONParser parser = new JSONParser();
+        List<long[]> entries = new ArrayList<>(spans.size());
+        for (long[] span : spans) {
+            String json = new String(bytes, (int) span[0], (int) span[1], StandardCharsets.UTF_8);
+            Object parsed = parser.parse(json);
+            Long legacyId = parsed instanceof JSONObject puzzleObj
+                    ? DataLoader.asNullableLong(puzzleObj.get("puzzleName")) : null;
+            if (legacyId == null) {
+                continue;
+            }
+            UUID id = LegacyIds.PUZZLE.derive(legacyId.longValue());
+            entries.add(new long[]{legacyId, id.getMostSignificantBits(), id.getLeastSignificantBits(),
+                    span[0], span[1], span[2]});
+        }
+        // Stable sort, so the first puzzle with a repeated legacy id stays first.
+        entries.sort(Comparator.comparingLong(entry -> entry[0]));
+        Integer[] byUuid = new Integer[entries.size()];
+        Arrays.setAll(byUuid, i -> i);
+        Arrays.sort(byUuid, Comparator.<Integer>comparingLong(i -> entries.get(i)[1])
+                .thenComparingLong(i -> entries.get(i)[2]));
+
+        ByteBuffer index = ByteBuffer.allocate(HEADER_BYTES + entries.size() * (ENTRY_BYTES + 4));
+        index.putInt(MAGIC).putInt(VERSION).putLong(size).putLong(modified).putInt(entries.size());
+        for (long[] entry : entries) {
+            index.putLong(entry[0]).putLong(entry[1]).putLong(entry[2])
+                    .putLong(entry[3]).putInt((int) entry[4]).putLong(entry[5]);
+        }
+        for (Integer entry : byUuid) {
+            index.putInt(entry);
+        }
+        return index.flip();
+    }
+
+    /**
+     * Walks the raw bytes of {@code rooms.json} and records where each puzzle
+     * object starts and ends. Only the structure is read; everything outside
+     * {@code rooms[].puzzles[]} and {@code rooms[].roomID} is skipped.
+     * Structural characters are ASCII, so byte offsets are safe in UTF-8.
+     */
+    private static final class RoomsScanner {
+        private final byte[] in;
+        private final List<long[]> spans;
+        private int pos;
+
+        RoomsScanner(byte[] in, List<long[]> spans) {
+            this.in = in;
+            this.spans = spans;
+        }
+
+        void scan() throws ParseException {
+            skipWhitespace();
+            if (pos == in.length || in[pos] != '{') {
+                return;
+            }
+            readObject((key, start) -> {
+                if ("rooms".equals(key) && in[start] == '[') {
+                    readArray(this::readRoom);
+                } else {
+                    skipValue();
+                }
+            });
+        }
+
+        private void readRoom() throws ParseException {
+            if (in[pos] != '{') {
+                skipValue();
+                return;
+            }
+            int firstSpan = spans.size();
+            long[] roomId = {NO_ROOM};
+            readObject((key, start) -> {
+                if ("roomID".equals(key)) {
+                    skipValue();
+                    String raw = new String(in, start, pos - start, StandardCharsets.US_ASCII).replace("\"", "");
+                    Long parsed = DataLoader.asNullableLong(raw);
+                    roomId[0] = parsed == null ? NO_ROOM : parsed;
+                } else if ("puzzles".equals(key) && in[start] == '[') {
+                    readArray(() -> {
+                        int begin = pos;
+                        boolean object = in[pos] == '{';
+                        skipValue();
+                        if (object) {
+                            spans.add(new long[]{begin, pos - begin, NO_ROOM});
+                        }
+                    });
+                } else {
+                    skipValue();
+                }
+            });
+            for (int i = firstSpan; i < spans.size(); i++) {
+                spans.get(i)[2] = roomId[0];
+            }
+        }
+
+        private void readObject(MemberReader member) throws ParseException {
+            pos++; // '{'
+            skipWhitespace();
+            if (in[pos] == '}') {
+                pos++;
+                return;
+            }
+            while (true) {
+                skipWhitespace();
+                int keyStart = pos + 1;
+                skipString();
+                String key = new String(in, keyStart, pos - keyStart - 1, StandardCharsets.UTF_8);
+                skipWhitespace();
+                expect(':');
+                skipWhitespace();
+                member.read(key, pos);
+                skipWhitespace();
+                if (in[pos] == ',') {
+                    pos++;
+                } else {
+                    expect('}');
+                    return;
+                }
+            }
+        }
+
+        private void readArray(ElementReader element) throws ParseException {
+            pos++; // '['
+            skipWhitespace();
+            if (in[pos] == ']') {
+                pos++;
+                return;
+            }
+            while (true) {
+                skipWhitespace();
+                element.read();
+                skipWhitespace();
+                if (in[pos] == ',') {
+                    pos++;
+                } else {
+                    expect(']');
+                    return;
+                }
+            }
+        }
+
+        private void skipValue() throws ParseException {
+            byte first = in[pos];
+            if (first == '"') {
+                skipString();
+            } else if (first == '{' || first == '[') {
+                int depth = 0;
+                do {
+                    byte b = in[pos];
+                    if (b == '"') {
+                        skipString();
+                        continue;
+                    }
+                    if (b == '{' || b == '[') {
+                        depth++;
+                    } else if (b == '}' || b == ']') {
+                        depth--;
+                    }
+                    pos++;
+                } while (depth > 0);
+            } else {
+                int start = pos;
+                while (pos < in.length && in[pos] != ',' && in[pos] != '}' && in[pos] != ']'
+                        && !isWhitespace(in[pos])) {
+                    pos++;
+                }
+                if (pos == start) {
+                    throw new ParseException(pos, ParseException.ERROR_UNEXPECTED_CHAR, (char) in[pos]);
+                }
+            }
+        }
+
+        private void skipString() throws ParseException {
+            expect('"');
+            while (in[pos] != '"') {
+                pos += in[pos] == '\\' ? 2 : 1;
+            }
+            pos++;
+        }
+
+        private void expect(char c) throws ParseException {
+            if (in[pos] != c) {
+                throw new ParseException(pos, ParseException.ERROR_UNEXPECTED_CHAR, (char) in[pos]);
+            }
+            pos++;
+        }
+
+        private void skipWhitespace() {
+            while (pos < in.length && isWhitespace(in[pos])) {
+                pos++;
+            }
+        }
+
+        private static boolean isWhitespace(byte b) {
+            return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+        }
+    }
+
+    private interface MemberReader {
+        void read(String key, int valueStart) throws ParseException;
+    }
+
+    private interface ElementReader {
+        void read() throws ParseException;
+    }
+}
@@ -0,0 +1,73 @@
+package com.classes;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gives every known puzzle a small dense number, so sets of solved puzzles
+ * can be bit sets instead of hash sets of UUIDs (see {@link SolvedSet}).
+ * Puzzles get their number when they are built or when a
+ * {@link PuzzleCatalog} is opened, and keep it for the life of the process.
+ * <p>
+ * The numbering stops at {@link #CAPACITY} puzzles. Ids past that, and ids
+ * nobody registered, have no number and are kept by UUID instead.
+ * </p>
+ */
+final class PuzzleIndex {
+    /** Most puzzles that get a number; caps a full bit set at 8 KB. */
+    static final int CAPACITY = 1 << 16;
+
+    private static final Map<UUID, Integer> INDEXES = new ConcurrentHashMap<>();
+    private static volatile UUID[] ids = new UUID[256];
+    private static int count;
+
+    private PuzzleIndex() {
+    }
+
+    /**
+     * @param id puzzle id
+     * @return the puzzle's number, assigning the next free one on first sight,
+     * or -1 when the numbering is full
+     */
+    static int register(UUID id) {
+        Integer existing = INDEXES.get(id);
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (PuzzleIndex.class) {
+            existing = INDEXES.get(id);
+            if (existing != null) {
+                return existing;
+            }
+            if (count == CAPACITY) {
+                return -1;
+            }
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            // Fill the slot before publishing the number through the map.
+            ids[count] = id;
+            INDEXES.put(id, count);
+            return count++;
+        }
+    }
+
+    /**
+     * @param id puzzle id
+     * @return the puzzle's number, or -1 when it has none
+     */
+    static int indexOf(UUID id) {
+        Integer index = INDEXES.get(id);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @param index a number handed out by {@link #register(UUID)}
+     * @return the puzzle id with that number
+     */
+    static UUID idAt(int index) {
+        return ids[index];
+    }
+}
@@ -2,23 +2,28 @@ package com.classes;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Maintains an in-memory collection of {@link Puzzle} instances within a room.
  * Provides read-only views for consumers while allowing controlled mutation
- * through dedicated helpers.
+ * through dedicated helpers. Lookups by id go through a hash index that is
+ * kept up to date on every add.
  */
 public class PuzzleList {
     private final List<Puzzle> puzzles;
+    private final Map<UUID, Puzzle> byId;
 
     /**
      * Creates an empty list of puzzles.
      */
     public PuzzleList() {
         this.puzzles = new ArrayList<>();
+        this.byId = new HashMap<>();
     }
 
     /**
@@ -29,6 +34,7 @@ public class PuzzleList {
     public void add(Puzzle puzzle) {
         if (puzzle != null) {
             puzzles.add(puzzle);
+            byId.putIfAbsent(puzzle.getId(), puzzle);
         }
     }
 
@@ -45,10 +51,11 @@ public class PuzzleList {
      * Retrieves a puzzle by its unique identifier.
      *
      * @param id {@link UUID} that identifies the target puzzle
-     * @return optional containing the matching puzzle or empty when not found
+     * @return optional containing the matching puzzle or empty when not found;
+     *         the first one added wins if ids repeat
      */
     public Optional<Puzzle> findById(UUID id) {
-        return puzzles.stream().filter(p -> p.getId().equals(id)).findFirst();
+        return Optional.ofNullable(byId.get(id));
     }
 
     /**
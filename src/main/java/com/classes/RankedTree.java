@@ -0,0 +1,301 @@
+package com.classes;
+
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * Order-statistic treap that keeps values in comparator order. Every node
+ * knows the size of its subtree, so insertion, removal, rank and positional
+ * lookup all take expected O(log n), and reading k consecutive values takes
+ * O(k + log n).
+ * <p>
+ * Values that compare equal keep their insertion order, matching a stable
+ * sort, so ties are not collapsed the way a plain {@link java.util.TreeSet}
+ * would collapse them. Stored values must not change in a way that affects
+ * the comparator; remove and re-insert them instead.
+ * </p>
+ *
+ * @param <T> stored value type
+ */
+final class RankedTree<T> {
+    /**
+     * Handle to a stored value. Callers keep it to remove or rank the value later.
+     *
+     * @param <T> stored value type
+     */
+    static final class Node<T> {
+        final T entry;
+        private final long sequence;
+        private final int priority;
+        private Node<T> left;
+        private Node<T> right;
+        private int size = 1;
+
+        private Node(T entry, long sequence, int priority) {
+            this.entry = entry;
+            this.sequence = sequence;
+            this.priority = priority;
+        }
+    }
+
+    private final Comparator<? super T> order;
+    private final SplittableRandom random = new SplittableRandom(0x5EEDL);
+    private final List<T> view = new View();
+    private Node<T> root;
+    private long nextSequence;
+    private int modCount;
+
+    /**
+     * @param order ordering of the stored values, first value first
+     */
+    RankedTree(Comparator<? super T> order) {
+        this.order = Objects.requireNonNull(order, "order");
+    }
+
+    /**
+     * @param entry value to store
+     * @return handle for the stored value
+     */
+    Node<T> insert(T entry) {
+        Node<T> node = new Node<>(entry, nextSequence++, random.nextInt());
+        Node<T>[] parts = split(root, node);
+        root = merge(merge(parts[0], node), parts[1]);
+        modCount++;
+        return node;
+    }
+
+    /**
+     * @param node handle returned by {@link #insert(Object)}
+     */
+    void remove(Node<T> node) {
+        root = remove(root, node);
+        modCount++;
+    }
+
+    /**
+     * @param node handle of a stored value
+     * @return zero-based position of the value
+     */
+    int rank(Node<T> node) {
+        int rank = 0;
+        Node<T> current = root;
+        while (current != null) {
+            int comparison = compare(node, current);
+            if (comparison == 0) {
+                return rank + size(current.left);
+            }
+            if (comparison < 0) {
+                current = current.left;
+            } else {
+                rank += size(current.left) + 1;
+                current = current.right;
+            }
+        }
+        throw new NoSuchElementException("Value is not in this tree");
+    }
+
+    /**
+     * @param index zero-based position
+     * @return value at that position
+     */
+    T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        Node<T> current = root;
+        while (true) {
+            int leftSize = size(current.left);
+            if (index < leftSize) {
+                current = current.left;
+            } else if (index == leftSize) {
+                return current.entry;
+            } else {
+                index -= leftSize + 1;
+                current = current.right;
+            }
+        }
+    }
+
+    /**
+     * @param k maximum number of values
+     * @return the first {@code k} values in order, copied into a new list
+     */
+    List<T> first(int k) {
+        return range(0, k);
+    }
+
+    /**
+     * @param from  zero-based position of the first value
+     * @param count maximum number of values
+     * @return up to {@code count} values starting at {@code from}, copied into a new list
+     */
+    List<T> range(int from, int count) {
+        int start = Math.max(from, 0);
+        List<T> values = new ArrayList<>(Math.max(0, Math.min(count, size() - start)));
+        if (start >= size()) {
+            return values;
+        }
+        Iterator<T> iterator = new InOrder(start);
+        while (values.size() < count && iterator.hasNext()) {
+            values.add(iterator.next());
+        }
+        return values;
+    }
+
+    int size() {
+        return size(root);
+    }
+
+    /**
+     * @return read-only list view backed by the tree
+     */
+    List<T> asList() {
+        return view;
+    }
+
+    private int compare(Node<T> a, Node<T> b) {
+        int comparison = order.compare(a.entry, b.entry);
+        return comparison != 0 ? comparison : Long.compare(a.sequence, b.sequence);
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static <T> Node<T> update(Node<T> node) {
+        node.size = 1 + size(node.left) + size(node.right);
+        return node;
+    }
+
+    /**
+     * Splits a subtree into nodes ordered before {@code pivot} and the rest.
+     */
+    @SuppressWarnings("unchecked")
+    private Node<T>[] split(Node<T> node, Node<T> pivot) {
+        if (node == null) {
+            return (Node<T>[]) new Node<?>[2];
+        }
+        if (compare(node, pivot) < 0) {
+            Node<T>[] parts = split(node.right, pivot);
+            node.right = parts[0];
+            parts[0] = update(node);
+            return parts;
+        }
+        Node<T>[] parts = split(node.left, pivot);
+        node.left = parts[1];
+        parts[1] = update(node);
+        return parts;
+    }
+
+    private static <T> Node<T> merge(Node<T> left, Node<T> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            return update(left);
+        }
+        right.left = merge(left, right.left);
+        return update(right);
+    }
+
+    private Node<T> remove(Node<T> node, Node<T> target) {
+        if (node == null) {
+            throw new NoSuchElementException("Value is not in this tree");
+        }
+        if (node == target) {
+            return merge(node.left, node.right);
+        }
+        if (compare(target, node) < 0) {
+            node.left = remove(node.left, target);
+        } else {
+            node.right = remove(node.right, target);
+        }
+        return update(node);
+    }
+
+    private final class View extends AbstractList<T> {
+        @Override
+        public T get(int index) {
+            return RankedTree.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return RankedTree.this.size();
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            return new InOrder(0);
+        }
+    }
+
+    /**
+     * In-order walk with an explicit stack, so a full pass is O(n) rather than
+     * n positional lookups.
+     */
+    private final class InOrder implements Iterator<T> {
+        private final Deque<Node<T>> stack = new ArrayDeque<>();
+        private final int expectedModCount = modCount;
+
+        /**
+         * Starts the walk at a position by descending once from the root and
+         * stacking only the ancestors still ahead of it.
+         */
+        private InOrder(int start) {
+            Node<T> node = root;
+            int index = start;
+            while (node != null) {
+                int leftSize = size(node.left);
+                if (index < leftSize) {
+                    stack.push(node);
+                    node = node.left;
+                } else if (index == leftSize) {
+                    stack.push(node);
+                    return;
+                } else {
+                    index -= leftSize + 1;
+                    node = node.right;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node<T> node = stack.pop();
+            pushLeft(node.right);
+            return node.entry;
+        }
+
+        private void pushLeft(Node<T> node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.classes;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -9,6 +10,9 @@ import java.util.UUID;
 public class RiddlePuzzle extends Puzzle {
     private final String riddle;
     private final String answer;
+    private final List<String> acceptedAnswers;
+    private final int maxTypos;
+    private final AnswerMatcher matcher;
 
     /**
      * Creates a riddle puzzle consisting of a prompt and answer.
@@ -20,13 +24,35 @@ public class RiddlePuzzle extends Puzzle {
      * @param reward the reward text earned upon solving
      * @param riddle the riddle prompt shown to players
      * @param answer the correct answer to the riddle
-     * @param solved whether the puzzle starts in a solved state
      */
     public RiddlePuzzle(UUID id, Long legacyId, String name, String description, String reward,
-                        String riddle, String answer, boolean solved) {
-        super(id, legacyId, name, description, reward, PuzzleType.RIDDLE, solved);
+                        String riddle, String answer) {
+        this(id, legacyId, name, description, reward, riddle, answer, List.of(), 0);
+    }
+
+    /**
+     * Creates a riddle puzzle consisting of a prompt and answer, also accepting
+     * aliases and, optionally, answers with a few typos.
+     *
+     * @param id the unique identifier for the puzzle
+     * @param legacyId the legacy identifier if one exists
+     * @param name the display name for the puzzle
+     * @param description a human-readable description of the puzzle
+     * @param reward the reward text earned upon solving
+     * @param riddle the riddle prompt shown to players
+     * @param answer the correct answer to the riddle
+     * @param acceptedAnswers other answers that also count as correct; may be null
+     * @param maxTypos how many typos an answer may contain and still count; 0 for exact matches
+     */
+    public RiddlePuzzle(UUID id, Long legacyId, String name, String description, String reward,
+                        String riddle, String answer, List<String> acceptedAnswers,
+                        int maxTypos) {
+        super(id, legacyId, name, description, reward, PuzzleType.RIDDLE);
         this.riddle = Objects.requireNonNullElse(riddle, "");
         this.answer = Objects.requireNonNullElse(answer, "");
+        this.acceptedAnswers = acceptedAnswers == null ? List.of() : List.copyOf(acceptedAnswers);
+        this.maxTypos = Math.max(0, maxTypos);
+        this.matcher = AnswerMatcher.ignoringCase(this.answer, this.acceptedAnswers, this.maxTypos);
     }
 
     /**
@@ -43,14 +69,29 @@ public class RiddlePuzzle extends Puzzle {
         return answer;
     }
 
+    /**
+     * @return answers accepted besides the main one
+     */
+    public List<String> getAcceptedAnswers() {
+        return acceptedAnswers;
+    }
+
+    /**
+     * @return how many typos an answer may contain and still count
+     */
+    public int getMaxTypos() {
+        return maxTypos;
+    }
+
     /**
      * Checks whether the provided response matches the riddle answer, ignoring case.
      *
      * @param response the player-submitted answer to validate
-     * @return {@code true} when the response equals the configured answer, ignoring case
+     * @return {@code true} when the answer or an accepted alias matches, ignoring case
+     *         and up to {@link #getMaxTypos()} typos
      */
     @Override
     public boolean isCorrectAnswer(String response) {
-        return answer.equalsIgnoreCase(Objects.requireNonNullElse(response, ""));
+        return matcher.matches(response);
     }
 }
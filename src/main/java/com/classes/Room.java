@@ -1,7 +1,10 @@
 package com.classes;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
@@ -9,12 +12,21 @@ import java.util.UUID;
 /**
  * Basic room model that just keeps track of puzzles and items for the game.
  * Trying to explain it like I would to a classmate so it stays easy to read.
+ * <p>
+ * A room only describes what is in it. Which of its puzzles are solved
+ * depends on who is playing, so ask the player's {@link Progress} for that.
+ * </p>
  */
 public class Room {
     private final UUID id;
     private final Integer legacyId;
     private final List<Item> items;
     private final List<Puzzle> puzzles;
+    private final Map<UUID, Puzzle> puzzlesById;
+    private final List<Item> itemsView;
+    private final List<Puzzle> puzzlesView;
+    // Room lists that index this room's puzzles; told when one is added. Allocated on first add.
+    private List<RoomList> memberships;
 
     /**
      * Builds a room with a required id and an optional legacy id.
@@ -27,6 +39,9 @@ public class Room {
         this.legacyId = legacyId;
         this.items = new ArrayList<>();
         this.puzzles = new ArrayList<>();
+        this.puzzlesById = new HashMap<>();
+        this.itemsView = Collections.unmodifiableList(items);
+        this.puzzlesView = Collections.unmodifiableList(puzzles);
     }
 
     /**
@@ -44,26 +59,24 @@ public class Room {
     }
 
     /**
-     * @return copy of the current items so callers do not mess with the list directly
+     * @return read-only view of the current items so callers do not mess with the list directly
      */
     public List<Item> getItems() {
-        return List.copyOf(items);
+        return itemsView;
     }
 
     /**
-     * @return copy of puzzles that live in this room
+     * @return read-only view of puzzles that live in this room
      */
     public List<Puzzle> getPuzzles() {
-        return List.copyOf(puzzles);
+        return puzzlesView;
     }
 
     /**
-     * Finds the first puzzle that is not solved yet.
-     *
-     * @return optional puzzle that still needs work
+     * @return how many puzzles this room has
      */
-    public Optional<Puzzle> getFirstUnsolvedPuzzle() {
-        return puzzles.stream().filter(p -> !p.isSolved()).findFirst();
+    public int getPuzzleCount() {
+        return puzzles.size();
     }
 
     /**
@@ -76,7 +89,7 @@ public class Room {
         if (puzzleId == null) {
             return Optional.empty();
         }
-        return puzzles.stream().filter(p -> p.getId().equals(puzzleId)).findFirst();
+        return Optional.ofNullable(puzzlesById.get(puzzleId));
     }
 
     /**
@@ -98,6 +111,25 @@ public class Room {
     public void addPuzzle(Puzzle puzzle) {
         if (puzzle != null) {
             puzzles.add(puzzle);
+            puzzlesById.putIfAbsent(puzzle.getId(), puzzle);
+            if (memberships != null) {
+                for (RoomList list : memberships) {
+                    list.onPuzzleAdded(this, puzzle);
+                }
+            }
+        }
+    }
+
+    void joinList(RoomList list) {
+        if (memberships == null) {
+            memberships = new ArrayList<>(1);
+        }
+        memberships.add(list);
+    }
+
+    void leaveList(RoomList list) {
+        if (memberships != null) {
+            memberships.remove(list);
         }
     }
 }
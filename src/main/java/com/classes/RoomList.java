@@ -2,22 +2,41 @@ package com.classes;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 /**
  * Tiny helper that just keeps a bunch of rooms together for the game.
  * Comments are written the way I'd explain it to a friend.
+ * <p>
+ * Besides the list itself we keep two lookup maps: room id to room, and
+ * puzzle id to the room that holds it. Rooms tell us when they get a new
+ * puzzle, so the second map stays right even if puzzles are added after the
+ * room was. That keeps the lookups done on every answer O(1).
+ * </p>
  */
 public class RoomList {
     private final List<Room> rooms;
+    private final List<Room> view;
+    private final Map<UUID, Room> byId;
+    private final Map<UUID, Room> byPuzzleId;
+    // Position of each room in the list, by identity since rooms don't override equals.
+    private final Map<Room, Integer> positions;
 
     /**
      * Starts with an empty list so we can add rooms later.
      */
     public RoomList() {
         this.rooms = new ArrayList<>();
+        this.view = Collections.unmodifiableList(rooms);
+        this.byId = new HashMap<>();
+        this.byPuzzleId = new HashMap<>();
+        this.positions = new IdentityHashMap<>();
     }
 
     /**
@@ -26,16 +45,94 @@ public class RoomList {
      * @param room room we want to track
      */
     public void add(Room room) {
-        if (room != null) {
-            rooms.add(room);
+        if (room == null) {
+            return;
         }
+        rooms.add(room);
+        if (positions.putIfAbsent(room, rooms.size() - 1) != null) {
+            return;
+        }
+        byId.putIfAbsent(room.getId(), room);
+        for (Puzzle puzzle : room.getPuzzles()) {
+            onPuzzleAdded(room, puzzle);
+        }
+        room.joinList(this);
+    }
+
+    /**
+     * Takes a room back out of the list. The lookup maps fall back to the
+     * next room with the same id or puzzle, and the room forgets this list
+     * once no copy of it is left here, so it won't keep the list alive.
+     *
+     * @param room exact room to remove
+     * @return {@code true} if the list contained the room
+     */
+    public boolean remove(Room room) {
+        Integer position = room == null ? null : positions.remove(room);
+        if (position == null) {
+            return false;
+        }
+        rooms.remove((int) position);
+        for (int i = position; i < rooms.size(); i++) {
+            Room shifted = rooms.get(i);
+            Integer previous = positions.get(shifted);
+            if (previous == null || previous == i + 1) {
+                positions.put(shifted, i);
+            }
+        }
+        if (positions.containsKey(room)) {
+            return true;
+        }
+        if (byId.remove(room.getId(), room)) {
+            firstRoom(candidate -> candidate.getId().equals(room.getId()))
+                    .ifPresent(next -> byId.put(room.getId(), next));
+        }
+        for (Puzzle puzzle : room.getPuzzles()) {
+            UUID puzzleId = puzzle.getId();
+            if (byPuzzleId.remove(puzzleId, room)) {
+                firstRoom(candidate -> candidate.findPuzzle(puzzleId).isPresent())
+                        .ifPresent(next -> byPuzzleId.put(puzzleId, next));
+            }
+        }
+        room.leaveList(this);
+        return true;
+    }
+
+    private Optional<Room> firstRoom(Predicate<Room> matches) {
+        for (Room candidate : rooms) {
+            if (matches.test(candidate)) {
+                return Optional.of(candidate);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Called by a room in this list when it gets a new puzzle. If two rooms
+     * share a puzzle id, the one earlier in the list keeps it, same as a
+     * front-to-back scan would find.
+     */
+    void onPuzzleAdded(Room room, Puzzle puzzle) {
+        Room holder = byPuzzleId.get(puzzle.getId());
+        if (holder == null || positions.get(room) < positions.get(holder)) {
+            byPuzzleId.put(puzzle.getId(), room);
+        }
+    }
+
+    /**
+     * @param room room to look for
+     * @return where that exact room sits in the list, or -1 when it isn't here
+     */
+    public int indexOf(Room room) {
+        Integer position = room == null ? null : positions.get(room);
+        return position == null ? -1 : position;
     }
 
     /**
      * @return read-only view so people can see rooms without changing them
      */
     public List<Room> asList() {
-        return Collections.unmodifiableList(rooms);
+        return view;
     }
 
     /**
@@ -45,7 +142,7 @@ public class RoomList {
      * @return a room wrapped in optional if we find one
      */
     public Optional<Room> findById(UUID id) {
-        return rooms.stream().filter(r -> r.getId().equals(id)).findFirst();
+        return Optional.ofNullable(byId.get(id));
     }
 
     /**
@@ -65,8 +162,6 @@ public class RoomList {
         if (puzzleId == null) {
             return Optional.empty();
         }
-        return rooms.stream()
-                .filter(room -> room.findPuzzle(puzzleId).isPresent())
-                .findFirst();
+        return Optional.ofNullable(byPuzzleId.get(puzzleId));
     }
 }
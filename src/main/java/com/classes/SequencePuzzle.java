@@ -2,7 +2,6 @@ package com.classes;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
 import java.util.UUID;
 
 /**
@@ -10,6 +9,7 @@ import java.util.UUID;
  */
 public class SequencePuzzle extends Puzzle {
     private final List<String> expectedSequence;
+    private final AnswerMatcher matcher;
 
     /**
      * Creates a sequence puzzle where the supplied answers must match an expected order.
@@ -20,12 +20,12 @@ public class SequencePuzzle extends Puzzle {
      * @param description a human-readable description of the puzzle
      * @param reward the reward text earned upon solving
      * @param expectedSequence the sequence players must match to solve the puzzle
-     * @param solved whether the puzzle starts in a solved state
      */
     public SequencePuzzle(UUID id, Long legacyId, String name, String description, String reward,
-                          List<String> expectedSequence, boolean solved) {
-        super(id, legacyId, name, description, reward, PuzzleType.SEQUENCE, solved);
+                          List<String> expectedSequence) {
+        super(id, legacyId, name, description, reward, PuzzleType.SEQUENCE);
         this.expectedSequence = expectedSequence == null ? new ArrayList<>() : new ArrayList<>(expectedSequence);
+        this.matcher = AnswerMatcher.collapsingWhitespace(String.join(" ", this.expectedSequence));
     }
 
     /**
@@ -43,11 +43,6 @@ public class SequencePuzzle extends Puzzle {
      */
     @Override
     public boolean isCorrectAnswer(String answer) {
-        if (answer == null) {
-            return false;
-        }
-        String normalized = answer.trim().replaceAll("\\s+", " ");
-        String expected = String.join(" ", expectedSequence).trim().replaceAll("\\s+", " ");
-        return Objects.equals(normalized.toLowerCase(), expected.toLowerCase());
+        return matcher.matches(answer);
     }
 }
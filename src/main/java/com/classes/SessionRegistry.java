@@ -0,0 +1,218 @@
+package com.classes;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hosts many {@link GameSession sessions} in one process for headless play,
+ * for example kiosks talking to a local server. All sessions share one
+ * {@link GameCatalog}; players are read from and progress is written to a
+ * {@link GameSystemRepository}, whose lock and journal make it safe to use
+ * from many request threads at once.
+ * <p>
+ * A player has at most one session: opening another one while the first is
+ * alive returns the first. A correct answer is recorded as journal records
+ * (solve, score and leaderboard) while the session is still locked, so the
+ * records of one player reach the journal in the order they happened. The
+ * solve only reaches that player's solved puzzles, never the shared progress
+ * or the rooms' solved flags, so sessions cannot see each other's solves.
+ * Sessions nobody has used for the idle timeout are dropped by a background
+ * sweep; their progress is already recorded, so dropping them loses nothing
+ * but the countdown.
+ * </p>
+ */
+public final class SessionRegistry implements AutoCloseable {
+    /** Points added to a player's score for each solved puzzle. */
+    public static final int POINTS_PER_PUZZLE = 5;
+    /** How long a session may go unused before it is dropped. */
+    public static final Duration DEFAULT_IDLE_TIMEOUT = Duration.ofMinutes(30);
+
+    private final GameCatalog catalog;
+    private final GameSystemRepository players;
+    private final Duration idleTimeout;
+    private final Timer.Clock clock;
+    private final Map<UUID, GameSession> sessions = new ConcurrentHashMap<>();
+    private final Map<UUID, GameSession> sessionsByPlayer = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService sweeper;
+
+    /**
+     * Creates a registry over the content and players stored in a data
+     * directory. The catalog shares the repository's rooms; recording a
+     * solve only changes progress and players, never the puzzles.
+     *
+     * @param directory folder containing {@code rooms.json} and {@code users.json}; must not be {@code null}
+     * @return registry for that directory, or empty when the rooms could not be loaded
+     */
+    public static Optional<SessionRegistry> forDirectory(Path directory) {
+        Objects.requireNonNull(directory, "directory");
+        GameSystemRepository players = GameSystemRepository.forDirectory(directory);
+        return players.read(GameCatalog::of)
+                .map(catalog -> new SessionRegistry(catalog, players, DEFAULT_IDLE_TIMEOUT, Timer.Clock.SYSTEM));
+    }
+
+    /**
+     * @param catalog     rooms and puzzles shared by every session; must not be {@code null}
+     * @param players     store the players are read from and progress is recorded to; must not be {@code null}
+     * @param idleTimeout how long an unused session is kept; must be positive
+     * @param clock       clock for countdowns and idle times; must not be {@code null}
+     */
+    public SessionRegistry(GameCatalog catalog, GameSystemRepository players, Duration idleTimeout, Timer.Clock clock) {
+        this.catalog = Objects.requireNonNull(catalog, "catalog");
+        this.players = Objects.requireNonNull(players, "players");
+        this.clock = Objects.requireNonNull(clock, "clock");
+        if (idleTimeout.isNegative() || idleTimeout.isZero()) {
+            throw new IllegalArgumentException("idleTimeout must be positive");
+        }
+        this.idleTimeout = idleTimeout;
+        this.sweeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = Math.max(1, idleTimeout.toMillis() / 2);
+        sweeper.scheduleWithFixedDelay(this::evictIdle, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a session for the player registered under an email address, or
+     * returns the one the player already has.
+     *
+     * @param email player's login email
+     * @return the player's session, or empty when no player uses that email
+     */
+    public Optional<GameSession> openByEmail(String email) {
+        return players.read(system -> system.getPlayers().findByEmail(email).map(Player::getId).orElse(null))
+                .flatMap(this::open);
+    }
+
+    /**
+     * Opens a session for a player, or returns the one the player already has.
+     *
+     * @param playerId player to open a session for
+     * @return the player's session, or empty when the player does not exist
+     */
+    public Optional<GameSession> open(UUID playerId) {
+        if (playerId == null) {
+            return Optional.empty();
+        }
+        GameSession existing = sessionsByPlayer.get(playerId);
+        if (existing != null) {
+            return Optional.of(existing);
+        }
+        // Copy what the session needs while the repository is locked; the Player itself is not thread-safe.
+        Optional<GameSession> created = players.read(system -> system.getPlayers().findById(playerId)
+                .map(player -> new GameSession(player.getId(), player.getCurrentScore(),
+                        player.getSolvedPuzzleIds(), catalog, clock))
+                .orElse(null));
+        if (created.isEmpty()) {
+            return Optional.empty();
+        }
+        GameSession session = sessionsByPlayer.computeIfAbsent(playerId, id -> {
+            sessions.put(created.get().getId(), created.get());
+            return created.get();
+        });
+        return Optional.of(session);
+    }
+
+    /**
+     * @param sessionId session to look up
+     * @return the session, or empty when it was never opened, was closed or has expired
+     */
+    public Optional<GameSession> find(UUID sessionId) {
+        return sessionId == null ? Optional.empty() : Optional.ofNullable(sessions.get(sessionId));
+    }
+
+    /**
+     * Answers a puzzle in a session and records a correct answer for the player.
+     *
+     * @param session  session answering; must not be {@code null}
+     * @param puzzleId puzzle being answered, or {@code null} for the session's next unsolved one
+     * @param answer   proposed solution
+     * @return what happened to the answer
+     */
+    public GameSession.AnswerOutcome submitAnswer(GameSession session, UUID puzzleId, String answer) {
+        Objects.requireNonNull(session, "session");
+        synchronized (session) {
+            UUID answered = puzzleId != null ? puzzleId : nextPuzzleId(session);
+            GameSession.AnswerOutcome outcome = session.submitAnswer(answered, answer);
+            if (outcome == GameSession.AnswerOutcome.CORRECT) {
+                UUID playerId = session.getPlayerId();
+                int score = session.getScore();
+                players.record(List.of(
+                        new JournalRecord.PlayerSolve(playerId, answered),
+                        new JournalRecord.ScoreDelta(playerId, POINTS_PER_PUZZLE, score),
+                        new JournalRecord.LeaderboardUpdate(playerId, score)));
+            }
+            return outcome;
+        }
+    }
+
+    /**
+     * Ends a session.
+     *
+     * @param sessionId session to close
+     * @return {@code true} when the session was open
+     */
+    public boolean close(UUID sessionId) {
+        GameSession session = sessionId == null ? null : sessions.remove(sessionId);
+        if (session == null) {
+            return false;
+        }
+        sessionsByPlayer.remove(session.getPlayerId(), session);
+        return true;
+    }
+
+    /**
+     * @return number of open sessions
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * @return catalog shared by the sessions
+     */
+    public GameCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * Drops every session that has been unused for longer than the idle timeout.
+     *
+     * @return number of sessions dropped
+     */
+    public int evictIdle() {
+        long now = clock.nanoTime();
+        int evicted = 0;
+        for (GameSession session : sessions.values()) {
+            if (session.idleTime(now).compareTo(idleTimeout) > 0 && close(session.getId())) {
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Stops the idle sweep and writes recorded progress back, refreshing the
+     * startup snapshot on the way.
+     */
+    @Override
+    public void close() {
+        sweeper.shutdownNow();
+        players.checkpoint();
+    }
+
+    private static UUID nextPuzzleId(GameSession session) {
+        Puzzle next = session.snapshot().nextPuzzle();
+        return next == null ? null : next.getId();
+    }
+}
@@ -0,0 +1,465 @@
+package com.classes;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+/**
+ * Binary copy of a whole {@link GameSystem}, kept next to the JSON files so
+ * startup does not have to parse text. Durations are stored as nanoseconds
+ * and ids as the two raw UUID longs, so reading needs no duration parsing and
+ * no MD5 per entity.
+ * <p>
+ * The file starts with a magic number and a format version. Next come the
+ * size and modification time of {@code rooms.json} and {@code users.json}
+ * as they were when the snapshot was taken. After that is a length-prefixed
+ * body and a CRC32 of the body. A snapshot is only used while both JSON files
+ * still match the recorded fingerprints. Any edit to the JSON, or a save that
+ * skipped the snapshot, sends the loader back to the JSON. Writers only
+ * refresh the snapshot on compaction and shutdown (see
+ * {@link DataWriter#save(GameSystem, boolean)}), so after a crash the first
+ * start reads the JSON.
+ * </p>
+ * <p>
+ * The snapshot holds the same state the JSON does: no session progress,
+ * and the timer's totals without its running state.
+ * </p>
+ */
+public final class SnapshotCodec {
+    /** File name of the snapshot inside the data directory. */
+    public static final String FILE_NAME = "game.snapshot";
+
+    private static final int MAGIC = 0x4C49534E; // "LISN"
+    private static final int VERSION = 2;
+    private static final long MISSING = -1L;
+
+    private SnapshotCodec() {
+    }
+
+    /**
+     * Writes the snapshot for a game system whose JSON files in the same
+     * directory were just written. The file is replaced atomically.
+     *
+     * @param gameSystem game state to encode
+     * @param directory  data directory holding {@code rooms.json} and {@code users.json}
+     * @throws IOException when the snapshot cannot be written
+     */
+    public static void write(GameSystem gameSystem, Path directory) throws IOException {
+        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream(64 * 1024);
+        try (DataOutputStream body = new DataOutputStream(bodyBytes)) {
+            writeBody(gameSystem, body);
+        }
+        byte[] bodyArray = bodyBytes.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bodyArray);
+
+        ByteBuffer header = ByteBuffer.allocate(4 + 4 + 4 * 8 + 4);
+        header.putInt(MAGIC).putInt(VERSION);
+        putFingerprint(header, directory.resolve(DataLoader.ROOMS_FILE));
+        putFingerprint(header, directory.resolve(DataLoader.USERS_FILE));
+        header.putInt(bodyArray.length).flip();
+        ByteBuffer trailer = ByteBuffer.allocate(4).putInt((int) crc.getValue()).flip();
+
+        Path target = directory.resolve(FILE_NAME);
+        Path temp = Files.createTempFile(directory, FILE_NAME + ".", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer[] parts = {header, ByteBuffer.wrap(bodyArray), trailer};
+                while (parts[2].hasRemaining()) {
+                    channel.write(parts);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Reads the snapshot through a memory-mapped channel when it is present,
+     * intact and still matches the JSON files.
+     *
+     * @param directory data directory to look in
+     * @return decoded game system, or empty when the JSON has to be read instead
+     */
+    public static Optional<GameSystem> readIfFresh(Path directory) {
+        Path file = directory.resolve(FILE_NAME);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return Optional.empty();
+            }
+            if (!matchesFingerprint(buffer, directory.resolve(DataLoader.ROOMS_FILE))
+                    || !matchesFingerprint(buffer, directory.resolve(DataLoader.USERS_FILE))) {
+                return Optional.empty();
+            }
+            int length = buffer.getInt();
+            ByteBuffer body = buffer.slice(buffer.position(), length);
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            buffer.position(buffer.position() + length);
+            if ((int) crc.getValue() != buffer.getInt()) {
+                System.err.println("Ignoring " + file + ": checksum mismatch.");
+                return Optional.empty();
+            }
+            return Optional.of(readBody(body));
+        } catch (NoSuchFileException e) {
+            return Optional.empty();
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            System.err.println("Ignoring " + file + ": " + e);
+            return Optional.empty();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Checks only the header: whether a snapshot exists, has the current
+     * format and still matches both JSON files.
+     *
+     * @param directory data directory to look in
+     * @return {@code true} when {@link #readIfFresh(Path)} would use the snapshot, barring a damaged body
+     */
+    public static boolean isFresh(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory.resolve(FILE_NAME), StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(4 + 4 + 4 * 8);
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // keep reading until the header is complete or the file ends
+            }
+            if (header.hasRemaining()) {
+                return false;
+            }
+            header.flip();
+            return header.getInt() == MAGIC && header.getInt() == VERSION
+                    && matchesFingerprint(header, directory.resolve(DataLoader.ROOMS_FILE))
+                    && matchesFingerprint(header, directory.resolve(DataLoader.USERS_FILE));
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    private static void putFingerprint(ByteBuffer header, Path json) throws IOException {
+        if (Files.exists(json)) {
+            header.putLong(Files.size(json)).putLong(Files.getLastModifiedTime(json).toMillis());
+        } else {
+            header.putLong(MISSING).putLong(MISSING);
+        }
+    }
+
+    private static boolean matchesFingerprint(ByteBuffer buffer, Path json) throws IOException {
+        long size = buffer.getLong();
+        long modified = buffer.getLong();
+        if (!Files.exists(json)) {
+            return size == MISSING;
+        }
+        return size == Files.size(json) && modified == Files.getLastModifiedTime(json).toMillis();
+    }
+
+    private static void writeBody(GameSystem system, DataOutputStream out) throws IOException {
+        writeUuid(out, system.getId());
+        writeNullableLong(out, system.getLegacyId());
+        writeString(out, system.getDifficulty().name());
+
+        Timer timer = system.getTimer();
+        out.writeLong(timer == null ? 0 : timer.getTotalTime().toNanos());
+        out.writeLong(timer == null ? 0 : timer.getRemaining().toNanos());
+
+        List<Hint> hints = system.getHints() == null ? List.of() : system.getHints().getRemainingHints();
+        out.writeInt(hints.size());
+        for (Hint hint : hints) {
+            writeUuid(out, hint.getId());
+            writeNullableLong(out, hint.getLegacyId());
+            writeString(out, hint.getText());
+        }
+
+        List<ScoreEntry> scores = system.getLeaderboard() == null ? List.of() : system.getLeaderboard().getScores();
+        out.writeInt(scores.size());
+        for (ScoreEntry entry : scores) {
+            writeUuid(out, entry.getId());
+            writeNullableLong(out, entry.getLegacyId());
+            writeString(out, entry.getPlayerName());
+            out.writeInt(entry.getScore());
+            out.writeLong(entry.getCompletionTime().toNanos());
+        }
+
+        List<Room> rooms = system.getRooms().asList();
+        out.writeInt(rooms.size());
+        for (Room room : rooms) {
+            writeUuid(out, room.getId());
+            writeNullableLong(out, room.getLegacyId() == null ? null : room.getLegacyId().longValue());
+            writeItems(out, room.getItems());
+            out.writeInt(room.getPuzzles().size());
+            for (Puzzle puzzle : room.getPuzzles()) {
+                writePuzzle(out, puzzle, system.getProgress().isPuzzleSolved(puzzle));
+            }
+        }
+
+        List<Player> players = system.getPlayers().asList();
+        out.writeInt(players.size());
+        for (Player player : players) {
+            writeUuid(out, player.getId());
+            writeNullableLong(out, player.getLegacyId() == null ? null : player.getLegacyId().longValue());
+            writeString(out, player.getName());
+            writeString(out, player.getEmail());
+            writeString(out, player.getAvatar());
+            out.writeInt(player.getCurrentScore());
+            writeItems(out, player.getInventory().asList());
+            Statistics stats = player.getStatistics();
+            out.writeInt(stats.getGamesPlayed());
+            out.writeInt(stats.getPuzzlesSolved());
+            out.writeLong(stats.getAverageCompletionTime().toNanos());
+            out.writeInt(stats.getGamesWon());
+            Set<UUID> solved = player.getSolvedPuzzleIds();
+            out.writeInt(solved.size());
+            for (UUID puzzleId : solved) {
+                writeUuid(out, puzzleId);
+            }
+        }
+    }
+
+    private static void writePuzzle(DataOutputStream out, Puzzle puzzle, boolean solved) throws IOException {
+        out.writeByte(puzzle.getType().ordinal());
+        writeUuid(out, puzzle.getId());
+        writeNullableLong(out, puzzle.getLegacyId());
+        writeString(out, puzzle.getName());
+        writeString(out, puzzle.getDescription());
+        writeString(out, puzzle.getReward());
+        out.writeBoolean(solved);
+        if (puzzle instanceof MultipleChoicePuzzle mc) {
+            writeStrings(out, mc.getOptions());
+            writeString(out, mc.getCorrectOption());
+        } else if (puzzle instanceof WriteInPuzzle writeIn) {
+            writeString(out, writeIn.getCorrectAnswer());
+            writeStrings(out, writeIn.getAcceptedAnswers());
+            out.writeInt(writeIn.getMaxTypos());
+        } else if (puzzle instanceof SequencePuzzle sequence) {
+            writeStrings(out, sequence.getExpectedSequence());
+        } else if (puzzle instanceof RiddlePuzzle riddle) {
+            writeString(out, riddle.getRiddle());
+            writeString(out, riddle.getAnswer());
+            writeStrings(out, riddle.getAcceptedAnswers());
+            out.writeInt(riddle.getMaxTypos());
+        } else if (puzzle instanceof CodeLockPuzzle codeLock) {
+            writeString(out, codeLock.getCode());
+            writeStrings(out, codeLock.getAcceptedAnswers());
+            out.writeInt(codeLock.getMaxTypos());
+        } else {
+            throw new IOException("No snapshot encoding for " + puzzle.getClass().getName());
+        }
+    }
+
+    private static void writeItems(DataOutputStream out, List<Item> items) throws IOException {
+        out.writeInt(items.size());
+        for (Item item : items) {
+            writeUuid(out, item.getId());
+            writeNullableLong(out, item.getLegacyId());
+            writeString(out, item.getName());
+            out.writeBoolean(item.isReusable());
+        }
+    }
+
+    private static void writeStrings(DataOutputStream out, List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static void writeNullableLong(DataOutputStream out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static GameSystem readBody(ByteBuffer in) {
+        GameSystem system = new GameSystem(readUuid(in));
+        system.setLegacyId(readNullableLong(in));
+        system.setDifficulty(DifficultyLevel.fromString(readString(in)));
+
+        Timer timer = new Timer();
+        timer.setTotalTime(Duration.ofNanos(in.getLong()));
+        Duration remaining = Duration.ofNanos(in.getLong());
+        if (!remaining.isZero()) {
+            timer.setRemaining(remaining);
+        }
+        system.setTimer(timer);
+
+        Hints hints = new Hints();
+        for (int i = in.getInt(); i > 0; i--) {
+            UUID id = readUuid(in);
+            Long legacyId = readNullableLong(in);
+            hints.addHint(id, legacyId, readString(in));
+        }
+        system.setHints(hints);
+
+        Leaderboard leaderboard = new Leaderboard();
+        for (int i = in.getInt(); i > 0; i--) {
+            UUID id = readUuid(in);
+            Long legacyId = readNullableLong(in);
+            String playerName = readString(in);
+            int score = in.getInt();
+            leaderboard.addScoreEntry(id, legacyId, playerName, Duration.ofNanos(in.getLong()), score);
+        }
+        system.setLeaderboard(leaderboard);
+
+        RoomList rooms = new RoomList();
+        PuzzleList puzzles = new PuzzleList();
+        for (int i = in.getInt(); i > 0; i--) {
+            UUID id = readUuid(in);
+            Long legacyId = readNullableLong(in);
+            Room room = new Room(id, legacyId == null ? null : legacyId.intValue());
+            for (Item item : readItems(in)) {
+                room.addItem(item);
+            }
+            for (int p = in.getInt(); p > 0; p--) {
+                Puzzle puzzle = readPuzzle(in, system.getProgress());
+                room.addPuzzle(puzzle);
+                puzzles.add(puzzle);
+            }
+            rooms.add(room);
+        }
+        system.setRooms(rooms);
+        system.setPuzzles(puzzles);
+
+        int playerCount = in.getInt();
+        PlayerList players = new PlayerList(playerCount);
+        for (int i = playerCount; i > 0; i--) {
+            UUID id = readUuid(in);
+            Long legacyId = readNullableLong(in);
+            String name = readString(in);
+            String email = readString(in);
+            String avatar = readString(in);
+            int score = in.getInt();
+            ItemList inventory = new ItemList();
+            for (Item item : readItems(in)) {
+                inventory.add(item);
+            }
+            Statistics stats = new Statistics(in.getInt(), in.getInt(), Duration.ofNanos(in.getLong()), in.getInt());
+            int solvedCount = in.getInt();
+            Set<UUID> solved = new HashSet<>(Math.max(16, solvedCount * 2));
+            for (int s = 0; s < solvedCount; s++) {
+                solved.add(readUuid(in));
+            }
+            players.add(new Player(id, legacyId == null ? null : legacyId.intValue(), name, email, avatar,
+                    inventory, stats, score, solved));
+        }
+        system.setPlayers(players);
+        return system;
+    }
+
+    private static Puzzle readPuzzle(ByteBuffer in, Progress progress) {
+        PuzzleType type = PuzzleType.values()[in.get()];
+        UUID id = readUuid(in);
+        Long legacyId = readNullableLong(in);
+        String name = readString(in);
+        String description = readString(in);
+        String reward = readString(in);
+        if (in.get() != 0) {
+            progress.markPuzzleSolved(id);
+        }
+        return switch (type) {
+            case MULTIPLE_CHOICE -> {
+                List<String> options = readStrings(in);
+                yield new MultipleChoicePuzzle(id, legacyId, name, description, reward, options, readString(in));
+            }
+            case WRITE_IN -> {
+                String answer = readString(in);
+                yield new WriteInPuzzle(id, legacyId, name, description, reward, answer, readStrings(in), in.getInt());
+            }
+            case SEQUENCE -> new SequencePuzzle(id, legacyId, name, description, reward, readStrings(in));
+            case RIDDLE -> {
+                String riddle = readString(in);
+                String answer = readString(in);
+                yield new RiddlePuzzle(id, legacyId, name, description, reward, riddle, answer,
+                        readStrings(in), in.getInt());
+            }
+            case CODE_LOCK -> {
+                String code = readString(in);
+                yield new CodeLockPuzzle(id, legacyId, name, description, reward, code, readStrings(in), in.getInt());
+            }
+        };
+    }
+
+    private static List<Item> readItems(ByteBuffer in) {
+        int count = in.getInt();
+        List<Item> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            UUID id = readUuid(in);
+            Long legacyId = readNullableLong(in);
+            String name = readString(in);
+            items.add(new Item(id, legacyId, name, in.get() != 0));
+        }
+        return items;
+    }
+
+    private static List<String> readStrings(ByteBuffer in) {
+        int count = in.getInt();
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(in));
+        }
+        return values;
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static UUID readUuid(ByteBuffer in) {
+        return new UUID(in.getLong(), in.getLong());
+    }
+
+    private static Long readNullableLong(ByteBuffer in) {
+        return in.get() != 0 ? in.getLong() : null;
+    }
+}
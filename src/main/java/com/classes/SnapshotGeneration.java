@@ -0,0 +1,143 @@
+package com.classes;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Save counter for one data directory. Every successful
+ * {@link DataWriter#saveGame(GameSystem)} moves the directory to a new
+ * generation, and every {@link GameSystem} remembers the generation it was
+ * loaded at or last saved as. A writer holding a game system from an older
+ * generation is working from stale data, so its save is refused instead of
+ * silently overwriting the newer one.
+ * <p>
+ * The counter lives in {@value #FILE_NAME} next to the JSON, so writers in
+ * other processes see it too. {@link #lock()} serializes writers of the same
+ * directory: threads through an in-process lock, processes through an
+ * operating-system lock on {@value #LOCK_FILE_NAME}.
+ * </p>
+ */
+final class SnapshotGeneration {
+    /** Sidecar file holding the generation of the files on disk. */
+    static final String FILE_NAME = "snapshot.generation";
+    /** File locked while a save is in progress. */
+    static final String LOCK_FILE_NAME = "snapshot.lock";
+
+    private static final Map<Path, SnapshotGeneration> DIRECTORIES = new ConcurrentHashMap<>();
+
+    private final Path directory;
+    private final ReentrantLock writers = new ReentrantLock();
+
+    private SnapshotGeneration(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * @param directory data directory
+     * @return the counter shared by everyone in this process reading or writing that directory
+     */
+    static SnapshotGeneration forDirectory(Path directory) {
+        return DIRECTORIES.computeIfAbsent(directory.toAbsolutePath().normalize(), SnapshotGeneration::new);
+    }
+
+    /**
+     * @return the generation of the files currently on disk; 0 before the first save
+     * @throws IOException when the counter file exists but cannot be read
+     */
+    long current() throws IOException {
+        try {
+            String text = Files.readString(directory.resolve(FILE_NAME), StandardCharsets.UTF_8).trim();
+            return text.isEmpty() ? 0L : Long.parseLong(text);
+        } catch (NoSuchFileException e) {
+            return 0L;
+        } catch (NumberFormatException e) {
+            throw new IOException("Unreadable " + FILE_NAME + " in " + directory, e);
+        }
+    }
+
+    /**
+     * Takes the writer lock for the directory, blocking until other threads
+     * and processes are done with it. The directory is created if needed.
+     *
+     * @return handle that releases the lock when closed
+     * @throws IOException when the lock file cannot be opened or locked
+     */
+    Lock lock() throws IOException {
+        writers.lock();
+        try {
+            Files.createDirectories(directory);
+            FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE_NAME),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                return new Lock(channel, channel.lock());
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException | RuntimeException e) {
+            writers.unlock();
+            throw e;
+        }
+    }
+
+    /**
+     * Records a completed save. Callers must hold {@link #lock()} for the
+     * whole save so the check and the increment cannot be split.
+     *
+     * @return the new generation
+     * @throws IOException when the counter file cannot be written
+     */
+    long advance() throws IOException {
+        long next = current() + 1;
+        Path target = directory.resolve(FILE_NAME);
+        Path temp = Files.createTempFile(directory, FILE_NAME + ".", ".tmp");
+        try {
+            Files.writeString(temp, Long.toString(next), StandardCharsets.UTF_8);
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return next;
+    }
+
+    /**
+     * Held writer lock for one directory.
+     */
+    final class Lock implements AutoCloseable {
+        private final FileChannel channel;
+        private final FileLock fileLock;
+
+        private Lock(FileChannel channel, FileLock fileLock) {
+            this.channel = channel;
+            this.fileLock = fileLock;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                fileLock.release();
+            } finally {
+                try {
+                    channel.close();
+                } finally {
+                    writers.unlock();
+                }
+            }
+        }
+    }
+}
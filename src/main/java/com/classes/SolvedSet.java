@@ -0,0 +1,357 @@
+package com.classes;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Set of solved puzzle ids stored as a bit set over {@link PuzzleIndex}
+ * numbers. The words only span the numbers actually used, so a player who
+ * solved the puzzles of a room or two costs one or two {@code long} words
+ * instead of a hash set of boxed entries, and copying or merging two sets is
+ * a loop over words. Ids without a number go to a small
+ * ordinary set on the side, so any UUID can still be stored.
+ * <p>
+ * Iteration yields numbered ids in number order, then the others. Like
+ * {@link HashSet}, the set is not thread-safe.
+ * </p>
+ */
+final class SolvedSet extends AbstractSet<UUID> {
+    private static final long[] NO_WORDS = new long[0];
+
+    private long[] words = NO_WORDS;
+    // Word number of words[0]; the set covers numbers from baseWord * 64 on.
+    private int baseWord;
+    private int indexedCount;
+    // Ids without a PuzzleIndex number; null until the first one arrives.
+    private Set<UUID> unindexed;
+    private Set<UUID> readOnlyView;
+
+    SolvedSet() {
+    }
+
+    SolvedSet(Collection<UUID> ids) {
+        if (ids != null) {
+            addAll(ids);
+        }
+    }
+
+    /**
+     * @param puzzle puzzle to look up
+     * @return {@code true} when its id is in the set; a bit test for numbered puzzles
+     */
+    boolean containsPuzzle(Puzzle puzzle) {
+        int index = puzzle.denseIndex();
+        if (index >= 0 && isSet(index)) {
+            return true;
+        }
+        return unindexed != null && unindexed.contains(puzzle.getId());
+    }
+
+    /**
+     * @return a read-only view that the copy methods still recognise
+     */
+    Set<UUID> readOnlyView() {
+        if (readOnlyView == null) {
+            readOnlyView = new ReadOnly(this);
+        }
+        return readOnlyView;
+    }
+
+    /**
+     * Makes this set equal to the given ids, copying words when the source
+     * is another solved set.
+     *
+     * @param ids new content; {@code null} empties the set
+     */
+    void copyFrom(Collection<UUID> ids) {
+        SolvedSet source = unwrap(ids);
+        if (source == this) {
+            return;
+        }
+        if (source != null) {
+            words = source.words.length == 0 ? NO_WORDS : source.words.clone();
+            baseWord = source.baseWord;
+            indexedCount = source.indexedCount;
+            unindexed = source.unindexed == null ? null : new HashSet<>(source.unindexed);
+            return;
+        }
+        clear();
+        if (ids != null) {
+            addAll(ids);
+        }
+    }
+
+    @Override
+    public boolean add(UUID id) {
+        if (id == null) {
+            return false;
+        }
+        int index = PuzzleIndex.indexOf(id);
+        if (index < 0 || unindexed != null && unindexed.contains(id)) {
+            if (unindexed == null) {
+                unindexed = new HashSet<>(4);
+            }
+            return unindexed.add(id);
+        }
+        if (isSet(index)) {
+            return false;
+        }
+        cover(index >>> 6, index >>> 6);
+        words[(index >>> 6) - baseWord] |= 1L << index;
+        indexedCount++;
+        return true;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends UUID> ids) {
+        SolvedSet source = unwrap(ids);
+        if (source == null) {
+            return super.addAll(ids);
+        }
+        if (source == this) {
+            return false;
+        }
+        int before = size();
+        if (source.words.length > 0) {
+            cover(source.baseWord, source.baseWord + source.words.length - 1);
+            int offset = source.baseWord - baseWord;
+            for (int i = 0; i < source.words.length; i++) {
+                words[offset + i] |= source.words[i];
+            }
+            int count = 0;
+            for (long word : words) {
+                count += Long.bitCount(word);
+            }
+            indexedCount = count;
+        }
+        if (unindexed != null) {
+            // Ids this set kept by UUID before they got a number may now be bits as well.
+            unindexed.removeIf(id -> isSet(PuzzleIndex.indexOf(id)));
+        }
+        if (source.unindexed != null) {
+            for (UUID id : source.unindexed) {
+                add(id);
+            }
+        }
+        return size() != before;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof UUID id)) {
+            return false;
+        }
+        int index = PuzzleIndex.indexOf(id);
+        if (index >= 0 && isSet(index)) {
+            return true;
+        }
+        return unindexed != null && unindexed.contains(id);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!(o instanceof UUID id)) {
+            return false;
+        }
+        int index = PuzzleIndex.indexOf(id);
+        if (index >= 0 && isSet(index)) {
+            clearBit(index);
+            return true;
+        }
+        return unindexed != null && unindexed.remove(id);
+    }
+
+    @Override
+    public void clear() {
+        words = NO_WORDS;
+        baseWord = 0;
+        indexedCount = 0;
+        unindexed = null;
+    }
+
+    @Override
+    public int size() {
+        return indexedCount + (unindexed == null ? 0 : unindexed.size());
+    }
+
+    @Override
+    public Iterator<UUID> iterator() {
+        return new Iterator<>() {
+            private int next = nextSetBit(0);
+            private int last = -1;
+            private Iterator<UUID> rest;
+
+            @Override
+            public boolean hasNext() {
+                if (next >= 0) {
+                    return true;
+                }
+                if (rest == null) {
+                    rest = unindexed == null ? null : unindexed.iterator();
+                }
+                return rest != null && rest.hasNext();
+            }
+
+            @Override
+            public UUID next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (next >= 0) {
+                    last = next;
+                    next = nextSetBit(next + 1);
+                    return PuzzleIndex.idAt(last);
+                }
+                last = -1;
+                return rest.next();
+            }
+
+            @Override
+            public void remove() {
+                if (last >= 0) {
+                    clearBit(last);
+                    last = -1;
+                } else if (rest != null) {
+                    rest.remove();
+                } else {
+                    throw new IllegalStateException();
+                }
+            }
+        };
+    }
+
+    private boolean isSet(int index) {
+        if (index < 0) {
+            return false;
+        }
+        int word = (index >>> 6) - baseWord;
+        return word >= 0 && word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    private void clearBit(int index) {
+        words[(index >>> 6) - baseWord] &= ~(1L << index);
+        indexedCount--;
+    }
+
+    /**
+     * Grows the word array so it spans word numbers {@code first} to {@code last}.
+     */
+    private void cover(int first, int last) {
+        if (words.length == 0) {
+            words = new long[last - first + 1];
+            baseWord = first;
+            return;
+        }
+        int newBase = Math.min(baseWord, first);
+        int newEnd = Math.max(baseWord + words.length - 1, last);
+        if (newBase == baseWord && newEnd == baseWord + words.length - 1) {
+            return;
+        }
+        long[] grown = new long[newEnd - newBase + 1];
+        System.arraycopy(words, 0, grown, baseWord - newBase, words.length);
+        words = grown;
+        baseWord = newBase;
+    }
+
+    private int nextSetBit(int from) {
+        int word = Math.max((from >>> 6) - baseWord, 0);
+        if (word >= words.length) {
+            return -1;
+        }
+        long bits = words[word];
+        if (word == (from >>> 6) - baseWord) {
+            bits &= -1L << from;
+        }
+        while (true) {
+            if (bits != 0) {
+                return ((baseWord + word) << 6) + Long.numberOfTrailingZeros(bits);
+            }
+            if (++word == words.length) {
+                return -1;
+            }
+            bits = words[word];
+        }
+    }
+
+    private static SolvedSet unwrap(Collection<?> ids) {
+        if (ids instanceof SolvedSet set) {
+            return set;
+        }
+        if (ids instanceof ReadOnly view) {
+            return view.source;
+        }
+        return null;
+    }
+
+    /**
+     * Unmodifiable view that reads through to the set.
+     */
+    private static final class ReadOnly extends AbstractSet<UUID> {
+        private final SolvedSet source;
+
+        ReadOnly(SolvedSet source) {
+            this.source = source;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return source.contains(o);
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+
+        @Override
+        public Iterator<UUID> iterator() {
+            Iterator<UUID> iterator = source.iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return iterator.hasNext();
+                }
+
+                @Override
+                public UUID next() {
+                    return iterator.next();
+                }
+            };
+        }
+
+        @Override
+        public boolean add(UUID id) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void clear() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean addAll(Collection<? extends UUID> c) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean removeAll(Collection<?> c) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean retainAll(Collection<?> c) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -8,19 +8,58 @@ import java.util.Optional;
  * Countdown helper used by the escape-room game to track time-limited sessions.
  * <p>
  * The timer stores a total countdown duration and keeps track of the remaining
- * and elapsed time across multiple start/pause cycles. Time is measured with
- * {@link Duration} and {@link Instant} so the implementation remains immune to
- * system clock changes. Instances are mutable and not thread-safe.
+ * and elapsed time across multiple start/pause cycles. Time is measured in
+ * nanoseconds from a monotonic {@link Clock} ({@link System#nanoTime()} unless
+ * another one is supplied), so the countdown is immune to system clock changes.
+ * State is kept in primitive fields: the {@code ...Nanos} accessors never
+ * allocate, and a {@link Duration} is only created by the {@code Duration}
+ * getters. Instances are mutable and not thread-safe.
  * </p>
  *
  * @see DataLoader#parseTimer(org.json.simple.JSONObject)
  * @see DataWriter#writeTimer(Timer)
  */
 public class Timer {
-    private Duration totalTime = Duration.ZERO;
-    private Duration remaining = Duration.ZERO;
+    /**
+     * Source of monotonic time for a timer. Only differences between two
+     * readings mean anything.
+     */
+    @FunctionalInterface
+    public interface Clock {
+        /** Clock backed by {@link System#nanoTime()}. */
+        Clock SYSTEM = System::nanoTime;
+
+        /**
+         * @return current reading in nanoseconds
+         */
+        long nanoTime();
+    }
+
+    private final Clock clock;
+    private long totalNanos;
+    // Remaining time as of the last start, pause or explicit set.
+    private long remainingNanos;
+    private long elapsedAccumulatedNanos;
+    private boolean running;
+    private long startedAtNanos;
+    // Wall-clock start, only kept for getRunningSince().
     private Instant runningSince;
-    private Duration elapsedAccumulated = Duration.ZERO;
+
+    /**
+     * Creates a stopped timer with no duration, measured with {@link Clock#SYSTEM}.
+     */
+    public Timer() {
+        this(Clock.SYSTEM);
+    }
+
+    /**
+     * Creates a stopped timer with no duration.
+     *
+     * @param clock monotonic clock to measure with; {@code null} uses {@link Clock#SYSTEM}
+     */
+    public Timer(Clock clock) {
+        this.clock = clock == null ? Clock.SYSTEM : clock;
+    }
 
     /**
      * Returns the total configured duration for the timer.
@@ -28,7 +67,14 @@ public class Timer {
      * @return total countdown duration; never {@code null}
      */
     public Duration getTotalTime() {
-        return totalTime;
+        return toDuration(totalNanos);
+    }
+
+    /**
+     * @return total countdown duration in nanoseconds
+     */
+    public long getTotalNanos() {
+        return totalNanos;
     }
 
     /**
@@ -39,10 +85,10 @@ public class Timer {
      * @param totalTime the desired countdown duration; {@code null} resets to zero
      */
     public void setTotalTime(Duration totalTime) {
-        this.totalTime = totalTime == null ? Duration.ZERO : totalTime;
-        if (!isRunning()) {
-            remaining = this.totalTime;
-            elapsedAccumulated = Duration.ZERO;
+        this.totalNanos = toNanos(totalTime);
+        if (!running) {
+            remainingNanos = totalNanos;
+            elapsedAccumulatedNanos = 0;
         }
     }
 
@@ -54,11 +100,19 @@ public class Timer {
      * @return remaining countdown duration; never negative
      */
     public Duration getRemaining() {
-        if (isRunning()) {
-            Duration elapsed = Duration.between(runningSince, Instant.now());
-            return remaining.minus(elapsed).isNegative() ? Duration.ZERO : remaining.minus(elapsed);
+        return toDuration(getRemainingNanos());
+    }
+
+    /**
+     * Same as {@link #getRemaining()} without creating a {@link Duration}.
+     *
+     * @return remaining countdown in nanoseconds; never negative while running
+     */
+    public long getRemainingNanos() {
+        if (running) {
+            return Math.max(0, remainingNanos - sinceStart());
         }
-        return remaining;
+        return remainingNanos;
     }
 
     /**
@@ -66,7 +120,9 @@ public class Timer {
      * the timer is running has no effect.
      */
     public void start() {
-        if (!isRunning()) {
+        if (!running) {
+            running = true;
+            startedAtNanos = clock.nanoTime();
             runningSince = Instant.now();
         }
     }
@@ -77,10 +133,11 @@ public class Timer {
      * no effect.
      */
     public void pause() {
-        if (isRunning()) {
-            Duration elapsedSinceStart = Duration.between(runningSince, Instant.now());
-            elapsedAccumulated = elapsedAccumulated.plus(elapsedSinceStart);
-            remaining = getRemaining();
+        if (running) {
+            long elapsedSinceStart = sinceStart();
+            elapsedAccumulatedNanos = saturatedAdd(elapsedAccumulatedNanos, elapsedSinceStart);
+            remainingNanos = Math.max(0, remainingNanos - elapsedSinceStart);
+            running = false;
             runningSince = null;
         }
     }
@@ -91,9 +148,10 @@ public class Timer {
      * non-running state.
      */
     public void reset() {
+        running = false;
         runningSince = null;
-        remaining = totalTime;
-        elapsedAccumulated = Duration.ZERO;
+        remainingNanos = totalNanos;
+        elapsedAccumulatedNanos = 0;
     }
 
     /**
@@ -102,12 +160,13 @@ public class Timer {
      * @return {@code true} if the timer has been started and not paused
      */
     public boolean isRunning() {
-        return runningSince != null;
+        return running;
     }
 
     /**
-     * Provides the {@link Instant} at which the timer last started running, if
-     * it is currently active.
+     * Provides the wall-clock {@link Instant} at which the timer last started
+     * running, if it is currently active. It is informational only; the
+     * countdown itself never looks at the wall clock.
      *
      * @return optional start instant, empty when not running
      */
@@ -123,11 +182,11 @@ public class Timer {
      * @param remaining the remaining countdown duration; {@code null} treated as zero
      */
     public void setRemaining(Duration remaining) {
-        this.remaining = remaining == null ? Duration.ZERO : remaining;
-        if (!totalTime.isZero()) {
-            Duration derivedElapsed = totalTime.minus(this.remaining);
-            if (!derivedElapsed.isNegative()) {
-                elapsedAccumulated = derivedElapsed;
+        this.remainingNanos = toNanos(remaining);
+        if (totalNanos != 0) {
+            long derivedElapsed = totalNanos - remainingNanos;
+            if (derivedElapsed >= 0) {
+                elapsedAccumulatedNanos = derivedElapsed;
             }
         }
     }
@@ -140,16 +199,50 @@ public class Timer {
      * @return elapsed duration; never negative
      */
     public Duration getElapsed() {
-        Duration elapsed = elapsedAccumulated;
-        if (isRunning()) {
-            elapsed = elapsed.plus(Duration.between(runningSince, Instant.now()));
-        }
-        if (!totalTime.isZero()) {
-            Duration derived = totalTime.minus(getRemaining());
-            if (!derived.isNegative()) {
+        return toDuration(getElapsedNanos());
+    }
+
+    /**
+     * Same as {@link #getElapsed()} without creating a {@link Duration}.
+     *
+     * @return elapsed time in nanoseconds; never negative
+     */
+    public long getElapsedNanos() {
+        long sinceStart = running ? sinceStart() : 0;
+        if (totalNanos != 0) {
+            long remainingNow = running ? Math.max(0, remainingNanos - sinceStart) : remainingNanos;
+            long derived = totalNanos - remainingNow;
+            if (derived >= 0) {
                 return derived;
             }
         }
-        return elapsed.isNegative() ? Duration.ZERO : elapsed;
+        return Math.max(0, saturatedAdd(elapsedAccumulatedNanos, sinceStart));
+    }
+
+    private long sinceStart() {
+        return clock.nanoTime() - startedAtNanos;
+    }
+
+    private static long toNanos(Duration duration) {
+        if (duration == null) {
+            return 0;
+        }
+        try {
+            return duration.toNanos();
+        } catch (ArithmeticException e) {
+            return duration.isNegative() ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    private static Duration toDuration(long nanos) {
+        return nanos == 0 ? Duration.ZERO : Duration.ofNanos(nanos);
+    }
+
+    private static long saturatedAdd(long a, long b) {
+        long sum = a + b;
+        if (((a ^ sum) & (b ^ sum)) < 0) {
+            return a < 0 ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+        return sum;
     }
 }
@@ -0,0 +1,244 @@
+package com.classes;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import org.json.simple.parser.ContentHandler;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Streaming reader for users.json. Instead of parsing the whole file into
+ * JSONObjects and converting them afterwards, it listens to the parser's
+ * tokens and fills in one Player (with its items and statistics) at a time.
+ * The parser only keeps a fixed-size character buffer, so memory use is the
+ * finished PlayerList plus the record being read.
+ * <p>
+ * Field names and defaults match DataLoader's tree parser. Unknown keys,
+ * including nested objects and arrays, are skipped.
+ * </p>
+ */
+final class UsersStreamReader implements ContentHandler {
+    // Nesting depths: 1 = player array, 2 = player object, 3 = items/statistics/solvedPuzzles, 4 = item object.
+    private static final int PLAYER_DEPTH = 2;
+    private static final int SECTION_DEPTH = 3;
+    private static final int ITEM_DEPTH = 4;
+
+    private final PlayerList players = new PlayerList();
+    private int depth;
+    private boolean rootIsArray;
+
+    private String playerKey;
+    private String sectionKey;
+    private boolean inPlayer;
+    private boolean inItems;
+    private boolean inStatistics;
+    private boolean inSolvedPuzzles;
+    private boolean inItem;
+
+    private Long legacyId;
+    private String name;
+    private String email;
+    private String avatar;
+    private int currentScore;
+    private ItemList inventory;
+    private Statistics statistics;
+    private Set<UUID> solvedPuzzles;
+    // Legacy puzzle numbers of the current solvedPuzzles array, derived in one batch when it closes.
+    private long[] solvedLegacyIds = new long[16];
+    private int solvedLegacyCount;
+
+    private Long itemLegacyId;
+    private String itemName;
+    private boolean itemReusable;
+
+    private UsersStreamReader() {
+    }
+
+    /**
+     * Reads every player from the given users.json content.
+     *
+     * @param reader source positioned at the start of the document
+     * @return players in file order; empty when the document is not an array
+     * @throws IOException    when the reader fails
+     * @throws ParseException when the JSON is malformed
+     */
+    static PlayerList read(Reader reader) throws IOException, ParseException {
+        UsersStreamReader handler = new UsersStreamReader();
+        new JSONParser().parse(reader, handler);
+        return handler.players;
+    }
+
+    @Override
+    public void startJSON() {
+        depth = 0;
+    }
+
+    @Override
+    public void endJSON() {
+    }
+
+    @Override
+    public boolean startObject() {
+        depth++;
+        if (depth == PLAYER_DEPTH && rootIsArray) {
+            beginPlayer();
+        } else if (depth == SECTION_DEPTH && inPlayer && "statistics".equals(playerKey)) {
+            statistics = new Statistics();
+            inStatistics = true;
+        } else if (depth == ITEM_DEPTH && inItems) {
+            itemLegacyId = null;
+            itemName = "Item";
+            itemReusable = false;
+            inItem = true;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean endObject() {
+        if (depth == ITEM_DEPTH && inItem) {
+            inventory.add(new Item(LegacyIds.ITEM.derive(itemLegacyId), itemLegacyId, itemName, itemReusable));
+            inItem = false;
+        } else if (depth == SECTION_DEPTH && inStatistics) {
+            inStatistics = false;
+        } else if (depth == PLAYER_DEPTH && inPlayer) {
+            players.add(finishPlayer());
+            inPlayer = false;
+        }
+        depth--;
+        return true;
+    }
+
+    @Override
+    public boolean startObjectEntry(String key) {
+        if (depth == PLAYER_DEPTH && inPlayer) {
+            playerKey = key;
+        } else if ((depth == SECTION_DEPTH && inStatistics) || (depth == ITEM_DEPTH && inItem)) {
+            sectionKey = key;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean endObjectEntry() {
+        if (depth == PLAYER_DEPTH) {
+            playerKey = null;
+        } else if (depth == SECTION_DEPTH || depth == ITEM_DEPTH) {
+            sectionKey = null;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean startArray() {
+        depth++;
+        if (depth == 1) {
+            rootIsArray = true;
+        } else if (depth == SECTION_DEPTH && inPlayer) {
+            inItems = "items".equals(playerKey);
+            inSolvedPuzzles = "solvedPuzzles".equals(playerKey);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean endArray() {
+        if (depth == SECTION_DEPTH) {
+            if (inSolvedPuzzles && solvedLegacyCount > 0) {
+                Collections.addAll(solvedPuzzles, LegacyIds.PUZZLE.deriveAll(solvedLegacyIds, solvedLegacyCount));
+                solvedLegacyCount = 0;
+            }
+            inItems = false;
+            inSolvedPuzzles = false;
+        }
+        depth--;
+        return true;
+    }
+
+    @Override
+    public boolean primitive(Object value) {
+        if (depth == PLAYER_DEPTH && inPlayer && playerKey != null) {
+            readPlayerField(value);
+        } else if (depth == SECTION_DEPTH && inStatistics && sectionKey != null) {
+            readStatisticsField(value);
+        } else if (depth == SECTION_DEPTH && inSolvedPuzzles && value instanceof Number number) {
+            if (solvedLegacyCount == solvedLegacyIds.length) {
+                solvedLegacyIds = Arrays.copyOf(solvedLegacyIds, solvedLegacyCount * 2);
+            }
+            solvedLegacyIds[solvedLegacyCount++] = number.longValue();
+        } else if (depth == SECTION_DEPTH && inSolvedPuzzles) {
+            UUID puzzleId = DataLoader.asPuzzleUuid(value);
+            if (puzzleId != null) {
+                solvedPuzzles.add(puzzleId);
+            }
+        } else if (depth == ITEM_DEPTH && inItem && sectionKey != null) {
+            readItemField(value);
+        }
+        return true;
+    }
+
+    private void beginPlayer() {
+        inPlayer = true;
+        legacyId = null;
+        name = "Unknown";
+        email = "";
+        avatar = null;
+        currentScore = 0;
+        inventory = new ItemList();
+        statistics = new Statistics();
+        solvedPuzzles = new HashSet<>();
+    }
+
+    private Player finishPlayer() {
+        UUID id = LegacyIds.PLAYER.derive(legacyId);
+        return new Player(id, legacyId == null ? null : legacyId.intValue(), name, email, avatar,
+                inventory, statistics, currentScore, solvedPuzzles);
+    }
+
+    private void readPlayerField(Object value) {
+        switch (playerKey) {
+            case "playerID" -> legacyId = DataLoader.asNullableLong(value);
+            case "name" -> name = asString(value);
+            case "email" -> email = asString(value);
+            case "avatar" -> avatar = asString(value);
+            case "currentScore" -> currentScore = DataLoader.asNumber(value).intValue();
+            default -> {
+            }
+        }
+    }
+
+    private void readStatisticsField(Object value) {
+        switch (sectionKey) {
+            case "gamesPlayed" -> statistics.setGamesPlayed(DataLoader.asNumber(value).intValue());
+            case "puzzlesSolved" -> statistics.setPuzzlesSolved(DataLoader.asNumber(value).intValue());
+            case "avgTime" -> {
+                Duration average = DataLoader.parseDuration(asString(value));
+                statistics.setAverageCompletionTime(average);
+            }
+            case "gamesWon" -> statistics.setGamesWon(DataLoader.asNumber(value).intValue());
+            default -> {
+            }
+        }
+    }
+
+    private void readItemField(Object value) {
+        switch (sectionKey) {
+            case "itemID" -> itemLegacyId = DataLoader.asNullableLong(value);
+            case "itemName" -> itemName = asString(value);
+            case "isReusable" -> itemReusable = Boolean.TRUE.equals(value);
+            default -> {
+            }
+        }
+    }
+
+    private static String asString(Object value) {
+        return value instanceof String str ? str : null;
+    }
+}
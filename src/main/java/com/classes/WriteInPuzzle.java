@@ -1,5 +1,6 @@
 package com.classes;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -8,6 +9,9 @@ import java.util.UUID;
  */
 public class WriteInPuzzle extends Puzzle {
     private final String correctAnswer;
+    private final List<String> acceptedAnswers;
+    private final int maxTypos;
+    private final AnswerMatcher matcher;
 
     /**
      * Creates a write-in puzzle instance backed by a single correct answer.
@@ -18,12 +22,33 @@ public class WriteInPuzzle extends Puzzle {
      * @param description a human-readable description of the puzzle
      * @param reward the reward text earned upon solving
      * @param correctAnswer the expected answer players must submit
-     * @param solved whether the puzzle starts in a solved state
      */
     public WriteInPuzzle(UUID id, Long legacyId, String name, String description, String reward,
-                         String correctAnswer, boolean solved) {
-        super(id, legacyId, name, description, reward, PuzzleType.WRITE_IN, solved);
+                         String correctAnswer) {
+        this(id, legacyId, name, description, reward, correctAnswer, List.of(), 0);
+    }
+
+    /**
+     * Creates a write-in puzzle instance backed by a single correct answer, also accepting
+     * aliases and, optionally, answers with a few typos.
+     *
+     * @param id the unique identifier for the puzzle
+     * @param legacyId the legacy identifier if one exists
+     * @param name the display name for the puzzle
+     * @param description a human-readable description of the puzzle
+     * @param reward the reward text earned upon solving
+     * @param correctAnswer the expected answer players must submit
+     * @param acceptedAnswers other answers that also count as correct; may be null
+     * @param maxTypos how many typos an answer may contain and still count; 0 for exact matches
+     */
+    public WriteInPuzzle(UUID id, Long legacyId, String name, String description, String reward,
+                         String correctAnswer, List<String> acceptedAnswers,
+                         int maxTypos) {
+        super(id, legacyId, name, description, reward, PuzzleType.WRITE_IN);
         this.correctAnswer = Objects.requireNonNullElse(correctAnswer, "");
+        this.acceptedAnswers = acceptedAnswers == null ? List.of() : List.copyOf(acceptedAnswers);
+        this.maxTypos = Math.max(0, maxTypos);
+        this.matcher = AnswerMatcher.ignoringCase(this.correctAnswer, this.acceptedAnswers, this.maxTypos);
     }
 
     /**
@@ -33,14 +58,29 @@ public class WriteInPuzzle extends Puzzle {
         return correctAnswer;
     }
 
+    /**
+     * @return answers accepted besides the main one
+     */
+    public List<String> getAcceptedAnswers() {
+        return acceptedAnswers;
+    }
+
+    /**
+     * @return how many typos an answer may contain and still count
+     */
+    public int getMaxTypos() {
+        return maxTypos;
+    }
+
     /**
      * Checks whether the provided answer matches the configured solution, ignoring case.
      *
      * @param answer the player-submitted answer to validate
-     * @return {@code true} when the answer equals the configured solution, ignoring case
+     * @return {@code true} when the answer or an accepted alias matches, ignoring case
+     *         and up to {@link #getMaxTypos()} typos
      */
     @Override
     public boolean isCorrectAnswer(String answer) {
-        return correctAnswer.equalsIgnoreCase(Objects.requireNonNullElse(answer, ""));
+        return matcher.matches(answer);
     }
 }
@@ -8,6 +8,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.StringJoiner;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -22,18 +23,20 @@ public final class RoomNarration {
      * Sends the narration to the text-to-speech service on another thread.
      *
      * @param room room we are talking about
+     * @param solved tells which puzzles the player already solved
      */
-    public static void narrateAsync(Room room) {
-        TextToSpeechService.speakAsync(createStory(room));
+    public static void narrateAsync(Room room, Predicate<Puzzle> solved) {
+        TextToSpeechService.speakAsync(createStory(room, solved));
     }
 
     /**
      * Puts together a short story based on what is inside the room.
      *
      * @param room room to describe; null just returns an empty string
+     * @param solved tells which puzzles the player already solved, since rooms do not know that
      * @return human-readable narration with items and puzzles that matter
      */
-    public static String createStory(Room room) {
+    public static String createStory(Room room, Predicate<Puzzle> solved) {
         if (room == null) {
             return "";
         }
@@ -48,7 +51,7 @@ public final class RoomNarration {
         story.append(". ");
 
         appendItemDetails(room, story);
-        appendPuzzleDetails(room, story);
+        appendPuzzleDetails(room, solved, story);
 
         return story.toString().replaceAll("\\s+", " ").trim();
     }
@@ -86,9 +89,10 @@ public final class RoomNarration {
      * Adds puzzle information, focusing on the ones that still need solving.
      *
      * @param room current room context
+     * @param solved tells which puzzles are already solved
      * @param story mutable story we are building
      */
-    private static void appendPuzzleDetails(Room room, StringBuilder story) {
+    private static void appendPuzzleDetails(Room room, Predicate<Puzzle> solved, StringBuilder story) {
         List<Puzzle> puzzles = room.getPuzzles();
         if (puzzles.isEmpty()) {
             story.append("There are no puzzles to solve here yet.");
@@ -96,7 +100,7 @@ public final class RoomNarration {
         }
 
         List<String> unsolved = puzzles.stream()
-                .filter(puzzle -> !puzzle.isSolved())
+                .filter(solved.negate())
                 .map(Puzzle::getName)
                 .filter(Objects::nonNull)
                 .map(String::trim)
@@ -0,0 +1,262 @@
+package com.lockedin.server;
+
+import com.classes.GameSession;
+import com.classes.Puzzle;
+import com.classes.SessionRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.json.simple.JSONValue;
+import org.json.simple.parser.JSONParser;
+import org.json.simple.parser.ParseException;
+
+/**
+ * Local HTTP/JSON front end for a {@link SessionRegistry}, used by kiosks
+ * that play without the JavaFX client. It listens on the loopback address
+ * only.
+ * <p>
+ * Endpoints:
+ * </p>
+ * <ul>
+ *   <li>{@code POST /sessions} with {@code {"email": ...}} or {@code {"playerId": ...}}
+ *       opens (or returns) the player's session</li>
+ *   <li>{@code GET /sessions/{id}} returns the session's state</li>
+ *   <li>{@code POST /sessions/{id}/answers} with {@code {"answer": ..., "puzzleId": ...}}
+ *       answers a puzzle; without {@code puzzleId} the next unsolved one. Any other
+ *       unsolved puzzle is refused with {@code 409 Conflict}, since rooms are played in order</li>
+ *   <li>{@code DELETE /sessions/{id}} closes the session</li>
+ * </ul>
+ * <p>
+ * Requests are handled by a fixed pool of worker threads. Each request only
+ * locks the session it names, plus the player store for the short moment a
+ * solve is recorded.
+ * </p>
+ */
+public final class SessionServer implements AutoCloseable {
+    private static final String DEFAULT_DATA_DIR = "JSON";
+    private static final int DEFAULT_PORT = 8080;
+    private static final String SESSIONS = "/sessions";
+
+    private final SessionRegistry registry;
+    private final HttpServer server;
+    private final ExecutorService workers;
+
+    /**
+     * Binds a server to a loopback port; call {@link #start()} to begin serving.
+     *
+     * @param registry sessions to serve; must not be {@code null}
+     * @param port     loopback port, or 0 for any free port
+     * @param threads  number of request threads; at least one
+     * @throws IOException when the port cannot be bound
+     */
+    public SessionServer(SessionRegistry registry, int port, int threads) throws IOException {
+        this.registry = Objects.requireNonNull(registry, "registry");
+        if (threads < 1) {
+            throw new IllegalArgumentException("Need at least one thread.");
+        }
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        AtomicInteger counter = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "session-http-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(workers);
+        server.createContext(SESSIONS, this::handle);
+    }
+
+    /**
+     * Starts the server on the given data directory and port.
+     *
+     * @param args optional data directory, then optional port
+     * @throws IOException when the port cannot be bound
+     */
+    public static void main(String[] args) throws IOException {
+        String dataDirectory = args.length > 0 ? args[0] : DEFAULT_DATA_DIR;
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+        Optional<SessionRegistry> registry = SessionRegistry.forDirectory(Path.of(dataDirectory));
+        if (registry.isEmpty()) {
+            System.err.println("Could not load game data from '" + dataDirectory + "'.");
+            System.exit(1);
+        }
+        SessionServer server = new SessionServer(registry.get(), port,
+                Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close, "session-server-shutdown"));
+        server.start();
+        System.out.println("Serving sessions for '" + dataDirectory + "' on port " + server.getPort() + ".");
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * @return port the server is bound to
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops accepting requests, lets running ones finish for up to a second
+     * and flushes recorded progress.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        workers.shutdown();
+        registry.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String path = exchange.getRequestURI().getPath().substring(SESSIONS.length());
+            if (!path.isEmpty() && !path.startsWith("/")) {
+                sendError(exchange, 404, "Unknown endpoint.");
+                return;
+            }
+            // "/sessions/{id}" gives ["", id], "/sessions/{id}/answers" gives ["", id, "answers"].
+            String[] parts = path.split("/");
+            String method = exchange.getRequestMethod();
+            if (parts.length <= 1) {
+                if ("POST".equals(method)) {
+                    openSession(exchange);
+                } else {
+                    sendError(exchange, 405, "Use POST to open a session.");
+                }
+                return;
+            }
+            Optional<GameSession> session = parseId(parts[1]).flatMap(registry::find);
+            if (session.isEmpty()) {
+                sendError(exchange, 404, "No such session.");
+            } else if (parts.length == 2 && "GET".equals(method)) {
+                send(exchange, 200, describe(session.get().snapshot()));
+            } else if (parts.length == 2 && "DELETE".equals(method)) {
+                registry.close(session.get().getId());
+                exchange.sendResponseHeaders(204, -1);
+            } else if (parts.length == 3 && "answers".equals(parts[2]) && "POST".equals(method)) {
+                answer(exchange, session.get());
+            } else {
+                sendError(exchange, 404, "Unknown endpoint.");
+            }
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            sendError(exchange, 500, "Internal error.");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void openSession(HttpExchange exchange) throws IOException {
+        Optional<Map<?, ?>> body = readBody(exchange);
+        if (body.isEmpty()) {
+            sendError(exchange, 400, "Expected a JSON object.");
+            return;
+        }
+        Object email = body.get().get("email");
+        Optional<GameSession> session;
+        if (email instanceof String value) {
+            session = registry.openByEmail(value);
+        } else {
+            session = parseId(body.get().get("playerId")).flatMap(registry::open);
+        }
+        if (session.isEmpty()) {
+            sendError(exchange, 404, "No such player.");
+            return;
+        }
+        send(exchange, 201, describe(session.get().snapshot()));
+    }
+
+    private void answer(HttpExchange exchange, GameSession session) throws IOException {
+        Optional<Map<?, ?>> body = readBody(exchange);
+        if (body.isEmpty() || !(body.get().get("answer") instanceof String answer)) {
+            sendError(exchange, 400, "Expected {\"answer\": ...}.");
+            return;
+        }
+        Object puzzleId = body.get().get("puzzleId");
+        Optional<UUID> parsed = parseId(puzzleId);
+        if (puzzleId != null && parsed.isEmpty()) {
+            sendError(exchange, 400, "puzzleId is not a UUID.");
+            return;
+        }
+        GameSession.AnswerOutcome outcome = registry.submitAnswer(session, parsed.orElse(null), answer);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("outcome", outcome.name());
+        response.put("session", describe(session.snapshot()));
+        send(exchange, outcome == GameSession.AnswerOutcome.OUT_OF_ORDER ? 409 : 200, response);
+    }
+
+    private static Map<String, Object> describe(GameSession.Snapshot snapshot) {
+        Map<String, Object> obj = new LinkedHashMap<>();
+        obj.put("sessionId", snapshot.sessionId().toString());
+        obj.put("playerId", snapshot.playerId().toString());
+        obj.put("score", snapshot.score());
+        obj.put("solvedPuzzles", snapshot.solvedPuzzles());
+        obj.put("totalPuzzles", snapshot.totalPuzzles());
+        obj.put("remainingSeconds", snapshot.remaining().getSeconds());
+        obj.put("currentRoomId", snapshot.currentRoom() == null ? null : snapshot.currentRoom().getId().toString());
+        Puzzle next = snapshot.nextPuzzle();
+        if (next != null) {
+            Map<String, Object> puzzle = new LinkedHashMap<>();
+            puzzle.put("id", next.getId().toString());
+            puzzle.put("name", next.getName());
+            puzzle.put("description", next.getDescription());
+            puzzle.put("type", next.getType().name());
+            obj.put("nextPuzzle", puzzle);
+        }
+        return obj;
+    }
+
+    private static Optional<Map<?, ?>> readBody(HttpExchange exchange) throws IOException {
+        try (Reader reader = new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+            Object parsed = new JSONParser().parse(reader);
+            return parsed instanceof Map<?, ?> obj ? Optional.of(obj) : Optional.empty();
+        } catch (ParseException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<UUID> parseId(Object value) {
+        if (!(value instanceof String text)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(UUID.fromString(text));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, Map.of("error", message));
+    }
+
+    private static void send(HttpExchange exchange, int status, Map<String, ?> body) throws IOException {
+        byte[] bytes = JSONValue.toJSONString(body).getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
@@ -96,8 +96,8 @@ public abstract class BasePuzzleController implements SceneBindable {
         String answer = answerField.getText();
         boolean correct = puzzle.isCorrectAnswer(answer);
         if (correct) {
-            puzzle.markSolved();
-            ProgressSaver.recordSolved(puzzleLegacyId);
+            ProgressSaver.recordSolved(puzzleLegacyId).whenCompleteAsync(this::reportSaveResult,
+                    PersistenceWorker.FX_THREAD);
             InventoryManager.addItemForPuzzle(puzzleLegacyId);
             refreshInventoryUI();
             completionAction.run();
@@ -107,6 +107,12 @@ public abstract class BasePuzzleController implements SceneBindable {
         return correct;
     }
 
+    private void reportSaveResult(Boolean saved, Throwable error) {
+        if (error != null || Boolean.FALSE.equals(saved)) {
+            showFeedback("Correct! (progress could not be saved)");
+        }
+    }
+
     private void disableAnswerInput() {
         if (answerField != null) {
             answerField.setDisable(true);
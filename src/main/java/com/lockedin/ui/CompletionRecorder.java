@@ -1,47 +1,42 @@
 package com.lockedin.ui;
 
-import com.classes.DataLoader;
-import com.classes.DataWriter;
-import com.classes.GameSystem;
+import com.classes.JournalRecord;
 import com.classes.Player;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 
 public final class CompletionRecorder {
-    private static final Path DATA_DIR = Paths.get("JSON");
 
     private CompletionRecorder() {
     }
 
     /**
      * Stops the timer and persists the remaining time to the active player's
-     * average completion time once all rooms are complete.
+     * average completion time once all rooms are complete. The timer is read
+     * on the calling thread; the save runs off the FX thread, after any solve
+     * already queued for the same player.
+     *
+     * @return future completed with {@code true} once a completion time was recorded
      */
-    public static void recordTimeIfComplete() {
+    public static CompletableFuture<Boolean> recordTimeIfComplete() {
         if (!(GameState.room1Complete && GameState.room2Complete && GameState.room3Complete)) {
-            return;
+            return CompletableFuture.completedFuture(false);
         }
         CountdownTimerManager.finalizeTimer();
         Duration remaining = CountdownTimerManager.getRemainingDuration();
         Optional<Player> activeOpt = SessionContext.getActivePlayer();
         if (activeOpt.isEmpty()) {
-            return;
+            return CompletableFuture.completedFuture(false);
         }
-        Player sessionPlayer = activeOpt.get();
-        sessionPlayer.getStatistics().setAverageCompletionTime(remaining);
-
-        DataLoader loader = new DataLoader(DATA_DIR);
-        Optional<GameSystem> systemOpt = loader.loadGame();
-        if (systemOpt.isEmpty()) {
-            return;
-        }
-        GameSystem system = systemOpt.get();
-        system.getPlayers()
-                .findById(sessionPlayer.getId())
-                .ifPresent(saved -> saved.getStatistics().setAverageCompletionTime(remaining));
-        new DataWriter(DATA_DIR).saveGame(system);
+        UUID playerId = activeOpt.get().getId();
+        return PersistenceWorker.submit(activeOpt, repository -> repository.recordFrom(
+                system -> system.getPlayers().findById(playerId)
+                        .<List<JournalRecord>>map(player -> List.of(
+                                JournalRecord.StatisticsUpdate.of(player).withAverageCompletionTime(remaining)))
+                        .orElse(List.of())));
     }
 }
@@ -1,34 +1,60 @@
 package com.lockedin.ui;
 
-import com.classes.DataLoader;
-import com.classes.DataWriter;
-import com.classes.GameSystem;
+import com.classes.GameSystemRepository;
+import com.classes.JournalRecord;
 import com.classes.Timer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
-import java.util.HashSet;
-import java.util.Optional;
-import java.util.Set;
 import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
 import javafx.scene.control.Label;
 
 /**
  * Coordinates the 15-minute countdown across screens and keeps it in sync with
  * the saved game state.
+ * <p>
+ * The countdown is saved as a small timer checkpoint in the progress journal,
+ * off the FX thread. While it runs, a checkpoint is written at most once per
+ * {@link #CHECKPOINT_INTERVAL}, so moving between screens normally writes
+ * nothing. Pausing, running out and shutting down always write one. The
+ * checkpoints reach {@code rooms.json} when the journal is compacted.
+ * </p>
+ * <p>
+ * The countdown text lives in one {@link StringProperty} that every timer
+ * label is bound to. Each tick works out the remaining whole seconds once and
+ * only touches the property when that number changed, picking the text from a
+ * prebuilt "MM:SS" table, so a tick costs the same however many screens have
+ * bound a label. Bindings hold their labels weakly, so labels of closed
+ * screens need no cleanup.
+ * </p>
  */
 public final class CountdownTimerManager {
     private static final Path DATA_DIR = Paths.get("JSON");
     private static final Duration DEFAULT_DURATION = Duration.ofMinutes(15);
     private static final Object LOCK = new Object();
+    private static final Object CHECKPOINT_KEY = new Object();
+    /** Longest stretch of a running countdown that a crash can lose. */
+    static final Duration CHECKPOINT_INTERVAL = Duration.ofSeconds(30);
 
     private static Timer timer;
     private static boolean initialized;
     private static Timeline ticker;
-    private static final Set<Label> boundLabels = new HashSet<>();
+    // Every "MM:SS" text from 00:00 to 99:59, indexed by remaining seconds.
+    private static final String[] CLOCK_TEXT = buildClockText();
+    private static final StringProperty display = new SimpleStringProperty(format(DEFAULT_DURATION.getSeconds()));
+    // Seconds currently shown; only read and written on the FX thread.
+    private static long shownSeconds = DEFAULT_DURATION.getSeconds();
+    // What the last checkpoint wrote, and when (System.nanoTime); guarded by LOCK.
+    private static boolean checkpointed;
+    private static long lastCheckpointAt;
+    private static long lastTotalNanos;
+    private static long lastRemainingNanos;
 
     private CountdownTimerManager() {
     }
@@ -42,8 +68,8 @@ public final class CountdownTimerManager {
         if (label == null) {
             return;
         }
-        synchronized (LOCK) {
-            boundLabels.add(label);
+        if (!label.textProperty().isBound()) {
+            label.textProperty().bind(display);
         }
         refreshDisplay();
     }
@@ -63,12 +89,12 @@ public final class CountdownTimerManager {
                 timer.reset();
                 initialized = true;
             }
-            if (!timer.isRunning() && !timer.getRemaining().isZero()) {
+            if (!timer.isRunning() && timer.getRemainingNanos() != 0) {
                 timer.start();
             }
             ensureTickerRunning();
-            persistTimer();
         }
+        checkpoint(false);
         refreshDisplay();
     }
 
@@ -84,8 +110,8 @@ public final class CountdownTimerManager {
                 timer.pause();
             }
             stopTickerIfIdle();
-            persistTimer();
         }
+        checkpoint(true);
         refreshDisplay();
     }
 
@@ -97,30 +123,41 @@ public final class CountdownTimerManager {
         pauseAndPersist();
     }
 
+    /**
+     * @return the countdown text shown by every bound label
+     */
+    public static ReadOnlyStringProperty displayProperty() {
+        return display;
+    }
+
     /**
      * Forces bound labels to update to the latest remaining time.
      */
     public static void refreshDisplay() {
-        Duration remaining;
+        long remainingSeconds;
         synchronized (LOCK) {
             if (timer == null) {
-                remaining = DEFAULT_DURATION;
+                remainingSeconds = DEFAULT_DURATION.getSeconds();
             } else {
-                remaining = timer.getRemaining();
-                if (!initialized && remaining.isZero()) {
-                    remaining = timer.getTotalTime().isZero() ? DEFAULT_DURATION : timer.getTotalTime();
+                long remainingNanos = timer.getRemainingNanos();
+                if (!initialized && remainingNanos == 0) {
+                    remainingNanos = timer.getTotalNanos() == 0 ? DEFAULT_DURATION.toNanos() : timer.getTotalNanos();
                 }
+                remainingSeconds = Math.max(0, remainingNanos / 1_000_000_000L);
             }
         }
-        String text = format(remaining);
-        Platform.runLater(() -> {
-            synchronized (LOCK) {
-                boundLabels.removeIf(label -> label.getScene() == null);
-                for (Label label : boundLabels) {
-                    label.setText(text);
-                }
-            }
-        });
+        if (Platform.isFxApplicationThread()) {
+            show(remainingSeconds);
+        } else {
+            Platform.runLater(() -> show(remainingSeconds));
+        }
+    }
+
+    private static void show(long remainingSeconds) {
+        if (remainingSeconds != shownSeconds) {
+            shownSeconds = remainingSeconds;
+            display.set(format(remainingSeconds));
+        }
     }
 
     /**
@@ -147,9 +184,17 @@ public final class CountdownTimerManager {
         if (timer != null) {
             return;
         }
-        DataLoader loader = new DataLoader(DATA_DIR);
-        Optional<GameSystem> systemOpt = loader.loadGame();
-        timer = systemOpt.map(GameSystem::getTimer).orElseGet(Timer::new);
+        // Work on a private copy so ticking never touches the shared game system directly.
+        timer = GameSystemRepository.forDirectory(DATA_DIR)
+                .read(system -> copyOf(system.getTimer()))
+                .orElseGet(Timer::new);
+    }
+
+    private static Timer copyOf(Timer source) {
+        Timer copy = new Timer();
+        copy.setTotalTime(source.getTotalTime());
+        copy.setRemaining(source.getRemaining());
+        return copy;
     }
 
     private static void ensureTickerRunning() {
@@ -163,20 +208,18 @@ public final class CountdownTimerManager {
     }
 
     private static void handleTick() {
-        boolean shouldPersist = false;
+        boolean expired = false;
         synchronized (LOCK) {
             if (timer == null) {
                 return;
             }
-            if (timer.isRunning() && timer.getRemaining().isZero()) {
+            if (timer.isRunning() && timer.getRemainingNanos() == 0) {
                 timer.pause();
-                shouldPersist = true;
+                expired = true;
             }
             stopTickerIfIdle();
         }
-        if (shouldPersist) {
-            persistTimer();
-        }
+        checkpoint(expired);
         refreshDisplay();
     }
 
@@ -186,29 +229,57 @@ public final class CountdownTimerManager {
         }
     }
 
-    private static void persistTimer() {
-        DataLoader loader = new DataLoader(DATA_DIR);
-        Optional<GameSystem> systemOpt = loader.loadGame();
-        if (systemOpt.isEmpty()) {
-            return;
-        }
-        GameSystem system = systemOpt.get();
-        Timer target = system.getTimer();
-        if (target == null) {
-            target = new Timer();
-            system.setTimer(target);
-        }
+    /**
+     * Queues a timer checkpoint when the countdown changed since the last one
+     * and either {@code force} is set or the last one is older than
+     * {@link #CHECKPOINT_INTERVAL}.
+     */
+    private static void checkpoint(boolean force) {
+        long totalNanos;
+        long remainingNanos;
         synchronized (LOCK) {
-            target.setTotalTime(timer.getTotalTime());
-            target.setRemaining(timer.getRemaining());
+            if (timer == null) {
+                return;
+            }
+            totalNanos = timer.getTotalNanos();
+            remainingNanos = timer.getRemainingNanos();
+            long now = System.nanoTime();
+            if (checkpointed && totalNanos == lastTotalNanos && remainingNanos == lastRemainingNanos) {
+                return;
+            }
+            if (!force && checkpointed && now - lastCheckpointAt < CHECKPOINT_INTERVAL.toNanos()) {
+                return;
+            }
+            checkpointed = true;
+            lastCheckpointAt = now;
+            lastTotalNanos = totalNanos;
+            lastRemainingNanos = remainingNanos;
         }
-        new DataWriter(DATA_DIR).saveGame(system);
+        JournalRecord record = new JournalRecord.TimerCheckpoint(Duration.ofNanos(totalNanos),
+                Duration.ofNanos(remainingNanos));
+        PersistenceWorker.submit(CHECKPOINT_KEY, repository -> repository.record(record));
     }
 
-    private static String format(Duration duration) {
-        long seconds = Math.max(0, duration.getSeconds());
-        long minutes = seconds / 60;
-        long secs = seconds % 60;
-        return String.format("%02d:%02d", minutes, secs);
+    private static String format(long seconds) {
+        if (seconds < CLOCK_TEXT.length) {
+            return CLOCK_TEXT[(int) seconds];
+        }
+        return String.format("%02d:%02d", seconds / 60, seconds % 60);
+    }
+
+    private static String[] buildClockText() {
+        String[] text = new String[100 * 60];
+        char[] digits = new char[5];
+        digits[2] = ':';
+        for (int seconds = 0; seconds < text.length; seconds++) {
+            int minutes = seconds / 60;
+            int secs = seconds % 60;
+            digits[0] = (char) ('0' + minutes / 10);
+            digits[1] = (char) ('0' + minutes % 10);
+            digits[3] = (char) ('0' + secs / 10);
+            digits[4] = (char) ('0' + secs % 10);
+            text[seconds] = new String(digits);
+        }
+        return text;
     }
 }
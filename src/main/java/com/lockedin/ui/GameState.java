@@ -89,7 +89,7 @@ public final class GameState {
         if (system == null || activePlayer == null) {
             return;
         }
-        var solved = new java.util.HashSet<java.util.UUID>(activePlayer.getSolvedPuzzleIds());
+        var solved = activePlayer.getSolvedPuzzleIds();
         var solvedLegacyIds = new java.util.ArrayList<Long>();
 
         applyIfSolved(system, solved, 301L, GameState::completeRoom1Puzzle1);
@@ -1,29 +1,40 @@
 package com.lockedin.ui;
 
-import com.classes.DataLoader;
-import com.classes.GameSystem;
-import com.classes.Player;
+import com.classes.GameSystemRepository;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Comparator;
 import java.util.Collections;
 import java.util.List;
-import java.util.Optional;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 
 /**
- * Controller that fills the leaderboard screen with the top three scores.
+ * Controller that fills the leaderboard screen with the top scores, three ranks per page.
+ * <p>
+ * The ranking is maintained by the shared player list as scores change, so
+ * opening the screen or turning a page only reads the ranks it shows.
+ * </p>
  */
 public class LeaderboardController {
+    private static final Path DATA_DIR = Paths.get("JSON");
+    private static final int PAGE_SIZE = 3;
 
     @FXML
     private Label leaderboardLabel;
 
+    @FXML
+    private Button previousPageButton;
+
+    @FXML
+    private Button nextPageButton;
+
+    private int page;
+
     @FXML
     public void initialize() {
-        populateTopThree();
+        showPage(0);
     }
 
     @FXML
@@ -31,45 +42,77 @@ public class LeaderboardController {
         SceneNavigator.back(event);
     }
 
-    private void populateTopThree() {
-        List<Player> topThree = loadTopThreePlayers();
-        if (topThree.isEmpty()) {
+    @FXML
+    private void handlePreviousPage(ActionEvent event) {
+        if (page > 0) {
+            showPage(page - 1);
+        }
+    }
+
+    @FXML
+    private void handleNextPage(ActionEvent event) {
+        showPage(page + 1);
+    }
+
+    private void showPage(int requestedPage) {
+        List<String> ranked = loadPage(requestedPage);
+        if (ranked.isEmpty() && requestedPage > 0) {
+            // Ran off the end of the board; stay on the last page that had players.
+            setPagingEnabled(page > 0, false);
+            return;
+        }
+        page = requestedPage;
+        if (ranked.isEmpty()) {
             leaderboardLabel.setText("No scores available yet.");
+            setPagingEnabled(false, false);
             return;
         }
 
-        String[] positions = {"1st", "2nd", "3rd"};
         StringBuilder text = new StringBuilder();
-        for (int i = 0; i < positions.length; i++) {
+        int firstRank = page * PAGE_SIZE + 1;
+        for (int i = 0; i < PAGE_SIZE; i++) {
             if (i > 0) {
                 text.append("\n\n");
             }
-            text.append(positions[i]).append(": ");
-            if (i < topThree.size()) {
-                Player player = topThree.get(i);
-                text.append(player.getName())
-                        .append(" - ")
-                        .append(player.getCurrentScore())
-                        .append(" points");
+            text.append(ordinal(firstRank + i)).append(": ");
+            if (i < ranked.size()) {
+                text.append(ranked.get(i));
             } else {
                 text.append("N/A");
             }
         }
         leaderboardLabel.setText(text.toString());
+        setPagingEnabled(page > 0, ranked.size() == PAGE_SIZE && !loadPage(page + 1).isEmpty());
     }
 
-    private List<Player> loadTopThreePlayers() {
-        Path dataDir = Paths.get("JSON");
-        DataLoader loader = new DataLoader(dataDir);
-        Optional<GameSystem> systemOpt = loader.loadGame();
-        if (systemOpt.isEmpty()) {
-            return Collections.emptyList();
+    private List<String> loadPage(int pageNumber) {
+        // Format under the read lock; saves update scores from a background thread.
+        return GameSystemRepository.forDirectory(DATA_DIR)
+                .read(system -> system.getPlayers().getScorePage(pageNumber, PAGE_SIZE).stream()
+                        .map(player -> player.getName() + " - " + player.getCurrentScore() + " points")
+                        .toList())
+                .orElse(Collections.emptyList());
+    }
+
+    private void setPagingEnabled(boolean previous, boolean next) {
+        if (previousPageButton != null) {
+            previousPageButton.setDisable(!previous);
+        }
+        if (nextPageButton != null) {
+            nextPageButton.setDisable(!next);
         }
+    }
 
-        return systemOpt.get().getPlayers().asList().stream()
-                .sorted(Comparator.comparingInt(Player::getCurrentScore).reversed()
-                        .thenComparing(Player::getName, String.CASE_INSENSITIVE_ORDER))
-                .limit(3)
-                .toList();
+    private static String ordinal(int rank) {
+        int lastTwo = rank % 100;
+        if (lastTwo >= 11 && lastTwo <= 13) {
+            return rank + "th";
+        }
+        return switch (rank % 10) {
+            case 1 -> rank + "st";
+            case 2 -> rank + "nd";
+            case 3 -> rank + "rd";
+            default -> rank + "th";
+        };
     }
 }
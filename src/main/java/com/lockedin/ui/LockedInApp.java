@@ -1,5 +1,6 @@
 package com.lockedin.ui;
 
+import com.classes.GameSystemRepository;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -7,6 +8,7 @@ import javafx.stage.Stage;
 
 import java.net.URL;
 import java.io.IOException;
+import java.nio.file.Paths;
 
 public class LockedInApp extends Application {
 
@@ -27,6 +29,14 @@ public class LockedInApp extends Application {
         stage.show();
     }
 
+    @Override
+    public void stop() {
+        // Make sure background saves are on disk, the journal is folded in and the startup snapshot is current.
+        CountdownTimerManager.finalizeTimer();
+        PersistenceWorker.awaitIdle();
+        GameSystemRepository.forDirectory(Paths.get("JSON")).checkpoint();
+    }
+
     public static void applyGlobalStyles(Scene scene) {
         URL stylesheet = LockedInApp.class.getResource(GLOBAL_STYLESHEET);
         if (stylesheet != null) {
@@ -1,5 +1,7 @@
 package com.lockedin.ui;
 
+import com.classes.GameSystemRepository;
+import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.Optional;
 import javafx.application.Platform;
@@ -47,6 +49,7 @@ public class LogOutController implements SceneBindable {
 
     private void handleQuit(ActionEvent event) {
         CountdownTimerManager.finalizeTimer();
+        GameSystemRepository.forDirectory(Paths.get("JSON")).flush();
         Platform.exit();
     }
 
@@ -60,20 +63,23 @@ public class LogOutController implements SceneBindable {
     }
 
     private void populateStats() {
-        Optional<com.classes.Player> activeOpt = SessionContext.getActivePlayer();
-        if (activeOpt.isEmpty()) {
+        record Stats(String name, int score, int puzzles, Duration averageTime) {
+        }
+        Optional<Stats> statsOpt = SessionContext.readActivePlayer(player -> new Stats(player.getName(),
+                player.getCurrentScore(), player.getSolvedPuzzleIds().size(),
+                player.getStatistics().getAverageCompletionTime()));
+        if (statsOpt.isEmpty()) {
             setText(playerValueLabel, "Player: Unknown");
             setText(timeValueLabel, "Time: --:--:--");
             setText(pointsValueLabel, "Points: 0");
             setText(puzzlesValueLabel, "Puzzles: 0");
             return;
         }
-        com.classes.Player player = activeOpt.get();
-        setText(playerValueLabel, "Player: " + player.getName());
-        setText(pointsValueLabel, "Points: " + player.getCurrentScore());
-        setText(puzzlesValueLabel, "Puzzles: " + player.getSolvedPuzzleIds().size());
-        Duration avg = player.getStatistics().getAverageCompletionTime();
-        setText(timeValueLabel, "Time: " + formatDuration(avg));
+        Stats stats = statsOpt.get();
+        setText(playerValueLabel, "Player: " + stats.name());
+        setText(pointsValueLabel, "Points: " + stats.score());
+        setText(puzzlesValueLabel, "Puzzles: " + stats.puzzles());
+        setText(timeValueLabel, "Time: " + formatDuration(stats.averageTime()));
     }
 
     private void setText(Label label, String value) {
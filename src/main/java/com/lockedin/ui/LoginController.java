@@ -1,7 +1,6 @@
 package com.lockedin.ui;
 
-import com.classes.DataLoader;
-import com.classes.GameSystem;
+import com.classes.GameSystemRepository;
 import com.classes.Player;
 import com.classes.PlayerList;
 import java.nio.file.Path;
@@ -18,6 +17,7 @@ import javafx.scene.control.TextField;
  * validates against users.json.
  */
 public class LoginController {
+    private static final Path DATA_DIR = Paths.get("JSON");
 
     @FXML
     private TextField nameField;
@@ -39,22 +39,24 @@ public class LoginController {
             return;
         }
 
-        Path dataDir = Paths.get("JSON");
-        DataLoader loader = new DataLoader(dataDir);
-        Optional<GameSystem> systemOpt = loader.loadGame();
-        if (systemOpt.isEmpty()) {
+        GameSystemRepository repository = GameSystemRepository.forDirectory(DATA_DIR);
+        if (!repository.load()) {
             errorLabel.setText("Unable to load user data.");
             return;
         }
 
-        Optional<Player> user = findUser(systemOpt.get().getPlayers(), name, email);
+        Optional<Player> user = repository.read(system -> findUser(system.getPlayers(), name, email)
+                .map(found -> {
+                    GameState.syncFrom(system, found);
+                    return found;
+                })
+                .orElse(null));
         if (user.isEmpty()) {
             errorLabel.setText("User not found.");
             return;
         }
 
         SessionContext.setActivePlayer(user.get());
-        GameState.syncFrom(systemOpt.get(), user.get());
         // Successful login: navigate to the Welcome Back screen.
         SceneNavigator.switchTo(event, "/com/ourgroup1/WelcomeBackScreen.fxml");
     }
@@ -1,8 +1,8 @@
 package com.lockedin.ui;
 
-import com.classes.DataLoader;
-import com.classes.DataWriter;
+import com.classes.GameSection;
 import com.classes.GameSystem;
+import com.classes.GameSystemRepository;
 import com.classes.Puzzle;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -16,6 +16,7 @@ import javafx.scene.control.Button;
  * Handles routing from the pause screen buttons.
  */
 public class PauseController implements SceneBindable {
+    private static final Path DATA_DIR = Paths.get("JSON");
 
     @Override
     public void onSceneLoaded(Parent root) {
@@ -45,6 +46,7 @@ public class PauseController implements SceneBindable {
     private void handleQuitGame(ActionEvent event) {
         CountdownTimerManager.finalizeTimer();
         saveProgress();
+        GameSystemRepository.forDirectory(DATA_DIR).flush();
         Platform.exit();
     }
 
@@ -62,14 +64,11 @@ public class PauseController implements SceneBindable {
     }
 
     private void saveProgress() {
-        Path dataDir = Paths.get("JSON");
-        DataLoader loader = new DataLoader(dataDir);
-        Optional<GameSystem> systemOpt = loader.loadGame();
-        if (systemOpt.isEmpty()) {
-            return;
-        }
+        GameSystemRepository.forDirectory(DATA_DIR).update(this::markCompletedPuzzles);
+    }
 
-        GameSystem system = systemOpt.get();
+    private void markCompletedPuzzles(GameSystem system) {
+        system.markDirty(GameSection.ROOMS);
         if (GameState.room1Puzzle1Done) {
             markSolved(system, 301L);
         }
@@ -88,9 +87,6 @@ public class PauseController implements SceneBindable {
         if (GameState.room3Puzzle2Done) {
             markSolved(system, 306L);
         }
-
-        DataWriter writer = new DataWriter(dataDir);
-        writer.saveGame(system);
     }
 
     private void markSolved(GameSystem system, Long legacyPuzzleId) {
@@ -104,8 +100,7 @@ public class PauseController implements SceneBindable {
             return;
         }
         Puzzle puzzle = puzzleOpt.get();
-        puzzle.markSolved();
         system.getProgress().markPuzzleSolved(puzzle.getId());
-        SessionContext.getActivePlayer().ifPresent(player -> player.markPuzzleSolved(puzzle.getId()));
+        SessionContext.findActivePlayer(system).ifPresent(player -> player.markPuzzleSolved(puzzle.getId()));
     }
 }
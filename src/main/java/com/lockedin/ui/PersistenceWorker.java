@@ -0,0 +1,65 @@
+package com.lockedin.ui;
+
+import com.classes.GameSystemRepository;
+import com.classes.OrderedExecutor;
+import com.classes.Player;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import javafx.application.Platform;
+
+/**
+ * Keeps saves triggered from the screens off the JavaFX application thread.
+ * Work for one player runs in the order it was submitted, so a solve is on
+ * disk before the completion time that follows it. Continuations that touch
+ * the UI go through {@link #FX_THREAD}.
+ * <p>
+ * Jobs run next to the FX thread and each other, so they are handed the
+ * repository rather than any model object: every change has to go through a
+ * repository method that takes its lock, such as
+ * {@link GameSystemRepository#recordFrom}. A job must not keep or mutate a
+ * {@link Player} or anything else obtained from a read.
+ * </p>
+ */
+final class PersistenceWorker {
+    /** Runs continuations on the JavaFX application thread. */
+    static final Executor FX_THREAD = Platform::runLater;
+
+    // Saves end up in one repository lock, so a couple of threads is plenty.
+    private static final OrderedExecutor EXECUTOR = new OrderedExecutor("ui-persistence", 2);
+    private static final Object GUEST = new Object();
+    private static final Duration SHUTDOWN_WAIT = Duration.ofSeconds(5);
+    private static final Path DATA_DIR = Paths.get("JSON");
+
+    private PersistenceWorker() {
+    }
+
+    /**
+     * @param player player the work belongs to; empty for a guest session. Only its id is kept.
+     * @param task   work to run off the FX thread against the shared repository
+     * @return future for the task's result
+     */
+    static <T> CompletableFuture<T> submit(Optional<Player> player, Function<GameSystemRepository, T> task) {
+        return submit(player.<Object>map(Player::getId).orElse(GUEST), task);
+    }
+
+    /**
+     * @param key  ordering key for work that belongs to no player
+     * @param task work to run off the FX thread against the shared repository
+     * @return future for the task's result
+     */
+    static <T> CompletableFuture<T> submit(Object key, Function<GameSystemRepository, T> task) {
+        return EXECUTOR.submit(key, () -> task.apply(GameSystemRepository.forDirectory(DATA_DIR)));
+    }
+
+    /**
+     * Waits a few seconds for queued saves; called before the final flush on exit.
+     */
+    static boolean awaitIdle() {
+        return EXECUTOR.awaitIdle(SHUTDOWN_WAIT);
+    }
+}
@@ -43,9 +43,8 @@ public final class ProgressNavigator {
     }
 
     private static boolean isPuzzleSolved(long puzzleLegacyId) {
-        return SessionContext.getActivePlayer()
-                .flatMap(player -> PuzzleProvider.findPuzzleByLegacyId(puzzleLegacyId)
-                        .map(p -> player.getSolvedPuzzleIds().contains(p.getId())))
+        return PuzzleProvider.findPuzzleByLegacyId(puzzleLegacyId)
+                .flatMap(p -> SessionContext.readActivePlayer(player -> player.getSolvedPuzzleIds().contains(p.getId())))
                 .orElse(false);
     }
 }
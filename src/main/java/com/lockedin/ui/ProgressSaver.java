@@ -1,13 +1,16 @@
 package com.lockedin.ui;
 
-import com.classes.DataLoader;
-import com.classes.DataWriter;
-import com.classes.GameSystem;
+import com.classes.GameSystemRepository;
+import com.classes.JournalRecord;
 import com.classes.Player;
 import com.classes.Puzzle;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public final class ProgressSaver {
     private static final Path DATA_DIR = Paths.get("JSON");
@@ -17,75 +20,71 @@ public final class ProgressSaver {
     private ProgressSaver() {
     }
 
-    public static void recordSolved(Long puzzleLegacyId) {
+    /**
+     * Records a solve off the FX thread. The session player is captured now,
+     * so logging out before the save runs does not move it to someone else.
+     *
+     * @param puzzleLegacyId legacy id of the solved puzzle
+     * @return future completed with {@code true} once the solve is recorded
+     */
+    public static CompletableFuture<Boolean> recordSolved(Long puzzleLegacyId) {
         if (puzzleLegacyId == null) {
-            return;
+            return CompletableFuture.completedFuture(false);
         }
-        DataLoader loader = new DataLoader(DATA_DIR);
-        Optional<GameSystem> systemOpt = loader.loadGame();
-        if (systemOpt.isEmpty()) {
-            return;
-        }
-
-        GameSystem system = systemOpt.get();
-        Optional<Puzzle> puzzleOpt = system.getPuzzles().asList().stream()
-                .filter(p -> puzzleLegacyId.equals(p.getLegacyId()))
-                .findFirst();
-        if (puzzleOpt.isEmpty()) {
-            return;
-        }
-
-        Puzzle puzzle = puzzleOpt.get();
-        puzzle.markSolved();
-        system.getProgress().markPuzzleSolved(puzzle.getId());
-
         Optional<Player> activePlayer = SessionContext.getActivePlayer();
-        activePlayer.ifPresent(player -> {
-            player.markPuzzleSolved(puzzle.getId());
-            system.getPlayers().findById(player.getId()).ifPresent(p -> p.markPuzzleSolved(puzzle.getId()));
-            applyScoreDelta(system, player, POINTS_PER_PUZZLE);
-        });
+        UUID playerId = activePlayer.map(Player::getId).orElse(null);
+        CompletableFuture<Boolean> saved = PersistenceWorker.submit(activePlayer,
+                repository -> writeSolved(repository, puzzleLegacyId, playerId));
+        activePlayer.ifPresent(player -> saved.thenAcceptAsync(recorded -> {
+            if (recorded) {
+                GameSystemRepository.forDirectory(DATA_DIR).read(system -> {
+                    SessionContext.findActivePlayer(system).ifPresent(current -> GameState.syncFrom(system, current));
+                    return Boolean.TRUE;
+                });
+            }
+        }, PersistenceWorker.FX_THREAD));
+        return saved;
+    }
 
-        DataWriter writer = new DataWriter(DATA_DIR);
-        if (writer.saveGame(system)) {
-            activePlayer.ifPresent(player -> GameState.syncFrom(system, player));
-        }
+    private static boolean writeSolved(GameSystemRepository repository, Long puzzleLegacyId, UUID playerId) {
+        // Build the records under the repository's write lock so the resulting score is read and
+        // applied in one step; the shared Player is only ever changed by the records themselves.
+        return repository.recordFrom(system -> {
+            Optional<UUID> puzzleId = system.getPuzzles().asList().stream()
+                    .filter(p -> puzzleLegacyId.equals(p.getLegacyId()))
+                    .findFirst()
+                    .map(Puzzle::getId);
+            if (puzzleId.isEmpty()) {
+                return List.of();
+            }
+            List<JournalRecord> records = new ArrayList<>(2);
+            records.add(new JournalRecord.Solve(playerId, puzzleId.get()));
+            if (playerId != null) {
+                system.getPlayers().findById(playerId).ifPresent(player -> records.add(new JournalRecord.ScoreDelta(
+                        playerId, POINTS_PER_PUZZLE, player.getCurrentScore() + POINTS_PER_PUZZLE)));
+            }
+            return records;
+        });
     }
 
-    public static void recordHintUsed(Long puzzleLegacyId) {
+    /**
+     * Applies the hint penalty to the session player and records it off the FX thread.
+     *
+     * @param puzzleLegacyId legacy id of the puzzle whose hint was shown
+     * @return future completed with {@code true} once the penalty is recorded
+     */
+    public static CompletableFuture<Boolean> recordHintUsed(Long puzzleLegacyId) {
         // Penalty should only apply when a hint is actually requested.
         Optional<Player> activePlayer = SessionContext.getActivePlayer();
         if (activePlayer.isEmpty()) {
-            return;
+            return CompletableFuture.completedFuture(false);
         }
 
-        Player sessionPlayer = activePlayer.get();
-        sessionPlayer.addScore(-HINT_PENALTY);
-
-        DataLoader loader = new DataLoader(DATA_DIR);
-        Optional<GameSystem> systemOpt = loader.loadGame();
-        if (systemOpt.isEmpty()) {
-            return;
-        }
-        GameSystem system = systemOpt.get();
-        applyScoreDeltaToSaved(system, sessionPlayer, -HINT_PENALTY);
-        new DataWriter(DATA_DIR).saveGame(system);
-    }
-
-    private static void applyScoreDelta(GameSystem system, Player sessionPlayer, int delta) {
-        if (delta == 0 || sessionPlayer == null) {
-            return;
-        }
-        sessionPlayer.addScore(delta);
-        applyScoreDeltaToSaved(system, sessionPlayer, delta);
-    }
-
-    private static void applyScoreDeltaToSaved(GameSystem system, Player sessionPlayer, int delta) {
-        if (delta == 0 || system == null || sessionPlayer == null) {
-            return;
-        }
-        system.getPlayers()
-                .findById(sessionPlayer.getId())
-                .ifPresent(savedPlayer -> savedPlayer.addScore(delta));
+        UUID playerId = activePlayer.get().getId();
+        return PersistenceWorker.submit(activePlayer, repository -> repository.recordFrom(
+                system -> system.getPlayers().findById(playerId)
+                        .<List<JournalRecord>>map(player -> List.of(new JournalRecord.HintPenalty(
+                                playerId, HINT_PENALTY, player.getCurrentScore() - HINT_PENALTY)))
+                        .orElse(List.of())));
     }
 }
@@ -1,20 +1,18 @@
 package com.lockedin.ui;
 
-import com.classes.DataLoader;
-import com.classes.GameSystem;
+import com.classes.ContentCache;
 import com.classes.Puzzle;
-import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Optional;
 
+/**
+ * Looks up puzzle definitions for the UI straight from {@code rooms.json}
+ * through the shared {@link ContentCache}, so only the puzzles a player
+ * actually opens are ever built, and edits to the file are picked up without
+ * a restart.
+ */
 public final class PuzzleProvider {
-    private static final Path DATA_DIR = Paths.get("JSON");
-    private static final Object LOCK = new Object();
-
-    private static Map<Long, Puzzle> puzzlesByLegacyId;
+    private static final ContentCache CONTENT = ContentCache.forDirectory(Paths.get("JSON"));
 
     private PuzzleProvider() {
     }
@@ -29,30 +27,6 @@ public final class PuzzleProvider {
         if (legacyId == null) {
             return Optional.empty();
         }
-        synchronized (LOCK) {
-            ensureLoaded();
-            Puzzle puzzle = puzzlesByLegacyId.get(legacyId);
-            return Optional.ofNullable(puzzle);
-        }
-    }
-
-    private static void ensureLoaded() {
-        if (puzzlesByLegacyId != null) {
-            return;
-        }
-        DataLoader loader = new DataLoader(DATA_DIR);
-        Optional<GameSystem> system = loader.loadGame();
-        if (system.isEmpty()) {
-            puzzlesByLegacyId = Collections.emptyMap();
-            return;
-        }
-        Map<Long, Puzzle> map = new HashMap<>();
-        system.get().getPuzzles().asList().forEach(puzzle -> {
-            Long id = puzzle.getLegacyId();
-            if (id != null && !map.containsKey(id)) {
-                map.put(id, puzzle);
-            }
-        });
-        puzzlesByLegacyId = map;
+        return CONTENT.findPuzzle(legacyId);
     }
 }
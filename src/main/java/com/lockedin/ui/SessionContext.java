@@ -1,13 +1,27 @@
 package com.lockedin.ui;
 
+import com.classes.GameSystem;
+import com.classes.GameSystemRepository;
 import com.classes.Player;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * Stores the active player for the current UI session so screens can make
  * routing decisions without reloading user data.
+ * <p>
+ * The active player is normally the repository's own instance, which saves
+ * update under the repository lock from a background thread. Screens read
+ * its score, solved puzzles or statistics through
+ * {@link #readActivePlayer(Function)} so they never see a change half done.
+ * The repository may replace its game system after another process saved the
+ * same files, so the player is looked up again on every read.
+ * </p>
  */
 public final class SessionContext {
+    private static final Path DATA_DIR = Paths.get("JSON");
     private static Player activePlayer;
 
     private SessionContext() {
@@ -21,8 +35,38 @@ public final class SessionContext {
         return Optional.ofNullable(activePlayer);
     }
 
+    /**
+     * Finds the active player's current instance in a game system, by id or,
+     * for a sign-up that was re-applied under a new id, by email.
+     *
+     * @param system game system to search
+     * @return the player, or empty when nobody is logged in or the player is not in the system
+     */
+    public static Optional<Player> findActivePlayer(GameSystem system) {
+        Player player = activePlayer;
+        if (player == null || system == null) {
+            return Optional.empty();
+        }
+        return system.getPlayers().findById(player.getId())
+                .or(() -> system.getPlayers().findByEmail(player.getEmail()));
+    }
+
+    /**
+     * Reads the active player under the repository's read lock.
+     *
+     * @param reader query to run; must not keep or mutate the player
+     * @return query result, or empty when nobody is logged in or the data could not be loaded
+     */
+    public static <T> Optional<T> readActivePlayer(Function<Player, ? extends T> reader) {
+        if (activePlayer == null) {
+            return Optional.empty();
+        }
+        return GameSystemRepository.forDirectory(DATA_DIR)
+                .read(system -> findActivePlayer(system).map(reader).orElse(null));
+    }
+
     public static int getSolvedPuzzleCount() {
-        return activePlayer == null ? 0 : activePlayer.getSolvedPuzzleIds().size();
+        return readActivePlayer(player -> player.getSolvedPuzzleIds().size()).orElse(0);
     }
 
     public static void clear() {
@@ -1,13 +1,10 @@
 package com.lockedin.ui;
 
-import com.classes.DataLoader;
-import com.classes.DataWriter;
-import com.classes.GameSystem;
-import com.classes.PlayerList;
+import com.classes.GameSection;
+import com.classes.GameSystemRepository;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
-import java.util.Optional;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
@@ -22,6 +19,7 @@ import javafx.scene.image.ImageView;
  * Controller for the sign-up screen that registers a new user in users.json.
  */
 public class SignUpController {
+    private static final Path DATA_DIR = Paths.get("JSON");
 
     @FXML
     private TextField nameField;
@@ -53,40 +51,39 @@ public class SignUpController {
             return;
         }
 
-        Path dataDir = Paths.get("JSON");
-        DataLoader loader = new DataLoader(dataDir);
-        Optional<GameSystem> systemOpt = loader.loadGame();
-        if (systemOpt.isEmpty()) {
+        GameSystemRepository repository = GameSystemRepository.forDirectory(DATA_DIR);
+        if (!repository.load()) {
             errorLabel.setText("Unable to load user data.");
             return;
         }
 
-        GameSystem system = systemOpt.get();
-        PlayerList players = system.getPlayers();
-        if (players.emailExists(email)) {
-            errorLabel.setText("That email already exists, try again.");
-            return;
-        }
-
         AvatarOption selectedAvatar = imageComboBox == null ? null : imageComboBox.getValue();
         String avatarId = selectedAvatar == null ? null : selectedAvatar.id();
 
         com.classes.Player newPlayer;
         try {
-            newPlayer = players.createPlayer(name, email, avatarId);
+            newPlayer = repository.updateAndGet(system -> {
+                com.classes.Player created = system.getPlayers().createPlayer(name, email, avatarId);
+                system.markDirty(GameSection.PLAYERS);
+                return created;
+            }).orElse(null);
         } catch (IllegalArgumentException e) {
             errorLabel.setText("That email already exists, try again.");
             return;
         }
 
-        DataWriter writer = new DataWriter(dataDir);
-        if (!writer.saveGame(system)) {
+        // Sign-up is rare, so wait for the new account to reach disk before moving on.
+        if (newPlayer == null || !repository.flush()) {
             errorLabel.setText("Unable to save new user.");
             return;
         }
 
         SessionContext.setActivePlayer(newPlayer);
-        GameState.syncFrom(system, newPlayer);
+        // Outside the mutation: the repository may run it again if another process saved first.
+        repository.read(system -> {
+            SessionContext.findActivePlayer(system).ifPresent(created -> GameState.syncFrom(system, created));
+            return Boolean.TRUE;
+        });
         switchToWelcomeNewUser(event);
     }
 
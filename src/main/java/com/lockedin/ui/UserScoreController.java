@@ -26,21 +26,10 @@ public class UserScoreController implements SceneBindable {
     }
 
     private void populateStats() {
-        Optional<com.classes.Player> activeOpt = SessionContext.getActivePlayer();
-        if (activeOpt.isEmpty()) {
-            setText("No active user.\n\nLog in to view your progress.");
-            return;
-        }
-        com.classes.Player player = activeOpt.get();
-
-        int score = player.getCurrentScore();
-        int puzzlesSolved = player.getSolvedPuzzleIds().size();
-        int roomsCompleted = countRoomsCompleted(player);
-
-        String text = score + " Points\n\n"
-                + roomsCompleted + " Rooms Completed\n\n"
-                + puzzlesSolved + " Puzzles Solved";
-        setText(text);
+        Optional<String> text = SessionContext.readActivePlayer(player -> player.getCurrentScore() + " Points\n\n"
+                + countRoomsCompleted(player) + " Rooms Completed\n\n"
+                + player.getSolvedPuzzleIds().size() + " Puzzles Solved");
+        setText(text.orElse("No active user.\n\nLog in to view your progress."));
     }
 
     private int countRoomsCompleted(com.classes.Player player) {
@@ -1,6 +1,6 @@
 package com.lockedin.ui;
 
-import com.classes.DataLoader;
+import com.classes.GameSystemRepository;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
@@ -38,16 +38,14 @@ public class WelcomeBackController {
     }
 
     private void populateStats() {
-        var activeOpt = SessionContext.getActivePlayer();
-        if (activeOpt.isEmpty()) {
+        Optional<Integer> puzzlesSolved = SessionContext.readActivePlayer(player -> player.getSolvedPuzzleIds().size());
+        if (puzzlesSolved.isEmpty()) {
             setText(puzzlesLabel, "Puzzles: 0");
             setText(timeLeftLabel, "Time Left: --:--:--");
             setText(inventoryItemsLabel, "");
             return;
         }
-        var player = activeOpt.get();
-        int puzzlesSolved = player.getSolvedPuzzleIds().size();
-        setText(puzzlesLabel, "Puzzles: " + puzzlesSolved);
+        setText(puzzlesLabel, "Puzzles: " + puzzlesSolved.get());
 
         Duration timeRemaining = loadSavedTimeRemaining().orElse(null);
         setText(timeLeftLabel, "Time Left: " + formatDuration(timeRemaining));
@@ -55,9 +53,8 @@ public class WelcomeBackController {
     }
 
     private Optional<Duration> loadSavedTimeRemaining() {
-        DataLoader loader = new DataLoader(DATA_DIR);
-        return loader.loadGame()
-                .map(system -> system.getTimer().getRemaining());
+        return GameSystemRepository.forDirectory(DATA_DIR)
+                .read(system -> system.getTimer().getRemaining());
     }
 
     private void setText(Label label, String value) {
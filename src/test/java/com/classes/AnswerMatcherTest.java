@@ -0,0 +1,81 @@
+package com.classes;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class AnswerMatcherTest {
+
+    @Test
+    public void ignoringCaseKeepsWhitespaceSignificant() {
+        AnswerMatcher matcher = AnswerMatcher.ignoringCase("Open Sesame");
+        assertTrue(matcher.matches("oPEN sESAME"));
+        assertFalse(matcher.matches("open  sesame"));
+        assertFalse(matcher.matches(" open sesame"));
+        assertFalse(matcher.matches("open sesam"));
+        assertFalse(matcher.matches("open sesamee"));
+    }
+
+    @Test
+    public void ignoringCaseTreatsNullAsEmpty() {
+        assertTrue(AnswerMatcher.ignoringCase("").matches(null));
+        assertTrue(AnswerMatcher.ignoringCase(null).matches(""));
+        assertFalse(AnswerMatcher.ignoringCase("x").matches(null));
+    }
+
+    @Test
+    public void collapsingWhitespaceIgnoresSpacingButNotOrder() {
+        AnswerMatcher matcher = AnswerMatcher.collapsingWhitespace(" north  east\tsouth ");
+        assertTrue(matcher.matches("North East South"));
+        assertTrue(matcher.matches("\n north \t  east south  "));
+        assertFalse(matcher.matches("northeast south"));
+        assertFalse(matcher.matches("north south east"));
+        assertFalse(matcher.matches(null));
+        assertTrue(AnswerMatcher.collapsingWhitespace("").matches("   "));
+    }
+
+    @Test
+    public void composedAndDecomposedFormsMatch() {
+        AnswerMatcher composed = AnswerMatcher.ignoringCase("caf\u00E9");
+        assertTrue(composed.matches("CAFE\u0301"));
+        assertTrue(composed.matches("CAF\u00C9"));
+        assertFalse(composed.matches("cafe"));
+        assertTrue(AnswerMatcher.ignoringCase("cafe\u0301").matches("CAF\u00C9"));
+        assertTrue(AnswerMatcher.collapsingWhitespace("caf\u00E9  au lait").matches(" CAFE\u0301 au lait"));
+    }
+
+    @Test
+    public void aliasesShareOneTrie() {
+        AnswerMatcher matcher = AnswerMatcher.ignoringCase("key", List.of("keys", "skeleton key", "KEYRING"), 0);
+        assertTrue(matcher.matches("Key"));
+        assertTrue(matcher.matches("keys"));
+        assertTrue(matcher.matches("Skeleton Key"));
+        assertTrue(matcher.matches("keyring"));
+        assertFalse(matcher.matches("ke"));
+        assertFalse(matcher.matches("keyr"));
+    }
+
+    @Test
+    public void typosWithinTheLimitAreAccepted() {
+        AnswerMatcher matcher = AnswerMatcher.ignoringCase("shadow", List.of("shadows"), 1);
+        assertTrue(matcher.matches("shadw"));
+        assertTrue(matcher.matches("shaddow"));
+        assertTrue(matcher.matches("shodow"));
+        assertTrue("a swap of neighbours is one typo", matcher.matches("shaodw"));
+        assertTrue(matcher.matches("shadowz"));
+        assertFalse(matcher.matches("shdw"));
+        assertFalse(matcher.matches("meadow"));
+        assertFalse(matcher.matches(""));
+    }
+
+    @Test
+    public void typoLimitZeroStaysExact() {
+        AnswerMatcher matcher = AnswerMatcher.ignoringCase("0420", List.of(), 0);
+        assertTrue(matcher.matches("0420"));
+        assertFalse(matcher.matches("0421"));
+        assertFalse(matcher.matches("4020"));
+    }
+}
@@ -12,7 +12,7 @@ public class CodeLockPuzzleTest {
     public void isCorrectAnswerAcceptsMatchingCodeIgnoringCase() {
         CodeLockPuzzle puzzle = new CodeLockPuzzle(
                 UUID.fromString("00000000-0000-0000-0000-000000000111"),
-                7L, "Vault", "Enter the vault code", "Gold Key", "OpenSesame", false);
+                7L, "Vault", "Enter the vault code", "Gold Key", "OpenSesame");
 
         assertTrue(puzzle.isCorrectAnswer("opensesame"));
         assertTrue(puzzle.isCorrectAnswer("OPENSESAME"));
@@ -22,7 +22,7 @@ public class CodeLockPuzzleTest {
     public void isCorrectAnswerRejectsWrongCodes() {
         CodeLockPuzzle puzzle = new CodeLockPuzzle(
                 UUID.fromString("00000000-0000-0000-0000-000000000222"),
-                null, "Safe", "Unlock the safe", "Map Fragment", "1234", false);
+                null, "Safe", "Unlock the safe", "Map Fragment", "1234");
 
         assertFalse(puzzle.isCorrectAnswer("4321"));
         assertFalse(puzzle.isCorrectAnswer("12345"));
@@ -32,7 +32,7 @@ public class CodeLockPuzzleTest {
     public void isCorrectAnswerReturnsFalseForNullInputWhenCodeNotEmpty() {
         CodeLockPuzzle puzzle = new CodeLockPuzzle(
                 UUID.fromString("00000000-0000-0000-0000-000000000333"),
-                null, "Locker", "Enter the locker code", "Documents", "ABC", false);
+                null, "Locker", "Enter the locker code", "Documents", "ABC");
 
         assertFalse(puzzle.isCorrectAnswer(null));
     }
@@ -41,7 +41,7 @@ public class CodeLockPuzzleTest {
     public void constructorReplacesNullCodeWithEmptyString() {
         CodeLockPuzzle puzzle = new CodeLockPuzzle(
                 UUID.fromString("00000000-0000-0000-0000-000000000444"),
-                null, "Door", "Default code", "Supplies", null, false);
+                null, "Door", "Default code", "Supplies", null);
 
         assertEquals("", puzzle.getCode());
         assertTrue(puzzle.isCorrectAnswer(""));
@@ -0,0 +1,111 @@
+package com.classes;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+public class ContentCacheTest {
+
+    private static final String ROOMS = """
+            {"rooms":[{"roomID":1,"puzzles":[
+              {"puzzleName":301,"type":"WRITE_IN","correctAnswer":"glow","hintID":602,
+               "hints":[{"hintID":602,"hintText":"Look to the fireplace."}]},
+              {"puzzleName":302,"type":"CODE_LOCK","code":"126","hintText":"Count the candles."},
+              {"puzzleName":303,"type":"RIDDLE","answer":"piano","hintID":604}]}],
+             "hints":[{"hintID":604,"hintText":"It has keys."}]}
+            """;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void hintsAndPuzzlesComeFromOneRead() throws Exception {
+        ContentCache cache = ContentCache.forDirectory(writeRooms("read", ROOMS));
+
+        assertEquals(Optional.of("Look to the fireplace."), cache.findHint(301));
+        assertEquals(Optional.of("Count the candles."), cache.findHint(302));
+        assertEquals(Optional.of("It has keys."), cache.findHint(303));
+        assertEquals(Long.valueOf(604), cache.puzzleHints().get(303L).hintId());
+        assertFalse(cache.findHint(999).isPresent());
+        assertTrue(cache.findPuzzle(303).orElseThrow().isCorrectAnswer("piano"));
+        assertSame(cache, ContentCache.forDirectory(temporaryFolder.getRoot().toPath().resolve("read/.")));
+    }
+
+    @Test
+    public void handEditIsSwappedInWithoutBlockingReaders() throws Exception {
+        Path directory = writeRooms("edit", ROOMS);
+        ContentCache cache = ContentCache.forDirectory(directory);
+        assertEquals(Optional.of("It has keys."), cache.findHint(303));
+
+        Path rooms = directory.resolve(DataLoader.ROOMS_FILE);
+        FileTime before = Files.getLastModifiedTime(rooms);
+        Files.writeString(rooms, ROOMS.replace("It has keys.", "Black and white."), StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(rooms, FileTime.fromMillis(before.toMillis() + 2_000));
+
+        // Until the background reload lands, readers keep the old content.
+        assertEquals(Optional.of("It has keys."), cache.findHint(303));
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!cache.findHint(303).equals(Optional.of("Black and white."))) {
+            assertTrue("Edited content was not picked up", System.nanoTime() < deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    public void saveOfTheSameContentKeepsTheLoadedPuzzles() throws Exception {
+        Path directory = writeRooms("save", ROOMS);
+        ContentCache cache = ContentCache.forDirectory(directory);
+        Puzzle before = cache.findPuzzle(301).orElseThrow();
+        GameSystem system = new DataLoader(directory).loadGame().orElseThrow();
+        system.getProgress().markPuzzleSolved(system.getPuzzles().asList().get(0).getId());
+        system.markDirty(GameSection.ROOMS);
+
+        assertTrue(new DataWriter(directory).saveGame(system));
+
+        assertSame(before, cache.findPuzzle(301).orElseThrow());
+        assertTrue(Files.readString(directory.resolve(DataLoader.ROOMS_FILE)).contains("Look to the fireplace."));
+        cache.reloadNow();
+        assertNotSame(before, cache.findPuzzle(301).orElseThrow());
+    }
+
+    @Test
+    public void saveOfDifferentPuzzlesReloadsTheContent() throws Exception {
+        Path directory = writeRooms("replace", ROOMS);
+        ContentCache cache = ContentCache.forDirectory(directory);
+        assertTrue(cache.findPuzzle(301).isPresent());
+        PuzzleCatalog replaced = cache.catalog();
+        GameSystem system = new GameSystem();
+        Room room = new Room(LegacyIds.ROOM.derive(1L), 1);
+        Puzzle puzzle = new WriteInPuzzle(LegacyIds.PUZZLE.derive(999L), 999L, "New", "", "", "door");
+        room.addPuzzle(puzzle);
+        system.getRooms().add(room);
+        system.getPuzzles().add(puzzle);
+
+        assertTrue(new DataWriter(directory).saveGame(system));
+
+        // The reload runs in the background; readers keep the old content meanwhile.
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (cache.findPuzzle(999).isEmpty()) {
+            assertTrue("Saved content was not picked up", System.nanoTime() < deadline);
+            Thread.sleep(20);
+        }
+        assertFalse(cache.findPuzzle(301).isPresent());
+        assertFalse("the replaced catalog is closed", replaced.isOpen());
+        assertTrue(cache.catalog().isOpen());
+    }
+
+    private Path writeRooms(String name, String content) throws Exception {
+        Path directory = temporaryFolder.newFolder(name).toPath();
+        Files.writeString(directory.resolve(DataLoader.ROOMS_FILE), content, StandardCharsets.UTF_8);
+        return directory;
+    }
+}
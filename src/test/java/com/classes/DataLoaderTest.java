@@ -61,6 +61,7 @@ public class DataLoaderTest {
         assertEquals(9, player.getCurrentScore());
         assertTrue(player.getSolvedPuzzleIds().contains(puzzle.getId()));
         assertEquals(2, player.getStatistics().getGamesWon());
+        assertTrue("Freshly loaded data should need no rewrite", system.getDirtySections().isEmpty());
     }
 
     @Test
@@ -14,6 +14,7 @@ import java.time.Duration;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -86,7 +87,7 @@ public class DataWriterTest {
         assertEquals(fixture.multipleChoicePuzzle.getDescription(), multipleChoiceJson.get("description"));
         assertEquals(fixture.multipleChoicePuzzle.getReward(), multipleChoiceJson.get("reward"));
         assertEquals(fixture.multipleChoicePuzzle.getType().name(), multipleChoiceJson.get("type"));
-        assertEquals(fixture.multipleChoicePuzzle.isSolved(), multipleChoiceJson.get("solved"));
+        assertEquals(fixture.gameSystem.getProgress().isPuzzleSolved(fixture.multipleChoicePuzzle), multipleChoiceJson.get("solved"));
         JSONArray optionsArray = (JSONArray) multipleChoiceJson.get("options");
         assertEquals(fixture.multipleChoicePuzzle.getOptions(), optionsArray);
         assertEquals(fixture.multipleChoicePuzzle.getCorrectOption(), multipleChoiceJson.get("correctOption"));
@@ -94,7 +95,7 @@ public class DataWriterTest {
         JSONObject sequencePuzzleJson = (JSONObject) puzzlesArray.get(1);
         assertEquals(fallbackFromUuid(fixture.sequencePuzzle.getId()), sequencePuzzleJson.get("puzzleName"));
         assertEquals(fixture.sequencePuzzle.getType().name(), sequencePuzzleJson.get("type"));
-        assertEquals(fixture.sequencePuzzle.isSolved(), sequencePuzzleJson.get("solved"));
+        assertEquals(fixture.gameSystem.getProgress().isPuzzleSolved(fixture.sequencePuzzle), sequencePuzzleJson.get("solved"));
         JSONArray sequenceArray = (JSONArray) sequencePuzzleJson.get("sequence");
         assertEquals(fixture.sequencePuzzle.getExpectedSequence(), sequenceArray);
 
@@ -139,6 +140,141 @@ public class DataWriterTest {
                 Files.exists(notDirectory.resolve("rooms.json")));
     }
 
+    @Test
+    public void saveGameSkipsRoomsFileWhenOnlyPlayersChanged() throws Exception {
+        GameSystemFixture fixture = createPopulatedGameSystem();
+        Path outputDir = temporaryFolder.newFolder("players-only").toPath();
+        DataWriter writer = new DataWriter(outputDir);
+        assertTrue(writer.saveGame(fixture.gameSystem));
+        Path roomsPath = outputDir.resolve("rooms.json");
+        Files.writeString(roomsPath, "{}", StandardCharsets.UTF_8);
+
+        fixture.player.addScore(1);
+        fixture.gameSystem.markDirty(GameSection.PLAYERS);
+        assertTrue(writer.saveGame(fixture.gameSystem));
+
+        assertEquals("{}", Files.readString(roomsPath, StandardCharsets.UTF_8));
+        JSONArray usersJson = (JSONArray) new JSONParser().parse(
+                Files.readString(outputDir.resolve("users.json"), StandardCharsets.UTF_8));
+        assertEquals(1235L, ((JSONObject) usersJson.get(0)).get("currentScore"));
+        assertTrue(fixture.gameSystem.getDirtySections().isEmpty());
+    }
+
+    @Test
+    public void saveGameReusesPuzzleHintMetadataReadOnFirstSave() throws Exception {
+        GameSystemFixture fixture = createPopulatedGameSystem();
+        Path outputDir = temporaryFolder.newFolder("hint-cache").toPath();
+        Path roomsPath = outputDir.resolve("rooms.json");
+        Files.writeString(roomsPath, "{\"rooms\":[{\"puzzles\":[{\"puzzleName\":67,\"hintID\":5,"
+                + "\"hints\":[{\"hintID\":5,\"hintText\":\"Think green\"}]}]}]}", StandardCharsets.UTF_8);
+        DataWriter writer = new DataWriter(outputDir);
+        assertTrue(writer.saveGame(fixture.gameSystem));
+
+        Files.writeString(roomsPath, "not json", StandardCharsets.UTF_8);
+        fixture.gameSystem.markDirty(GameSection.ROOMS);
+        assertTrue(writer.saveGame(fixture.gameSystem));
+
+        JSONObject roomsJson = (JSONObject) new JSONParser().parse(
+                Files.readString(roomsPath, StandardCharsets.UTF_8));
+        JSONObject room = (JSONObject) ((JSONArray) roomsJson.get("rooms")).get(0);
+        JSONObject puzzle = (JSONObject) ((JSONArray) room.get("puzzles")).get(0);
+        assertEquals(5L, puzzle.get("hintID"));
+        JSONObject hint = (JSONObject) ((JSONArray) puzzle.get("hints")).get(0);
+        assertEquals("Think green", hint.get("hintText"));
+        assertEquals(2, ((JSONArray) roomsJson.get("hints")).size());
+    }
+
+    @Test
+    public void saveGameRoundTripsAcceptedAnswersAndTypoAllowance() throws Exception {
+        GameSystem system = new GameSystem();
+        Room room = new Room(UUID.randomUUID(), 4);
+        RiddlePuzzle riddle = new RiddlePuzzle(UUID.randomUUID(), 404L, "Riddle", "Think", "", "What walks?",
+                "man", List.of("a man", "human"), 1);
+        WriteInPuzzle plain = new WriteInPuzzle(UUID.randomUUID(), 405L, "Word", "Write", "", "door");
+        room.addPuzzle(riddle);
+        room.addPuzzle(plain);
+        system.getRooms().add(room);
+        system.getPuzzles().add(riddle);
+        system.getPuzzles().add(plain);
+        Path outputDir = temporaryFolder.newFolder("aliases").toPath();
+        assertTrue(new DataWriter(outputDir).saveGame(system));
+
+        String roomsJson = Files.readString(outputDir.resolve("rooms.json"), StandardCharsets.UTF_8);
+        assertEquals("Puzzles without aliases keep their old fields", 1, roomsJson.split("acceptedAnswers", -1).length - 1);
+        GameSystem loaded = new DataLoader(outputDir).loadGame().orElseThrow();
+        RiddlePuzzle restored = (RiddlePuzzle) loaded.getPuzzles().asList().get(0);
+        assertEquals(List.of("a man", "human"), restored.getAcceptedAnswers());
+        assertEquals(1, restored.getMaxTypos());
+        assertTrue(restored.isCorrectAnswer("humna"));
+        assertEquals(0, ((WriteInPuzzle) loaded.getPuzzles().asList().get(1)).getMaxTypos());
+    }
+
+    @Test
+    public void saveGameKeepsSectionsDirtyWhenWriteFails() throws Exception {
+        Path notDirectory = temporaryFolder.newFile("blocked.tmp").toPath();
+        GameSystem system = new GameSystem();
+
+        assertFalse(new DataWriter(notDirectory).saveGame(system));
+
+        assertTrue(system.isDirty(GameSection.ROOMS));
+        assertTrue(system.isDirty(GameSection.PLAYERS));
+    }
+
+    @Test
+    public void saveGameReplacesFilesWithoutLeavingTemporaryFiles() throws Exception {
+        GameSystemFixture fixture = createPopulatedGameSystem();
+        Path outputDir = temporaryFolder.newFolder("atomic").toPath();
+        Files.writeString(outputDir.resolve("users.json"), "[]", StandardCharsets.UTF_8);
+
+        assertTrue(new DataWriter(outputDir).saveGame(fixture.gameSystem));
+
+        try (var entries = Files.list(outputDir)) {
+            assertEquals(Set.of("rooms.json", "users.json", SnapshotGeneration.FILE_NAME, SnapshotGeneration.LOCK_FILE_NAME),
+                    entries.map(path -> path.getFileName().toString()).collect(Collectors.toSet()));
+        }
+        JSONArray usersJson = (JSONArray) new JSONParser().parse(
+                Files.readString(outputDir.resolve("users.json"), StandardCharsets.UTF_8));
+        assertEquals(1, usersJson.size());
+    }
+
+    @Test
+    public void saveGameRejectsGameSystemLoadedBeforeAnotherSave() throws Exception {
+        Path outputDir = temporaryFolder.newFolder("generations").toPath();
+        assertTrue(new DataWriter(outputDir).saveGame(createPopulatedGameSystem().gameSystem));
+
+        GameSystem first = new DataLoader(outputDir).loadGame().orElseThrow();
+        GameSystem second = new DataLoader(outputDir).loadGame().orElseThrow();
+        first.getPlayers().asList().get(0).addScore(10);
+        first.markDirty(GameSection.PLAYERS);
+        assertTrue(new DataWriter(outputDir).saveGame(first));
+
+        second.getPlayers().asList().get(0).addScore(1);
+        second.markDirty(GameSection.PLAYERS);
+        assertFalse("A stale copy must not overwrite the newer save", new DataWriter(outputDir).saveGame(second));
+        assertTrue(second.isDirty(GameSection.PLAYERS));
+
+        GameSystem reloaded = new DataLoader(outputDir).loadGame().orElseThrow();
+        assertEquals(1244, reloaded.getPlayers().asList().get(0).getCurrentScore());
+        assertEquals(first.getSnapshotGeneration(), reloaded.getSnapshotGeneration());
+    }
+
+    @Test
+    public void saveReportsStaleWhenAnotherProcessSavedTheDirectory() throws Exception {
+        Path outputDir = temporaryFolder.newFolder("other-process").toPath();
+        assertTrue(new DataWriter(outputDir).saveGame(createPopulatedGameSystem().gameSystem));
+        GameSystem loaded = new DataLoader(outputDir).loadGame().orElseThrow();
+        long generation = loaded.getSnapshotGeneration();
+
+        // Another process only shares the files, so its save shows up as a newer counter on disk.
+        Files.writeString(outputDir.resolve(SnapshotGeneration.FILE_NAME), Long.toString(generation + 1),
+                StandardCharsets.UTF_8);
+        loaded.markDirty(GameSection.PLAYERS);
+
+        assertEquals(DataWriter.SaveResult.STALE, new DataWriter(outputDir).save(loaded));
+        assertTrue(loaded.isDirty(GameSection.PLAYERS));
+        assertEquals(generation + 1, new DataLoader(outputDir).loadGame().orElseThrow().getSnapshotGeneration());
+    }
+
     private GameSystemFixture createPopulatedGameSystem() {
         GameSystem system = new GameSystem(UUID.fromString("00000000-0000-0000-0000-000000000111"));
         Long legacyId = 77L;
@@ -170,14 +306,15 @@ public class DataWriterTest {
         MultipleChoicePuzzle multipleChoicePuzzle = new MultipleChoicePuzzle(
                 UUID.fromString("00000000-0000-0000-0000-000000000777"),
                 67L, "Door Choice", "Choose the door that opens",
-                "Golden Ticket", List.of("Red", "Green", "Blue"), "Green", false);
+                "Golden Ticket", List.of("Red", "Green", "Blue"), "Green");
         SequencePuzzle sequencePuzzle = new SequencePuzzle(
                 UUID.fromString("00000000-0000-0000-0000-000000000888"),
                 null, "Dial Sequence", "Rotate the dials in order",
-                "Map Fragment", List.of("North", "East", "South"), true);
+                "Map Fragment", List.of("North", "East", "South"));
         room.addPuzzle(multipleChoicePuzzle);
         room.addPuzzle(sequencePuzzle);
         system.getRooms().add(room);
+        system.getProgress().markPuzzleSolved(sequencePuzzle.getId());
 
         Item inventoryItem = new Item(UUID.fromString("00000000-0000-0000-0000-000000000999"),
                 null, "Decoder Ring", false);
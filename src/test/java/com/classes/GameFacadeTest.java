@@ -76,7 +76,7 @@ public class GameFacadeTest {
 
 
        assertTrue(solved);
-       assertTrue(puzzle.isSolved());
+       assertTrue(facade.isPuzzleSolved(puzzle));
        assertTrue(facade.getGameSystem().getProgress().getSolvedPuzzleIds().contains(puzzle.getId()));
        assertEquals(5, facade.getActivePlayer().get().getCurrentScore());
        assertTrue(facade.getLeaderboard().getScores().stream()
@@ -104,7 +104,7 @@ public class GameFacadeTest {
 
 
        assertFalse(solved);
-       assertFalse(puzzle.isSolved());
+       assertFalse(facade.isPuzzleSolved(puzzle));
        assertFalse(facade.getGameSystem().getProgress().getSolvedPuzzleIds().contains(puzzle.getId()));
        assertEquals(0, facade.getActivePlayer().get().getCurrentScore());
        assertTrue(facade.getLeaderboard().getScores().isEmpty());
@@ -192,6 +192,31 @@ public class GameFacadeTest {
    }
 
 
+   @Test
+   public void saveGameKeepsAccountsSavedByAnotherFacade() throws Exception {
+       File directory = temporaryFolder.newFolder("shared");
+       GameFacade setup = new GameFacade(directory.getAbsolutePath());
+       setup.createAccount("Riley Park", "riley@example.com", null);
+       assertTrue(setup.saveGame());
+
+       GameFacade first = new GameFacade(directory.getAbsolutePath());
+       GameFacade second = new GameFacade(directory.getAbsolutePath());
+       assertTrue(first.loadGame());
+       assertTrue(second.loadGame());
+
+       second.createAccount("Sam Reed", "sam@example.com", null);
+       assertTrue(second.saveGame());
+       first.createAccount("Jo Lane", "jo@example.com", null);
+       assertTrue(first.saveGame());
+
+       GameFacade reader = new GameFacade(directory.getAbsolutePath());
+       assertTrue(reader.loadGame());
+       assertTrue(reader.isDuplicateUser("riley@example.com"));
+       assertTrue(reader.isDuplicateUser("sam@example.com"));
+       assertTrue(reader.isDuplicateUser("jo@example.com"));
+   }
+
+
    private GameFacade newFacade() throws IOException {
        File directory = temporaryFolder.newFolder("game-" + UUID.randomUUID());
        return new GameFacade(directory.getAbsolutePath());
@@ -205,7 +230,7 @@ public class GameFacadeTest {
 
 
    private WriteInPuzzle createWriteInPuzzle(String answer) {
-       return new WriteInPuzzle(UUID.randomUUID(), 1L, "Cipher Lock", "Enter the code", "Unlocked", answer, false);
+       return new WriteInPuzzle(UUID.randomUUID(), 1L, "Cipher Lock", "Enter the code", "Unlocked", answer);
    }
 
 
@@ -0,0 +1,255 @@
+package com.classes;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class GameSystemRepositoryTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void forDirectoryReturnsSameInstanceForEquivalentPaths() throws Exception {
+        Path directory = temporaryFolder.newFolder("shared").toPath();
+
+        GameSystemRepository first = GameSystemRepository.forDirectory(directory);
+        GameSystemRepository second = GameSystemRepository.forDirectory(directory.resolve(".").resolve("sub").resolve(".."));
+
+        assertSame(first, second);
+    }
+
+    @Test
+    public void readsAreServedFromMemoryAfterFirstLoad() throws Exception {
+        Path directory = temporaryFolder.newFolder("cached").toPath();
+        writeUsers(directory, "Robin", "robin@example.com");
+        CountingLoader loader = new CountingLoader(directory);
+        GameSystemRepository repository = new GameSystemRepository(loader, new DataWriter(directory));
+
+        assertEquals(Integer.valueOf(1), repository.read(system -> system.getPlayers().size()).orElse(0));
+        assertEquals(Integer.valueOf(1), repository.read(system -> system.getPlayers().size()).orElse(0));
+        assertTrue(repository.update(system -> system.getPlayers().asList().get(0).addScore(5)));
+
+        assertEquals(1, loader.loads.get());
+    }
+
+    @Test
+    public void updateIsVisibleToReadsAndReachesDiskAfterFlush() throws Exception {
+        Path directory = temporaryFolder.newFolder("write-behind").toPath();
+        writeUsers(directory, "Robin", "robin@example.com");
+        GameSystemRepository repository = new GameSystemRepository(new DataLoader(directory), new DataWriter(directory));
+
+        repository.update(system -> system.getPlayers().asList().get(0).addScore(7));
+
+        assertEquals(Integer.valueOf(7),
+                repository.read(system -> system.getPlayers().asList().get(0).getCurrentScore()).orElse(0));
+        assertTrue(repository.flush());
+        GameSystem reloaded = new DataLoader(directory).loadGame().orElseThrow();
+        assertEquals(7, reloaded.getPlayers().asList().get(0).getCurrentScore());
+    }
+
+    @Test
+    public void updateAndGetReturnsMutationResult() throws Exception {
+        Path directory = temporaryFolder.newFolder("create").toPath();
+        GameSystemRepository repository = new GameSystemRepository(new DataLoader(directory), new DataWriter(directory));
+
+        Optional<Player> created = repository.updateAndGet(
+                system -> system.getPlayers().createPlayer("Sky", "sky@example.com", null));
+
+        assertTrue(created.isPresent());
+        assertTrue(repository.flush());
+        GameSystem reloaded = new DataLoader(directory).loadGame().orElseThrow();
+        assertTrue(reloaded.getPlayers().emailExists("sky@example.com"));
+    }
+
+    @Test
+    public void failedLoadLeavesRepositoryEmpty() throws Exception {
+        Path directory = temporaryFolder.newFolder("broken").toPath();
+        Files.writeString(directory.resolve("users.json"), "[{not json", StandardCharsets.UTF_8);
+        GameSystemRepository repository = new GameSystemRepository(new DataLoader(directory), new DataWriter(directory));
+
+        assertFalse(repository.load());
+        assertFalse(repository.read(GameSystem::getPlayers).isPresent());
+        assertFalse(repository.update(system -> fail("Mutation should not run without data")));
+    }
+
+    @Test
+    public void reloadReadsFilesAgain() throws Exception {
+        Path directory = temporaryFolder.newFolder("reload").toPath();
+        writeUsers(directory, "Robin", "robin@example.com");
+        CountingLoader loader = new CountingLoader(directory);
+        GameSystemRepository repository = new GameSystemRepository(loader, new DataWriter(directory));
+        repository.load();
+
+        repository.reload();
+        repository.load();
+
+        assertEquals(2, loader.loads.get());
+    }
+
+    @Test
+    public void recordedProgressIsJournaledAndReplayedAfterRestart() throws Exception {
+        Path directory = temporaryFolder.newFolder("journal").toPath();
+        writeUsers(directory, "Robin", "robin@example.com");
+        GameSystemRepository repository = journaledRepository(directory);
+        UUID playerId = repository.read(system -> system.getPlayers().asList().get(0).getId()).orElseThrow();
+
+        assertTrue(repository.record(new JournalRecord.ScoreDelta(playerId, 5, 5),
+                new JournalRecord.LeaderboardUpdate(playerId, 5)));
+        assertTrue(repository.flush());
+
+        assertEquals(0, new DataLoader(directory).loadGame().orElseThrow().getPlayers().asList().get(0).getCurrentScore());
+        GameSystemRepository restarted = journaledRepository(directory);
+        assertEquals(Integer.valueOf(5),
+                restarted.read(system -> system.getPlayers().asList().get(0).getCurrentScore()).orElse(0));
+    }
+
+    @Test
+    public void compactWritesSnapshotAndEmptiesJournal() throws Exception {
+        Path directory = temporaryFolder.newFolder("compact").toPath();
+        writeUsers(directory, "Robin", "robin@example.com");
+        ProgressJournal journal = new ProgressJournal(directory.resolve(ProgressJournal.FILE_NAME), Duration.ofMinutes(1));
+        GameSystemRepository repository = new GameSystemRepository(new DataLoader(directory), new DataWriter(directory),
+                Duration.ofMinutes(1), journal);
+        UUID playerId = repository.read(system -> system.getPlayers().asList().get(0).getId()).orElseThrow();
+        repository.record(new JournalRecord.ScoreDelta(playerId, 3, 3));
+
+        assertTrue(repository.compact());
+
+        assertEquals(0, journal.getRecordCount());
+        assertEquals(3, new DataLoader(directory).loadGame().orElseThrow().getPlayers().asList().get(0).getCurrentScore());
+    }
+
+    @Test
+    public void savingTheWholeStateEmptiesTheJournal() throws Exception {
+        Path directory = temporaryFolder.newFolder("journal-save").toPath();
+        writeUsers(directory, "Robin", "robin@example.com");
+        GameSystemRepository repository = journaledRepository(directory);
+        UUID playerId = repository.read(system -> system.getPlayers().asList().get(0).getId()).orElseThrow();
+        assertTrue(repository.record(new JournalRecord.ScoreDelta(playerId, 10, 10)));
+        assertTrue(repository.flush());
+
+        assertTrue(repository.update(system -> {
+            system.getPlayers().findById(playerId).orElseThrow().addScore(-5);
+            system.markDirty(GameSection.PLAYERS);
+        }));
+        assertTrue(repository.flush());
+
+        GameSystemRepository restarted = journaledRepository(directory);
+        assertEquals("the journaled score must not replace the newer save", Integer.valueOf(5),
+                restarted.read(system -> system.getPlayers().findById(playerId).orElseThrow().getCurrentScore())
+                        .orElse(0));
+    }
+
+    @Test
+    public void onlyCheckpointsRefreshTheBinarySnapshot() throws Exception {
+        Path directory = temporaryFolder.newFolder("checkpoint").toPath();
+        writeUsers(directory, "Robin", "robin@example.com");
+        GameSystemRepository repository = journaledRepository(directory);
+
+        assertTrue(repository.update(system -> {
+            system.getPlayers().asList().get(0).addScore(4);
+            system.markDirty(GameSection.PLAYERS);
+        }));
+        assertTrue(repository.flush());
+        assertFalse(Files.exists(directory.resolve(SnapshotCodec.FILE_NAME)));
+
+        assertTrue(repository.checkpoint());
+        assertTrue(SnapshotCodec.isFresh(directory));
+        assertEquals(4, SnapshotCodec.readIfFresh(directory).orElseThrow().getPlayers().asList().get(0).getCurrentScore());
+
+        assertTrue(repository.update(system -> {
+            system.getPlayers().asList().get(0).addScore(1);
+            system.markDirty(GameSection.PLAYERS);
+        }));
+        assertTrue(repository.flush());
+        assertFalse("an ordinary save leaves the snapshot behind", SnapshotCodec.isFresh(directory));
+        assertEquals(5, new DataLoader(directory).loadGame().orElseThrow().getPlayers().asList().get(0).getCurrentScore());
+    }
+
+    @Test
+    public void recordFromBuildsRecordsFromCurrentState() throws Exception {
+        Path directory = temporaryFolder.newFolder("recordFrom").toPath();
+        writeUsers(directory, "Robin", "robin@example.com");
+        GameSystemRepository repository = journaledRepository(directory);
+        UUID playerId = repository.read(system -> system.getPlayers().asList().get(0).getId()).orElseThrow();
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(repository.recordFrom(system -> {
+                int score = system.getPlayers().findById(playerId).orElseThrow().getCurrentScore();
+                return List.of(new JournalRecord.ScoreDelta(playerId, 5, score + 5));
+            }));
+        }
+        assertFalse(repository.recordFrom(system -> List.of()));
+
+        assertEquals(Integer.valueOf(10),
+                repository.read(system -> system.getPlayers().findById(playerId).orElseThrow().getCurrentScore())
+                        .orElse(0));
+    }
+
+    @Test
+    public void staleSaveReloadsTheFilesAndReappliesLocalChanges() throws Exception {
+        Path directory = temporaryFolder.newFolder("stale").toPath();
+        writeUsers(directory, "Robin", "robin@example.com");
+        // Two repositories over one directory stand in for two processes.
+        GameSystemRepository mine = journaledRepository(directory);
+        GameSystemRepository theirs = new GameSystemRepository(new DataLoader(directory), new DataWriter(directory));
+        UUID playerId = mine.read(system -> system.getPlayers().asList().get(0).getId()).orElseThrow();
+        assertTrue(theirs.load());
+
+        assertTrue(mine.update(system -> {
+            system.getPlayers().createPlayer("Sam", "sam@example.com", null);
+            system.markDirty(GameSection.PLAYERS);
+        }));
+        assertTrue(mine.record(new JournalRecord.ScoreDelta(playerId, 5, 5)));
+        assertTrue(mine.flush());
+        assertTrue(theirs.update(system -> {
+            system.getPlayers().createPlayer("Kai", "kai@example.com", null);
+            system.markDirty(GameSection.PLAYERS);
+        }));
+
+        assertTrue("The stale copy is rebased instead of refused", theirs.flush());
+        assertTrue(mine.compact());
+
+        PlayerList saved = new DataLoader(directory).loadGame().orElseThrow().getPlayers();
+        assertTrue(saved.emailExists("sam@example.com"));
+        assertTrue(saved.emailExists("kai@example.com"));
+        assertEquals(5, saved.findById(playerId).orElseThrow().getCurrentScore());
+    }
+
+    private GameSystemRepository journaledRepository(Path directory) {
+        return new GameSystemRepository(new DataLoader(directory), new DataWriter(directory), Duration.ofMinutes(1),
+                new ProgressJournal(directory.resolve(ProgressJournal.FILE_NAME), Duration.ofMinutes(1)));
+    }
+
+    private void writeUsers(Path directory, String name, String email) throws Exception {
+        String json = "[{\"playerID\":1,\"name\":\"" + name + "\",\"email\":\"" + email
+                + "\",\"currentScore\":0,\"items\":[],\"statistics\":{},\"solvedPuzzles\":[]}]";
+        Files.writeString(directory.resolve("users.json"), json, StandardCharsets.UTF_8);
+    }
+
+    private static final class CountingLoader extends DataLoader {
+        private final AtomicInteger loads = new AtomicInteger();
+
+        private CountingLoader(Path directory) {
+            super(directory);
+        }
+
+        @Override
+        public Optional<GameSystem> loadGame() {
+            loads.incrementAndGet();
+            return super.loadGame();
+        }
+    }
+}
@@ -2,12 +2,16 @@ package com.classes;
 
 import org.junit.Test;
 
+import java.util.EnumSet;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class GameSystemTest {
 
@@ -129,4 +133,37 @@ public class GameSystemTest {
         assertNotNull(system.getProgress());
         assertNotSame(customProgress, system.getProgress());
     }
+
+    @Test
+    public void newGameSystemStartsWithEverySectionDirty() {
+        GameSystem system = new GameSystem();
+
+        assertEquals(EnumSet.allOf(GameSection.class), system.getDirtySections());
+    }
+
+    @Test
+    public void drainClearsFlagsAndSettersMarkTheirSection() {
+        GameSystem system = new GameSystem();
+
+        Set<GameSection> drained = system.drainDirtySections();
+        assertEquals(EnumSet.allOf(GameSection.class), drained);
+        assertTrue(system.getDirtySections().isEmpty());
+
+        system.setTimer(new Timer());
+        system.setPlayers(new PlayerList());
+
+        assertEquals(EnumSet.of(GameSection.TIMER, GameSection.PLAYERS), system.getDirtySections());
+        assertFalse(system.isDirty(GameSection.ROOMS));
+    }
+
+    @Test
+    public void markDirtyAdvancesModificationCount() {
+        GameSystem system = new GameSystem();
+        long before = system.getModificationCount();
+
+        system.markDirty(GameSection.HINTS);
+
+        assertTrue(system.getModificationCount() > before);
+        assertTrue(system.isDirty(GameSection.HINTS));
+    }
 }
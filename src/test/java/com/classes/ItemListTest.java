@@ -97,4 +97,20 @@ public class ItemListTest {
         list.add(createItem("Map"));
         assertEquals(2, list.size());
     }
+
+    @Test
+    public void findByIdFallsBackToRemainingItemWithSameId() {
+        ItemList list = new ItemList();
+        UUID id = UUID.randomUUID();
+        Item first = new Item(id, 1L, "Key", true);
+        Item second = new Item(id, 1L, "Spare Key", true);
+        list.add(first);
+        list.add(second);
+        assertSame(first, list.findById(id).get());
+
+        list.remove(first);
+        assertSame(second, list.findById(id).get());
+        list.remove(second);
+        assertTrue(list.findById(id).isEmpty());
+    }
 }
@@ -5,8 +5,11 @@ import org.junit.Test;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Random;
 import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
@@ -201,4 +204,73 @@ public class LeaderboardTest {
         }
         return buffer.toString();
     }
+
+    @Test
+    public void getTopReturnsOnlyTheBestEntriesInOrder() {
+        Leaderboard leaderboard = new Leaderboard();
+        ScoreEntry first = score("First", 90, Duration.ofMinutes(5));
+        ScoreEntry second = score("Second", 80, Duration.ofMinutes(5));
+        leaderboard.addScoreEntry(score("Third", 10, Duration.ofMinutes(5)));
+        leaderboard.addScoreEntry(second);
+        leaderboard.addScoreEntry(first);
+
+        assertEquals(List.of(first, second), leaderboard.getTop(2));
+        assertEquals(3, leaderboard.getTop(10).size());
+        assertTrue(leaderboard.getTop(0).isEmpty());
+    }
+
+    @Test
+    public void getRankFollowsScoreUpdates() {
+        Leaderboard leaderboard = new Leaderboard();
+        Player ada = player("Ada");
+        Player grace = player("Grace");
+        leaderboard.updateLeaderboard(ada, 50);
+        leaderboard.updateLeaderboard(grace, 70);
+
+        assertEquals(OptionalInt.of(2), leaderboard.getRank(ada));
+        leaderboard.updateLeaderboard(ada, 90);
+
+        assertEquals(OptionalInt.of(1), leaderboard.getRank(ada));
+        assertEquals(OptionalInt.of(2), leaderboard.getRank(grace));
+        assertEquals(OptionalInt.empty(), leaderboard.getRank(player("Linus")));
+        assertEquals(2, leaderboard.size());
+    }
+
+    @Test
+    public void tiedEntriesKeepInsertionOrder() {
+        Leaderboard leaderboard = new Leaderboard();
+        ScoreEntry earlier = score("Earlier", 40, Duration.ofMinutes(3));
+        ScoreEntry later = score("Later", 40, Duration.ofMinutes(3));
+        leaderboard.addScoreEntry(earlier);
+        leaderboard.addScoreEntry(later);
+
+        assertSame(earlier, leaderboard.getScores().get(0));
+        assertSame(later, leaderboard.getScores().get(1));
+    }
+
+    @Test
+    public void scoresMatchAStableSortAfterManyUpdates() {
+        Leaderboard leaderboard = new Leaderboard();
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            players.add(player("Player" + i));
+        }
+        Random random = new Random(7);
+        for (int i = 0; i < 2_000; i++) {
+            leaderboard.updateLeaderboard(players.get(random.nextInt(players.size())), random.nextInt(500),
+                    Duration.ofSeconds(random.nextInt(60)));
+        }
+
+        List<ScoreEntry> expected = new ArrayList<>(leaderboard.getScores());
+        expected.sort(null);
+        assertEquals(expected, leaderboard.getScores());
+        for (int i = 0; i < expected.size(); i++) {
+            String name = expected.get(i).getPlayerName();
+            Player owner = players.stream()
+                    .filter(p -> p.getName().equals(name))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(OptionalInt.of(i + 1), leaderboard.getRank(owner));
+        }
+    }
 }
@@ -0,0 +1,53 @@
+package com.classes;
+
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class LegacyIdsTest {
+
+    @Test
+    public void derivedIdsMatchNameBasedUuids() {
+        long[] ids = {0, 1, 7, 301, -42, Integer.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long id : ids) {
+            assertEquals(expected("puzzle", id), LegacyIds.PUZZLE.derive(id));
+            assertEquals(expected("player", id), LegacyIds.PLAYER.derive(Long.valueOf(id)));
+        }
+        assertEquals(UUID.nameUUIDFromBytes("score-abc".getBytes(StandardCharsets.UTF_8)),
+                LegacyIds.nameUuid("score-abc"));
+    }
+
+    @Test
+    public void repeatLookupsReturnTheCachedInstance() {
+        UUID first = LegacyIds.ROOM.derive(12345L);
+        assertSame(first, LegacyIds.ROOM.derive(12345L));
+        assertNotEquals(first, LegacyIds.ITEM.derive(12345L));
+    }
+
+    @Test
+    public void bulkDerivationKeepsOrderAndMatchesSingleLookups() {
+        long[] ids = new long[5000];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 100_000L + (i * 7L) % 3000;
+        }
+        UUID[] derived = LegacyIds.HINT.deriveAll(ids, ids.length - 1);
+
+        assertEquals(ids.length - 1, derived.length);
+        for (int i = 0; i < derived.length; i++) {
+            assertEquals(expected("hint", ids[i]), derived[i]);
+            assertSame(derived[i], LegacyIds.HINT.derive(ids[i]));
+        }
+    }
+
+    @Test
+    public void missingIdGivesRandomUuid() {
+        assertNotEquals(LegacyIds.GAME.derive((Number) null), LegacyIds.GAME.derive((Number) null));
+    }
+
+    private static UUID expected(String prefix, long id) {
+        return UUID.nameUUIDFromBytes((prefix + "-" + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -20,9 +20,7 @@ public class MultipleChoicePuzzleTest {
                 "Pick the color of the sky",
                 "Advance",
                 Arrays.asList("blue", "green", "red"),
-                "Blue",
-                false
-        );
+                "Blue");
 
         assertTrue(puzzle.isCorrectAnswer("bLuE"));
     }
@@ -36,9 +34,7 @@ public class MultipleChoicePuzzleTest {
                 "Select the even number",
                 "Coins",
                 Arrays.asList("1", "2", "3"),
-                "2",
-                false
-        );
+                "2");
 
         assertFalse(puzzle.isCorrectAnswer("3"));
     }
@@ -52,9 +48,7 @@ public class MultipleChoicePuzzleTest {
                 "Select the palindrome",
                 "Points",
                 Arrays.asList("cat", "level", "bird"),
-                "level",
-                false
-        );
+                "level");
 
         assertFalse(puzzle.isCorrectAnswer(null));
     }
@@ -69,9 +63,7 @@ public class MultipleChoicePuzzleTest {
                 "Pick alpha",
                 "Badge",
                 originalOptions,
-                "alpha",
-                false
-        );
+                "alpha");
 
         originalOptions.add("gamma");
 
@@ -89,9 +81,7 @@ public class MultipleChoicePuzzleTest {
                 "Select north",
                 "Map",
                 Arrays.asList("north", "south", "east"),
-                "north",
-                false
-        );
+                "north");
 
         List<String> options = puzzle.getOptions();
 
@@ -0,0 +1,81 @@
+package com.classes;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class OrderedExecutorTest {
+
+    private final OrderedExecutor executor = new OrderedExecutor("test-io", 4);
+
+    @After
+    public void tearDown() {
+        executor.close();
+    }
+
+    @Test
+    public void tasksWithTheSameKeyRunInSubmissionOrder() throws Exception {
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            int value = i;
+            futures.add(executor.submit("player", () -> {
+                seen.add(value);
+                return value;
+            }));
+        }
+        assertEquals(Integer.valueOf(49), futures.get(49).get(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 50; i++) {
+            assertEquals(Integer.valueOf(i), seen.get(i));
+        }
+    }
+
+    @Test
+    public void differentKeysDoNotWaitForEachOther() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Boolean> blocked = executor.submit("slow", () -> {
+            try {
+                return release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        });
+        assertEquals("done", executor.submit("fast", () -> "done").get(5, TimeUnit.SECONDS));
+        assertFalse(blocked.isDone());
+        release.countDown();
+        assertTrue(blocked.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void aFailedTaskDoesNotStopTheNextOne() throws Exception {
+        CompletableFuture<Object> failed = executor.submit("player", () -> {
+            throw new IllegalStateException("disk full");
+        });
+        CompletableFuture<String> next = executor.submit("player", () -> "written");
+        assertEquals("written", next.get(5, TimeUnit.SECONDS));
+        assertTrue(failed.isCompletedExceptionally());
+    }
+
+    @Test
+    public void awaitIdleWaitsForQueuedWork() {
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 10; i++) {
+            int value = i;
+            executor.submit(value % 3, () -> {
+                seen.add(value);
+                return null;
+            });
+        }
+        assertTrue(executor.awaitIdle(Duration.ofSeconds(5)));
+        assertEquals(10, seen.size());
+    }
+}
@@ -0,0 +1,135 @@
+package com.classes;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class PersistenceQueueTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void burstOfSubmissionsIsCoalescedIntoOneWrite() throws Exception {
+        CountingWriter writer = new CountingWriter(temporaryFolder.newFolder("burst").toPath(), true);
+        try (PersistenceQueue queue = new PersistenceQueue(writer, Duration.ofMinutes(1), null)) {
+            GameSystem system = new GameSystem();
+            for (int i = 0; i < 50; i++) {
+                queue.submit(system);
+            }
+
+            assertEquals(50, queue.getQueueDepth());
+            assertTrue(queue.flush());
+            assertEquals(1, writer.saves.get());
+            assertEquals(0, queue.getQueueDepth());
+            assertEquals(1, queue.getWriteCount());
+        }
+    }
+
+    @Test
+    public void pendingWriteHappensOnceWindowElapses() throws Exception {
+        CountingWriter writer = new CountingWriter(temporaryFolder.newFolder("window").toPath(), true);
+        try (PersistenceQueue queue = new PersistenceQueue(writer, Duration.ofMillis(20), null)) {
+            queue.submit(new GameSystem());
+
+            assertTrue(queue.awaitDurable(Duration.ofSeconds(5)));
+            assertEquals(1, writer.saves.get());
+            assertFalse(queue.getLastWriteLatency().isNegative());
+            assertTrue(queue.getMaxWriteLatency().compareTo(queue.getAverageWriteLatency()) >= 0);
+        }
+    }
+
+    @Test
+    public void awaitDurableTimesOutWithoutShorteningWindow() throws Exception {
+        CountingWriter writer = new CountingWriter(temporaryFolder.newFolder("timeout").toPath(), true);
+        try (PersistenceQueue queue = new PersistenceQueue(writer, Duration.ofMinutes(1), null)) {
+            queue.submit(new GameSystem());
+
+            assertFalse(queue.awaitDurable(Duration.ofMillis(20)));
+            assertEquals(0, writer.saves.get());
+        }
+    }
+
+    @Test
+    public void flushReportsFailedWrite() throws Exception {
+        CountingWriter writer = new CountingWriter(temporaryFolder.newFolder("failing").toPath(), false);
+        try (PersistenceQueue queue = new PersistenceQueue(writer, Duration.ofMinutes(1), null)) {
+            queue.submit(new GameSystem());
+
+            assertFalse(queue.flush());
+        }
+    }
+
+    @Test
+    public void failedWriteIsRetriedByTheNextFlush() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        List<GameSystem> saved = new CopyOnWriteArrayList<>();
+        PersistenceQueue.Saver saver = system -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("disk unavailable");
+            }
+            saved.add(system);
+            return true;
+        };
+        try (PersistenceQueue queue = new PersistenceQueue(saver, Duration.ofMinutes(1))) {
+            GameSystem system = new GameSystem();
+            queue.submit(system);
+
+            assertFalse(queue.flush());
+            assertEquals(1, queue.getQueueDepth());
+            assertTrue("flush retries the failed write", queue.flush());
+            assertEquals(List.of(system), saved);
+            assertEquals(0, queue.getQueueDepth());
+        }
+    }
+
+    @Test
+    public void flushWithNothingPendingSucceedsImmediately() throws Exception {
+        CountingWriter writer = new CountingWriter(temporaryFolder.newFolder("idle").toPath(), true);
+        try (PersistenceQueue queue = new PersistenceQueue(writer)) {
+            assertTrue(queue.flush());
+            assertEquals(0, writer.saves.get());
+        }
+    }
+
+    @Test
+    public void closeWritesPendingStateAndRejectsFurtherSubmissions() throws Exception {
+        CountingWriter writer = new CountingWriter(temporaryFolder.newFolder("close").toPath(), true);
+        PersistenceQueue queue = new PersistenceQueue(writer, Duration.ofMinutes(1), null);
+        queue.submit(new GameSystem());
+
+        queue.close();
+
+        assertEquals(1, writer.saves.get());
+        try {
+            queue.submit(new GameSystem());
+            fail("Expected submissions after close to be rejected.");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+    }
+
+    private static final class CountingWriter extends DataWriter {
+        private final AtomicInteger saves = new AtomicInteger();
+        private final boolean succeed;
+
+        private CountingWriter(Path directory, boolean succeed) {
+            super(directory);
+            this.succeed = succeed;
+        }
+
+        @Override
+        public boolean saveGame(GameSystem gameSystem) {
+            saves.incrementAndGet();
+            return succeed && super.saveGame(gameSystem);
+        }
+    }
+}
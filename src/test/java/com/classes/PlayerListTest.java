@@ -4,6 +4,7 @@ import org.junit.Test;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
@@ -273,4 +274,121 @@ public class PlayerListTest {
         assertFalse(list.nameExists(" "));
         assertFalse(list.nameExists(null));
     }
+
+    @Test
+    public void lookupsFollowRenamesOfStoredPlayers() {
+        PlayerList list = new PlayerList();
+        Player player = createPlayer("Ada", "ada@example.com", 1);
+        list.add(player);
+
+        player.setName("Countess");
+        player.setEmail("countess@example.com");
+
+        assertFalse(list.nameExists("Ada"));
+        assertTrue(list.nameExists("countess"));
+        assertFalse(list.emailExists("ada@example.com"));
+        assertSame(player, list.findByEmail("COUNTESS@example.com").orElseThrow());
+    }
+
+    @Test
+    public void removedPlayerIsNoLongerFoundOrReindexedOnRename() {
+        PlayerList list = new PlayerList();
+        Player player = createPlayer("Ada", "ada@example.com", 1);
+        list.add(player);
+        list.remove(player);
+
+        player.setName("Grace");
+
+        assertFalse(list.findById(player.getId()).isPresent());
+        assertFalse(list.emailExists("ada@example.com"));
+        assertFalse(list.nameExists("Grace"));
+    }
+
+    @Test
+    public void duplicateEmailStaysFindableAfterFirstHolderIsRemoved() {
+        PlayerList list = new PlayerList();
+        Player first = createPlayer("Ada", "ada@example.com", 1);
+        Player second = createPlayer("Grace", "ADA@example.com", 2);
+        list.add(first);
+        list.add(second);
+
+        assertSame(first, list.findByEmail("ada@example.com").orElseThrow());
+        list.remove(first);
+
+        assertSame(second, list.findByEmail("ada@example.com").orElseThrow());
+        assertFalse(list.hasDuplicateUsers());
+    }
+
+    @Test
+    public void createPlayerReusesLegacyIdAfterHighestIsRemoved() {
+        PlayerList list = new PlayerList();
+        list.add(createPlayer("Ada", "ada@example.com", 4));
+        Player highest = createPlayer("Grace", "grace@example.com", 9);
+        list.add(highest);
+        list.remove(highest);
+
+        Player created = list.createPlayer("Linus", "linus@example.com", null);
+
+        assertEquals(Integer.valueOf(5), created.getLegacyId());
+    }
+
+    @Test
+    public void scoreRankingFollowsAddScore() {
+        PlayerList list = new PlayerList();
+        Player ada = createPlayer("Ada", "ada@example.com", 1);
+        Player grace = createPlayer("Grace", "grace@example.com", 2);
+        list.add(ada);
+        list.add(grace);
+        grace.addScore(10);
+
+        assertEquals(List.of(grace, ada), list.getTopByScore(3));
+
+        ada.addScore(25);
+
+        assertEquals(List.of(ada, grace), list.getTopByScore(3));
+        assertEquals(OptionalInt.of(2), list.getScoreRank(grace));
+    }
+
+    @Test
+    public void scorePagesWalkTheRankingAndEndEmpty() {
+        PlayerList list = new PlayerList();
+        for (int i = 1; i <= 7; i++) {
+            Player player = createPlayer("Player" + i, "p" + i + "@example.com", i);
+            player.addScore(i * 10);
+            list.add(player);
+        }
+
+        List<Player> second = list.getScorePage(1, 3);
+
+        assertEquals(3, second.size());
+        assertEquals(40, second.get(0).getCurrentScore());
+        assertEquals(20, second.get(2).getCurrentScore());
+        assertEquals(1, list.getScorePage(2, 3).size());
+        assertTrue(list.getScorePage(3, 3).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> list.getScorePage(0, 0));
+    }
+
+    @Test
+    public void removedPlayerLeavesTheScoreRanking() {
+        PlayerList list = new PlayerList();
+        Player ada = createPlayer("Ada", "ada@example.com", 1);
+        list.add(ada);
+        list.remove(ada);
+
+        ada.addScore(5);
+
+        assertTrue(list.getTopByScore(3).isEmpty());
+        assertEquals(OptionalInt.empty(), list.getScoreRank(ada));
+    }
+
+    @Test
+    public void scoreTiesAreOrderedByNameIgnoringCase() {
+        PlayerList list = new PlayerList();
+        Player zed = createPlayer("zed", "zed@example.com", 1);
+        Player amy = createPlayer("Amy", "amy@example.com", 2);
+        list.add(zed);
+        list.add(amy);
+
+        assertEquals(List.of(amy, zed), list.getTopByScore(2));
+    }
 }
@@ -0,0 +1,160 @@
+package com.classes;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class ProgressJournalTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void replayAppliesEveryRecordTypeInOrder() throws Exception {
+        Path file = temporaryFolder.newFolder("round-trip").toPath().resolve(ProgressJournal.FILE_NAME);
+        GameSystem source = newSystem();
+        Player player = source.getPlayers().asList().get(0);
+        Puzzle puzzle = source.getPuzzles().asList().get(0);
+        UUID ownPuzzleId = UUID.randomUUID();
+
+        try (ProgressJournal journal = new ProgressJournal(file, Duration.ofMinutes(1))) {
+            journal.append(new JournalRecord.Solve(player.getId(), puzzle.getId()));
+            journal.append(new JournalRecord.PlayerSolve(player.getId(), ownPuzzleId));
+            journal.append(new JournalRecord.ScoreDelta(player.getId(), 5, 5));
+            journal.append(new JournalRecord.HintPenalty(player.getId(), 1, 4));
+            journal.append(new JournalRecord.LeaderboardUpdate(player.getId(), 4));
+            journal.append(new JournalRecord.TimerCheckpoint(Duration.ofMinutes(15), Duration.ofMinutes(9)));
+            journal.append(new JournalRecord.StatisticsUpdate(player.getId(), 3, 8, Duration.ofMinutes(7), 1));
+            assertTrue(journal.sync());
+        }
+
+        GameSystem restored = newSystem();
+        int applied = new ProgressJournal(file, Duration.ofMinutes(1)).replay(restored);
+
+        assertEquals(7, applied);
+        Player restoredPlayer = restored.getPlayers().asList().get(0);
+        assertTrue(restoredPlayer.getSolvedPuzzleIds().contains(puzzle.getId()));
+        assertTrue(restored.getProgress().isPuzzleSolved(puzzle.getId()));
+        assertTrue(restoredPlayer.getSolvedPuzzleIds().contains(ownPuzzleId));
+        assertFalse(restored.getProgress().isPuzzleSolved(ownPuzzleId));
+        assertEquals(4, restoredPlayer.getCurrentScore());
+        assertEquals(4, restored.getLeaderboard().getScores().get(0).getScore());
+        assertEquals(Duration.ofMinutes(9), restored.getTimer().getRemaining());
+        assertEquals(8, restoredPlayer.getStatistics().getPuzzlesSolved());
+        assertEquals(Duration.ofMinutes(7), restoredPlayer.getStatistics().getAverageCompletionTime());
+    }
+
+    @Test
+    public void replayingTwiceGivesTheSameState() throws Exception {
+        Path file = temporaryFolder.newFolder("idempotent").toPath().resolve(ProgressJournal.FILE_NAME);
+        GameSystem system = newSystem();
+        UUID playerId = system.getPlayers().asList().get(0).getId();
+        try (ProgressJournal journal = new ProgressJournal(file, Duration.ofMinutes(1))) {
+            journal.append(new JournalRecord.ScoreDelta(playerId, 5, 5));
+            journal.append(new JournalRecord.ScoreDelta(playerId, 5, 10));
+        }
+
+        ProgressJournal reader = new ProgressJournal(file, Duration.ofMinutes(1));
+        reader.replay(system);
+        reader.replay(system);
+
+        assertEquals(10, system.getPlayers().asList().get(0).getCurrentScore());
+    }
+
+    @Test
+    public void tornTailIsIgnoredAndCutOffBeforeNewAppends() throws Exception {
+        Path file = temporaryFolder.newFolder("torn").toPath().resolve(ProgressJournal.FILE_NAME);
+        GameSystem system = newSystem();
+        UUID playerId = system.getPlayers().asList().get(0).getId();
+        try (ProgressJournal journal = new ProgressJournal(file, Duration.ofMinutes(1))) {
+            journal.append(new JournalRecord.ScoreDelta(playerId, 2, 2));
+        }
+        Files.write(file, new byte[]{3, 0, 0, 7}, StandardOpenOption.APPEND);
+
+        try (ProgressJournal journal = new ProgressJournal(file, Duration.ofMinutes(1))) {
+            assertEquals(1, journal.replay(newSystem()));
+            journal.append(new JournalRecord.ScoreDelta(playerId, 3, 5));
+        }
+
+        GameSystem restored = newSystem();
+        assertEquals(2, new ProgressJournal(file, Duration.ofMinutes(1)).replay(restored));
+        assertEquals(5, restored.getPlayers().asList().get(0).getCurrentScore());
+    }
+
+    @Test
+    public void resetDropsStagedAndWrittenRecords() throws Exception {
+        Path file = temporaryFolder.newFolder("reset").toPath().resolve(ProgressJournal.FILE_NAME);
+        UUID playerId = newSystem().getPlayers().asList().get(0).getId();
+        try (ProgressJournal journal = new ProgressJournal(file, Duration.ofMinutes(1))) {
+            journal.append(new JournalRecord.ScoreDelta(playerId, 2, 2));
+            journal.sync();
+            journal.append(new JournalRecord.ScoreDelta(playerId, 2, 4));
+
+            journal.reset();
+
+            assertEquals(0, journal.getRecordCount());
+        }
+        assertEquals(0, new ProgressJournal(file, Duration.ofMinutes(1)).replay(newSystem()));
+    }
+
+    @Test
+    public void replaySkipsRecordsANewerSnapshotAlreadyHolds() throws Exception {
+        Path file = temporaryFolder.newFolder("covered").toPath().resolve(ProgressJournal.FILE_NAME);
+        GameSystem loaded = newSystem();
+        loaded.setSnapshotGeneration(3);
+        UUID playerId = loaded.getPlayers().asList().get(0).getId();
+        try (ProgressJournal journal = new ProgressJournal(file, Duration.ofMinutes(1))) {
+            assertEquals(0, journal.replay(loaded));
+            journal.append(new JournalRecord.ScoreDelta(playerId, 10, 10));
+        }
+
+        GameSystem newer = newSystem();
+        newer.setSnapshotGeneration(4);
+        ProgressJournal reader = new ProgressJournal(file, Duration.ofMinutes(1));
+        assertEquals(0, reader.replay(newer));
+        assertEquals(0, newer.getPlayers().asList().get(0).getCurrentScore());
+        assertEquals(4, reader.getBaseGeneration());
+
+        GameSystem same = newSystem();
+        same.setSnapshotGeneration(4);
+        assertEquals("the covered records were dropped", 0, new ProgressJournal(file, Duration.ofMinutes(1)).replay(same));
+    }
+
+    @Test
+    public void backgroundSyncMakesAppendsDurable() throws Exception {
+        Path file = temporaryFolder.newFolder("background").toPath().resolve(ProgressJournal.FILE_NAME);
+        UUID playerId = newSystem().getPlayers().asList().get(0).getId();
+        ProgressJournal journal = new ProgressJournal(file, Duration.ofMillis(10));
+        journal.append(new JournalRecord.ScoreDelta(playerId, 1, 1));
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (new ProgressJournal(file, Duration.ofMinutes(1)).replay(newSystem()) == 0) {
+            assertTrue("Background sync did not run", System.nanoTime() < deadline);
+            Thread.sleep(10);
+        }
+        journal.close();
+    }
+
+    private GameSystem newSystem() {
+        GameSystem system = new GameSystem(UUID.fromString("00000000-0000-0000-0000-000000000001"));
+        UUID puzzleId = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        WriteInPuzzle puzzle = new WriteInPuzzle(puzzleId, 301L, "Door", "", "", "open");
+        Room room = new Room(UUID.fromString("00000000-0000-0000-0000-000000000003"), 1);
+        room.addPuzzle(puzzle);
+        system.getRooms().add(room);
+        system.getPuzzles().add(puzzle);
+        system.getPlayers().add(new Player(UUID.fromString("00000000-0000-0000-0000-000000000004"), 1,
+                "Robin", "robin@example.com", null, new ItemList(), new Statistics(), 0, Set.of()));
+        return system;
+    }
+}
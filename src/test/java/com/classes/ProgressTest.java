@@ -72,4 +72,61 @@ public class ProgressTest {
         assertTrue(progress.isPuzzleSolved(validPuzzle));
         assertFalse("Null entries should not be retained", progress.getSolvedPuzzleIds().contains(null));
     }
+
+    @Test
+    public void roomQueriesFollowTheSolvedSet() {
+        Room room = new Room(UUID.randomUUID(), 32);
+        WriteInPuzzle first = new WriteInPuzzle(UUID.randomUUID(), 8L, "First", "One", "None", "one");
+        WriteInPuzzle second = new WriteInPuzzle(UUID.randomUUID(), 9L, "Second", "Two", "None", "two");
+        room.addPuzzle(first);
+        room.addPuzzle(second);
+        Progress progress = new Progress();
+
+        progress.markPuzzleSolved(first.getId());
+        assertSame(second, progress.getFirstUnsolvedPuzzle(room).orElseThrow());
+        assertEquals(1, progress.getSolvedPuzzleCount(room));
+        assertFalse(progress.isRoomComplete(room));
+
+        progress.markPuzzleSolved(second.getId());
+        assertTrue(progress.isRoomComplete(room));
+        assertFalse(progress.getFirstUnsolvedPuzzle(room).isPresent());
+        assertEquals(2, progress.getSolvedPuzzleCount(room));
+
+        progress.loadSolvedPuzzles(Set.of(second.getId()));
+        assertSame(first, progress.getFirstUnsolvedPuzzle(room).orElseThrow());
+        assertTrue("another player's progress leaves the room untouched",
+                new Progress().getFirstUnsolvedPuzzle(room).isPresent());
+        assertTrue(progress.isRoomComplete(new Room(UUID.randomUUID(), 33)));
+    }
+
+    @Test
+    public void roomTallyFollowsSolvesOutOfOrderAndNewPuzzles() {
+        Room room = new Room(UUID.randomUUID(), 34);
+        WriteInPuzzle first = new WriteInPuzzle(UUID.randomUUID(), 10L, "First", "One", "None", "one");
+        WriteInPuzzle second = new WriteInPuzzle(UUID.randomUUID(), 11L, "Second", "Two", "None", "two");
+        WriteInPuzzle third = new WriteInPuzzle(UUID.randomUUID(), 12L, "Third", "Three", "None", "three");
+        room.addPuzzle(first);
+        room.addPuzzle(second);
+        Progress progress = new Progress();
+        assertSame(first, progress.getFirstUnsolvedPuzzle(room).orElseThrow());
+
+        progress.markPuzzleSolved(second.getId());
+        progress.markPuzzleSolved(second.getId());
+        assertSame(first, progress.getFirstUnsolvedPuzzle(room).orElseThrow());
+        assertEquals(1, progress.getSolvedPuzzleCount(room));
+
+        progress.markPuzzleSolved(first.getId());
+        assertTrue(progress.isRoomComplete(room));
+        assertEquals(2, progress.getSolvedPuzzleCount(room));
+
+        room.addPuzzle(third);
+        assertSame(third, progress.getFirstUnsolvedPuzzle(room).orElseThrow());
+        progress.markPuzzleSolved(third.getId());
+        assertTrue(progress.isRoomComplete(room));
+        assertEquals(3, progress.getSolvedPuzzleCount(room));
+
+        progress.reset(UUID.randomUUID());
+        assertSame(first, progress.getFirstUnsolvedPuzzle(room).orElseThrow());
+        assertEquals(0, progress.getSolvedPuzzleCount(room));
+    }
 }
@@ -0,0 +1,117 @@
+package com.classes;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class PuzzleCatalogTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static final String ROOMS = """
+            {"timer":{"totalTime":"00:15:00"},
+             "rooms":[
+              {"puzzles":[
+                {"puzzleName":301,"name":"Caf\\u00e9 \\"Door\\"","type":"WRITE_IN","correctAnswer":"glöw",
+                 "hints":[{"hintID":602,"hintText":"Braces { and ] in text"}]},
+                {"puzzleName":302,"name":"Lock","type":"CODE_LOCK","code":"126"}],
+               "items":[{"itemID":101,"itemName":"Candle","isReusable":true}],
+               "roomID":1},
+              {"roomID":2,"puzzles":[
+                {"puzzleName":"303","name":"Order","type":"SEQUENCE","sequence":["moon","sun"]},
+                {"name":"No id","type":"RIDDLE","answer":"none"}]}
+             ],
+             "hints":[{"hintID":602,"hintText":"Look"}]}
+            """;
+
+    @Test
+    public void lookupsMatchTheFullLoaderAndBuildOnlyWhatIsAsked() throws Exception {
+        Path directory = writeRooms("match");
+        GameSystem loaded = new DataLoader(directory).loadGame().orElseThrow();
+
+        PuzzleCatalog catalog = PuzzleCatalog.open(directory).orElseThrow();
+
+        assertEquals(3, catalog.size());
+        assertEquals(0, catalog.materializedCount());
+        Puzzle door = catalog.findByLegacyId(301).orElseThrow();
+        assertEquals(1, catalog.materializedCount());
+        Puzzle expected = loaded.getPuzzles().asList().get(0);
+        assertEquals(expected.getId(), door.getId());
+        assertEquals("Café \"Door\"", door.getName());
+        assertTrue(door.isCorrectAnswer("glöw"));
+        assertSame(door, catalog.findById(expected.getId()).orElseThrow());
+        assertTrue(catalog.findByLegacyId(303).orElseThrow().isCorrectAnswer("moon sun"));
+        assertFalse(catalog.findByLegacyId(304).isPresent());
+        assertFalse(catalog.findById(UUID.randomUUID()).isPresent());
+    }
+
+    @Test
+    public void puzzlesInRoomKeepFileOrder() throws Exception {
+        PuzzleCatalog catalog = PuzzleCatalog.open(writeRooms("room")).orElseThrow();
+
+        List<Puzzle> first = catalog.puzzlesInRoom(1);
+
+        assertEquals(List.of(301L, 302L), first.stream().map(Puzzle::getLegacyId).toList());
+        assertEquals(2, catalog.materializedCount());
+        assertEquals(List.of(303L), catalog.puzzlesInRoom(2).stream().map(Puzzle::getLegacyId).toList());
+        assertTrue(catalog.puzzlesInRoom(9).isEmpty());
+    }
+
+    @Test
+    public void indexIsReusedUntilTheRoomsFileChanges() throws Exception {
+        Path directory = writeRooms("reuse");
+        PuzzleCatalog.open(directory).orElseThrow();
+        Path index = directory.resolve(PuzzleCatalog.INDEX_FILE);
+        FileTime written = Files.getLastModifiedTime(index);
+        Files.setLastModifiedTime(index, FileTime.fromMillis(written.toMillis() - 60_000));
+        FileTime aged = Files.getLastModifiedTime(index);
+
+        assertTrue(PuzzleCatalog.open(directory).orElseThrow().isFresh());
+        assertEquals(aged, Files.getLastModifiedTime(index));
+
+        PuzzleCatalog stale = PuzzleCatalog.open(directory).orElseThrow();
+        Path rooms = directory.resolve(DataLoader.ROOMS_FILE);
+        FileTime before = Files.getLastModifiedTime(rooms);
+        Files.writeString(rooms, ROOMS.replace("\"puzzleName\":302", "\"puzzleName\":402"), StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(rooms, FileTime.fromMillis(before.toMillis() + 2_000));
+        assertFalse(stale.isFresh());
+        assertFalse(stale.findByLegacyId(302).isPresent());
+
+        PuzzleCatalog reopened = PuzzleCatalog.open(directory).orElseThrow();
+        assertTrue(reopened.findByLegacyId(402).isPresent());
+        assertFalse(reopened.findByLegacyId(302).isPresent());
+    }
+
+    @Test
+    public void closedCatalogKeepsBuiltPuzzlesOnly() throws Exception {
+        PuzzleCatalog catalog = PuzzleCatalog.open(writeRooms("closed")).orElseThrow();
+        Puzzle door = catalog.findByLegacyId(301).orElseThrow();
+
+        catalog.close();
+
+        assertFalse(catalog.isOpen());
+        assertSame(door, catalog.findByLegacyId(301).orElseThrow());
+        assertFalse(catalog.findByLegacyId(302).isPresent());
+    }
+
+    @Test
+    public void missingRoomsFileGivesNoCatalog() throws Exception {
+        assertFalse(PuzzleCatalog.open(temporaryFolder.newFolder("empty").toPath()).isPresent());
+    }
+
+    private Path writeRooms(String name) throws Exception {
+        Path directory = temporaryFolder.newFolder(name).toPath();
+        Files.writeString(directory.resolve(DataLoader.ROOMS_FILE), ROOMS, StandardCharsets.UTF_8);
+        return directory;
+    }
+}
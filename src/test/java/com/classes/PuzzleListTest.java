@@ -61,7 +61,7 @@ public class PuzzleListTest {
 
     private static final class StubPuzzle extends Puzzle {
         StubPuzzle(UUID id) {
-            super(id, null, "Stub", "desc", "reward", PuzzleType.CODE_LOCK, false);
+            super(id, null, "Stub", "desc", "reward", PuzzleType.CODE_LOCK);
         }
 
         @Override
@@ -9,27 +9,9 @@ import static org.junit.Assert.*;
 
 public class PuzzleTest {
 
-    @Test
-    public void markSolvedSetsSolvedStateTrue() {
-        TestPuzzle puzzle = new TestPuzzle(false, "answer");
-
-        puzzle.markSolved();
-
-        assertTrue(puzzle.isSolved());
-    }
-
-    @Test
-    public void resetClearsSolvedState() {
-        TestPuzzle puzzle = new TestPuzzle(true, "answer");
-
-        puzzle.reset();
-
-        assertFalse(puzzle.isSolved());
-    }
-
     @Test
     public void constructorDefaultValuesWhenOptionalFieldsNull() {
-        TestPuzzle puzzle = new TestPuzzle(false, "expected", null, null, null);
+        TestPuzzle puzzle = new TestPuzzle("expected", null, null, null);
 
         assertEquals("Puzzle", puzzle.getName());
         assertEquals("", puzzle.getDescription());
@@ -38,24 +20,24 @@ public class PuzzleTest {
 
     @Test(expected = NullPointerException.class)
     public void constructorThrowsWhenIdIsNull() {
-        new TestPuzzle(null, PuzzleType.WRITE_IN, false, "Name", "Description", "Reward", "answer");
+        new TestPuzzle(null, PuzzleType.WRITE_IN, "Name", "Description", "Reward", "answer");
     }
 
     @Test(expected = NullPointerException.class)
     public void constructorThrowsWhenTypeIsNull() {
-        new TestPuzzle(UUID.randomUUID(), null, false, "Name", "Description", "Reward", "answer");
+        new TestPuzzle(UUID.randomUUID(), null, "Name", "Description", "Reward", "answer");
     }
 
     @Test
     public void isCorrectAnswerReturnsTrueWhenSubclassMatchesAnswer() {
-        TestPuzzle puzzle = new TestPuzzle(false, "secret");
+        TestPuzzle puzzle = new TestPuzzle("secret");
 
         assertTrue(puzzle.isCorrectAnswer("secret"));
     }
 
     @Test
     public void isCorrectAnswerReturnsFalseWhenSubclassRejectsAnswer() {
-        TestPuzzle puzzle = new TestPuzzle(false, "secret");
+        TestPuzzle puzzle = new TestPuzzle("secret");
 
         assertFalse(puzzle.isCorrectAnswer("wrong"));
     }
@@ -63,18 +45,18 @@ public class PuzzleTest {
     private static final class TestPuzzle extends Puzzle {
         private final String correctAnswer;
 
-        TestPuzzle(boolean solved, String correctAnswer) {
-            this(UUID.randomUUID(), PuzzleType.WRITE_IN, solved, "Sample", "Description", "Reward", correctAnswer);
+        TestPuzzle(String correctAnswer) {
+            this(UUID.randomUUID(), PuzzleType.WRITE_IN, "Sample", "Description", "Reward", correctAnswer);
         }
 
-        TestPuzzle(boolean solved, String correctAnswer, String name, String description, String reward) {
-            this(UUID.randomUUID(), PuzzleType.WRITE_IN, solved,
+        TestPuzzle(String correctAnswer, String name, String description, String reward) {
+            this(UUID.randomUUID(), PuzzleType.WRITE_IN,
                     name, description, reward, correctAnswer);
         }
 
-        TestPuzzle(UUID id, PuzzleType type, boolean solved,
+        TestPuzzle(UUID id, PuzzleType type,
                    String name, String description, String reward, String correctAnswer) {
-            super(id, 101L, name, description, reward, type, solved);
+            super(id, 101L, name, description, reward, type);
             this.correctAnswer = correctAnswer;
         }
 
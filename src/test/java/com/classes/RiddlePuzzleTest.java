@@ -18,9 +18,7 @@ public class RiddlePuzzleTest {
                 "Solve the classic riddle.",
                 "Cross the bridge",
                 riddle,
-                answer,
-                solved
-        );
+                answer);
     }
 
     @Test
@@ -7,6 +7,7 @@ import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -24,9 +25,7 @@ public class RoomListTest {
                 "Answer Me",
                 "Provide the secret word.",
                 "A clue",
-                "secret",
-                false
-        );
+                "secret");
     }
 
     @Test
@@ -126,4 +125,67 @@ public class RoomListTest {
         assertSame(first, rooms.get(0));
         assertSame(second, rooms.get(1));
     }
+
+    @Test
+    public void findByPuzzleIdSeesPuzzleAddedAfterRoom() {
+        RoomList list = new RoomList();
+        Room room = createRoom();
+        list.add(room);
+        UUID puzzleId = UUID.randomUUID();
+        room.addPuzzle(createPuzzle(puzzleId));
+        assertSame(room, list.findByPuzzleId(puzzleId).get());
+    }
+
+    @Test
+    public void findByPuzzleIdPrefersEarlierRoomWhenPuzzleShared() {
+        RoomList list = new RoomList();
+        Room first = createRoom();
+        Room second = createRoom();
+        UUID puzzleId = UUID.randomUUID();
+        second.addPuzzle(createPuzzle(puzzleId));
+        list.add(first);
+        list.add(second);
+        first.addPuzzle(createPuzzle(puzzleId));
+        assertSame(first, list.findByPuzzleId(puzzleId).get());
+    }
+
+    @Test
+    public void indexOfReportsPositionOrMinusOne() {
+        RoomList list = new RoomList();
+        Room first = createRoom();
+        Room second = createRoom();
+        list.add(first);
+        list.add(second);
+        assertEquals(0, list.indexOf(first));
+        assertEquals(1, list.indexOf(second));
+        assertEquals(-1, list.indexOf(createRoom()));
+    }
+
+    @Test
+    public void removedRoomLeavesTheIndexesAndStopsNotifyingTheList() {
+        RoomList list = new RoomList();
+        Room first = createRoom();
+        Room second = createRoom();
+        Room third = createRoom();
+        UUID sharedPuzzleId = UUID.randomUUID();
+        first.addPuzzle(createPuzzle(sharedPuzzleId));
+        second.addPuzzle(createPuzzle(sharedPuzzleId));
+        list.add(first);
+        list.add(second);
+        list.add(third);
+
+        assertTrue(list.remove(first));
+        assertFalse(list.remove(first));
+
+        assertEquals(List.of(second, third), list.asList());
+        assertEquals(0, list.indexOf(second));
+        assertEquals(1, list.indexOf(third));
+        assertEquals(-1, list.indexOf(first));
+        assertEquals(Optional.empty(), list.findById(first.getId()));
+        assertSame(second, list.findByPuzzleId(sharedPuzzleId).orElseThrow());
+
+        UUID lateId = UUID.randomUUID();
+        first.addPuzzle(createPuzzle(lateId));
+        assertEquals("a removed room no longer updates the list", Optional.empty(), list.findByPuzzleId(lateId));
+    }
 }
@@ -45,7 +45,7 @@ public class RoomTest {
    @Test
    public void addPuzzleStoresNonNullPuzzle() {
        Room room = new Room(UUID.randomUUID(), 12);
-       Puzzle puzzle = new WriteInPuzzle(UUID.randomUUID(), 3L, "Password", "Enter code", "Item unlocked", "open", false);
+       Puzzle puzzle = new WriteInPuzzle(UUID.randomUUID(), 3L, "Password", "Enter code", "Item unlocked", "open");
 
 
        room.addPuzzle(puzzle);
@@ -72,7 +72,7 @@ public class RoomTest {
    @Test
    public void findPuzzleReturnsMatchingPuzzle() {
        Room room = new Room(UUID.randomUUID(), 20);
-       WriteInPuzzle puzzle = new WriteInPuzzle(UUID.randomUUID(), 2L, "Cipher", "Solve", "Reward", "answer", false);
+       WriteInPuzzle puzzle = new WriteInPuzzle(UUID.randomUUID(), 2L, "Cipher", "Solve", "Reward", "answer");
        room.addPuzzle(puzzle);
 
 
@@ -87,7 +87,7 @@ public class RoomTest {
    @Test
    public void findPuzzleReturnsEmptyForNullId() {
        Room room = new Room(UUID.randomUUID(), 21);
-       WriteInPuzzle puzzle = new WriteInPuzzle(UUID.randomUUID(), 4L, "Cipher", "Solve", "Reward", "answer", false);
+       WriteInPuzzle puzzle = new WriteInPuzzle(UUID.randomUUID(), 4L, "Cipher", "Solve", "Reward", "answer");
        room.addPuzzle(puzzle);
 
 
@@ -99,36 +99,13 @@ public class RoomTest {
 
 
    @Test
-   public void getFirstUnsolvedPuzzleReturnsFirstUnsolved() {
-       Room room = new Room(UUID.randomUUID(), 30);
-       WriteInPuzzle solved = new WriteInPuzzle(UUID.randomUUID(), 5L, "Solved", "Done", "None", "done", true);
-       WriteInPuzzle unsolved = new WriteInPuzzle(UUID.randomUUID(), 6L, "Open", "Not solved", "Prize", "open", false);
-       room.addPuzzle(solved);
-       room.addPuzzle(unsolved);
-
-
-       Optional<Puzzle> first = room.getFirstUnsolvedPuzzle();
-
-
-       assertTrue(first.isPresent());
-       assertEquals(unsolved.getId(), first.get().getId());
-   }
-
-
-   @Test
-   public void getFirstUnsolvedPuzzleReturnsEmptyWhenAllSolved() {
-       Room room = new Room(UUID.randomUUID(), 31);
-       WriteInPuzzle solved = new WriteInPuzzle(UUID.randomUUID(), 7L, "Solved", "Done", "None", "done", true);
-       room.addPuzzle(solved);
-
-
-       Optional<Puzzle> first = room.getFirstUnsolvedPuzzle();
+   public void getPuzzlesIsReadOnlyLiveView() {
+       Room room = new Room(UUID.randomUUID(), 33);
+       List<Puzzle> puzzles = room.getPuzzles();
+       room.addPuzzle(new WriteInPuzzle(UUID.randomUUID(), 10L, "Late", "Late", "None", "late"));
 
 
-       assertFalse(first.isPresent());
+       assertEquals(1, puzzles.size());
+       assertThrows(UnsupportedOperationException.class, () -> puzzles.add(null));
    }
 }
-
-
-
-
@@ -14,7 +14,7 @@ public class SequencePuzzleTest {
     @Test
     public void isCorrectAnswerMatchesIgnoringWhitespaceAndCase() {
         SequencePuzzle puzzle = new SequencePuzzle(UUID.randomUUID(), 1L, "Order the Steps",
-                "Arrange actions", "Door opens", Arrays.asList("North", "East", "South"), false);
+                "Arrange actions", "Door opens", Arrays.asList("North", "East", "South"));
 
         assertTrue(puzzle.isCorrectAnswer(" north   EAST   south "));
         assertFalse(puzzle.isCorrectAnswer("north south east"));
@@ -23,7 +23,7 @@ public class SequencePuzzleTest {
     @Test
     public void isCorrectAnswerRejectsNullAnswer() {
         SequencePuzzle puzzle = new SequencePuzzle(UUID.randomUUID(), null, "Mystery Order",
-                "Solve the pattern", "Treasure", List.of("Alpha", "Beta"), false);
+                "Solve the pattern", "Treasure", List.of("Alpha", "Beta"));
 
         assertFalse("Null answers should not be accepted as correct", puzzle.isCorrectAnswer(null));
     }
@@ -32,7 +32,7 @@ public class SequencePuzzleTest {
     public void constructorCopiesExpectedSequence() {
         List<String> sequence = new ArrayList<>(List.of("First", "Second"));
         SequencePuzzle puzzle = new SequencePuzzle(UUID.randomUUID(), null, "Sequence",
-                "Description", "Reward", sequence, false);
+                "Description", "Reward", sequence);
 
         sequence.add("Third");
 
@@ -42,7 +42,7 @@ public class SequencePuzzleTest {
     @Test(expected = UnsupportedOperationException.class)
     public void getExpectedSequenceIsUnmodifiable() {
         SequencePuzzle puzzle = new SequencePuzzle(UUID.randomUUID(), null, "Immutable",
-                "Description", "Reward", List.of("One", "Two"), false);
+                "Description", "Reward", List.of("One", "Two"));
 
         puzzle.getExpectedSequence().add("Three");
     }
@@ -0,0 +1,172 @@
+package com.classes;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.*;
+
+public class SessionRegistryTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final AtomicLong now = new AtomicLong();
+    private Puzzle first;
+    private Puzzle second;
+    private Puzzle third;
+    private Room firstRoom;
+    private Room secondRoom;
+    private GameSystem content;
+    private GameSystemRepository players;
+    private SessionRegistry registry;
+
+    @Before
+    public void setUp() throws Exception {
+        first = riddle("candle");
+        second = riddle("echo");
+        third = riddle("map");
+        firstRoom = new Room(UUID.randomUUID(), 1);
+        firstRoom.addPuzzle(first);
+        firstRoom.addPuzzle(second);
+        secondRoom = new Room(UUID.randomUUID(), 2);
+        secondRoom.addPuzzle(third);
+        content = new GameSystem();
+        content.getRooms().add(firstRoom);
+        content.getRooms().add(secondRoom);
+
+        Path directory = temporaryFolder.newFolder("players").toPath();
+        String json = "[{\"playerID\":1,\"name\":\"Robin\",\"email\":\"robin@example.com\","
+                + "\"currentScore\":0,\"items\":[],\"statistics\":{},\"solvedPuzzles\":[]}]";
+        Files.writeString(directory.resolve("users.json"), json, StandardCharsets.UTF_8);
+        players = new GameSystemRepository(new DataLoader(directory), new DataWriter(directory));
+        registry = new SessionRegistry(GameCatalog.of(content), players, Duration.ofMinutes(5), now::get);
+    }
+
+    @After
+    public void tearDown() {
+        registry.close();
+    }
+
+    @Test
+    public void aPlayerHasOneSessionAtATime() {
+        GameSession session = registry.openByEmail("ROBIN@example.com").orElseThrow();
+
+        assertSame(session, registry.open(session.getPlayerId()).orElseThrow());
+        assertSame(session, registry.find(session.getId()).orElseThrow());
+        assertFalse(registry.openByEmail("nobody@example.com").isPresent());
+        assertEquals(1, registry.size());
+
+        assertTrue(registry.close(session.getId()));
+        assertFalse(registry.find(session.getId()).isPresent());
+        assertNotSame(session, registry.open(session.getPlayerId()).orElseThrow());
+    }
+
+    @Test
+    public void correctAnswersMoveThroughRoomsAndReachThePlayerStore() {
+        GameSession session = registry.openByEmail("robin@example.com").orElseThrow();
+
+        assertEquals(GameSession.AnswerOutcome.INCORRECT, registry.submitAnswer(session, null, "wax"));
+        assertEquals(GameSession.AnswerOutcome.CORRECT, registry.submitAnswer(session, null, "candle"));
+        assertSame(second, session.snapshot().nextPuzzle());
+        assertEquals(GameSession.AnswerOutcome.ALREADY_SOLVED, registry.submitAnswer(session, first.getId(), "candle"));
+        assertEquals(GameSession.AnswerOutcome.CORRECT, registry.submitAnswer(session, second.getId(), "Echo"));
+
+        GameSession.Snapshot snapshot = session.snapshot();
+        assertSame(secondRoom, snapshot.currentRoom());
+        assertSame(third, snapshot.nextPuzzle());
+        assertEquals(10, snapshot.score());
+        assertEquals(2, snapshot.solvedPuzzles());
+        assertEquals(3, snapshot.totalPuzzles());
+
+        UUID playerId = session.getPlayerId();
+        assertEquals(Integer.valueOf(10), players.read(system ->
+                system.getPlayers().findById(playerId).orElseThrow().getCurrentScore()).orElseThrow());
+        assertEquals(Boolean.TRUE, players.read(system ->
+                system.getPlayers().findById(playerId).orElseThrow().getSolvedPuzzleIds().contains(second.getId()))
+                .orElseThrow());
+    }
+
+    @Test
+    public void puzzlesMustBeAnsweredInOrder() {
+        GameSession session = registry.openByEmail("robin@example.com").orElseThrow();
+
+        assertEquals(GameSession.AnswerOutcome.OUT_OF_ORDER, registry.submitAnswer(session, third.getId(), "map"));
+        assertEquals(GameSession.AnswerOutcome.OUT_OF_ORDER, registry.submitAnswer(session, second.getId(), "echo"));
+        assertEquals(0, session.snapshot().solvedPuzzles());
+        assertEquals(GameSession.AnswerOutcome.CORRECT, registry.submitAnswer(session, first.getId(), "candle"));
+        assertEquals(GameSession.AnswerOutcome.CORRECT, registry.submitAnswer(session, second.getId(), "echo"));
+    }
+
+    @Test
+    public void answersAreRefusedOnceTheCountdownRunsOut() {
+        GameSession session = registry.openByEmail("robin@example.com").orElseThrow();
+
+        now.addAndGet(GameSession.DEFAULT_DURATION.toNanos());
+
+        assertEquals(Duration.ZERO, session.snapshot().remaining());
+        assertEquals(GameSession.AnswerOutcome.TIME_UP, registry.submitAnswer(session, null, "candle"));
+    }
+
+    @Test
+    public void idleSessionsAreDropped() {
+        GameSession idle = registry.openByEmail("robin@example.com").orElseThrow();
+
+        now.addAndGet(Duration.ofMinutes(4).toNanos());
+        assertEquals(0, registry.evictIdle());
+        idle.snapshot();
+        now.addAndGet(Duration.ofMinutes(6).toNanos());
+
+        assertEquals(1, registry.evictIdle());
+        assertFalse(registry.find(idle.getId()).isPresent());
+        assertEquals(0, registry.size());
+    }
+
+    @Test
+    public void solvesStayWithThePlayerWhoMadeThem() throws Exception {
+        Path directory = temporaryFolder.newFolder("shared").toPath();
+        assertTrue(new DataWriter(directory).saveGame(content));
+        String json = "[{\"playerID\":1,\"name\":\"Robin\",\"email\":\"robin@example.com\","
+                + "\"currentScore\":0,\"items\":[],\"statistics\":{},\"solvedPuzzles\":[]},"
+                + "{\"playerID\":2,\"name\":\"Sam\",\"email\":\"sam@example.com\","
+                + "\"currentScore\":0,\"items\":[],\"statistics\":{},\"solvedPuzzles\":[]}]";
+        Files.writeString(directory.resolve("users.json"), json, StandardCharsets.UTF_8);
+        GameSystemRepository shared = GameSystemRepository.forDirectory(directory);
+        UUID robinId;
+        UUID solvedId;
+
+        try (SessionRegistry kiosks = SessionRegistry.forDirectory(directory).orElseThrow()) {
+            // Ids are not kept through rooms.json, so take the puzzle from the loaded catalog.
+            solvedId = kiosks.getCatalog().getPuzzles(0).get(0).getId();
+            GameSession robin = kiosks.openByEmail("robin@example.com").orElseThrow();
+            assertEquals(GameSession.AnswerOutcome.CORRECT, kiosks.submitAnswer(robin, solvedId, "candle"));
+            robinId = robin.getPlayerId();
+            kiosks.close(robin.getId());
+
+            GameSession sam = kiosks.openByEmail("sam@example.com").orElseThrow();
+            assertEquals(0, sam.snapshot().solvedPuzzles());
+            assertEquals(solvedId, sam.snapshot().nextPuzzle().getId());
+            assertEquals(1, kiosks.openByEmail("robin@example.com").orElseThrow().snapshot().solvedPuzzles());
+            assertEquals(Boolean.FALSE, shared.read(system -> system.getProgress().isPuzzleSolved(solvedId))
+                    .orElseThrow());
+        }
+        assertTrue(shared.compact());
+
+        GameSystem saved = new DataLoader(directory).loadGame().orElseThrow();
+        assertFalse(saved.getProgress().isPuzzleSolved(solvedId));
+        assertTrue(saved.getPlayers().findById(robinId).orElseThrow().getSolvedPuzzleIds().contains(solvedId));
+    }
+
+    private static Puzzle riddle(String answer) {
+        return new RiddlePuzzle(UUID.randomUUID(), null, answer, "", "", "What am I?", answer);
+    }
+}
@@ -0,0 +1,176 @@
+package com.classes;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.channels.FileChannel;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class SnapshotCodecTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void snapshotRoundTripsEveryPuzzleTypeAndPlayerField() throws Exception {
+        Path directory = temporaryFolder.newFolder("round-trip").toPath();
+        GameSystem source = newSystem();
+        assertEquals(DataWriter.SaveResult.SAVED, new DataWriter(directory).save(source, true));
+
+        GameSystem restored = SnapshotCodec.readIfFresh(directory).orElseThrow();
+
+        assertEquals(source.getId(), restored.getId());
+        assertEquals(DifficultyLevel.HARD, restored.getDifficulty());
+        assertEquals(Duration.ofMinutes(45), restored.getTimer().getTotalTime());
+        assertEquals(Duration.ofMinutes(12).plusMillis(500), restored.getTimer().getRemaining());
+        assertEquals("Check the clock", restored.getHints().getRemainingHints().get(0).getText());
+        ScoreEntry score = restored.getLeaderboard().getScores().get(0);
+        assertEquals("Robin", score.getPlayerName());
+        assertEquals(Duration.ofSeconds(321), score.getCompletionTime());
+
+        Room room = restored.getRooms().asList().get(0);
+        assertEquals(source.getRooms().asList().get(0).getId(), room.getId());
+        assertEquals("Lamp", room.getItems().get(0).getName());
+        List<Puzzle> puzzles = restored.getPuzzles().asList();
+        assertEquals(5, puzzles.size());
+        assertEquals(List.of("A", "B"), ((MultipleChoicePuzzle) puzzles.get(0)).getOptions());
+        assertTrue(puzzles.get(0).isCorrectAnswer("b"));
+        assertTrue(puzzles.get(1).isCorrectAnswer("door"));
+        assertTrue(restored.getProgress().isPuzzleSolved(puzzles.get(1)));
+        assertFalse(restored.getProgress().isPuzzleSolved(puzzles.get(2)));
+        assertTrue(puzzles.get(2).isCorrectAnswer("red blue"));
+        assertEquals("What walks?", ((RiddlePuzzle) puzzles.get(3)).getRiddle());
+        assertEquals(List.of("human"), ((RiddlePuzzle) puzzles.get(3)).getAcceptedAnswers());
+        assertTrue(puzzles.get(3).isCorrectAnswer("humn"));
+        assertTrue(puzzles.get(4).isCorrectAnswer("0420"));
+
+        Player player = restored.getPlayers().asList().get(0);
+        assertEquals(Integer.valueOf(7), player.getLegacyId());
+        assertEquals("robin@example.com", player.getEmail());
+        assertNull(player.getAvatar());
+        assertEquals(30, player.getCurrentScore());
+        assertEquals("Key", player.getInventory().asList().get(0).getName());
+        assertEquals(Duration.ofMinutes(9), player.getStatistics().getAverageCompletionTime());
+        assertEquals(Set.of(puzzles.get(1).getId()), player.getSolvedPuzzleIds());
+    }
+
+    @Test
+    public void loaderPrefersAFreshSnapshot() throws Exception {
+        Path directory = temporaryFolder.newFolder("prefer").toPath();
+        GameSystem source = newSystem();
+        assertEquals(DataWriter.SaveResult.SAVED, new DataWriter(directory).save(source, true));
+
+        GameSystem loaded = new DataLoader(directory).loadGame().orElseThrow();
+
+        // The room has no legacy id, so only the snapshot can bring back its exact UUID.
+        assertEquals(source.getRooms().asList().get(0).getId(), loaded.getRooms().asList().get(0).getId());
+        assertTrue(loaded.getDirtySections().isEmpty());
+    }
+
+    @Test
+    public void editedJsonMakesTheSnapshotStale() throws Exception {
+        Path directory = temporaryFolder.newFolder("stale").toPath();
+        assertEquals(DataWriter.SaveResult.SAVED, new DataWriter(directory).save(newSystem(), true));
+
+        Path users = directory.resolve("users.json");
+        Files.writeString(users, Files.readString(users).replace("Robin", "Robyn "));
+
+        assertFalse(SnapshotCodec.readIfFresh(directory).isPresent());
+        assertEquals("Robyn ", new DataLoader(directory).loadGame().orElseThrow()
+                .getPlayers().asList().get(0).getName());
+    }
+
+    @Test
+    public void saveWithoutSnapshotLeavesTheOldOneStale() throws Exception {
+        Path directory = temporaryFolder.newFolder("skipped").toPath();
+        GameSystem system = newSystem();
+        assertEquals(DataWriter.SaveResult.SAVED, new DataWriter(directory).save(system, true));
+
+        system.getPlayers().asList().get(0).addScore(1_000);
+        system.markDirty(GameSection.PLAYERS);
+        assertTrue(new DataWriter(directory).saveGame(system));
+
+        assertFalse(SnapshotCodec.readIfFresh(directory).isPresent());
+        assertEquals(1_030, new DataLoader(directory).loadGame().orElseThrow()
+                .getPlayers().asList().get(0).getCurrentScore());
+    }
+
+    @Test
+    public void plainSavesNeverWriteTheSnapshot() throws Exception {
+        Path directory = temporaryFolder.newFolder("plain").toPath();
+        assertTrue(new DataWriter(directory).saveGame(newSystem()));
+        assertFalse(Files.exists(directory.resolve(SnapshotCodec.FILE_NAME)));
+
+        // Nothing is dirty after a load, but the snapshot can still be brought up to date.
+        GameSystem loaded = new DataLoader(directory).loadGame().orElseThrow();
+        assertEquals(DataWriter.SaveResult.SAVED, new DataWriter(directory).save(loaded, true));
+        assertTrue(SnapshotCodec.isFresh(directory));
+
+        // A game system that never came from this directory must not stand in for its files.
+        Path other = temporaryFolder.newFolder("unrelated").toPath();
+        assertTrue(new DataWriter(other).saveGame(newSystem()));
+        GameSystem unrelated = newSystem();
+        unrelated.markClean();
+        assertEquals(DataWriter.SaveResult.SAVED, new DataWriter(other).save(unrelated, true));
+        assertFalse(Files.exists(other.resolve(SnapshotCodec.FILE_NAME)));
+    }
+
+    @Test
+    public void corruptSnapshotFallsBackToJson() throws Exception {
+        Path directory = temporaryFolder.newFolder("corrupt").toPath();
+        assertEquals(DataWriter.SaveResult.SAVED, new DataWriter(directory).save(newSystem(), true));
+        Path snapshot = directory.resolve(SnapshotCodec.FILE_NAME);
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), channel.size() - 12);
+        }
+
+        assertFalse(SnapshotCodec.readIfFresh(directory).isPresent());
+        Optional<GameSystem> loaded = new DataLoader(directory).loadGame();
+        assertTrue(loaded.isPresent());
+        assertEquals("Robin", loaded.get().getPlayers().asList().get(0).getName());
+    }
+
+    private GameSystem newSystem() {
+        GameSystem system = new GameSystem(UUID.randomUUID());
+        system.setLegacyId(3L);
+        system.setDifficulty(DifficultyLevel.HARD);
+        system.getTimer().setTotalTime(Duration.ofMinutes(45));
+        system.getTimer().setRemaining(Duration.ofMinutes(12).plusMillis(500));
+        system.getHints().addHint(UUID.randomUUID(), 1L, "Check the clock");
+
+        Room room = new Room(UUID.randomUUID(), null);
+        room.addItem(new Item(UUID.randomUUID(), 2L, "Lamp", true));
+        List<Puzzle> puzzles = List.of(
+                new MultipleChoicePuzzle(UUID.randomUUID(), 301L, "Choice", "Pick", "", List.of("A", "B"), "B"),
+                new WriteInPuzzle(UUID.randomUUID(), 302L, "Word", "Write", "Gem", "door"),
+                new SequencePuzzle(UUID.randomUUID(), 303L, "Order", "Sort", "", List.of("red", "blue")),
+                new RiddlePuzzle(UUID.randomUUID(), 304L, "Riddle", "Think", "", "What walks?", "man",
+                        List.of("human"), 1),
+                new CodeLockPuzzle(UUID.randomUUID(), 305L, "Lock", "Dial", "", "0420"));
+        for (Puzzle puzzle : puzzles) {
+            room.addPuzzle(puzzle);
+            system.getPuzzles().add(puzzle);
+        }
+        system.getRooms().add(room);
+        system.getProgress().markPuzzleSolved(puzzles.get(1).getId());
+
+        ItemList inventory = new ItemList();
+        inventory.add(new Item(UUID.randomUUID(), 9L, "Key", false));
+        Player player = new Player(UUID.randomUUID(), 7, "Robin", "robin@example.com", null, inventory,
+                new Statistics(2, 5, Duration.ofMinutes(9), 1), 30, Set.of(puzzles.get(1).getId()));
+        system.getPlayers().add(player);
+        system.getLeaderboard().addScoreEntry(UUID.randomUUID(), 4L, "Robin", Duration.ofSeconds(321), 30);
+        return system;
+    }
+}
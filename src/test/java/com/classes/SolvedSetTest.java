@@ -0,0 +1,102 @@
+package com.classes;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class SolvedSetTest {
+
+    @Test
+    public void numberedAndUnknownIdsBehaveLikeAnOrdinarySet() {
+        Puzzle puzzle = puzzle();
+        UUID unknown = UUID.randomUUID();
+        SolvedSet set = new SolvedSet();
+
+        assertTrue(set.add(puzzle.getId()));
+        assertTrue(set.add(unknown));
+        assertFalse(set.add(puzzle.getId()));
+        assertFalse(set.add(null));
+
+        assertEquals(2, set.size());
+        assertTrue(set.contains(puzzle.getId()));
+        assertTrue(set.containsPuzzle(puzzle));
+        assertTrue(set.contains(unknown));
+        assertEquals(Set.of(puzzle.getId(), unknown), Set.copyOf(set));
+        assertEquals(Set.of(puzzle.getId(), unknown), set);
+
+        assertTrue(set.remove(puzzle.getId()));
+        assertFalse(set.containsPuzzle(puzzle));
+        assertEquals(Set.of(unknown), set);
+    }
+
+    @Test
+    public void copiesAndMergesAreIndependent() {
+        List<Puzzle> puzzles = new ArrayList<>();
+        for (int i = 0; i < 130; i++) {
+            puzzles.add(puzzle());
+        }
+        SolvedSet source = new SolvedSet();
+        source.add(puzzles.get(0).getId());
+        source.add(puzzles.get(129).getId());
+        UUID unknown = UUID.randomUUID();
+        source.add(unknown);
+
+        SolvedSet copy = new SolvedSet();
+        copy.add(puzzles.get(5).getId());
+        copy.copyFrom(source.readOnlyView());
+        source.remove(puzzles.get(0).getId());
+
+        assertEquals(Set.of(puzzles.get(0).getId(), puzzles.get(129).getId(), unknown), copy);
+
+        SolvedSet merged = new SolvedSet();
+        merged.add(puzzles.get(64).getId());
+        assertTrue(merged.addAll(copy));
+        assertEquals(4, merged.size());
+        assertFalse(merged.addAll(copy));
+    }
+
+    @Test
+    public void idStoredBeforeItWasNumberedIsCountedOnce() {
+        UUID id = UUID.randomUUID();
+        SolvedSet early = new SolvedSet();
+        early.add(id);
+        Puzzle puzzle = new WriteInPuzzle(id, null, "Late", "", "", "x");
+        SolvedSet late = new SolvedSet();
+        late.add(id);
+
+        early.addAll(late);
+
+        assertEquals(1, early.size());
+        assertTrue(early.containsPuzzle(puzzle));
+        assertTrue(early.remove(id));
+        assertTrue(early.isEmpty());
+    }
+
+    @Test
+    public void playerAndProgressShareSolvedSetsThroughReadOnlyViews() {
+        Puzzle puzzle = puzzle();
+        Player player = new Player(UUID.randomUUID(), 1, "Robin", "robin@example.com", null,
+                null, null, 0, List.of(puzzle.getId()));
+        Progress progress = new Progress();
+
+        progress.loadSolvedPuzzles(player.getSolvedPuzzleIds());
+        player.clearSolvedPuzzles();
+
+        assertTrue(progress.isPuzzleSolved(puzzle));
+        assertTrue(progress.isPuzzleSolved(puzzle.getId()));
+        assertTrue(player.getSolvedPuzzleIds().isEmpty());
+        assertThrows(UnsupportedOperationException.class, () -> progress.getSolvedPuzzleIds().add(UUID.randomUUID()));
+
+        player.setSolvedPuzzleIds(progress.getSolvedPuzzleIds());
+        assertEquals(Set.of(puzzle.getId()), player.getSolvedPuzzleIds());
+    }
+
+    private static Puzzle puzzle() {
+        return new WriteInPuzzle(UUID.randomUUID(), null, "Door", "", "", "open");
+    }
+}
@@ -133,6 +133,41 @@ public class TimerTest {
         assertDurationApproximately(elapsedAfterPause, elapsedWhileRunning, TOLERANCE);
     }
 
+    @Test
+    public void injectedClockDrivesCountdownExactly() {
+        long[] now = {1_000L};
+        Timer timer = new Timer(() -> now[0]);
+        timer.setTotalTime(Duration.ofSeconds(10));
+
+        timer.start();
+        now[0] += Duration.ofSeconds(3).toNanos();
+        assertEquals(Duration.ofSeconds(7), timer.getRemaining());
+        assertEquals(Duration.ofSeconds(3).toNanos(), timer.getElapsedNanos());
+
+        timer.pause();
+        now[0] += Duration.ofSeconds(100).toNanos();
+        assertEquals(Duration.ofSeconds(7).toNanos(), timer.getRemainingNanos());
+
+        timer.start();
+        now[0] += Duration.ofSeconds(20).toNanos();
+        assertEquals(0, timer.getRemainingNanos());
+        assertEquals(Duration.ofSeconds(10), timer.getElapsed());
+    }
+
+    @Test
+    public void clockReadingsBelowZeroStillMeasureDifferences() {
+        long[] now = {Long.MIN_VALUE + 5};
+        Timer timer = new Timer(() -> now[0]);
+        timer.setTotalTime(Duration.ofMinutes(15));
+
+        timer.start();
+        now[0] += Duration.ofMinutes(1).toNanos();
+        timer.pause();
+
+        assertEquals(Duration.ofMinutes(14), timer.getRemaining());
+        assertEquals(Duration.ofMinutes(1), timer.getElapsed());
+    }
+
     private static void assertDurationApproximately(Duration actual, Duration expected, Duration tolerance) {
         Duration difference = actual.minus(expected).abs();
         assertTrue("Expected " + actual + " to be within " + tolerance + " of " + expected,
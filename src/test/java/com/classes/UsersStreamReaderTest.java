@@ -0,0 +1,86 @@
+package com.classes;
+
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+
+public class UsersStreamReaderTest {
+
+    @Test
+    public void readBuildsPlayersWithItemsStatisticsAndSolvedPuzzles() throws Exception {
+        UUID solvedUuid = UUID.randomUUID();
+        String json = "[{\"playerID\":7,\"name\":\"Robin\",\"email\":\"robin@example.com\",\"avatar\":\"fox.png\","
+                + "\"currentScore\":12,"
+                + "\"items\":[{\"itemID\":3,\"itemName\":\"Lamp\",\"isReusable\":true},{\"itemID\":4}],"
+                + "\"statistics\":{\"gamesPlayed\":4,\"puzzlesSolved\":9,\"avgTime\":\"00:12:30\",\"gamesWon\":2},"
+                + "\"solvedPuzzles\":[301,\"" + solvedUuid + "\",null,\"not-a-uuid\"]}]";
+
+        PlayerList players = UsersStreamReader.read(new StringReader(json));
+
+        assertEquals(1, players.size());
+        Player player = players.asList().get(0);
+        assertEquals(UUID.nameUUIDFromBytes("player-7".getBytes(StandardCharsets.UTF_8)), player.getId());
+        assertEquals(Integer.valueOf(7), player.getLegacyId());
+        assertEquals("Robin", player.getName());
+        assertEquals("robin@example.com", player.getEmail());
+        assertEquals("fox.png", player.getAvatar());
+        assertEquals(12, player.getCurrentScore());
+
+        assertEquals(2, player.getInventory().size());
+        Item lamp = player.getInventory().asList().get(0);
+        assertEquals("Lamp", lamp.getName());
+        assertTrue(lamp.isReusable());
+        assertEquals("Item", player.getInventory().asList().get(1).getName());
+
+        Statistics stats = player.getStatistics();
+        assertEquals(4, stats.getGamesPlayed());
+        assertEquals(9, stats.getPuzzlesSolved());
+        assertEquals(Duration.ofMinutes(12).plusSeconds(30), stats.getAverageCompletionTime());
+        assertEquals(2, stats.getGamesWon());
+
+        assertEquals(2, player.getSolvedPuzzleIds().size());
+        assertTrue(player.getSolvedPuzzleIds().contains(
+                UUID.nameUUIDFromBytes("puzzle-301".getBytes(StandardCharsets.UTF_8))));
+        assertTrue(player.getSolvedPuzzleIds().contains(solvedUuid));
+    }
+
+    @Test
+    public void readSkipsUnknownNestedValues() throws Exception {
+        String json = "[{\"playerID\":1,\"extra\":{\"name\":\"Wrong\",\"items\":[{\"itemID\":9}]},"
+                + "\"tags\":[[1,2],{\"statistics\":{\"gamesWon\":5}}],\"name\":\"Sky\"},"
+                + "{\"playerID\":2,\"name\":\"Ash\"}]";
+
+        PlayerList players = UsersStreamReader.read(new StringReader(json));
+
+        assertEquals(2, players.size());
+        Player sky = players.asList().get(0);
+        assertEquals("Sky", sky.getName());
+        assertEquals(0, sky.getInventory().size());
+        assertEquals(0, sky.getStatistics().getGamesWon());
+        assertEquals("Ash", players.asList().get(1).getName());
+    }
+
+    @Test
+    public void readReturnsEmptyListForNonArrayDocument() throws Exception {
+        PlayerList players = UsersStreamReader.read(new StringReader("{\"name\":\"Robin\"}"));
+
+        assertEquals(0, players.size());
+    }
+
+    @Test
+    public void readAppliesTreeParserDefaults() throws Exception {
+        PlayerList players = UsersStreamReader.read(new StringReader("[{}]"));
+
+        Player player = players.asList().get(0);
+        assertEquals("Unknown", player.getName());
+        assertEquals("", player.getEmail());
+        assertNull(player.getAvatar());
+        assertNull(player.getLegacyId());
+        assertEquals(0, player.getCurrentScore());
+    }
+}
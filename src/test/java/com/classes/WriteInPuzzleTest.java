@@ -17,9 +17,7 @@ public class WriteInPuzzleTest {
                 "Riddle",
                 "Answer the riddle correctly.",
                 "A shiny key",
-                correctAnswer,
-                false
-        );
+                correctAnswer);
     }
 
     @Test